@@ -2,8 +2,10 @@ package femcoders25.mykitchen_hub;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MyKitchenHubApplication {
 
 	public static void main(String[] args) {
@@ -1,14 +1,18 @@
 package femcoders25.mykitchen_hub.auth.config;
 
+import femcoders25.mykitchen_hub.auth.service.BoundedPasswordEncoder;
+import femcoders25.mykitchen_hub.user.entity.User;
 import femcoders25.mykitchen_hub.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
@@ -28,8 +32,26 @@ public class AuthenticationConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Stores the rehash of a password whose hash no longer uses the configured cost, after its owner logged in
+     * with it. The credentials version stays the same, since the password itself didn't change.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            User entity = (User) user;
+            userRepository.updatePassword(entity.getId(), newPassword);
+            entity.setPassword(newPassword);
+            return entity;
+        };
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.hashing-threads:0}") int threads,
+                                           @Value("${auth.password.hashing-queue-capacity:32}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, meterRegistry);
     }
 }
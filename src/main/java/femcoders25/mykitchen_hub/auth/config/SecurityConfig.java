@@ -55,6 +55,7 @@ public class SecurityConfig {
                                                 .requestMatchers(HttpMethod.POST, "/api/auth/logout").authenticated()
 
                                                 .requestMatchers("/ws/**").permitAll()
+                                                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                                                 .requestMatchers("/actuator/**").permitAll()
                                                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**")
                                                 .permitAll()
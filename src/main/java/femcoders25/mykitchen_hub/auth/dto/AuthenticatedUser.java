@@ -0,0 +1,54 @@
+package femcoders25.mykitchen_hub.auth.dto;
+
+import femcoders25.mykitchen_hub.user.entity.Role;
+import femcoders25.mykitchen_hub.user.entity.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The principal of a request authenticated with an access token, built from the token's claims alone. It never
+ * carries a password; use {@code UserService.getCurrentUser()} when the full {@link User} is needed.
+ */
+public record AuthenticatedUser(Long id, String username, Role role, long credentialsVersion) implements UserDetails {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String CREDENTIALS_VERSION_CLAIM = "cv";
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(), user.getCredentialsVersion());
+    }
+
+    /**
+     * The principal described by the token's claims, or {@code null} for tokens issued without them.
+     */
+    public static AuthenticatedUser from(Claims claims) {
+        Long id = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Long credentialsVersion = claims.get(CREDENTIALS_VERSION_CLAIM, Long.class);
+        if (id == null || role == null || credentialsVersion == null) {
+            return null;
+        }
+        return new AuthenticatedUser(id, claims.getSubject(), Role.valueOf(role), credentialsVersion);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,9 @@
+package femcoders25.mykitchen_hub.auth.dto;
+
+import java.time.Instant;
+
+/**
+ * A revoked token as recorded in the shared store; {@code sequence} increases with every revocation.
+ */
+public record TokenRevocation(long sequence, String tokenId, Instant expiresAt) {
+}
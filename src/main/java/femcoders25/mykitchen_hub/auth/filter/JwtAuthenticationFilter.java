@@ -1,7 +1,10 @@
 package femcoders25.mykitchen_hub.auth.filter;
 
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
 import femcoders25.mykitchen_hub.auth.service.JwtService;
+import femcoders25.mykitchen_hub.auth.service.UserVersionCache;
 import femcoders25.mykitchen_hub.user.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +21,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates bearer tokens. The principal is an {@link AuthenticatedUser} rebuilt from the token's claims, and
+ * revocation is checked against {@link UserVersionCache}, so a request with a known token reads nothing from the
+ * database. Tokens issued before those claims existed still load the user.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -25,6 +33,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final UserVersionCache userVersionCache;
 
     @Override
     protected void doFilterInternal(
@@ -43,10 +52,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            username = jwtService.extractUsername(jwt);
+            Claims claims = jwtService.extractAllClaims(jwt);
+            username = claims.getSubject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userService.findByUsername(username).orElse(null);
-                if (userDetails != null && jwtService.isTokenValid(jwt, userDetails)) {
+                UserDetails userDetails = principalOf(claims);
+                if (userDetails != null && jwtService.isTokenValid(jwt, claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -62,4 +72,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser principalOf(Claims claims) {
+        AuthenticatedUser principal = AuthenticatedUser.from(claims);
+        if (principal == null) {
+            return userService.findByUsername(claims.getSubject()).map(AuthenticatedUser::from).orElse(null);
+        }
+        return userVersionCache.isCurrent(principal.id(), principal.credentialsVersion()) ? principal : null;
+    }
 }
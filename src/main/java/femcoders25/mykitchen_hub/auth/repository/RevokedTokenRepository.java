@@ -0,0 +1,20 @@
+package femcoders25.mykitchen_hub.auth.repository;
+
+import femcoders25.mykitchen_hub.auth.entity.RevokedToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    List<RevokedToken> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT r.id FROM RevokedToken r WHERE r.expiresAt < :now ORDER BY r.id")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+}
@@ -1,5 +1,6 @@
 package femcoders25.mykitchen_hub.auth.service;
 
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
 import femcoders25.mykitchen_hub.auth.dto.AuthenticationRequest;
 import femcoders25.mykitchen_hub.auth.dto.AuthenticationResponse;
 import femcoders25.mykitchen_hub.auth.dto.RefreshTokenRequest;
@@ -21,7 +22,6 @@ public class AuthenticationService {
     private final UserService userService;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final TokenBlacklistService tokenBlacklistService;
 
     public AuthenticationResponse register(UserRegistrationDto request) {
         User user = userService.createUser(request);
@@ -49,9 +49,9 @@ public class AuthenticationService {
     }
 
     public void logout(String accessToken, String refreshToken) {
-        tokenBlacklistService.blacklistToken(accessToken);
+        jwtService.revokeToken(accessToken);
         if (refreshToken != null) {
-            tokenBlacklistService.blacklistToken(refreshToken);
+            jwtService.revokeToken(refreshToken);
         }
         log.info("User logged out successfully");
     }
@@ -64,13 +64,19 @@ public class AuthenticationService {
         }
 
         String username = jwtService.extractUsername(refreshToken);
-        UserDetails user = userService.findByUsername(username)
+        User user = userService.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
+        Long credentialsVersion = jwtService.extractClaim(refreshToken,
+                claims -> claims.get(AuthenticatedUser.CREDENTIALS_VERSION_CLAIM, Long.class));
+        if (credentialsVersion != null && credentialsVersion != user.getCredentialsVersion()) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
         String newAccessToken = jwtService.generateToken(user);
         String newRefreshToken = jwtService.generateRefreshToken(user);
 
-        tokenBlacklistService.blacklistToken(refreshToken);
+        jwtService.revokeToken(refreshToken);
 
         log.info("Token refreshed successfully for user: {}", username);
         return new AuthenticationResponse(newAccessToken, newRefreshToken);
@@ -0,0 +1,114 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import femcoders25.mykitchen_hub.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a fixed pool of hashing threads with a bounded queue. Hashing is CPU-bound, so more threads than cores
+ * only make every hash slower; when the pool and queue are full the caller fails straight away with a
+ * {@link ServiceUnavailableException} (503) instead of tying up a servlet thread, and other endpoints keep
+ * responding during a login storm.
+ * <p>
+ * {@link #upgradeEncoding} reports hashes made with any other cost than the configured one, so changing
+ * {@code auth.password.bcrypt-strength} rehashes each password at its owner's next login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    private final Timer hashDuration;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity, meterRegistry);
+    }
+
+    BoundedPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity,
+                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hasher-", 0).daemon().factory());
+        this.rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashes refused because the hashing pool and its queue were full")
+                .register(meterRegistry);
+        this.hashDuration = Timer.builder("auth.password.hashing")
+                .description("Time to hash or verify a password, including the wait for a hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+        return !cost.find() || Integer.parseInt(cost.group(1)) != strength;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> hashing) {
+        long start = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing pool is saturated, rejecting request");
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            hashDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
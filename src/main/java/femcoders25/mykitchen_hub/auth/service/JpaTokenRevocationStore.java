@@ -0,0 +1,64 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import femcoders25.mykitchen_hub.auth.dto.TokenRevocation;
+import femcoders25.mykitchen_hub.auth.entity.RevokedToken;
+import femcoders25.mykitchen_hub.auth.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps revocations in the {@code revoked_tokens} table, using the row id as the sequence. Rows of expired tokens
+ * are purged a batch per transaction, so the purge never holds long locks.
+ */
+@Slf4j
+@Component
+public class JpaTokenRevocationStore implements TokenRevocationStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int purgeBatchSize;
+
+    public JpaTokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                   @Value("${jwt.revocation.purge-batch-size:500}") int purgeBatchSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    public void save(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(null, tokenId, expiresAt));
+    }
+
+    @Override
+    public List<TokenRevocation> findAfter(long afterSequence, int limit) {
+        return revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(afterSequence, Limit.of(limit)).stream()
+                .map(token -> new TokenRevocation(token.getId(), token.getTokenId(), token.getExpiresAt()))
+                .toList();
+    }
+
+    @Override
+    public void purgeExpired() {
+        purgeExpired(Instant.now());
+    }
+
+    int purgeExpired(Instant now) {
+        int purged = 0;
+        List<Long> expiredIds;
+        do {
+            expiredIds = revokedTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+            if (!expiredIds.isEmpty()) {
+                revokedTokenRepository.deleteAllByIdInBatch(expiredIds);
+                purged += expiredIds.size();
+            }
+        } while (expiredIds.size() == purgeBatchSize);
+        if (purged > 0) {
+            log.debug("Purged {} expired token revocations", purged);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,85 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import io.jsonwebtoken.JweHeader;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC keys identified by key id ({@code kid}). New tokens are signed with the active key and
+ * carry its id; tokens are verified with the key their header names, so a retired key keeps verifying the tokens
+ * it signed until they expire. Tokens without a key id predate rotation and are verified with the active key.
+ */
+final class JwtKeySet extends LocatorAdapter<Key> {
+
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> keys;
+
+    private JwtKeySet(String activeKeyId, Map<String, SecretKey> keys) {
+        this.activeKeyId = activeKeyId;
+        this.activeKey = keys.get(activeKeyId);
+        this.keys = Map.copyOf(keys);
+    }
+
+    /**
+     * @param retiredKeys {@code kid:base64-secret} entries for keys that no longer sign but still verify
+     */
+    static JwtKeySet of(String activeKeyId, String activeSecret, Collection<String> retiredKeys) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        for (String retired : retiredKeys) {
+            if (retired.isBlank()) {
+                continue;
+            }
+            int separator = retired.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Retired JWT key must be kid:secret, got an entry without a kid");
+            }
+            keys.put(retired.substring(0, separator).trim(), decode(retired.substring(separator + 1).trim()));
+        }
+        keys.put(activeKeyId, decode(activeSecret));
+        return new JwtKeySet(activeKeyId, keys);
+    }
+
+    String activeKeyId() {
+        return activeKeyId;
+    }
+
+    SecretKey activeKey() {
+        return activeKey;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            return activeKey;
+        }
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    @Override
+    protected Key locate(JweHeader header) {
+        throw new UnsupportedJwtException("Encrypted JWTs are not supported");
+    }
+
+    private static SecretKey decode(String secret) {
+        try {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid JWT secret key of length " + secret.length(), e);
+        }
+    }
+}
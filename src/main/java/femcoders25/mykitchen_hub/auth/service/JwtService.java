@@ -1,36 +1,55 @@
 package femcoders25.mykitchen_hub.auth.service;
 
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
+import femcoders25.mykitchen_hub.user.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs. The signing keys and the parser are built once at startup and shared by every
+ * request; see {@link JwtKeySet} for how keys rotate. Every token carries a random {@code jti}, which is the id
+ * it is revoked under; tokens issued before that are revoked under the SHA-256 of the token.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
-
-    @Value("${jwt.refresh-expiration}")
-    private long refreshExpiration;
-
+    private final long jwtExpiration;
+    private final long refreshExpiration;
+    private final JwtKeySet keySet;
+    private final JwtParser parser;
     private final TokenBlacklistService tokenBlacklistService;
+    private final VerifiedClaimsCache verifiedClaimsCache;
+
+    public JwtService(TokenBlacklistService tokenBlacklistService,
+                      VerifiedClaimsCache verifiedClaimsCache,
+                      @Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.key-id:primary}") String keyId,
+                      @Value("${jwt.retired-keys:}") List<String> retiredKeys,
+                      @Value("${jwt.expiration}") long jwtExpiration,
+                      @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.verifiedClaimsCache = verifiedClaimsCache;
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.keySet = JwtKeySet.of(keyId, secretKey, retiredKeys);
+        this.parser = Jwts.parser()
+                .keyLocator(keySet)
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -57,11 +76,14 @@ public class JwtService {
         try {
             return Jwts
                     .builder()
+                    .claims(userClaims(userDetails))
                     .claims(extraClaims)
+                    .id(UUID.randomUUID().toString())
                     .subject(userDetails.getUsername())
                     .issuedAt(new Date(System.currentTimeMillis()))
                     .expiration(new Date(System.currentTimeMillis() + expiration))
-                    .signWith(getSignInKey())
+                    .header().keyId(keySet.activeKeyId()).and()
+                    .signWith(keySet.activeKey())
                     .compact();
         } catch (Exception e) {
             log.error("Error generating JWT token for user: {}", userDetails.getUsername(), e);
@@ -69,12 +91,43 @@ public class JwtService {
         }
     }
 
+    /**
+     * The id, role and credentials version of the user, from which {@link AuthenticatedUser#from(Claims)} rebuilds
+     * the principal without loading the user.
+     */
+    private static Map<String, Object> userClaims(UserDetails userDetails) {
+        AuthenticatedUser user = switch (userDetails) {
+            case AuthenticatedUser authenticated -> authenticated;
+            case User entity -> AuthenticatedUser.from(entity);
+            default -> null;
+        };
+        if (user == null || user.id() == null || user.role() == null) {
+            return Map.of();
+        }
+        return Map.of(
+                AuthenticatedUser.USER_ID_CLAIM, user.id(),
+                AuthenticatedUser.ROLE_CLAIM, user.role().name(),
+                AuthenticatedUser.CREDENTIALS_VERSION_CLAIM, user.credentialsVersion());
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) &&
-                    isTokenExpired(token) &&
-                    tokenBlacklistService.isTokenBlacklisted(token);
+            return isTokenValid(token, extractAllClaims(token), userDetails);
+        } catch (Exception e) {
+            log.error("Error validating JWT token for user: {}", userDetails.getUsername(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Validates a token whose claims were already extracted with {@link #extractAllClaims}, without parsing it
+     * again.
+     */
+    public boolean isTokenValid(String token, Claims claims, UserDetails userDetails) {
+        try {
+            return userDetails.getUsername().equals(claims.getSubject()) &&
+                    !isTokenExpired(claims) &&
+                    !isRevoked(token, claims);
         } catch (Exception e) {
             log.error("Error validating JWT token for user: {}", userDetails.getUsername(), e);
             return false;
@@ -83,42 +136,55 @@ public class JwtService {
 
     public boolean isRefreshTokenValid(String token) {
         try {
-            return isTokenExpired(token) && tokenBlacklistService.isTokenBlacklisted(token);
+            Claims claims = extractAllClaims(token);
+            return !isTokenExpired(claims) && !isRevoked(token, claims);
         } catch (Exception e) {
             log.error("Error validating refresh token", e);
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return !extractExpiration(token).before(new Date());
+    /**
+     * Blacklists the token until it expires. A token that is malformed or already expired can't be used anyway
+     * and is ignored.
+     */
+    public void revokeToken(String token) {
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Not revoking a token that is invalid or expired");
+            return;
+        }
+        tokenBlacklistService.blacklistToken(tokenId(token, claims), claims.getExpiration().toInstant());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isRevoked(String token, Claims claims) {
+        return tokenBlacklistService.isTokenBlacklisted(tokenId(token, claims));
     }
 
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts
-                    .parser()
-                    .verifyWith(getSignInKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (Exception e) {
-            log.error("Error extracting claims from JWT token", e);
-            throw e;
-        }
+    private static String tokenId(String token, Claims claims) {
+        return claims.getId() != null ? claims.getId() : VerifiedClaimsCache.hash(token);
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private SecretKey getSignInKey() {
+    /**
+     * Verifies the token's signature and expiry and returns its claims. Tokens verified before are answered from
+     * {@link VerifiedClaimsCache} without any cryptography.
+     */
+    public Claims extractAllClaims(String token) {
+        return verifiedClaimsCache.get(token, this::parseClaims);
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-            return Keys.hmacShaKeyFor(keyBytes);
+            return parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
-            log.error("Error creating signing key from secret. Secret length: {}", secretKey.length(), e);
-            throw new RuntimeException("Invalid JWT secret key", e);
+            log.error("Error extracting claims from JWT token", e);
+            throw e;
         }
     }
 }
@@ -0,0 +1,114 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, each level's slot spanning a whole
+ * turn of the level below, so with one-second ticks it reaches about 194 days. An entry sits in the lowest level
+ * whose span covers its deadline and moves down a level each time the wheel reaches its slot, so every entry is
+ * touched at most once per level and advancing costs only the entries that are due. Deadlines are rounded up to
+ * the next tick, so nothing is handed back early.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+final class TimingWheel<K> {
+
+    static final int LEVELS = 4;
+    static final int SLOTS = 64;
+    private static final int SLOT_BITS = 6;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final List<List<List<Entry<K>>>> levels = new ArrayList<>(LEVELS);
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Timing wheel tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (int level = 0; level < LEVELS; level++) {
+            List<List<Entry<K>>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new ArrayList<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Schedules {@code key} to be handed back once {@code deadlineMillis} has passed. Returns false, scheduling
+     * nothing, when it already has.
+     */
+    boolean schedule(K key, long deadlineMillis) {
+        long deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(key, deadlineTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis}, handing every key whose deadline has passed to {@code expired}.
+     */
+    void advance(long nowMillis, Consumer<K> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < LEVELS && isLevelBoundary(level); level++) {
+                List<Entry<K>> due = takeSlot(level, slotOf(currentTick, level));
+                for (Entry<K> entry : due) {
+                    if (entry.deadlineTick() <= currentTick) {
+                        size--;
+                        expired.accept(entry.key());
+                    } else {
+                        place(entry);
+                    }
+                }
+            }
+            List<Entry<K>> due = takeSlot(0, slotOf(currentTick, 0));
+            size -= due.size();
+            due.forEach(entry -> expired.accept(entry.key()));
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Entry<K> entry) {
+        long delay = Math.min(entry.deadlineTick() - currentTick, MAX_SPAN - 1);
+        int level = 0;
+        while (delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        levels.get(level).get(slotOf(currentTick + delay, level)).add(entry);
+    }
+
+    private boolean isLevelBoundary(int level) {
+        return (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0;
+    }
+
+    private List<Entry<K>> takeSlot(int level, int slot) {
+        List<List<Entry<K>>> slots = levels.get(level);
+        List<Entry<K>> entries = slots.get(slot);
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        slots.set(slot, new ArrayList<>());
+        return entries;
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+    private record Entry<K>(K key, long deadlineTick) {
+    }
+}
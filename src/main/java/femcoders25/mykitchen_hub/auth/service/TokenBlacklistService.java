@@ -1,28 +1,198 @@
 package femcoders25.mykitchen_hub.auth.service;
 
+import femcoders25.mykitchen_hub.auth.dto.TokenRevocation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Revoked tokens, keyed by token id (see {@link JwtService}) and kept only until the token would have expired
+ * anyway: a {@link TimingWheel} hands back each id once its expiry passes. Lookups go through a
+ * {@link BloomFilter} first, so a token that was never revoked, which is almost every token, is answered without
+ * touching the map. The filter is rebuilt when it fills up or when most of what it holds has expired, so memory
+ * follows the number of live revoked tokens.
+ * <p>
+ * This is each instance's near-cache of the shared {@link TokenRevocationStore}: revocations made here are written
+ * through to it, and those made by other instances are pulled by {@link #refresh}, which the
+ * {@link TokenRevocationPoller} runs every {@code jwt.revocation.poll-interval-ms}, by reading past the highest
+ * sequence seen so far. The high-water mark doesn't move past a missing sequence for
+ * {@code jwt.revocation.gap-grace-ms}, so a revocation whose transaction commits after a later one isn't skipped;
+ * a gap that never fills (a rolled-back insert) is passed over once the grace is up.
+ */
 @Slf4j
 @Service
 public class TokenBlacklistService {
 
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
+    static final int MIN_FILTER_CAPACITY = 1024;
 
-    public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
-        log.debug("Token blacklisted: {}", token.substring(0, Math.min(20, token.length())) + "...");
+    /**
+     * Rough footprint of one entry: the id string, its map node and boxed expiry, and its wheel entry.
+     */
+    static final long ENTRY_BYTES = 160;
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final TokenRevocationStore revocationStore;
+    private final TimingWheel<String> wheel;
+    private final double falsePositiveRate;
+    private final int pollBatchSize;
+    private final long gapGraceMillis;
+    private final Counter falsePositives;
+    private volatile BloomFilter filter;
+    private long highWaterMark;
+    private long gapSeenAt = -1;
+    private boolean loaded;
+
+    public TokenBlacklistService(TokenRevocationStore revocationStore,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${jwt.blacklist.tick-ms:1000}") long tickMillis,
+                                 @Value("${jwt.blacklist.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${jwt.revocation.poll-batch-size:500}") int pollBatchSize,
+                                 @Value("${jwt.revocation.gap-grace-ms:10000}") long gapGraceMillis) {
+        this.revocationStore = revocationStore;
+        this.pollBatchSize = pollBatchSize;
+        this.gapGraceMillis = gapGraceMillis;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(MIN_FILTER_CAPACITY, falsePositiveRate);
+        Gauge.builder("jwt.blacklist.size", expiries, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        Gauge.builder("jwt.blacklist.memory", this, TokenBlacklistService::estimatedBytes)
+                .description("Estimated memory held by the token blacklist and its Bloom filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("jwt.blacklist.filter.false-positives")
+                .description("Lookups the Bloom filter let through for tokens that are not revoked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revokes the token with id {@code tokenId} until {@code expiresAt} on every instance. Tokens that have already
+     * expired are ignored. If the store can't be written the token stays revoked on this instance only.
+     */
+    public void blacklistToken(String tokenId, Instant expiresAt) {
+        if (!add(tokenId, expiresAt.toEpochMilli())) {
+            return;
+        }
+        log.debug("Token {} blacklisted until {}", tokenId, expiresAt);
+        try {
+            revocationStore.save(tokenId, expiresAt);
+        } catch (RuntimeException e) {
+            log.error("Failed to share revocation of token {}, other instances still accept it", tokenId, e);
+        }
     }
 
-    public boolean isTokenBlacklisted(String token) {
-        return !blacklistedTokens.contains(token);
+    public boolean isTokenBlacklisted(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        boolean blacklisted = expiries.containsKey(tokenId);
+        if (!blacklisted) {
+            falsePositives.increment();
+        }
+        return blacklisted;
     }
 
+    @Scheduled(fixedDelayString = "${jwt.blacklist.tick-ms:1000}")
     public void removeExpiredTokens() {
-        blacklistedTokens.clear();
-        log.debug("Cleared blacklisted tokens");
+        removeExpiredTokens(System.currentTimeMillis());
+    }
+
+    public void refresh() {
+        try {
+            refresh(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Failed to read token revocations, retrying from sequence {}", highWaterMark, e);
+        }
+    }
+
+    synchronized void refresh(long nowMillis) {
+        boolean more;
+        do {
+            List<TokenRevocation> revocations = revocationStore.findAfter(highWaterMark, pollBatchSize);
+            revocations.forEach(revocation -> add(revocation.tokenId(), revocation.expiresAt().toEpochMilli()));
+            more = advanceHighWaterMark(revocations, nowMillis) && revocations.size() == pollBatchSize;
+        } while (more);
+        loaded = true;
+    }
+
+    synchronized void removeExpiredTokens(long nowMillis) {
+        int before = expiries.size();
+        wheel.advance(nowMillis, tokenId ->
+                expiries.computeIfPresent(tokenId, (id, expiresAt) -> expiresAt <= nowMillis ? null : expiresAt));
+        int removed = before - expiries.size();
+        if (removed > 0) {
+            log.debug("Removed {} expired tokens from the blacklist", removed);
+            if (filter.capacity() > MIN_FILTER_CAPACITY && expiries.size() < filter.capacity() / 4) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    long highWaterMark() {
+        return highWaterMark;
+    }
+
+    int filterCapacity() {
+        return filter.capacity();
+    }
+
+    private synchronized boolean add(String tokenId, long expiresAtMillis) {
+        Long previous = expiries.get(tokenId);
+        if (previous != null && previous >= expiresAtMillis) {
+            return false;
+        }
+        if (!wheel.schedule(tokenId, expiresAtMillis)) {
+            return false;
+        }
+        expiries.put(tokenId, expiresAtMillis);
+        if (previous == null) {
+            filter.add(tokenId);
+            if (filter.added() > filter.capacity()) {
+                rebuildFilter();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the high-water mark over {@code revocations} as far as there are no gaps, or past a gap that has been
+     * open for longer than the grace. The first load takes everything, since the purge leaves gaps behind. Returns
+     * whether it reached the last one.
+     */
+    private boolean advanceHighWaterMark(List<TokenRevocation> revocations, long nowMillis) {
+        for (TokenRevocation revocation : revocations) {
+            if (loaded && revocation.sequence() != highWaterMark + 1) {
+                if (gapSeenAt < 0) {
+                    gapSeenAt = nowMillis;
+                }
+                if (nowMillis - gapSeenAt < gapGraceMillis) {
+                    return false;
+                }
+            }
+            highWaterMark = revocation.sequence();
+            gapSeenAt = -1;
+        }
+        return true;
+    }
+
+    private void rebuildFilter() {
+        BloomFilter rebuilt = BloomFilter.create(Math.max(MIN_FILTER_CAPACITY, 2 * expiries.size()),
+                falsePositiveRate);
+        expiries.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+
+    private long estimatedBytes() {
+        return expiries.size() * ENTRY_BYTES + filter.sizeInBytes();
     }
 }
@@ -0,0 +1,30 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the shared {@link TokenRevocationStore} for revocations made by other instances and purges expired ones.
+ * Turned off with {@code jwt.revocation.polling-enabled=false}, in which case revocations still reach the store
+ * but only the instance that made them enforces them.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.revocation.polling-enabled", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationPoller {
+
+    private final TokenBlacklistService tokenBlacklistService;
+    private final TokenRevocationStore revocationStore;
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:1000}")
+    public void poll() {
+        tokenBlacklistService.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purge() {
+        revocationStore.purgeExpired();
+    }
+}
@@ -0,0 +1,25 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import femcoders25.mykitchen_hub.auth.dto.TokenRevocation;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Revocations shared by every instance of the application. Each instance keeps its own
+ * {@link TokenBlacklistService} in sync by reading what was recorded after the last sequence it has seen.
+ */
+public interface TokenRevocationStore {
+
+    void save(String tokenId, Instant expiresAt);
+
+    /**
+     * Up to {@code limit} revocations with a sequence above {@code afterSequence}, in sequence order.
+     */
+    List<TokenRevocation> findAfter(long afterSequence, int limit);
+
+    /**
+     * Forgets revocations of tokens that have expired since.
+     */
+    void purgeExpired();
+}
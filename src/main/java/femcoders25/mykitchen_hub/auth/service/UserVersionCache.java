@@ -0,0 +1,56 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import femcoders25.mykitchen_hub.user.event.UserCredentialsChangedEvent;
+import femcoders25.mykitchen_hub.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Current credentials version of each recently seen user, so access tokens can be checked for revocation without
+ * loading the user. Entries are dropped as soon as a {@link UserCredentialsChangedEvent} commits; the TTL bounds
+ * how long another instance may keep accepting a revoked token. Deleted users are remembered as such.
+ */
+@Component
+public class UserVersionCache {
+
+    static final String CACHE_NAME = "userCredentialsVersion";
+
+    private static final long DELETED = -1;
+
+    private final Cache<Long, Long> versions;
+    private final UserRepository userRepository;
+
+    public UserVersionCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${auth.user-version-cache.max-size:10000}") long maxSize,
+                            @Value("${auth.user-version-cache.ttl:1m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, CACHE_NAME);
+    }
+
+    /**
+     * Whether {@code credentialsVersion} is still the user's current version.
+     */
+    public boolean isCurrent(Long userId, long credentialsVersion) {
+        long current = versions.get(userId, id -> userRepository.findCredentialsVersionById(id).orElse(DELETED));
+        return current != DELETED && current == credentialsVersion;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        versions.invalidate(event.userId());
+    }
+}
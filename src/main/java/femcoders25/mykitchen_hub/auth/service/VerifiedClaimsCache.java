@@ -0,0 +1,69 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Caches the claims of tokens whose signature has already been verified, so a client reusing its bearer token
+ * skips signature checks and JSON parsing. Entries are keyed by the SHA-256 of the token, so raw tokens are never
+ * held, and live until the token's {@code exp} (at most the TTL); an expired token always goes back to the
+ * parser and is rejected there.
+ */
+@Component
+public class VerifiedClaimsCache {
+
+    static final String CACHE_NAME = "jwtClaims";
+
+    private final Cache<String, Claims> cache;
+
+    public VerifiedClaimsCache(MeterRegistry meterRegistry,
+                               @Value("${jwt.claims-cache.max-size:10000}") long maxSize,
+                               @Value("${jwt.claims-cache.ttl:15m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, Claims>creating((key, claims) -> lifetime(claims, ttl, new Date())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * The cached claims of {@code token}, or the claims {@code verifier} returns for it. A verifier that throws
+     * caches nothing.
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        return cache.get(hash(token), key -> verifier.apply(token));
+    }
+
+    static Duration lifetime(Claims claims, Duration ttl, Date now) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return ttl;
+        }
+        Duration remaining = Duration.ofMillis(expiration.getTime() - now.getTime());
+        return remaining.isNegative() ? Duration.ZERO : remaining.compareTo(ttl) < 0 ? remaining : ttl;
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -8,10 +8,12 @@ import femcoders25.mykitchen_hub.comment.repository.CommentRepository;
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
 import femcoders25.mykitchen_hub.common.exception.UnauthorizedOperationException;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
 import femcoders25.mykitchen_hub.user.entity.User;
 import femcoders25.mykitchen_hub.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class CommentService {
     private final UserService userService;
     private final RecipeRepository recipeRepository;
     private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CommentResponseDto createComment(Long recipeId, CommentRequestDto requestDto) {
@@ -37,6 +40,7 @@ public class CommentService {
         comment.setUser(currentUser);
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipeId));
         return CommentMapper.toCommentResponseDto(savedComment);
     }
 
@@ -53,11 +57,11 @@ public class CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
 
-        User currentUser = userService.getCurrentUser();
-        if (!comment.getUser().getId().equals(currentUser.getId())) {
+        if (!comment.getUser().getId().equals(userService.getCurrentUserId())) {
             throw new UnauthorizedOperationException("delete", "comment");
         }
 
         commentRepository.deleteById(id);
+        eventPublisher.publishEvent(new RecipeChangedEvent(comment.getRecipe().getId()));
     }
 }
@@ -0,0 +1,10 @@
+package femcoders25.mykitchen_hub.common.dto;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
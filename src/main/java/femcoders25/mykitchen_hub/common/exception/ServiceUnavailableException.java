@@ -0,0 +1,8 @@
+package femcoders25.mykitchen_hub.common.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
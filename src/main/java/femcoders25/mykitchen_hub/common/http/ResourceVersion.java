@@ -0,0 +1,67 @@
+package femcoders25.mykitchen_hub.common.http;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.stream.Collectors;
+
+/**
+ * Validators for a conditional GET: a strong ETag hashed from the parts that make up the response, and an
+ * optional Last-Modified which is only set when every change to the resource moves it forward.
+ */
+public record ResourceVersion(String eTag, LocalDateTime lastModified) {
+
+    private static final int ETAG_BYTES = 16;
+
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        String source = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return new ResourceVersion(strongETag(source), lastModified);
+    }
+
+    public boolean isNotModified(WebRequest request) {
+        if (lastModified == null) {
+            return request.checkNotModified(eTag);
+        }
+        return request.checkNotModified(eTag, toEpochMilli(lastModified));
+    }
+
+    public <T> ResponseEntity<T> notModified() {
+        return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+    }
+
+    public <T> ResponseEntity<T> ok(T body) {
+        return headers(ResponseEntity.ok()).body(body);
+    }
+
+    private ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder) {
+        builder.eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate());
+        if (lastModified != null) {
+            builder.lastModified(toEpochMilli(lastModified));
+        }
+        return builder;
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String strongETag(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
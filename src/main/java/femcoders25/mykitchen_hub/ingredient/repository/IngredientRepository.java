@@ -2,6 +2,7 @@ package femcoders25.mykitchen_hub.ingredient.repository;
 
 import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.search.dto.IngredientDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,6 +18,14 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
     @Query("SELECT i FROM Ingredient i WHERE i.recipe.id = :recipeId")
     List<Ingredient> findIngredientsByRecipeId(@Param("recipeId") Long recipeId);
 
+    @Query("SELECT new femcoders25.mykitchen_hub.search.dto.IngredientDocument(i.recipe.id, i.name, i.amount, i.unit) " +
+            "FROM Ingredient i WHERE i.recipe.id = :recipeId")
+    List<IngredientDocument> findDocumentsByRecipeId(@Param("recipeId") Long recipeId);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.search.dto.IngredientDocument(i.recipe.id, i.name, i.amount, i.unit) " +
+            "FROM Ingredient i WHERE i.recipe.id BETWEEN :fromId AND :toId")
+    List<IngredientDocument> findDocumentsByRecipeIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
     void deleteByRecipe(Recipe recipe);
 
     void deleteByRecipeId(Long recipeId);
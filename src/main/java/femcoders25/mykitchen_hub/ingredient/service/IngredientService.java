@@ -8,10 +8,14 @@ import femcoders25.mykitchen_hub.ingredient.dto.IngredientMapper;
 import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
 import femcoders25.mykitchen_hub.ingredient.repository.IngredientRepository;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,6 +25,8 @@ import java.util.stream.Collectors;
 public class IngredientService {
 
     private final IngredientRepository ingredientRepository;
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<IngredientResponseDto> getIngredientsByRecipeId(Long recipeId) {
         List<Ingredient> ingredients = ingredientRepository.findByRecipeId(recipeId);
@@ -38,6 +44,7 @@ public class IngredientService {
     public IngredientResponseDto createIngredient(IngredientDto ingredientDto, Recipe recipe) {
         Ingredient ingredient = IngredientMapper.toIngredient(ingredientDto, recipe);
         Ingredient savedIngredient = ingredientRepository.save(ingredient);
+        publishRecipeChanged(recipe);
         return IngredientMapper.toIngredientResponseDto(savedIngredient);
     }
 
@@ -47,18 +54,20 @@ public class IngredientService {
         
         IngredientMapper.updateIngredientFromDto(ingredient, updateDto);
         Ingredient updatedIngredient = ingredientRepository.save(ingredient);
+        publishRecipeChanged(ingredient.getRecipe());
         return IngredientMapper.toIngredientResponseDto(updatedIngredient);
     }
 
     public void deleteIngredient(Long id) {
-        if (!ingredientRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Ingredient not found with id: " + id);
-        }
-        ingredientRepository.deleteById(id);
+        Ingredient ingredient = ingredientRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found with id: " + id));
+        ingredientRepository.delete(ingredient);
+        publishRecipeChanged(ingredient.getRecipe());
     }
 
     public void deleteIngredientsByRecipeId(Long recipeId) {
         ingredientRepository.deleteByRecipeId(recipeId);
+        markRecipeChanged(recipeId);
     }
 
     public List<Ingredient> createIngredientsFromDto(List<IngredientDto> ingredientDtos, Recipe recipe) {
@@ -70,6 +79,19 @@ public class IngredientService {
                 .map(dto -> IngredientMapper.toIngredient(dto, recipe))
                 .collect(Collectors.toList());
 
-        return ingredientRepository.saveAll(ingredients);
+        List<Ingredient> savedIngredients = ingredientRepository.saveAll(ingredients);
+        publishRecipeChanged(recipe);
+        return savedIngredients;
+    }
+
+    private void publishRecipeChanged(Recipe recipe) {
+        if (recipe != null && recipe.getId() != null) {
+            markRecipeChanged(recipe.getId());
+        }
+    }
+
+    private void markRecipeChanged(Long recipeId) {
+        recipeRepository.touchUpdatedAt(recipeId, LocalDateTime.now());
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipeId));
     }
 }
@@ -0,0 +1,8 @@
+package femcoders25.mykitchen_hub.like.dto;
+
+public record LikeCountsDto(
+        long likesCount,
+        long dislikesCount) {
+
+    public static final LikeCountsDto EMPTY = new LikeCountsDto(0L, 0L);
+}
@@ -0,0 +1,7 @@
+package femcoders25.mykitchen_hub.like.dto;
+
+public record RecipeVoteCount(
+        Long recipeId,
+        Boolean isLike,
+        Long count) {
+}
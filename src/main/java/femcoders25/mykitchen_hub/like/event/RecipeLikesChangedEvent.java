@@ -0,0 +1,6 @@
+package femcoders25.mykitchen_hub.like.event;
+
+import java.util.List;
+
+public record RecipeLikesChangedEvent(List<Long> recipeIds) {
+}
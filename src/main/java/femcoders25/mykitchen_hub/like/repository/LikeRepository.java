@@ -1,5 +1,6 @@
 package femcoders25.mykitchen_hub.like.repository;
 
+import femcoders25.mykitchen_hub.like.dto.RecipeVoteCount;
 import femcoders25.mykitchen_hub.like.entity.Like;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
 import femcoders25.mykitchen_hub.user.entity.User;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,5 +25,9 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     @Query("SELECT COUNT(l) FROM Like l WHERE l.recipe = :recipe AND l.isLike = false")
     long countDislikesByRecipe(@Param("recipe") Recipe recipe);
 
+    @Query("SELECT new femcoders25.mykitchen_hub.like.dto.RecipeVoteCount(l.recipe.id, l.isLike, COUNT(l)) " +
+            "FROM Like l WHERE l.recipe.id IN :recipeIds GROUP BY l.recipe.id, l.isLike")
+    List<RecipeVoteCount> countVotesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
     void deleteByUserAndRecipe(User user, Recipe recipe);
 }
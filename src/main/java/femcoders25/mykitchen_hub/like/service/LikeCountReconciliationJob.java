@@ -0,0 +1,32 @@
+package femcoders25.mykitchen_hub.like.service;
+
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeCountReconciliationJob {
+
+    private final LikeService likeService;
+    private final RecipeRepository recipeRepository;
+
+    @Value("${likes.reconciliation.batch-size:500}")
+    private long batchSize;
+
+    @Scheduled(cron = "${likes.reconciliation.cron:0 0 4 * * *}")
+    public void reconcileLikeCounts() {
+        long maxId = recipeRepository.findMaxId();
+        long updated = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+            updated += likeService.recalculateLikeCounts(fromId, fromId + batchSize - 1);
+        }
+
+        log.info("Reconciled like counters for {} recipes", updated);
+    }
+}
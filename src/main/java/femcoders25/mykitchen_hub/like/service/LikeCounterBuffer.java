@@ -0,0 +1,323 @@
+package femcoders25.mykitchen_hub.like.service;
+
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
+import femcoders25.mykitchen_hub.like.event.RecipeLikesChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Accumulates committed vote deltas in memory and flushes them to {@code recipes} in one batch
+ * every {@code likes.write-behind.flush-interval-ms}, which bounds how stale the columns can get.
+ * <p>
+ * Each recipe has a cell of {@link LongAdder}s, so concurrent votes never contend on a lock. A vote enters
+ * its cell just before its transaction commits and leaves it once its delta is added, which lets a flush or
+ * a recount tell when no vote on a recipe is between its database commit and its buffered delta.
+ * Deltas of the current transaction are kept apart until it commits, but already count in {@link #merge}
+ * on that transaction's thread, so a vote's response includes the vote itself.
+ * <p>
+ * A flush swaps in a fresh set of cells, waits for votes still entered in the old set, then writes the old
+ * set in one batch. Recipes without new votes therefore drop out of the buffer at every flush. Readers see
+ * the old set until the batch commits. Each committed batch publishes a {@link RecipeLikesChangedEvent}
+ * for the recipes it wrote.
+ */
+@Slf4j
+@Component
+public class LikeCounterBuffer {
+
+    private static final String FLUSH_SQL =
+            "UPDATE recipes SET likes_count = likes_count + ?, dislikes_count = dislikes_count + ? WHERE id = ?";
+
+    private static final String RECOUNT_SQL =
+            "UPDATE recipes SET likes_count = ?, dislikes_count = ? WHERE id = ?";
+
+    private static final long SETTLE_PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private volatile Map<Long, PendingVotes> pending = new ConcurrentHashMap<>();
+    private volatile Map<Long, PendingVotes> flushing;
+
+    public LikeCounterBuffer(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${likes.write-behind.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void add(Long recipeId, long likesDelta, long dislikesDelta) {
+        Map<Long, VoteDelta> transactionVotes = transactionVotes();
+        if (transactionVotes == null) {
+            PendingVotes votes = enter(recipeId);
+            votes.add(likesDelta, dislikesDelta);
+            votes.exit();
+        } else {
+            transactionVotes.merge(recipeId, new VoteDelta(likesDelta, dislikesDelta), VoteDelta::plus);
+        }
+    }
+
+    public LikeCountsDto merge(Long recipeId, LikeCountsDto persisted) {
+        Map<Long, PendingVotes> current = pending;
+        Map<Long, PendingVotes> draining = flushing;
+        long likes = 0;
+        long dislikes = 0;
+        PendingVotes votes = current.get(recipeId);
+        if (votes != null) {
+            likes += votes.likes.sum();
+            dislikes += votes.dislikes.sum();
+        }
+        votes = draining != null && draining != current ? draining.get(recipeId) : null;
+        if (votes != null) {
+            likes += votes.likes.sum();
+            dislikes += votes.dislikes.sum();
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, VoteDelta> transactionVotes = (Map<Long, VoteDelta>) TransactionSynchronizationManager.getResource(this);
+        VoteDelta ownVotes = transactionVotes != null ? transactionVotes.get(recipeId) : null;
+        if (ownVotes != null) {
+            likes += ownVotes.likes();
+            dislikes += ownVotes.dislikes();
+        }
+        if (likes == 0 && dislikes == 0) {
+            return persisted;
+        }
+        return new LikeCountsDto(persisted.likesCount() + likes, persisted.dislikesCount() + dislikes);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.write-behind.flush-interval-ms:500}")
+    public synchronized void flush() {
+        Map<Long, PendingVotes> draining = pending;
+        if (draining.isEmpty()) {
+            return;
+        }
+        flushing = draining;
+        pending = new ConcurrentHashMap<>();
+        try {
+            draining.values().forEach(PendingVotes::awaitSettled);
+            writeBatch(draining);
+        } finally {
+            flushing = null;
+        }
+    }
+
+    /**
+     * Rewrites the counters of recipes {@code fromId..toId} from {@code counter}, which counts the
+     * {@code likes} table, minus the deltas still buffered for them: those votes are already in the table
+     * and the next flush adds them again. Votes are never held back. A recipe whose vote was between its
+     * commit and its buffered delta while the table was counted is left for the next run.
+     *
+     * @return how many recipes were rewritten
+     */
+    public synchronized int recount(Long fromId, Long toId, Supplier<Map<Long, LikeCountsDto>> counter) {
+        Map<Long, PendingVotes> current = pending;
+        Map<Long, Long> settled = settledVotes(current, fromId, toId);
+        Integer recounted = transactionTemplate.execute(status -> {
+            Map<Long, LikeCountsDto> counts = counter.get();
+            Map<Long, LikeCountsDto> buffered = new HashMap<>();
+            current.forEach((recipeId, votes) -> {
+                if (recipeId >= fromId && recipeId <= toId) {
+                    buffered.put(recipeId, new LikeCountsDto(votes.likes.sum(), votes.dislikes.sum()));
+                }
+            });
+            Map<Long, Long> stillSettled = settledVotes(current, fromId, toId);
+
+            List<Object[]> batch = new ArrayList<>();
+            counts.forEach((recipeId, votes) -> {
+                Long entered = settled.get(recipeId);
+                if ((entered != null && entered < 0) || !Objects.equals(entered, stillSettled.get(recipeId))) {
+                    return;
+                }
+                LikeCountsDto pendingVotes = buffered.getOrDefault(recipeId, LikeCountsDto.EMPTY);
+                batch.add(new Object[]{votes.likesCount() - pendingVotes.likesCount(),
+                        votes.dislikesCount() - pendingVotes.dislikesCount(), recipeId});
+            });
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(RECOUNT_SQL, batch);
+            }
+            if (batch.size() < counts.size()) {
+                log.debug("Left {} recipes with votes in flight for the next like counter recount",
+                        counts.size() - batch.size());
+            }
+            return batch.size();
+        });
+        return recounted != null ? recounted : 0;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    int pendingRecipes() {
+        return pending.size();
+    }
+
+    private void writeBatch(Map<Long, PendingVotes> draining) {
+        List<Object[]> batch = new ArrayList<>();
+        draining.forEach((recipeId, votes) -> {
+            long likes = votes.likes.sum();
+            long dislikes = votes.dislikes.sum();
+            if (likes != 0 || dislikes != 0) {
+                batch.add(new Object[]{likes, dislikes, recipeId});
+            }
+        });
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            log.debug("Flushed like counter deltas for {} recipes", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to flush like counter deltas for {} recipes, will retry", batch.size(), e);
+            for (Object[] row : batch) {
+                PendingVotes votes = enter((Long) row[2]);
+                votes.add((Long) row[0], (Long) row[1]);
+                votes.exit();
+            }
+            return;
+        }
+        eventPublisher.publishEvent(new RecipeLikesChangedEvent(batch.stream().map(row -> (Long) row[2]).toList()));
+    }
+
+    /**
+     * The cell of {@code recipeId} in the current set, entered by the caller, who must {@link PendingVotes#exit}
+     * it once its delta is added. Retries if a flush swapped the set in the meantime.
+     */
+    private PendingVotes enter(Long recipeId) {
+        while (true) {
+            Map<Long, PendingVotes> current = pending;
+            PendingVotes votes = current.computeIfAbsent(recipeId, id -> new PendingVotes());
+            votes.entered.increment();
+            if (current == pending) {
+                return votes;
+            }
+            votes.exit();
+        }
+    }
+
+    /**
+     * How many votes have entered each cell of the range, -1 for cells with a vote still in flight.
+     */
+    private static Map<Long, Long> settledVotes(Map<Long, PendingVotes> current, Long fromId, Long toId) {
+        Map<Long, Long> settled = new HashMap<>();
+        for (Map.Entry<Long, PendingVotes> entry : current.entrySet()) {
+            if (entry.getKey() < fromId || entry.getKey() > toId) {
+                continue;
+            }
+            settled.put(entry.getKey(), entry.getValue().settledCount());
+        }
+        return settled;
+    }
+
+    /**
+     * The deltas of the current transaction, registering it on first use; null outside a transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, VoteDelta> transactionVotes() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, VoteDelta> transactionVotes = (Map<Long, VoteDelta>) TransactionSynchronizationManager.getResource(this);
+        if (transactionVotes != null) {
+            return transactionVotes;
+        }
+
+        Map<Long, VoteDelta> votes = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, votes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private final Map<Long, PendingVotes> entered = new HashMap<>();
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                votes.keySet().forEach(recipeId -> entered.put(recipeId, enter(recipeId)));
+            }
+
+            @Override
+            public void afterCommit() {
+                votes.forEach((recipeId, delta) -> entered.get(recipeId).add(delta.likes(), delta.dislikes()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LikeCounterBuffer.this);
+                entered.values().forEach(PendingVotes::exit);
+            }
+        });
+        return votes;
+    }
+
+    private static final class PendingVotes {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder dislikes = new LongAdder();
+        private final LongAdder entered = new LongAdder();
+        private final LongAdder exited = new LongAdder();
+
+        void add(long likesDelta, long dislikesDelta) {
+            if (likesDelta != 0) {
+                likes.add(likesDelta);
+            }
+            if (dislikesDelta != 0) {
+                dislikes.add(dislikesDelta);
+            }
+        }
+
+        void exit() {
+            exited.increment();
+        }
+
+        /**
+         * How many votes have entered, or -1 while one of them has not exited. Both adders only grow, so
+         * reading {@code exited} first can only make an in-flight vote show, never hide one.
+         */
+        long settledCount() {
+            long exitedCount = exited.sum();
+            long enteredCount = entered.sum();
+            return exitedCount == enteredCount ? enteredCount : -1;
+        }
+
+        void awaitSettled() {
+            while (settledCount() < 0) {
+                LockSupport.parkNanos(SETTLE_PAUSE_NANOS);
+            }
+        }
+    }
+
+    private record VoteDelta(long likes, long dislikes) {
+
+        VoteDelta plus(VoteDelta other) {
+            return new VoteDelta(likes + other.likes, dislikes + other.dislikes);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package femcoders25.mykitchen_hub.like.service;
 
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
 import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
+import femcoders25.mykitchen_hub.like.dto.RecipeVoteCount;
 import femcoders25.mykitchen_hub.like.entity.Like;
+import femcoders25.mykitchen_hub.like.event.RecipeLikesChangedEvent;
 import femcoders25.mykitchen_hub.like.repository.LikeRepository;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
@@ -10,9 +13,14 @@ import femcoders25.mykitchen_hub.user.entity.User;
 import femcoders25.mykitchen_hub.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -24,6 +32,8 @@ public class LikeService {
     private final LikeRepository likeRepository;
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
+    private final LikeCounterBuffer likeCounterBuffer;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LikeStatsDto likeRecipe(Long userId, Long recipeId) {
         return toggleLike(userId, recipeId, true);
@@ -43,9 +53,12 @@ public class LikeService {
             Like like = existingLike.get();
             if (like.getIsLike() == isLike) {
                 likeRepository.delete(like);
+                applyVoteDelta(recipeId, isLike, -1);
             } else {
                 like.setIsLike(isLike);
                 likeRepository.save(like);
+                applyVoteDelta(recipeId, isLike, 1);
+                applyVoteDelta(recipeId, !isLike, -1);
             }
         } else {
             Like newLike = new Like();
@@ -53,32 +66,37 @@ public class LikeService {
             newLike.setRecipe(recipe);
             newLike.setIsLike(isLike);
             likeRepository.save(newLike);
+            applyVoteDelta(recipeId, isLike, 1);
         }
 
+        if (!likeCounterBuffer.isEnabled()) {
+            eventPublisher.publishEvent(new RecipeLikesChangedEvent(List.of(recipeId)));
+        }
         return getLikeStats(userId, recipeId);
     }
 
-    public LikeStatsDto getLikeStats(Long userId, Long recipeId) {
-        Recipe recipe = getRecipeById(recipeId);
-
-        long likesCount = likeRepository.countLikesByRecipe(recipe);
-        long dislikesCount = likeRepository.countDislikesByRecipe(recipe);
+    private void applyVoteDelta(Long recipeId, boolean isLike, long delta) {
+        long likesDelta = isLike ? delta : 0;
+        long dislikesDelta = isLike ? 0 : delta;
+        if (likeCounterBuffer.isEnabled()) {
+            likeCounterBuffer.add(recipeId, likesDelta, dislikesDelta);
+        } else {
+            recipeRepository.incrementLikeCounts(recipeId, likesDelta, dislikesDelta);
+        }
+    }
 
-        boolean userLiked = false;
-        boolean userDisliked = false;
+    public LikeStatsDto getLikeStats(Long userId, Long recipeId) {
+        LikeStatsDto likeStats = recipeRepository.findLikeStatsById(recipeId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", recipeId));
 
-        if (userId != null) {
-            try {
-                User user = getUserById(userId);
-                Optional<Like> userLike = likeRepository.findByUserAndRecipe(user, recipe);
-                userLiked = userLike.isPresent() && userLike.get().getIsLike();
-                userDisliked = userLike.isPresent() && !userLike.get().getIsLike();
-            } catch (ResourceNotFoundException e) {
-                log.debug("User not found for like stats: {}", userId);
-            }
+        if (!likeCounterBuffer.isEnabled()) {
+            return likeStats;
         }
 
-        return new LikeStatsDto(likesCount, dislikesCount, userLiked, userDisliked);
+        LikeCountsDto likeCounts = likeCounterBuffer.merge(recipeId,
+                new LikeCountsDto(likeStats.likesCount(), likeStats.dislikesCount()));
+        return new LikeStatsDto(likeCounts.likesCount(), likeCounts.dislikesCount(),
+                likeStats.userLiked(), likeStats.userDisliked());
     }
 
     private User getUserById(Long userId) {
@@ -92,12 +110,48 @@ public class LikeService {
     }
 
     public long getLikesCount(Long recipeId) {
-        Recipe recipe = getRecipeById(recipeId);
-        return likeRepository.countLikesByRecipe(recipe);
+        return getLikeCounts(recipeId).likesCount();
     }
 
     public long getDislikesCount(Long recipeId) {
-        Recipe recipe = getRecipeById(recipeId);
-        return likeRepository.countDislikesByRecipe(recipe);
+        return getLikeCounts(recipeId).dislikesCount();
+    }
+
+    private LikeCountsDto getLikeCounts(Long recipeId) {
+        LikeCountsDto persisted = recipeRepository.findLikeCountsById(recipeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", recipeId));
+        return withPendingVotes(recipeId, persisted);
+    }
+
+    public LikeCountsDto getLikeCounts(Recipe recipe) {
+        return withPendingVotes(recipe.getId(), new LikeCountsDto(recipe.getLikesCount(), recipe.getDislikesCount()));
+    }
+
+    public LikeCountsDto withPendingVotes(Long recipeId, LikeCountsDto persisted) {
+        return likeCounterBuffer.isEnabled() ? likeCounterBuffer.merge(recipeId, persisted) : persisted;
+    }
+
+    public int recalculateLikeCounts(Long fromId, Long toId) {
+        if (likeCounterBuffer.isEnabled()) {
+            return likeCounterBuffer.recount(fromId, toId,
+                    () -> countVotes(recipeRepository.findIdsByIdBetween(fromId, toId)));
+        }
+        return recipeRepository.recalculateLikeCounts(fromId, toId);
+    }
+
+    private Map<Long, LikeCountsDto> countVotes(Collection<Long> recipeIds) {
+        Map<Long, LikeCountsDto> likeCounts = new HashMap<>();
+        recipeIds.forEach(recipeId -> likeCounts.put(recipeId, LikeCountsDto.EMPTY));
+        if (recipeIds.isEmpty()) {
+            return likeCounts;
+        }
+
+        for (RecipeVoteCount voteCount : likeRepository.countVotesByRecipeIds(recipeIds)) {
+            LikeCountsDto current = likeCounts.get(voteCount.recipeId());
+            likeCounts.put(voteCount.recipeId(), Boolean.TRUE.equals(voteCount.isLike())
+                    ? new LikeCountsDto(voteCount.count(), current.dislikesCount())
+                    : new LikeCountsDto(current.likesCount(), voteCount.count()));
+        }
+        return likeCounts;
     }
 }
@@ -1,11 +1,22 @@
 package femcoders25.mykitchen_hub.recipe.controller;
 
 import femcoders25.mykitchen_hub.common.dto.ApiResponse;
+import femcoders25.mykitchen_hub.common.dto.CursorPageDto;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeCreateDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeListDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeUpdateDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeVersionDto;
+import femcoders25.mykitchen_hub.recipe.dto.SearchTotal;
 import femcoders25.mykitchen_hub.recipe.service.RecipeService;
+import femcoders25.mykitchen_hub.search.dto.FacetedSearchResultDto;
+import femcoders25.mykitchen_hub.search.dto.PantryMatchDto;
+import femcoders25.mykitchen_hub.search.dto.RecipeSearchCriteria;
+import femcoders25.mykitchen_hub.search.dto.SuggestionDto;
+import femcoders25.mykitchen_hub.search.dto.TagFacetDto;
+import femcoders25.mykitchen_hub.search.service.RecipeSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,16 +30,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -38,6 +55,7 @@ import java.io.IOException;
 public class RecipeController {
 
         private final RecipeService recipeService;
+        private final RecipeSearchService recipeSearchService;
 
         @Operation(summary = "Create a new recipe", description = "Creates a new recipe with optional image upload using form fields. All fields are displayed as input fields in Swagger UI.")
         @ApiResponses(value = {
@@ -98,16 +116,39 @@ public class RecipeController {
                 return ResponseEntity.ok(ApiResponse.success("Recipes retrieved successfully", recipes));
         }
 
-        @Operation(summary = "Get recipe by ID", description = "Retrieves a specific recipe by its ID")
+        @Operation(summary = "Get recipes by cursor", description = "Retrieves recipes newest first using keyset pagination. Pass the returned nextCursor to fetch the following page; no total count is computed")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Recipes retrieved successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping("/cursor")
+        public ResponseEntity<ApiResponse<CursorPageDto<RecipeListDto>>> getRecipesByCursor(
+                        @Parameter(description = "Opaque cursor from the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "10") int size) {
+
+                CursorPageDto<RecipeListDto> recipes = recipeService.getRecipesByCursor(cursor, size);
+                return ResponseEntity.ok(ApiResponse.success("Recipes retrieved successfully", recipes));
+        }
+
+        @Operation(summary = "Get recipe by ID", description = "Retrieves a specific recipe by its ID. Supports If-None-Match and answers 304 when the recipe, its comments and its votes are unchanged")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Recipe retrieved successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Recipe not modified"),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Recipe not found", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
         })
         @GetMapping("/{id}")
         public ResponseEntity<ApiResponse<RecipeResponseDto>> getRecipeById(
-                        @Parameter(description = "Recipe ID") @PathVariable Long id) {
+                        @Parameter(description = "Recipe ID") @PathVariable Long id,
+                        WebRequest request) {
+                long usernameVersion = recipeService.getUsernameVersion();
+                Optional<ResourceVersion> version = recipeService.getRecipeVersion(id);
+                if (version.isPresent() && version.get().isNotModified(request)) {
+                        return version.get().notModified();
+                }
+
                 RecipeResponseDto recipe = recipeService.getRecipeById(id);
-                return ResponseEntity.ok(ApiResponse.success("Recipe retrieved successfully", recipe));
+                return RecipeVersionDto.of(recipe, usernameVersion).toResourceVersion()
+                                .ok(ApiResponse.success("Recipe retrieved successfully", recipe));
         }
 
         @Operation(summary = "Update recipe", description = "Updates an existing recipe with optional image upload using form fields. All fields are displayed as input fields in Swagger UI.")
@@ -171,65 +212,283 @@ public class RecipeController {
                                                 "Recipe with id " + id + " has been deleted"));
         }
 
-        @Operation(summary = "Search recipes by title", description = "Searches for recipes containing the specified title")
+        @Operation(summary = "Full-text recipe search", description = "Searches recipe titles, tags and descriptions with stemming and returns lightweight recipe cards ranked by relevance (BM25). Title matches weigh more than tag matches, which weigh more than description matches. When nothing matches, recipes with similarly spelt title or ingredient words are returned instead")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
         })
-        @GetMapping("/search/title")
-        public ResponseEntity<ApiResponse<Page<RecipeResponseDto>>> searchRecipesByTitle(
-                        @Parameter(description = "Title to search for") @RequestParam String title,
+        @GetMapping("/search")
+        public ResponseEntity<ApiResponse<Page<RecipeSearchHitDto>>> searchRecipes(
+                        @Parameter(description = "Free-text query, e.g. \"creamy chicken curry\"") @RequestParam String q,
                         @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
                         @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
-                log.info("Searching recipes by title: {}", title);
+                log.info("Full-text recipe search: {}", q);
+                Pageable pageable = PageRequest.of(page, size);
+                Page<RecipeSearchHitDto> recipes = recipeSearchService.search(q, pageable);
+
+                String message = recipes.isEmpty()
+                                ? "No recipes found matching: " + q
+                                : "Found " + recipes.getTotalElements() + " recipes matching: " + q;
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Combined faceted recipe search", description = "Filters recipes by any combination of free text, a boolean ingredient query, tags, author and creation date in one request. Results are ranked by relevance when q is given and newest first otherwise, and come with tag and top ingredient counts over all matching recipes")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid ingredient query", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping("/search/faceted")
+        public ResponseEntity<ApiResponse<FacetedSearchResultDto>> facetedSearch(
+                        @Parameter(description = "Free-text query (optional)") @RequestParam(required = false) String q,
+                        @Parameter(description = "Boolean ingredient query (optional), e.g. \"chicken AND garlic NOT cream\"") @RequestParam(required = false) String ingredients,
+                        @Parameter(description = "Tags the recipes must all carry (optional, repeatable)") @RequestParam(value = "tag", required = false) List<String> tag,
+                        @Parameter(description = "Author username (optional)") @RequestParam(required = false) String author,
+                        @Parameter(description = "Only recipes created on or after this date (optional)", example = "2025-01-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdAfter,
+                        @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+                RecipeSearchCriteria criteria = new RecipeSearchCriteria(q, ingredients, tag, author, createdAfter);
+                log.info("Faceted recipe search: {}", criteria);
+                FacetedSearchResultDto result = recipeSearchService.facetedSearch(criteria, PageRequest.of(page, size));
+
+                String message = result.recipes().isEmpty()
+                                ? "No recipes found"
+                                : "Found " + result.recipes().getTotalElements() + " recipes";
+
+                return ResponseEntity.ok(ApiResponse.success(message, result));
+        }
+
+        @Operation(summary = "Typeahead suggestions", description = "Suggests recipe titles, ingredient names and tags where any word starts with the given prefix, most popular first. Served from memory, meant to be called on every keystroke")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping("/suggest")
+        public ResponseEntity<ApiResponse<List<SuggestionDto>>> suggest(
+                        @Parameter(description = "What the user has typed so far, e.g. \"chick\"") @RequestParam String prefix,
+                        @Parameter(description = "Maximum number of suggestions (1-10)") @RequestParam(defaultValue = "10") int limit) {
+                List<SuggestionDto> suggestions = recipeSearchService.suggest(prefix, limit);
+                return ResponseEntity.ok(ApiResponse.success("Found " + suggestions.size() + " suggestions", suggestions));
+        }
+
+        @Operation(summary = "Search recipes by ingredient combination", description = "Finds recipes by a boolean ingredient query such as \"chicken AND garlic NOT cream\" or \"tofu OR tempeh\". AND and NOT bind tighter than OR, and adjacent words form one ingredient (\"olive oil\"). Results are newest first")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid ingredient query", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping("/search/ingredients")
+        public ResponseEntity<ApiResponse<Page<RecipeSearchHitDto>>> searchRecipesByIngredients(
+                        @Parameter(description = "Boolean ingredient query, e.g. \"chicken AND garlic NOT cream\"") @RequestParam String q,
+                        @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+                log.info("Searching recipes by ingredient query: {}", q);
                 Pageable pageable = PageRequest.of(page, size);
-                Page<RecipeResponseDto> recipes = recipeService.searchRecipesByTitle(title, pageable);
+                Page<RecipeSearchHitDto> recipes = recipeSearchService.searchByIngredients(q, pageable);
+
+                String message = recipes.isEmpty()
+                                ? "No recipes found for ingredient query: " + q
+                                : "Found " + recipes.getTotalElements() + " recipes for ingredient query: " + q;
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Cook from my pantry", description = "Ranks recipes by how much of their ingredient list the given ingredients cover, listing the covered and missing ingredients of each. Ingredients measured in the same unit count in proportion to their amount. \"chicken\" covers \"Chicken breast\"")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No ingredient given", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping("/search/pantry")
+        public ResponseEntity<ApiResponse<Page<PantryMatchDto>>> searchRecipesByPantry(
+                        @Parameter(description = "Ingredients at hand (repeatable or comma-separated)", example = "chicken,garlic,rice") @RequestParam List<String> ingredient,
+                        @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+                log.info("Ranking recipes for pantry: {}", ingredient);
+                Page<PantryMatchDto> recipes = recipeSearchService.searchByPantry(ingredient, PageRequest.of(page, size));
 
                 String message = recipes.isEmpty()
+                                ? "No recipes found for pantry: " + String.join(", ", ingredient)
+                                : "Found " + recipes.getTotalElements() + " recipes for pantry: " + String.join(", ", ingredient);
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Search recipes by title", description = "Searches for recipes containing the specified title and returns lightweight recipe cards. When no title contains it, recipes with similarly spelt title or ingredient words are returned instead. Use expand=true for full recipe details")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping("/search/title")
+        public ResponseEntity<ApiResponse<Slice<RecipeSearchHitDto>>> searchRecipeHitsByTitle(
+                        @Parameter(description = "Title to search for") @RequestParam String title,
+                        @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Result count: exact (default), approximate (cached count, may lag behind recent changes) or none (skips counting, only tells whether there is a next page)") @RequestParam(defaultValue = "exact") String total) {
+                log.info("Searching recipe hits by title: {}", title);
+                Pageable pageable = PageRequest.of(page, size);
+                Slice<RecipeSearchHitDto> recipes = recipeService.searchRecipeHitsByTitle(title, pageable, SearchTotal.parse(total));
+
+                String message = searchMessage(recipes, "title containing", title);
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Search recipes by title by cursor", description = "Searches for recipes containing the specified title, newest first, using keyset pagination. Pass an empty cursor for the first page and the returned nextCursor for the following ones; no total count is computed, and there is no similar-spelling fallback")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping(value = "/search/title", params = {"cursor", "expand!=true"})
+        public ResponseEntity<ApiResponse<CursorPageDto<RecipeSearchHitDto>>> searchRecipeHitsByTitleCursor(
+                        @Parameter(description = "Title to search for") @RequestParam String title,
+                        @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+                        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "10") int size) {
+                log.info("Searching recipe hits by title with cursor: {}", title);
+                CursorPageDto<RecipeSearchHitDto> recipes = recipeService.searchRecipeHitsByTitle(title, cursor, size);
+
+                String message = recipes.content().isEmpty()
                                 ? "No recipes found with title containing: " + title
-                                : "Found " + recipes.getTotalElements() + " recipes with title containing: " + title;
+                                : "Found recipes with title containing: " + title;
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Search recipes by title (expanded)", description = "Searches for recipes containing the specified title and returns full recipe details. When no title contains it, recipes with similarly spelt title or ingredient words are returned instead")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping(value = "/search/title", params = "expand=true")
+        public ResponseEntity<ApiResponse<Slice<RecipeResponseDto>>> searchRecipesByTitle(
+                        @Parameter(description = "Title to search for") @RequestParam String title,
+                        @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Result count: exact (default), approximate (cached count, may lag behind recent changes) or none (skips counting, only tells whether there is a next page)") @RequestParam(defaultValue = "exact") String total) {
+                log.info("Searching recipes by title: {}", title);
+                Pageable pageable = PageRequest.of(page, size);
+                Slice<RecipeResponseDto> recipes = recipeService.searchRecipesByTitle(title, pageable, SearchTotal.parse(total));
+
+                String message = searchMessage(recipes, "title containing", title);
 
                 return ResponseEntity.ok(ApiResponse.success(message, recipes));
         }
 
-        @Operation(summary = "Search recipes by ingredient", description = "Searches for recipes containing the specified ingredient")
+        @Operation(summary = "Search recipes by ingredient", description = "Searches for recipes containing the specified ingredient and returns lightweight recipe cards. Use expand=true for full recipe details")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
         })
         @GetMapping("/search/ingredient")
-        public ResponseEntity<ApiResponse<Page<RecipeResponseDto>>> searchRecipesByIngredient(
+        public ResponseEntity<ApiResponse<Slice<RecipeSearchHitDto>>> searchRecipeHitsByIngredient(
                         @Parameter(description = "Ingredient to search for") @RequestParam String ingredient,
                         @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
-                log.info("Searching recipes by ingredient: {}", ingredient);
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Result count: exact (default), approximate (cached count, may lag behind recent changes) or none (skips counting, only tells whether there is a next page)") @RequestParam(defaultValue = "exact") String total) {
+                log.info("Searching recipe hits by ingredient: {}", ingredient);
                 Pageable pageable = PageRequest.of(page, size);
-                Page<RecipeResponseDto> recipes = recipeService.searchRecipesByIngredient(ingredient, pageable);
+                Slice<RecipeSearchHitDto> recipes = recipeService.searchRecipeHitsByIngredient(ingredient, pageable, SearchTotal.parse(total));
 
-                String message = recipes.isEmpty()
+                String message = searchMessage(recipes, "ingredient containing", ingredient);
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Search recipes by ingredient by cursor", description = "Searches for recipes containing the specified ingredient, newest first, using keyset pagination. Pass an empty cursor for the first page and the returned nextCursor for the following ones; no total count is computed")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping(value = "/search/ingredient", params = {"cursor", "expand!=true"})
+        public ResponseEntity<ApiResponse<CursorPageDto<RecipeSearchHitDto>>> searchRecipeHitsByIngredientCursor(
+                        @Parameter(description = "Ingredient to search for") @RequestParam String ingredient,
+                        @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+                        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "10") int size) {
+                log.info("Searching recipe hits by ingredient with cursor: {}", ingredient);
+                CursorPageDto<RecipeSearchHitDto> recipes = recipeService.searchRecipeHitsByIngredient(ingredient, cursor, size);
+
+                String message = recipes.content().isEmpty()
                                 ? "No recipes found with ingredient containing: " + ingredient
-                                : "Found " + recipes.getTotalElements() + " recipes with ingredient containing: "
-                                                + ingredient;
+                                : "Found recipes with ingredient containing: " + ingredient;
 
                 return ResponseEntity.ok(ApiResponse.success(message, recipes));
         }
 
-        @Operation(summary = "Search recipes by tag", description = "Searches for recipes containing the specified tag")
+        @Operation(summary = "Search recipes by ingredient (expanded)", description = "Searches for recipes containing the specified ingredient and returns full recipe details")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
         })
+        @GetMapping(value = "/search/ingredient", params = "expand=true")
+        public ResponseEntity<ApiResponse<Slice<RecipeResponseDto>>> searchRecipesByIngredient(
+                        @Parameter(description = "Ingredient to search for") @RequestParam String ingredient,
+                        @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Result count: exact (default), approximate (cached count, may lag behind recent changes) or none (skips counting, only tells whether there is a next page)") @RequestParam(defaultValue = "exact") String total) {
+                log.info("Searching recipes by ingredient: {}", ingredient);
+                Pageable pageable = PageRequest.of(page, size);
+                Slice<RecipeResponseDto> recipes = recipeService.searchRecipesByIngredient(ingredient, pageable, SearchTotal.parse(total));
+
+                String message = searchMessage(recipes, "ingredient containing", ingredient);
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Search recipes by tag", description = "Finds recipes carrying every one of the given tags (exact match, case and accent insensitive) and returns lightweight recipe cards, newest first. Use expand=true for full recipe details")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No tag given", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
         @GetMapping("/search/tag")
+        public ResponseEntity<ApiResponse<Page<RecipeSearchHitDto>>> searchRecipeHitsByTag(
+                        @Parameter(description = "Tags to filter by, e.g. tag=italian&tag=quick") @RequestParam List<String> tag,
+                        @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+                log.info("Searching recipe hits by tags: {}", tag);
+                Pageable pageable = PageRequest.of(page, size);
+                Page<RecipeSearchHitDto> recipes = recipeSearchService.searchByTags(tag, pageable);
+
+                String tags = String.join(", ", tag);
+                String message = recipes.isEmpty()
+                                ? "No recipes found with tags: " + tags
+                                : "Found " + recipes.getTotalElements() + " recipes with tags: " + tags;
+
+                return ResponseEntity.ok(ApiResponse.success(message, recipes));
+        }
+
+        @Operation(summary = "Tag facets", description = "Counts how many recipes carry each tag, most used first. When tags are given, counts only recipes carrying all of them, so the result lists the tags that can still narrow the selection")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Tag facets retrieved successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping("/tags")
+        public ResponseEntity<ApiResponse<List<TagFacetDto>>> getTagFacets(
+                        @Parameter(description = "Tags already selected (optional)") @RequestParam(value = "tag", required = false) List<String> tag) {
+                List<TagFacetDto> facets = recipeSearchService.tagFacets(tag);
+                return ResponseEntity.ok(ApiResponse.success("Found " + facets.size() + " tags", facets));
+        }
+
+        @Operation(summary = "Search recipes by tag (expanded)", description = "Finds recipes carrying every one of the given tags (exact match, case and accent insensitive) and returns full recipe details, newest first")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No tag given", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+        })
+        @GetMapping(value = "/search/tag", params = "expand=true")
         public ResponseEntity<ApiResponse<Page<RecipeResponseDto>>> searchRecipesByTag(
-                        @Parameter(description = "Tag to search for") @RequestParam String tag,
+                        @Parameter(description = "Tags to filter by, e.g. tag=italian&tag=quick") @RequestParam List<String> tag,
                         @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
                         @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
-                log.info("Searching recipes by tag: {}", tag);
+                log.info("Searching recipes by tags: {}", tag);
                 Pageable pageable = PageRequest.of(page, size);
                 Page<RecipeResponseDto> recipes = recipeService.searchRecipesByTag(tag, pageable);
 
+                String tags = String.join(", ", tag);
                 String message = recipes.isEmpty()
-                                ? "No recipes found with tag containing: " + tag
-                                : "Found " + recipes.getTotalElements() + " recipes with tag containing: " + tag;
+                                ? "No recipes found with tags: " + tags
+                                : "Found " + recipes.getTotalElements() + " recipes with tags: " + tags;
 
                 return ResponseEntity.ok(ApiResponse.success(message, recipes));
         }
 
+        private static String searchMessage(Slice<?> recipes, String criterion, String value) {
+                if (recipes.isEmpty()) {
+                        return "No recipes found with " + criterion + ": " + value;
+                }
+                if (recipes instanceof Page<?> page) {
+                        return "Found " + page.getTotalElements() + " recipes with " + criterion + ": " + value;
+                }
+                return "Found recipes with " + criterion + ": " + value;
+        }
+
 }
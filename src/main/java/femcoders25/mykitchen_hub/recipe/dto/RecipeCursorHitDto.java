@@ -0,0 +1,24 @@
+package femcoders25.mykitchen_hub.recipe.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A search hit read together with the creation time its keyset cursor is built from.
+ */
+public record RecipeCursorHitDto(
+        Long id,
+        String title,
+        String tag,
+        String imageUrl,
+        long likesCount,
+        long dislikesCount,
+        LocalDateTime createdAt) {
+
+    public RecipeSearchHitDto toSearchHit() {
+        return new RecipeSearchHitDto(id, title, tag, imageUrl, likesCount, dislikesCount);
+    }
+
+    public RecipeCursor cursor() {
+        return new RecipeCursor(createdAt, id);
+    }
+}
@@ -2,9 +2,11 @@ package femcoders25.mykitchen_hub.recipe.dto;
 
 import femcoders25.mykitchen_hub.comment.dto.CommentMapper;
 import femcoders25.mykitchen_hub.comment.dto.CommentResponseDto;
+import femcoders25.mykitchen_hub.comment.entity.Comment;
 import femcoders25.mykitchen_hub.ingredient.dto.IngredientDto;
 import femcoders25.mykitchen_hub.ingredient.dto.IngredientMapper;
 import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
 import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
 import femcoders25.mykitchen_hub.like.service.LikeService;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
@@ -19,16 +21,23 @@ public class RecipeMapper {
             return null;
         }
 
+        LikeStatsDto likeStats = likeService.getLikeStats(currentUserId, recipe.getId());
+        return toRecipeResponseDto(recipe, recipe.getComments(), likeStats);
+    }
+
+    public static RecipeResponseDto toRecipeResponseDto(Recipe recipe, List<Comment> comments, LikeStatsDto likeStats) {
+        if (recipe == null) {
+            return null;
+        }
+
         List<IngredientDto> ingredientDtos = recipe.getIngredients().stream()
                 .map(IngredientMapper::toIngredientDto)
                 .toList();
 
-        List<CommentResponseDto> commentDtos = recipe.getComments().stream()
+        List<CommentResponseDto> commentDtos = comments.stream()
                 .map(CommentMapper::toCommentResponseDto)
                 .toList();
 
-        LikeStatsDto likeStats = likeService.getLikeStats(currentUserId, recipe.getId());
-
         return new RecipeResponseDto(
                 recipe.getId(),
                 recipe.getTitle(),
@@ -44,13 +53,32 @@ public class RecipeMapper {
                 recipe.getCreatedBy() != null ? recipe.getCreatedBy().getUsername() : null);
     }
 
-    public static RecipeListDto toRecipeListDto(Recipe recipe, LikeService likeService) {
+    public static RecipeResponseDto withLikeStats(RecipeResponseDto recipe, LikeStatsDto likeStats) {
+        if (recipe == null) {
+            return null;
+        }
+
+        return new RecipeResponseDto(
+                recipe.id(),
+                recipe.title(),
+                recipe.description(),
+                recipe.ingredients(),
+                recipe.imageUrl(),
+                recipe.tag(),
+                recipe.comments(),
+                likeStats,
+                recipe.createdAt(),
+                recipe.updatedAt(),
+                recipe.createdById(),
+                recipe.createdByUsername());
+    }
+
+    public static RecipeListDto toRecipeListDto(Recipe recipe, LikeCountsDto likeCounts) {
         if (recipe == null) {
             return null;
         }
 
-        long likesCount = likeService.getLikesCount(recipe.getId());
-        long dislikesCount = likeService.getDislikesCount(recipe.getId());
+        LikeCountsDto counts = likeCounts != null ? likeCounts : LikeCountsDto.EMPTY;
 
         return new RecipeListDto(
                 recipe.getId(),
@@ -58,8 +86,8 @@ public class RecipeMapper {
                 recipe.getDescription(),
                 recipe.getImageUrl(),
                 recipe.getTag(),
-                likesCount,
-                dislikesCount,
+                counts.likesCount(),
+                counts.dislikesCount(),
                 recipe.getCreatedAt(),
                 recipe.getUpdatedAt());
     }
@@ -0,0 +1,10 @@
+package femcoders25.mykitchen_hub.recipe.dto;
+
+public record RecipeSearchHitDto(
+        Long id,
+        String title,
+        String tag,
+        String imageUrl,
+        long likesCount,
+        long dislikesCount) {
+}
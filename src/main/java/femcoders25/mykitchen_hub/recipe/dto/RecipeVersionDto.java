@@ -0,0 +1,60 @@
+package femcoders25.mykitchen_hub.recipe.dto;
+
+import femcoders25.mykitchen_hub.comment.dto.CommentResponseDto;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
+import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+
+public record RecipeVersionDto(
+        Long id,
+        LocalDateTime updatedAt,
+        String createdByUsername,
+        long likesCount,
+        long dislikesCount,
+        long commentCount,
+        LocalDateTime lastCommentAt,
+        Boolean viewerLiked,
+        long usernameVersion) {
+
+    public RecipeVersionDto(Long id, LocalDateTime updatedAt, String createdByUsername, long likesCount,
+                            long dislikesCount, long commentCount, LocalDateTime lastCommentAt, Boolean viewerLiked) {
+        this(id, updatedAt, createdByUsername, likesCount, dislikesCount, commentCount, lastCommentAt, viewerLiked, 0);
+    }
+
+    public static RecipeVersionDto of(RecipeResponseDto recipe, long usernameVersion) {
+        LikeStatsDto likeStats = recipe.likeStats();
+        Boolean viewerLiked = likeStats.userLiked() ? Boolean.TRUE : likeStats.userDisliked() ? Boolean.FALSE : null;
+        LocalDateTime lastCommentAt = recipe.comments().stream()
+                .map(CommentResponseDto::updatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+
+        return new RecipeVersionDto(recipe.id(), recipe.updatedAt(), recipe.createdByUsername(),
+                likeStats.likesCount(), likeStats.dislikesCount(), recipe.comments().size(), lastCommentAt,
+                viewerLiked, usernameVersion);
+    }
+
+    public RecipeVersionDto withLikeCounts(long likesCount, long dislikesCount) {
+        return new RecipeVersionDto(id, updatedAt, createdByUsername, likesCount, dislikesCount, commentCount,
+                lastCommentAt, viewerLiked, usernameVersion);
+    }
+
+    public RecipeVersionDto withUsernameVersion(long usernameVersion) {
+        return new RecipeVersionDto(id, updatedAt, createdByUsername, likesCount, dislikesCount, commentCount,
+                lastCommentAt, viewerLiked, usernameVersion);
+    }
+
+    /**
+     * Votes and renames don't move any timestamp, so recipes are validated on the ETag alone; honouring
+     * If-Modified-Since here would keep serving stale like counts. Commenters' names are only covered through
+     * {@link femcoders25.mykitchen_hub.recipe.service.UsernameVersion}.
+     */
+    public ResourceVersion toResourceVersion() {
+        return ResourceVersion.of(null, "recipe", id, updatedAt, createdByUsername, likesCount, dislikesCount, commentCount,
+                lastCommentAt, viewerLiked, usernameVersion);
+    }
+}
@@ -0,0 +1,25 @@
+package femcoders25.mykitchen_hub.recipe.dto;
+
+import java.util.Locale;
+
+/**
+ * How much a search result says about its size. {@code EXACT} runs a count alongside the page,
+ * {@code APPROXIMATE} reuses a recently cached count that may lag behind writes, and {@code NONE} skips counting
+ * and only tells whether a next page exists.
+ */
+public enum SearchTotal {
+    EXACT,
+    APPROXIMATE,
+    NONE;
+
+    public static SearchTotal parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid total mode: " + value + ". Use exact, approximate or none");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package femcoders25.mykitchen_hub.recipe.entity;
 import femcoders25.mykitchen_hub.comment.entity.Comment;
 import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
 import femcoders25.mykitchen_hub.like.entity.Like;
+import femcoders25.mykitchen_hub.tag.entity.Tag;
 import femcoders25.mykitchen_hub.user.entity.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -10,16 +11,19 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = @Index(name = "idx_recipes_created_at_id", columnList = "created_at, id"))
 public class Recipe {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,12 +48,26 @@ public class Recipe {
     @Column(name = "tag")
     private String tag;
 
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "recipe_tags",
+            joinColumns = @JoinColumn(name = "recipe_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"))
+    private Set<Tag> tags = new LinkedHashSet<>();
+
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Like> likes = new ArrayList<>();
 
+    @ColumnDefault("0")
+    @Column(name = "likes_count", nullable = false, updatable = false)
+    private long likesCount;
+
+    @ColumnDefault("0")
+    @Column(name = "dislikes_count", nullable = false, updatable = false)
+    private long dislikesCount;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
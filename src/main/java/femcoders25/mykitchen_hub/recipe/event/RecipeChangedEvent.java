@@ -0,0 +1,4 @@
+package femcoders25.mykitchen_hub.recipe.event;
+
+public record RecipeChangedEvent(Long recipeId) {
+}
@@ -1,19 +1,172 @@
 package femcoders25.mykitchen_hub.recipe.repository;
 
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
+import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeCursorHitDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeVersionDto;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.dto.RecipeLikesDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
 
     Page<Recipe> findByTitleContainingIgnoreCase(String title, Pageable pageable);
 
-    Page<Recipe> findByTagContainingIgnoreCase(String tag, Pageable pageable);
+    @Query("SELECT r FROM Recipe r WHERE r.tag IS NOT NULL AND r.tags IS EMPTY AND r.id > :afterId ORDER BY r.id")
+    List<Recipe> findUntaggedAfter(@Param("afterId") Long afterId, Limit limit);
 
     @Query("SELECT DISTINCT r FROM Recipe r JOIN r.ingredients i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%'))")
     Page<Recipe> findByIngredientsNameContainingIgnoreCase(@Param("ingredient") String ingredient, Pageable pageable);
 
+    @Query(value = "SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount) " +
+            "FROM Recipe r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :title, '%'))",
+            countQuery = "SELECT COUNT(r) FROM Recipe r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    Page<RecipeSearchHitDto> searchHitsByTitle(@Param("title") String title, Pageable pageable);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount) " +
+            "FROM Recipe r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    Slice<RecipeSearchHitDto> sliceHitsByTitle(@Param("title") String title, Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Recipe r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    long countByTitleContaining(@Param("title") String title);
+
+    @Query(value = "SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount) " +
+            "FROM Recipe r WHERE EXISTS (SELECT 1 FROM Ingredient i " +
+            "WHERE i.recipe = r AND LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%')))",
+            countQuery = "SELECT COUNT(r) FROM Recipe r WHERE EXISTS (SELECT 1 FROM Ingredient i " +
+                    "WHERE i.recipe = r AND LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%')))")
+    Page<RecipeSearchHitDto> searchHitsByIngredient(@Param("ingredient") String ingredient, Pageable pageable);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount) " +
+            "FROM Recipe r WHERE EXISTS (SELECT 1 FROM Ingredient i " +
+            "WHERE i.recipe = r AND LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%')))")
+    Slice<RecipeSearchHitDto> sliceHitsByIngredient(@Param("ingredient") String ingredient, Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Recipe r WHERE EXISTS (SELECT 1 FROM Ingredient i " +
+            "WHERE i.recipe = r AND LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%')))")
+    long countByIngredientContaining(@Param("ingredient") String ingredient);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeCursorHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount, r.createdAt) " +
+            "FROM Recipe r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeCursorHitDto> findNewestHitsByTitle(@Param("title") String title, Limit limit);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeCursorHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount, r.createdAt) " +
+            "FROM Recipe r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeCursorHitDto> findNewestHitsByTitleBefore(@Param("title") String title,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeCursorHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount, r.createdAt) " +
+            "FROM Recipe r WHERE EXISTS (SELECT 1 FROM Ingredient i " +
+            "WHERE i.recipe = r AND LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%'))) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeCursorHitDto> findNewestHitsByIngredient(@Param("ingredient") String ingredient, Limit limit);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeCursorHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount, r.createdAt) " +
+            "FROM Recipe r WHERE EXISTS (SELECT 1 FROM Ingredient i " +
+            "WHERE i.recipe = r AND LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%'))) " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeCursorHitDto> findNewestHitsByIngredientBefore(@Param("ingredient") String ingredient,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto(" +
+            "r.id, r.title, r.tag, r.imageUrl, r.likesCount, r.dislikesCount) " +
+            "FROM Recipe r WHERE r.id IN :ids")
+    List<RecipeSearchHitDto> findSearchHitsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.search.dto.RecipeDocument(" +
+            "r.id, r.title, r.description, r.tag, r.likesCount, r.createdBy.username, r.createdAt) " +
+            "FROM Recipe r WHERE r.id = :id")
+    Optional<RecipeDocument> findDocumentById(@Param("id") Long id);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.search.dto.RecipeDocument(" +
+            "r.id, r.title, r.description, r.tag, r.likesCount, r.createdBy.username, r.createdAt) " +
+            "FROM Recipe r WHERE r.id BETWEEN :fromId AND :toId")
+    List<RecipeDocument> findDocumentsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.search.dto.RecipeLikesDto(r.id, r.likesCount) " +
+            "FROM Recipe r WHERE r.id IN :ids")
+    List<RecipeLikesDto> findLikesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Recipe r ORDER BY r.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT r.id FROM Recipe r WHERE r.id BETWEEN :fromId AND :toId")
+    List<Long> findIdsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT r FROM Recipe r ORDER BY r.createdAt DESC, r.id DESC")
+    List<Recipe> findNewest(Limit limit);
+
+    @Query("SELECT r FROM Recipe r WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Recipe> findNewestBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"createdBy", "ingredients"})
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findDetailById(@Param("id") Long id);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.like.dto.LikeStatsDto(r.likesCount, r.dislikesCount, " +
+            "CASE WHEN l.isLike = true THEN true ELSE false END, " +
+            "CASE WHEN l.isLike = false THEN true ELSE false END) " +
+            "FROM Recipe r LEFT JOIN Like l ON l.recipe = r AND l.user.id = :userId WHERE r.id = :recipeId")
+    Optional<LikeStatsDto> findLikeStatsById(@Param("recipeId") Long recipeId, @Param("userId") Long userId);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.recipe.dto.RecipeVersionDto(r.id, r.updatedAt, " +
+            "r.createdBy.username, r.likesCount, r.dislikesCount, " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.recipe = r), " +
+            "(SELECT MAX(lc.updatedAt) FROM Comment lc WHERE lc.recipe = r), " +
+            "l.isLike) " +
+            "FROM Recipe r LEFT JOIN Like l ON l.recipe = r AND l.user.id = :userId WHERE r.id = :recipeId")
+    Optional<RecipeVersionDto> findVersionById(@Param("recipeId") Long recipeId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET r.updatedAt = :updatedAt WHERE r.id = :recipeId")
+    int touchUpdatedAt(@Param("recipeId") Long recipeId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.like.dto.LikeCountsDto(r.likesCount, r.dislikesCount) " +
+            "FROM Recipe r WHERE r.id = :recipeId")
+    Optional<LikeCountsDto> findLikeCountsById(@Param("recipeId") Long recipeId);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET r.likesCount = r.likesCount + :likesDelta, " +
+            "r.dislikesCount = r.dislikesCount + :dislikesDelta WHERE r.id = :recipeId")
+    int incrementLikeCounts(@Param("recipeId") Long recipeId, @Param("likesDelta") long likesDelta,
+            @Param("dislikesDelta") long dislikesDelta);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET " +
+            "r.likesCount = (SELECT COUNT(l) FROM Like l WHERE l.recipe.id = r.id AND l.isLike = true), " +
+            "r.dislikesCount = (SELECT COUNT(l) FROM Like l WHERE l.recipe.id = r.id AND l.isLike = false) " +
+            "WHERE r.id BETWEEN :fromId AND :toId")
+    int recalculateLikeCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM Recipe r")
+    long findMaxId();
+
 }
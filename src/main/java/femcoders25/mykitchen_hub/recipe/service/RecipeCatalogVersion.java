@@ -0,0 +1,35 @@
+package femcoders25.mykitchen_hub.recipe.service;
+
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the recipe catalog, bumped once every recipe write commits. Anything derived from the
+ * catalog as a whole can be keyed by it instead of being evicted entry by entry. Bumping after commit means a
+ * reader that saw the new version also sees the write.
+ * <p>
+ * The in-memory search indexes pick a write up later, on the indexer thread, so the indexer bumps the version
+ * again once it has applied the write; results read from an index before that are keyed by an older version.
+ */
+@Component
+public class RecipeCatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        advance();
+    }
+
+    public void advance() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,84 @@
+package femcoders25.mykitchen_hub.recipe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import femcoders25.mykitchen_hub.comment.dto.CommentResponseDto;
+import femcoders25.mykitchen_hub.ingredient.dto.IngredientDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.user.event.UsernameChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Caches the viewer-independent part of the recipe detail response (everything except like stats).
+ * Entries are weighed by their approximate text size and dropped once a {@link RecipeChangedEvent} commits.
+ * <p>
+ * Usernames are copied into the author and comment fields. Comments carry only the name, so the recipes showing a
+ * renamed user can't be told apart and a committed {@link UsernameChangedEvent} drops every entry; renames are
+ * rare. Recipe ETags move on with the {@link UsernameVersion} for the same reason.
+ */
+@Slf4j
+@Component
+public class RecipeDetailCache {
+
+    static final String CACHE_NAME = "recipeDetail";
+
+    private final Cache<Long, RecipeResponseDto> cache;
+
+    public RecipeDetailCache(MeterRegistry meterRegistry,
+                             @Value("${recipes.detail-cache.max-weight:10000000}") long maxWeight,
+                             @Value("${recipes.detail-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher(RecipeDetailCache::weigh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public RecipeResponseDto get(Long recipeId, Function<Long, RecipeResponseDto> loader) {
+        return cache.get(recipeId, loader);
+    }
+
+    public void invalidate(Long recipeId) {
+        cache.invalidate(recipeId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        log.debug("Evicting cached detail for recipe {}", event.recipeId());
+        invalidate(event.recipeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUsernameChanged(UsernameChangedEvent event) {
+        log.debug("Evicting cached recipe details after user {} was renamed", event.userId());
+        cache.invalidateAll();
+    }
+
+    private static int weigh(Long recipeId, RecipeResponseDto recipe) {
+        long weight = 64 + length(recipe.title()) + length(recipe.description())
+                + length(recipe.imageUrl()) + length(recipe.tag()) + length(recipe.createdByUsername());
+        for (IngredientDto ingredient : recipe.ingredients()) {
+            weight += 32 + length(ingredient.name()) + length(ingredient.unit());
+        }
+        for (CommentResponseDto comment : recipe.comments()) {
+            weight += 48 + length(comment.text()) + length(comment.username());
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
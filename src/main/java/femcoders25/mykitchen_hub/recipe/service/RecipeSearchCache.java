@@ -0,0 +1,140 @@
+package femcoders25.mykitchen_hub.recipe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the recipe ids of search result pages, keyed by search kind, normalized query, page and sort plus the
+ * {@link RecipeCatalogVersion} current when the search started. Any committed recipe write moves the version on,
+ * so older entries are never read again and simply age out. Only ids are kept; a hit is hydrated with one
+ * batched lookup, so like counts and other fields are always fresh.
+ * <p>
+ * Result counts for approximate totals are cached separately and ignore the catalog version, so they survive
+ * writes and only refresh when they expire.
+ */
+@Component
+public class RecipeSearchCache {
+
+    static final String CACHE_NAME = "recipeSearch";
+    static final String COUNT_CACHE_NAME = "recipeSearchCount";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<Key, CachedPage> cache;
+    private final Cache<CountKey, Long> counts;
+    private final RecipeCatalogVersion catalogVersion;
+
+    public RecipeSearchCache(MeterRegistry meterRegistry,
+                             RecipeCatalogVersion catalogVersion,
+                             @Value("${recipes.search-cache.max-size:10000}") long maxSize,
+                             @Value("${recipes.search-cache.ttl:10m}") Duration ttl,
+                             @Value("${recipes.search-cache.count-ttl:5m}") Duration countTtl) {
+        this.catalogVersion = catalogVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(countTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, COUNT_CACHE_NAME);
+    }
+
+    /**
+     * Trims, lower-cases and collapses whitespace. Searches must run with the normalized query so that every
+     * query sharing a cache key also shares a result.
+     */
+    public static String normalize(String query) {
+        return query == null ? "" : WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the cached page for this search, hydrating its ids with {@code hydrate}, or runs {@code search} and
+     * remembers the ids of its content.
+     */
+    public <T> Page<T> get(String kind, String query, Pageable pageable, Supplier<Page<T>> search,
+                           Function<T, Long> idOf, Function<List<Long>, List<T>> hydrate) {
+        Key key = new Key(kind, query, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString(), catalogVersion.current());
+        CachedPage cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return new PageImpl<>(hydrate(cached.recipeIds(), idOf, hydrate), pageable, cached.total());
+        }
+
+        Page<T> page = search.get();
+        cache.put(key, new CachedPage(page.getContent().stream().map(idOf).toList(), page.getTotalElements(),
+                page.hasNext()));
+        return page;
+    }
+
+    /**
+     * Like {@link #get}, for searches that skip counting and only know whether a next slice exists.
+     */
+    public <T> Slice<T> getSlice(String kind, String query, Pageable pageable, Supplier<Slice<T>> search,
+                                 Function<T, Long> idOf, Function<List<Long>, List<T>> hydrate) {
+        Key key = new Key(kind, query, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString(), catalogVersion.current());
+        CachedPage cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return new SliceImpl<>(hydrate(cached.recipeIds(), idOf, hydrate), pageable, cached.hasNext());
+        }
+
+        Slice<T> slice = search.get();
+        cache.put(key, new CachedPage(slice.getContent().stream().map(idOf).toList(), -1, slice.hasNext()));
+        return slice;
+    }
+
+    /**
+     * The result count of this search as of the last time it was counted, counting it with {@code count} when
+     * it hasn't been counted within the count TTL.
+     */
+    public long approximateCount(String kind, String query, LongSupplier count) {
+        return counts.get(new CountKey(kind, query), key -> count.getAsLong());
+    }
+
+    private static <T> List<T> hydrate(List<Long> recipeIds, Function<T, Long> idOf,
+                                       Function<List<Long>, List<T>> hydrate) {
+        if (recipeIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, T> byId = hydrate.apply(recipeIds).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        return recipeIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private record Key(String kind, String query, int page, int size, String sort, long catalogVersion) {
+    }
+
+    private record CachedPage(List<Long> recipeIds, long total, boolean hasNext) {
+    }
+
+    private record CountKey(String kind, String query) {
+    }
+}
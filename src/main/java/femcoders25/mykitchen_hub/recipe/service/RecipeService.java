@@ -3,40 +3,77 @@ package femcoders25.mykitchen_hub.recipe.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import femcoders25.mykitchen_hub.cloudinary.CloudinaryService;
+import femcoders25.mykitchen_hub.comment.entity.Comment;
+import femcoders25.mykitchen_hub.comment.repository.CommentRepository;
+import femcoders25.mykitchen_hub.common.dto.CursorPageDto;
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.common.exception.UnauthorizedOperationException;
 import femcoders25.mykitchen_hub.ingredient.dto.IngredientDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeCreateDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeCursor;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeCursorHitDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeListDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeUpdateDto;
+import femcoders25.mykitchen_hub.recipe.dto.SearchTotal;
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
+import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
 import femcoders25.mykitchen_hub.like.service.LikeService;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeMapper;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.search.service.RecipeSearchService;
+import femcoders25.mykitchen_hub.tag.service.TagService;
 import femcoders25.mykitchen_hub.user.entity.User;
 import femcoders25.mykitchen_hub.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RecipeService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final UserService userService;
     private final RecipeRepository recipeRepository;
     private final CloudinaryService cloudinaryService;
     private final ObjectMapper objectMapper;
     private final LikeService likeService;
+    private final CommentRepository commentRepository;
+    private final RecipeDetailCache recipeDetailCache;
+    private final UsernameVersion usernameVersion;
+    private final RecipeSearchCache recipeSearchCache;
+    private final TagService tagService;
+    private final RecipeSearchService recipeSearchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RecipeResponseDto createRecipe(RecipeCreateDto createDto) {
@@ -58,11 +95,13 @@ public class RecipeService {
         User currentUser = userService.getCurrentUser();
 
         Recipe recipe = RecipeMapper.toRecipe(createDto, currentUser);
+        recipe.setTags(tagService.resolveTags(recipe.getTag()));
 
         String imageUrl = cloudinaryService.uploadImageSafely(image);
         recipe.setImageUrl(imageUrl);
 
         Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(savedRecipe.getId()));
         log.info("Created recipe: {} by user: {} with image: {}",
                 savedRecipe.getTitle(), currentUser.getUsername(), imageUrl);
 
@@ -105,15 +144,66 @@ public class RecipeService {
     @Transactional(readOnly = true)
     public Page<RecipeListDto> getAllRecipes(Pageable pageable) {
         Page<Recipe> recipePage = recipeRepository.findAll(pageable);
-        return recipePage.map(recipe -> RecipeMapper.toRecipeListDto(recipe, likeService));
+        return recipePage.map(recipe -> RecipeMapper.toRecipeListDto(recipe, likeService.getLikeCounts(recipe)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<RecipeListDto> getRecipesByCursor(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Recipe> recipes;
+        if (cursor == null || cursor.isBlank()) {
+            recipes = recipeRepository.findNewest(limit);
+        } else {
+            RecipeCursor after = RecipeCursor.decode(cursor);
+            recipes = recipeRepository.findNewestBefore(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = recipes.size() > pageSize;
+        List<Recipe> page = hasNext ? recipes.subList(0, pageSize) : recipes;
+        String nextCursor = hasNext ? RecipeCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        List<RecipeListDto> content = page.stream()
+                .map(recipe -> RecipeMapper.toRecipeListDto(recipe, likeService.getLikeCounts(recipe)))
+                .toList();
+        return new CursorPageDto<>(content, content.size(), hasNext, nextCursor);
     }
 
     @Transactional(readOnly = true)
     public RecipeResponseDto getRecipeById(Long id) {
-        Recipe recipe = recipeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", id));
+        RecipeResponseDto recipeDetail = recipeDetailCache.get(id, this::loadRecipeDetail);
+        Long currentUserId = userService.getCurrentUserIdOptional().orElse(null);
+        LikeStatsDto likeStats = likeService.getLikeStats(currentUserId, id);
+        return RecipeMapper.withLikeStats(recipeDetail, likeStats);
+    }
+
+    /**
+     * The {@link UsernameVersion} to build a recipe's ETag with; read it before loading the recipe.
+     */
+    public long getUsernameVersion() {
+        return usernameVersion.current();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getRecipeVersion(Long id) {
+        long names = usernameVersion.current();
         Long currentUserId = userService.getCurrentUserIdOptional().orElse(null);
-        return RecipeMapper.toRecipeResponseDto(recipe, likeService, currentUserId);
+        return recipeRepository.findVersionById(id, currentUserId)
+                .map(version -> {
+                    LikeCountsDto likeCounts = likeService.withPendingVotes(id,
+                            new LikeCountsDto(version.likesCount(), version.dislikesCount()));
+                    return version.withLikeCounts(likeCounts.likesCount(), likeCounts.dislikesCount())
+                            .withUsernameVersion(names)
+                            .toResourceVersion();
+                });
+    }
+
+    private RecipeResponseDto loadRecipeDetail(Long id) {
+        Recipe recipe = recipeRepository.findDetailById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", id));
+        List<Comment> comments = commentRepository.findWithUserByRecipeIdOrderByIdAsc(id);
+        return RecipeMapper.toRecipeResponseDto(recipe, comments, null);
     }
 
     @Transactional
@@ -126,6 +216,10 @@ public class RecipeService {
         log.info("Updating recipe with id: {}", id);
         Recipe recipe = findRecipeAndCheckOwnership(id);
         RecipeMapper.updateRecipeFromDto(recipe, updateDto);
+        if (updateDto.tag() != null) {
+            recipe.setTags(tagService.resolveTags(updateDto.tag()));
+        }
+        recipe.setUpdatedAt(LocalDateTime.now());
 
         if (image != null && !image.isEmpty()) {
             String newImageUrl = cloudinaryService.replaceImageSafely(recipe.getImageUrl(), image);
@@ -134,10 +228,10 @@ public class RecipeService {
         }
 
         Recipe updatedRecipe = recipeRepository.save(recipe);
-        log.info("Updated recipe: {} by user: {}", updatedRecipe.getTitle(),
-                userService.getCurrentUser().getUsername());
-
+        eventPublisher.publishEvent(new RecipeChangedEvent(id));
         Long currentUserId = userService.getCurrentUserId();
+        log.info("Updated recipe: {} by user id: {}", updatedRecipe.getTitle(), currentUserId);
+
         return RecipeMapper.toRecipeResponseDto(updatedRecipe, likeService, currentUserId);
     }
 
@@ -159,8 +253,7 @@ public class RecipeService {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", id));
 
-        User currentUser = userService.getCurrentUser();
-        if (!recipe.getCreatedBy().getId().equals(currentUser.getId())) {
+        if (!recipe.getCreatedBy().getId().equals(userService.getCurrentUserId())) {
             throw new UnauthorizedOperationException("update", "recipe");
         }
 
@@ -185,19 +278,22 @@ public class RecipeService {
         }
 
         recipeRepository.delete(recipe);
-        log.info("Deleted recipe: {} by user: {}", recipe.getTitle(),
-                userService.getCurrentUser().getUsername());
+        eventPublisher.publishEvent(new RecipeChangedEvent(id));
+        log.info("Deleted recipe: {} by user id: {}", recipe.getTitle(), userService.getCurrentUserId());
     }
 
     @Transactional(readOnly = true)
     public Page<RecipeResponseDto> searchRecipesByTitle(String title, Pageable pageable) {
-        Page<Recipe> recipes = recipeRepository.findByTitleContainingIgnoreCase(title, pageable);
-
-        if (recipes.isEmpty()) {
-            log.info("No recipes found with title containing: '{}'", title);
-        } else {
-            log.info("Found {} recipes with title containing: '{}'", recipes.getTotalElements(), title);
-        }
+        String query = RecipeSearchCache.normalize(title);
+        Page<Recipe> recipes = cachedSearch("title", query, pageable, () -> {
+            Page<Recipe> matches = recipeRepository.findByTitleContainingIgnoreCase(query, pageable);
+            if (matches.getTotalElements() == 0) {
+                log.info("No recipes found with title containing: '{}', trying similar titles", query);
+                return findSimilarRecipes(query, pageable);
+            }
+            log.info("Found {} recipes with title containing: '{}'", matches.getTotalElements(), query);
+            return matches;
+        });
 
         Long currentUserId = userService.getCurrentUserIdOptional().orElse(null);
         return recipes.map(recipe -> RecipeMapper.toRecipeResponseDto(recipe, likeService, currentUserId));
@@ -205,30 +301,211 @@ public class RecipeService {
 
     @Transactional(readOnly = true)
     public Page<RecipeResponseDto> searchRecipesByIngredient(String ingredient, Pageable pageable) {
-        Page<Recipe> recipes = recipeRepository.findByIngredientsNameContainingIgnoreCase(ingredient, pageable);
+        String query = RecipeSearchCache.normalize(ingredient);
+        Page<Recipe> recipes = cachedSearch("ingredient", query, pageable, () -> {
+            Page<Recipe> matches = recipeRepository.findByIngredientsNameContainingIgnoreCase(query, pageable);
+            if (matches.isEmpty()) {
+                log.info("No recipes found with ingredient containing: '{}'", query);
+            } else {
+                log.info("Found {} recipes with ingredient containing: '{}'", matches.getTotalElements(), query);
+            }
+            return matches;
+        });
+
+        Long currentUserId = userService.getCurrentUserIdOptional().orElse(null);
+        return recipes.map(recipe -> RecipeMapper.toRecipeResponseDto(recipe, likeService, currentUserId));
+    }
 
-        if (recipes.isEmpty()) {
-            log.info("No recipes found with ingredient containing: '{}'", ingredient);
+    /**
+     * Recipes carrying every one of the given tags, newest first, matched like the slim tag search and then
+     * loaded in full.
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeResponseDto> searchRecipesByTag(List<String> tags, Pageable pageable) {
+        Page<RecipeSearchHitDto> hits = recipeSearchService.searchByTags(tags, pageable);
+        if (hits.isEmpty()) {
+            log.info("No recipes found with tags: {}", tags);
         } else {
-            log.info("Found {} recipes with ingredient containing: '{}'", recipes.getTotalElements(), ingredient);
+            log.info("Found {} recipes with tags: {}", hits.getTotalElements(), tags);
         }
+        return new PageImpl<>(toResponses(hits.getContent()), pageable, hits.getTotalElements());
+    }
 
-        Long currentUserId = userService.getCurrentUserIdOptional().orElse(null);
-        return recipes.map(recipe -> RecipeMapper.toRecipeResponseDto(recipe, likeService, currentUserId));
+    @Transactional(readOnly = true)
+    public Page<RecipeSearchHitDto> searchRecipeHitsByTitle(String title, Pageable pageable) {
+        String query = RecipeSearchCache.normalize(title);
+        return cachedHits("title-hits", query, pageable, () -> {
+            Page<RecipeSearchHitDto> hits = recipeRepository.searchHitsByTitle(query, pageable);
+            log.info("Found {} recipe hits with title containing: '{}'", hits.getTotalElements(), query);
+            if (hits.getTotalElements() == 0) {
+                return recipeSearchService.fuzzySearch(query, pageable);
+            }
+            return hits;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RecipeSearchHitDto> searchRecipeHitsByIngredient(String ingredient, Pageable pageable) {
+        String query = RecipeSearchCache.normalize(ingredient);
+        return cachedHits("ingredient-hits", query, pageable, () -> {
+            Page<RecipeSearchHitDto> hits = recipeRepository.searchHitsByIngredient(query, pageable);
+            log.info("Found {} recipe hits with ingredient containing: '{}'", hits.getTotalElements(), query);
+            return hits;
+        });
+    }
+
+    /**
+     * Title search whose result size is as exact as {@code total} asks for. Without an exact total the matches
+     * are fetched as a slice, one row past the page, and no count query runs.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RecipeSearchHitDto> searchRecipeHitsByTitle(String title, Pageable pageable, SearchTotal total) {
+        if (total == SearchTotal.EXACT) {
+            return searchRecipeHitsByTitle(title, pageable);
+        }
+        String query = RecipeSearchCache.normalize(title);
+        Slice<RecipeSearchHitDto> hits = recipeSearchCache.getSlice("title-hits-slice", query, pageable, () -> {
+            Slice<RecipeSearchHitDto> slice = recipeRepository.sliceHitsByTitle(query, pageable);
+            if (!slice.hasContent() && (pageable.getPageNumber() == 0
+                    || !recipeRepository.sliceHitsByTitle(query, PageRequest.of(0, 1)).hasContent())) {
+                log.info("No recipe hits with title containing: '{}', trying similar titles", query);
+                return recipeSearchService.fuzzySearch(query, pageable);
+            }
+            return slice;
+        }, RecipeSearchHitDto::id, recipeRepository::findSearchHitsByIdIn);
+        return total == SearchTotal.APPROXIMATE
+                ? withApproximateTotal(hits, "title-hits", query, () -> recipeRepository.countByTitleContaining(query))
+                : hits;
     }
 
     @Transactional(readOnly = true)
-    public Page<RecipeResponseDto> searchRecipesByTag(String tag, Pageable pageable) {
-        Page<Recipe> recipes = recipeRepository.findByTagContainingIgnoreCase(tag, pageable);
+    public Slice<RecipeSearchHitDto> searchRecipeHitsByIngredient(String ingredient, Pageable pageable,
+                                                                  SearchTotal total) {
+        if (total == SearchTotal.EXACT) {
+            return searchRecipeHitsByIngredient(ingredient, pageable);
+        }
+        String query = RecipeSearchCache.normalize(ingredient);
+        Slice<RecipeSearchHitDto> hits = recipeSearchCache.getSlice("ingredient-hits-slice", query, pageable,
+                () -> recipeRepository.sliceHitsByIngredient(query, pageable),
+                RecipeSearchHitDto::id, recipeRepository::findSearchHitsByIdIn);
+        return total == SearchTotal.APPROXIMATE
+                ? withApproximateTotal(hits, "ingredient-hits", query,
+                        () -> recipeRepository.countByIngredientContaining(query))
+                : hits;
+    }
 
-        if (recipes.isEmpty()) {
-            log.info("No recipes found with tag containing: '{}'", tag);
-        } else {
-            log.info("Found {} recipes with tag containing: '{}'", recipes.getTotalElements(), tag);
+    /**
+     * Title search paged by keyset on (created_at, id), newest first, like {@link #getRecipesByCursor}. Deep pages
+     * cost the same as the first one, no count query runs, and there is no similar-spelling fallback.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<RecipeSearchHitDto> searchRecipeHitsByTitle(String title, String cursor, int size) {
+        String query = RecipeSearchCache.normalize(title);
+        return hitsByCursor(cursor, size,
+                limit -> recipeRepository.findNewestHitsByTitle(query, limit),
+                (after, limit) -> recipeRepository.findNewestHitsByTitleBefore(query, after.createdAt(), after.id(),
+                        limit));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<RecipeSearchHitDto> searchRecipeHitsByIngredient(String ingredient, String cursor,
+                                                                          int size) {
+        String query = RecipeSearchCache.normalize(ingredient);
+        return hitsByCursor(cursor, size,
+                limit -> recipeRepository.findNewestHitsByIngredient(query, limit),
+                (after, limit) -> recipeRepository.findNewestHitsByIngredientBefore(query, after.createdAt(),
+                        after.id(), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<RecipeResponseDto> searchRecipesByTitle(String title, Pageable pageable, SearchTotal total) {
+        if (total == SearchTotal.EXACT) {
+            return searchRecipesByTitle(title, pageable);
+        }
+        return expand(searchRecipeHitsByTitle(title, pageable, total));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<RecipeResponseDto> searchRecipesByIngredient(String ingredient, Pageable pageable,
+                                                              SearchTotal total) {
+        if (total == SearchTotal.EXACT) {
+            return searchRecipesByIngredient(ingredient, pageable);
+        }
+        return expand(searchRecipeHitsByIngredient(ingredient, pageable, total));
+    }
+
+    private CursorPageDto<RecipeSearchHitDto> hitsByCursor(String cursor, int size,
+                                                           Function<Limit, List<RecipeCursorHitDto>> first,
+                                                           BiFunction<RecipeCursor, Limit, List<RecipeCursorHitDto>> next) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<RecipeCursorHitDto> hits = cursor == null || cursor.isBlank()
+                ? first.apply(limit)
+                : next.apply(RecipeCursor.decode(cursor), limit);
+
+        boolean hasNext = hits.size() > pageSize;
+        List<RecipeCursorHitDto> page = hasNext ? hits.subList(0, pageSize) : hits;
+        String nextCursor = hasNext ? page.get(page.size() - 1).cursor().encode() : null;
+
+        List<RecipeSearchHitDto> content = page.stream().map(RecipeCursorHitDto::toSearchHit).toList();
+        return new CursorPageDto<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Turns a slice into a page whose total is only as fresh as the cached count. The last slice knows its
+     * total exactly, and a stale count never claims fewer results than the slice has already seen.
+     */
+    private <T> Slice<T> withApproximateTotal(Slice<T> slice, String kind, String query, LongSupplier count) {
+        if (slice instanceof Page<T>) {
+            return slice;
         }
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        long total = slice.hasNext()
+                ? Math.max(recipeSearchCache.approximateCount(kind, query, count), seen + 1)
+                : seen;
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
 
+    private Slice<RecipeResponseDto> expand(Slice<RecipeSearchHitDto> hits) {
+        List<RecipeResponseDto> content = toResponses(hits.getContent());
+        return hits instanceof Page<RecipeSearchHitDto> page
+                ? new PageImpl<>(content, hits.getPageable(), page.getTotalElements())
+                : new SliceImpl<>(content, hits.getPageable(), hits.hasNext());
+    }
+
+    private List<RecipeResponseDto> toResponses(List<RecipeSearchHitDto> hits) {
+        List<Recipe> recipes = findAllInOrder(hits.stream().map(RecipeSearchHitDto::id).toList());
         Long currentUserId = userService.getCurrentUserIdOptional().orElse(null);
-        return recipes.map(recipe -> RecipeMapper.toRecipeResponseDto(recipe, likeService, currentUserId));
+        return recipes.stream()
+                .map(recipe -> RecipeMapper.toRecipeResponseDto(recipe, likeService, currentUserId))
+                .toList();
+    }
+
+    private Page<Recipe> cachedSearch(String kind, String query, Pageable pageable, Supplier<Page<Recipe>> search) {
+        return recipeSearchCache.get(kind, query, pageable, search, Recipe::getId, recipeRepository::findAllById);
     }
 
+    private Page<RecipeSearchHitDto> cachedHits(String kind, String query, Pageable pageable,
+                                                Supplier<Page<RecipeSearchHitDto>> search) {
+        return recipeSearchCache.get(kind, query, pageable, search, RecipeSearchHitDto::id,
+                recipeRepository::findSearchHitsByIdIn);
+    }
+
+    /**
+     * Typo-tolerant fallback for searches with no exact match, in similarity order.
+     */
+    private Page<Recipe> findSimilarRecipes(String text, Pageable pageable) {
+        Page<Long> recipeIds = recipeSearchService.similarRecipeIds(text, pageable);
+        return new PageImpl<>(findAllInOrder(recipeIds.getContent()), pageable, recipeIds.getTotalElements());
+    }
+
+    private List<Recipe> findAllInOrder(List<Long> recipeIds) {
+        Map<Long, Recipe> recipes = recipeRepository.findAllById(recipeIds).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        return recipeIds.stream()
+                .map(recipes::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
@@ -0,0 +1,30 @@
+package femcoders25.mykitchen_hub.recipe.service;
+
+import femcoders25.mykitchen_hub.user.event.UsernameChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the usernames shown on recipes, bumped once every rename commits. Recipe ETags include it,
+ * because a renamed commenter changes the response without moving any recipe or comment timestamp. A reader has
+ * to take the version before loading the recipe, so the ETag can only lag behind the body, never run ahead of it.
+ * <p>
+ * The version starts at the startup time, so a restart can't reuse a version from before a rename.
+ */
+@Component
+public class UsernameVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUsernameChanged(UsernameChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,12 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public record FacetedSearchResultDto(
+        Page<RecipeSearchHitDto> recipes,
+        List<TagFacetDto> tagFacets,
+        List<IngredientFacetDto> ingredientFacets) {
+}
@@ -0,0 +1,8 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+public record IngredientDocument(
+        Long recipeId,
+        String name,
+        Double amount,
+        String unit) {
+}
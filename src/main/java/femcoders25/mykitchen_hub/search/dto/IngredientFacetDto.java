@@ -0,0 +1,6 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+public record IngredientFacetDto(
+        String name,
+        long count) {
+}
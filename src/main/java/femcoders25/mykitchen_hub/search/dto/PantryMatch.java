@@ -0,0 +1,10 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import java.util.List;
+
+public record PantryMatch(
+        Long recipeId,
+        double coverage,
+        List<String> matchedIngredients,
+        List<String> missingIngredients) {
+}
@@ -0,0 +1,12 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
+
+import java.util.List;
+
+public record PantryMatchDto(
+        RecipeSearchHitDto recipe,
+        double coverage,
+        List<String> matchedIngredients,
+        List<String> missingIngredients) {
+}
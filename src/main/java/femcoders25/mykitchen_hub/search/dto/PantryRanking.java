@@ -0,0 +1,12 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import java.util.List;
+
+public record PantryRanking(
+        List<PantryMatch> matches,
+        int totalHits) {
+
+    public static PantryRanking empty() {
+        return new PantryRanking(List.of(), 0);
+    }
+}
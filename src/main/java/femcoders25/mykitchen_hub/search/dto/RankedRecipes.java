@@ -0,0 +1,12 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import java.util.List;
+
+public record RankedRecipes(
+        List<Long> recipeIds,
+        int totalHits) {
+
+    public static RankedRecipes empty() {
+        return new RankedRecipes(List.of(), 0);
+    }
+}
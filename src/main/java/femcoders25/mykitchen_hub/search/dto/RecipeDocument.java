@@ -0,0 +1,35 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record RecipeDocument(
+        Long id,
+        String title,
+        String description,
+        String tag,
+        long likesCount,
+        String author,
+        LocalDateTime createdAt,
+        List<IngredientDocument> ingredients,
+        List<TagDocument> tags) {
+
+    /**
+     * Used by the JPQL projections in {@code RecipeRepository}; ingredients and tags are loaded separately and
+     * added with {@link #withIngredients} and {@link #withTags}.
+     */
+    public RecipeDocument(Long id, String title, String description, String tag, long likesCount, String author,
+                          LocalDateTime createdAt) {
+        this(id, title, description, tag, likesCount, author, createdAt, List.of(), List.of());
+    }
+
+    public RecipeDocument withIngredients(List<IngredientDocument> ingredients) {
+        return new RecipeDocument(id, title, description, tag, likesCount, author, createdAt,
+                List.copyOf(ingredients), tags);
+    }
+
+    public RecipeDocument withTags(List<TagDocument> tags) {
+        return new RecipeDocument(id, title, description, tag, likesCount, author, createdAt, ingredients,
+                List.copyOf(tags));
+    }
+}
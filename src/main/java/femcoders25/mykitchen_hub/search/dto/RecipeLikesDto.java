@@ -0,0 +1,4 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+public record RecipeLikesDto(Long recipeId, long likesCount) {
+}
@@ -0,0 +1,12 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record RecipeSearchCriteria(
+        String query,
+        String ingredients,
+        List<String> tags,
+        String author,
+        LocalDate createdAfter) {
+}
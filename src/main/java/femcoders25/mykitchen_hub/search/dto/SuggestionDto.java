@@ -0,0 +1,7 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+public record SuggestionDto(
+        String text,
+        SuggestionType type,
+        Long recipeId) {
+}
@@ -0,0 +1,7 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+public enum SuggestionType {
+    RECIPE,
+    INGREDIENT,
+    TAG
+}
@@ -0,0 +1,7 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+public record TagDocument(
+        Long recipeId,
+        String slug,
+        String name) {
+}
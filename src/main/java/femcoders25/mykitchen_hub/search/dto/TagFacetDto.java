@@ -0,0 +1,7 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+public record TagFacetDto(
+        String slug,
+        String name,
+        long count) {
+}
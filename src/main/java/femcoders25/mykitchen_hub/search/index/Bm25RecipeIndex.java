@@ -0,0 +1,204 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RankedRecipes;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over recipe title, tags and description ranked with BM25. Field boosts are folded into the
+ * term frequency and document length (a simplified BM25F), so a title hit outweighs a description hit.
+ * A query only touches the postings of its own terms, so latency follows result size rather than catalog size.
+ */
+@Component
+public class Bm25RecipeIndex implements RecipeIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    private static final float TITLE_BOOST = 3f;
+    private static final float TAG_BOOST = 2f;
+    private static final float DESCRIPTION_BOOST = 1f;
+
+    private static final Comparator<Map.Entry<Long, Double>> RANKING =
+            Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private Map<Long, IndexedDocument> documents = new HashMap<>();
+    private double totalLength;
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> recipeDocuments) {
+        Map<String, Map<Long, Float>> newPostings = new HashMap<>();
+        Map<Long, IndexedDocument> newDocuments = new HashMap<>();
+        double newTotalLength = 0;
+        for (RecipeDocument document : recipeDocuments) {
+            newTotalLength += add(document, newPostings, newDocuments);
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            documents = newDocuments;
+            totalLength = newTotalLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            totalLength -= delete(document.id());
+            totalLength += add(document, postings, documents);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            totalLength -= delete(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RankedRecipes search(String query, int limit) {
+        return search(query, limit, null);
+    }
+
+    /**
+     * Ranks only the recipes in {@code candidates} (all recipes when {@code null}); {@code totalHits} then counts
+     * matching candidates.
+     */
+    public RankedRecipes search(String query, int limit, BitSet candidates) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return RankedRecipes.empty();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            double averageLength = documentCount > 0 ? totalLength / documentCount : 0;
+            for (String term : terms) {
+                Map<Long, Float> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                termPostings.forEach((recipeId, frequency) -> {
+                    if (candidates != null && !candidates.get(Math.toIntExact(recipeId))) {
+                        return;
+                    }
+                    double lengthNorm = 1 - B + B * documents.get(recipeId).length() / averageLength;
+                    double score = idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                    scores.merge(recipeId, score, Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new RankedRecipes(topK(scores, limit), scores.size());
+    }
+
+    /**
+     * Every recipe containing at least one of the query's terms, the same set {@link #search} scores.
+     */
+    public BitSet matching(String query) {
+        BitSet matches = new BitSet();
+        lock.readLock().lock();
+        try {
+            for (String term : new LinkedHashSet<>(TextAnalyzer.analyze(query))) {
+                postings.getOrDefault(term, Map.of()).keySet()
+                        .forEach(recipeId -> matches.set(Math.toIntExact(recipeId)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private static List<Long> topK(Map<Long, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(RANKING.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING);
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private static float add(RecipeDocument document, Map<String, Map<Long, Float>> postings,
+                             Map<Long, IndexedDocument> documents) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = accumulate(frequencies, document.title(), TITLE_BOOST)
+                + accumulate(frequencies, document.tag(), TAG_BOOST)
+                + accumulate(frequencies, document.description(), DESCRIPTION_BOOST);
+
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), frequency));
+        documents.put(document.id(), new IndexedDocument(frequencies.keySet(), length));
+        return length;
+    }
+
+    private static float accumulate(Map<String, Float> frequencies, String text, float boost) {
+        List<String> terms = TextAnalyzer.analyze(text);
+        for (String term : terms) {
+            frequencies.merge(term, boost, Float::sum);
+        }
+        return terms.size() * boost;
+    }
+
+    private float delete(Long recipeId) {
+        IndexedDocument document = documents.remove(recipeId);
+        if (document == null) {
+            return 0;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(recipeId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        return document.length();
+    }
+
+    private record IndexedDocument(Set<String> terms, float length) {
+    }
+}
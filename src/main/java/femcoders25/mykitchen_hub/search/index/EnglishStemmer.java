@@ -0,0 +1,103 @@
+package femcoders25.mykitchen_hub.search.index;
+
+/**
+ * Light suffix stripper tuned for recipe text. It only has to map inflections of the same word onto one
+ * stem ("tomatoes"/"tomato", "baking"/"baked"/"bake", "berries"/"berry"); stems need not be real words.
+ */
+public final class EnglishStemmer {
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private EnglishStemmer() {
+    }
+
+    public static String stem(String term) {
+        if (term.length() <= MIN_STEM_LENGTH || !isLetters(term)) {
+            return term;
+        }
+
+        String stem = stripPlural(term);
+        stem = stripVerbSuffix(stem);
+        if (stem.length() > MIN_STEM_LENGTH && stem.endsWith("y")) {
+            stem = stem.substring(0, stem.length() - 1) + "i";
+        }
+        if (stem.length() > MIN_STEM_LENGTH && stem.endsWith("e")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+
+    private static String stripPlural(String term) {
+        if (term.endsWith("ies")) {
+            return term.length() > 4 ? cut(term, 3) + "y" : cut(term, 1);
+        }
+        if (term.endsWith("oes") || term.endsWith("sses") || term.endsWith("ches")
+                || term.endsWith("shes") || term.endsWith("xes") || term.endsWith("zes")) {
+            return cut(term, 2);
+        }
+        if (term.endsWith("s") && !term.endsWith("ss") && !term.endsWith("us") && !term.endsWith("is")) {
+            return cut(term, 1);
+        }
+        return term;
+    }
+
+    private static String stripVerbSuffix(String term) {
+        if (term.endsWith("ied") && term.length() > 4) {
+            return cut(term, 3) + "y";
+        }
+        if (term.endsWith("ing")) {
+            return stripIfStem(term, 3);
+        }
+        if (term.endsWith("ed")) {
+            return stripIfStem(term, 2);
+        }
+        if (term.endsWith("ly")) {
+            return stripIfStem(term, 2);
+        }
+        return term;
+    }
+
+    private static String stripIfStem(String term, int suffixLength) {
+        String stem = cut(term, suffixLength);
+        if (stem.length() < MIN_STEM_LENGTH || !hasVowel(stem)) {
+            return term;
+        }
+        return undouble(stem);
+    }
+
+    private static String undouble(String stem) {
+        int length = stem.length();
+        char last = stem.charAt(length - 1);
+        if (last == stem.charAt(length - 2) && !isVowel(last) && "lsfz".indexOf(last) < 0) {
+            return stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+
+    private static String cut(String term, int suffixLength) {
+        return term.substring(0, term.length() - suffixLength);
+    }
+
+    private static boolean hasVowel(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (isVowel(value.charAt(i)) || (i > 0 && value.charAt(i) == 'y')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    private static boolean isLetters(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,214 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.IngredientDocument;
+import femcoders25.mykitchen_hub.search.dto.IngredientFacetDto;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Maps each analyzed ingredient term to the {@link PostingList} of recipes using it, so boolean ingredient
+ * queries are answered by set intersection instead of a JOIN + LIKE + DISTINCT scan. A multi-word ingredient
+ * matches only recipes where one ingredient has all its words: the intersection narrows the candidates, which
+ * are then checked against each recipe's ingredients, so "olive oil" doesn't match "black olives" and "sesame oil".
+ */
+@Component
+public class IngredientIndex implements RecipeIndex {
+
+    private static final Comparator<IngredientFacetDto> FACET_ORDER = Comparator
+            .comparingLong(IngredientFacetDto::count).reversed()
+            .thenComparing(IngredientFacetDto::name, String.CASE_INSENSITIVE_ORDER);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<Integer, List<Set<String>>> recipeTerms = new HashMap<>();
+    private Map<Integer, Map<String, String>> recipeIngredients = new HashMap<>();
+    private PostingList allRecipes = PostingList.EMPTY;
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        Map<String, List<Integer>> ids = new HashMap<>();
+        Map<Integer, List<Set<String>>> newRecipeTerms = new HashMap<>();
+        Map<Integer, Map<String, String>> newRecipeIngredients = new HashMap<>();
+        for (RecipeDocument document : documents) {
+            int recipeId = Math.toIntExact(document.id());
+            List<Set<String>> terms = terms(document);
+            union(terms).forEach(term -> ids.computeIfAbsent(term, t -> new ArrayList<>()).add(recipeId));
+            newRecipeTerms.put(recipeId, terms);
+            newRecipeIngredients.put(recipeId, ingredientNames(document));
+        }
+
+        Map<String, PostingList> newPostings = ids.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> PostingList.of(entry.getValue().stream().mapToInt(Integer::intValue).toArray())));
+        PostingList newAllRecipes = PostingList.of(newRecipeTerms.keySet().stream()
+                .mapToInt(Integer::intValue)
+                .toArray());
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            recipeTerms = newRecipeTerms;
+            recipeIngredients = newRecipeIngredients;
+            allRecipes = newAllRecipes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(RecipeDocument document) {
+        int recipeId = Math.toIntExact(document.id());
+        List<Set<String>> terms = terms(document);
+        lock.writeLock().lock();
+        try {
+            delete(recipeId);
+            union(terms).forEach(term -> postings.merge(term, PostingList.of(recipeId),
+                    (current, added) -> current.with(recipeId)));
+            recipeTerms.put(recipeId, terms);
+            recipeIngredients.put(recipeId, ingredientNames(document));
+            allRecipes = allRecipes.with(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            delete(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public PostingList match(IngredientQuery query) {
+        lock.readLock().lock();
+        try {
+            PostingList result = PostingList.EMPTY;
+            for (IngredientQuery.Clause clause : query.clauses()) {
+                result = result.or(match(clause));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The most used ingredients among the given recipes, compared by their normalized name.
+     */
+    public List<IngredientFacetDto> facets(BitSet recipes, int limit) {
+        Map<String, Long> counts = new HashMap<>();
+        Map<String, String> names = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            recipes.stream().forEach(recipeId -> recipeIngredients.getOrDefault(recipeId, Map.of())
+                    .forEach((key, name) -> {
+                        counts.merge(key, 1L, Long::sum);
+                        names.putIfAbsent(key, name);
+                    }));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return counts.entrySet().stream()
+                .map(entry -> new IngredientFacetDto(names.get(entry.getKey()), entry.getValue()))
+                .sorted(FACET_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    private PostingList match(IngredientQuery.Clause clause) {
+        PostingList result = allRecipes;
+        for (List<String> ingredient : clause.required()) {
+            result = result.and(ingredientPostings(ingredient));
+            if (result.isEmpty()) {
+                return result;
+            }
+        }
+        for (List<String> ingredient : clause.excluded()) {
+            result = result.andNot(ingredientPostings(ingredient));
+        }
+        return result;
+    }
+
+    private PostingList ingredientPostings(List<String> terms) {
+        PostingList result = null;
+        for (String term : terms) {
+            PostingList termPostings = postings.getOrDefault(term, PostingList.EMPTY);
+            result = result == null ? termPostings : result.and(termPostings);
+        }
+        if (result == null) {
+            return PostingList.EMPTY;
+        }
+        if (terms.size() == 1 || result.isEmpty()) {
+            return result;
+        }
+        return PostingList.of(result.toBitSet().stream()
+                .filter(recipeId -> recipeTerms.get(recipeId).stream()
+                        .anyMatch(ingredient -> ingredient.containsAll(terms)))
+                .toArray());
+    }
+
+    private void delete(int recipeId) {
+        recipeIngredients.remove(recipeId);
+        List<Set<String>> terms = recipeTerms.remove(recipeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : union(terms)) {
+            PostingList remaining = postings.get(term).without(recipeId);
+            if (remaining.isEmpty()) {
+                postings.remove(term);
+            } else {
+                postings.put(term, remaining);
+            }
+        }
+        allRecipes = allRecipes.without(recipeId);
+    }
+
+    private static Map<String, String> ingredientNames(RecipeDocument document) {
+        Map<String, String> names = new HashMap<>();
+        for (IngredientDocument ingredient : document.ingredients()) {
+            String key = TextAnalyzer.normalizePhrase(ingredient.name());
+            if (!key.isEmpty()) {
+                names.putIfAbsent(key, ingredient.name().trim());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * The analyzed terms of each of the recipe's ingredients.
+     */
+    private static List<Set<String>> terms(RecipeDocument document) {
+        List<Set<String>> terms = new ArrayList<>();
+        for (IngredientDocument ingredient : document.ingredients()) {
+            Set<String> ingredientTerms = new HashSet<>(TextAnalyzer.analyze(ingredient.name()));
+            if (!ingredientTerms.isEmpty()) {
+                terms.add(ingredientTerms);
+            }
+        }
+        return terms;
+    }
+
+    private static Set<String> union(List<Set<String>> terms) {
+        Set<String> union = new HashSet<>();
+        terms.forEach(union::addAll);
+        return union;
+    }
+}
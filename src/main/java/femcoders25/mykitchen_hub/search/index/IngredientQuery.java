@@ -0,0 +1,78 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boolean ingredient query such as {@code "chicken AND garlic NOT cream OR tofu"}. AND and NOT bind tighter
+ * than OR, so the query is a list of OR-ed clauses, each with required and excluded ingredients. Adjacent words
+ * without an operator form one multi-word ingredient ("olive oil"). Operators are case-insensitive.
+ */
+public record IngredientQuery(List<Clause> clauses) {
+
+    public record Clause(List<List<String>> required, List<List<String>> excluded) {
+    }
+
+    public static IngredientQuery parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        List<List<String>> required = new ArrayList<>();
+        List<List<String>> excluded = new ArrayList<>();
+        StringBuilder operand = new StringBuilder();
+        boolean negated = false;
+        boolean operatorPending = false;
+
+        for (String token : TextAnalyzer.normalize(query).split("\\s+")) {
+            switch (token) {
+                case "" -> {
+                }
+                case "and", "or" -> {
+                    if (operand.isEmpty()) {
+                        throw invalid(query);
+                    }
+                    addOperand(operand, negated, required, excluded, query);
+                    negated = false;
+                    operatorPending = true;
+                    if (token.equals("or")) {
+                        clauses.add(new Clause(List.copyOf(required), List.copyOf(excluded)));
+                        required.clear();
+                        excluded.clear();
+                    }
+                }
+                case "not" -> {
+                    if (!operand.isEmpty()) {
+                        addOperand(operand, negated, required, excluded, query);
+                    } else if (negated) {
+                        throw invalid(query);
+                    }
+                    negated = true;
+                    operatorPending = true;
+                }
+                default -> {
+                    operand.append(' ').append(token);
+                    operatorPending = false;
+                }
+            }
+        }
+
+        if (operatorPending || operand.isEmpty()) {
+            throw invalid(query);
+        }
+        addOperand(operand, negated, required, excluded, query);
+        clauses.add(new Clause(List.copyOf(required), List.copyOf(excluded)));
+        return new IngredientQuery(List.copyOf(clauses));
+    }
+
+    private static void addOperand(StringBuilder operand, boolean negated, List<List<String>> required,
+                                   List<List<String>> excluded, String query) {
+        List<String> terms = TextAnalyzer.analyze(operand.toString());
+        if (terms.isEmpty()) {
+            throw invalid(query);
+        }
+        (negated ? excluded : required).add(List.copyOf(terms));
+        operand.setLength(0);
+    }
+
+    private static IllegalArgumentException invalid(String query) {
+        return new IllegalArgumentException("Invalid ingredient query: " + query);
+    }
+}
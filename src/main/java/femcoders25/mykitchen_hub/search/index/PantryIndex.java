@@ -0,0 +1,317 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.IngredientDocument;
+import femcoders25.mykitchen_hub.search.dto.PantryMatch;
+import femcoders25.mykitchen_hub.search.dto.PantryRanking;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recipe-to-ingredient matrix for "cook from my pantry" ranking. Ingredient names are interned to dense ids and
+ * every recipe is a row of ingredient ids and weights, so scoring a pantry is an id lookup per recipe ingredient.
+ * Rows are scored in parallel on the common fork/join pool, each task keeping only its best {@code limit} rows.
+ * <p>
+ * A pantry item covers a recipe ingredient when every analyzed word of the item appears in the ingredient name
+ * ("chicken" covers "Chicken breast"). Ingredients measured in the same unit are weighted by their share of that
+ * unit's total, averaging one, so 300 g of flour matters more than 10 g of yeast; all others weigh one.
+ */
+@Component
+public class PantryIndex implements RecipeIndex {
+
+    static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private static final Comparator<Score> RANKING = Comparator.comparingDouble(Score::coverage).reversed()
+            .thenComparing(Comparator.comparingInt(Score::matched).reversed())
+            .thenComparing(Comparator.comparingLong(Score::recipeId).reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Matrix matrix = new Matrix();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        Matrix rebuilt = new Matrix();
+        documents.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            matrix = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            matrix.add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            matrix.rows.remove(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} recipes whose ingredients the pantry covers best, with the covered and missing
+     * ingredients of each. Recipes the pantry covers none of are left out. Ingredient ids only mean something
+     * in the matrix that interned them, so the whole ranking reads one matrix even if a rebuild swaps it meanwhile.
+     */
+    public PantryRanking rank(Collection<String> pantry, int limit) {
+        Matrix snapshot;
+        BitSet available;
+        Row[] rows;
+        lock.readLock().lock();
+        try {
+            snapshot = matrix;
+            available = snapshot.covered(pantry);
+            rows = snapshot.rows.values().toArray(Row[]::new);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (available.isEmpty() || limit <= 0) {
+            return PantryRanking.empty();
+        }
+
+        TopK top = ForkJoinPool.commonPool().invoke(new ScoreTask(rows, 0, rows.length, available, limit));
+        List<Score> ranked = new ArrayList<>(top.scores);
+        ranked.sort(RANKING);
+
+        lock.readLock().lock();
+        try {
+            List<PantryMatch> matches = ranked.stream()
+                    .map(score -> snapshot.describe(score, available))
+                    .toList();
+            return new PantryRanking(matches, top.matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static double[] weights(List<IngredientDocument> ingredients) {
+        Map<String, Double> unitTotals = new HashMap<>();
+        Map<String, Integer> unitCounts = new HashMap<>();
+        for (IngredientDocument ingredient : ingredients) {
+            if (isMeasured(ingredient)) {
+                unitTotals.merge(unitOf(ingredient), ingredient.amount(), Double::sum);
+                unitCounts.merge(unitOf(ingredient), 1, Integer::sum);
+            }
+        }
+
+        double[] weights = new double[ingredients.size()];
+        for (int i = 0; i < weights.length; i++) {
+            IngredientDocument ingredient = ingredients.get(i);
+            weights[i] = isMeasured(ingredient)
+                    ? unitCounts.get(unitOf(ingredient)) * ingredient.amount() / unitTotals.get(unitOf(ingredient))
+                    : 1;
+        }
+        return weights;
+    }
+
+    private static boolean isMeasured(IngredientDocument ingredient) {
+        return ingredient.amount() != null && ingredient.amount() > 0;
+    }
+
+    private static String unitOf(IngredientDocument ingredient) {
+        return ingredient.unit() == null ? "" : ingredient.unit().trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Ingredient ids are never reclaimed between rebuilds; a renamed ingredient only leaves behind its name.
+     */
+    private static final class Matrix {
+
+        private final Map<String, Integer> ingredientIds = new HashMap<>();
+        private final List<String> ingredientNames = new ArrayList<>();
+        private final Map<String, BitSet> ingredientsByTerm = new HashMap<>();
+        private final Map<Long, Row> rows = new HashMap<>();
+
+        void add(RecipeDocument document) {
+            Map<Integer, Double> weightsById = new LinkedHashMap<>();
+            double[] weights = weights(document.ingredients());
+            for (int i = 0; i < weights.length; i++) {
+                int ingredientId = intern(document.ingredients().get(i).name());
+                if (ingredientId >= 0) {
+                    weightsById.merge(ingredientId, weights[i], Double::sum);
+                }
+            }
+
+            int[] ids = new int[weightsById.size()];
+            double[] rowWeights = new double[weightsById.size()];
+            double total = 0;
+            int column = 0;
+            for (Map.Entry<Integer, Double> entry : weightsById.entrySet()) {
+                ids[column] = entry.getKey();
+                rowWeights[column++] = entry.getValue();
+                total += entry.getValue();
+            }
+            rows.put(document.id(), new Row(document.id(), ids, rowWeights, total));
+        }
+
+        BitSet covered(Collection<String> pantry) {
+            BitSet covered = new BitSet();
+            for (String item : pantry) {
+                List<String> terms = TextAnalyzer.analyze(item);
+                if (terms.isEmpty()) {
+                    continue;
+                }
+                BitSet matching = null;
+                for (String term : terms) {
+                    BitSet withTerm = ingredientsByTerm.getOrDefault(term, new BitSet());
+                    if (matching == null) {
+                        matching = (BitSet) withTerm.clone();
+                    } else {
+                        matching.and(withTerm);
+                    }
+                }
+                covered.or(matching);
+            }
+            return covered;
+        }
+
+        PantryMatch describe(Score score, BitSet available) {
+            List<String> matched = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int ingredientId : score.row().ingredientIds()) {
+                (available.get(ingredientId) ? matched : missing).add(ingredientNames.get(ingredientId));
+            }
+            return new PantryMatch(score.recipeId(), score.coverage(), matched, missing);
+        }
+
+        private int intern(String name) {
+            String key = TextAnalyzer.normalizePhrase(name);
+            if (key.isEmpty()) {
+                return -1;
+            }
+            Integer existing = ingredientIds.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            int ingredientId = ingredientNames.size();
+            ingredientIds.put(key, ingredientId);
+            ingredientNames.add(name.trim());
+            TextAnalyzer.analyze(name)
+                    .forEach(term -> ingredientsByTerm.computeIfAbsent(term, t -> new BitSet()).set(ingredientId));
+            return ingredientId;
+        }
+    }
+
+    private static final class ScoreTask extends RecursiveTask<TopK> {
+
+        private final Row[] rows;
+        private final int from;
+        private final int to;
+        private final BitSet available;
+        private final int limit;
+
+        private ScoreTask(Row[] rows, int from, int to, BitSet available, int limit) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.available = available;
+            this.limit = limit;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return scoreRange();
+            }
+
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(rows, from, middle, available, limit);
+            left.fork();
+            TopK right = new ScoreTask(rows, middle, to, available, limit).compute();
+            return left.join().merge(right);
+        }
+
+        private TopK scoreRange() {
+            TopK top = new TopK(limit);
+            for (int i = from; i < to; i++) {
+                Row row = rows[i];
+                double matchedWeight = 0;
+                int matched = 0;
+                for (int column = 0; column < row.ingredientIds().length; column++) {
+                    if (available.get(row.ingredientIds()[column])) {
+                        matchedWeight += row.weights()[column];
+                        matched++;
+                    }
+                }
+                if (matched > 0) {
+                    top.offer(new Score(row, matchedWeight / row.totalWeight(), matched));
+                }
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best scores seen so far plus the count of every recipe that matched at all.
+     */
+    private static final class TopK {
+
+        private final PriorityQueue<Score> scores = new PriorityQueue<>(RANKING.reversed());
+        private final int limit;
+        private int matches;
+
+        private TopK(int limit) {
+            this.limit = limit;
+        }
+
+        void offer(Score score) {
+            matches++;
+            keep(score);
+        }
+
+        TopK merge(TopK other) {
+            other.scores.forEach(this::keep);
+            matches += other.matches;
+            return this;
+        }
+
+        private void keep(Score score) {
+            scores.offer(score);
+            if (scores.size() > limit) {
+                scores.poll();
+            }
+        }
+    }
+
+    private record Row(Long recipeId, int[] ingredientIds, double[] weights, double totalWeight) {
+    }
+
+    /**
+     * Keeps the scored row so the match is described with the ingredients it was scored on, even if the recipe
+     * has been updated or removed since.
+     */
+    private record Score(Row row, double coverage, int matched) {
+
+        Long recipeId() {
+            return row.recipeId();
+        }
+    }
+}
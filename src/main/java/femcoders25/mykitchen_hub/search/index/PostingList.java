@@ -0,0 +1,190 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable, sorted set of recipe ids backed by a primitive {@code int[]} (4 bytes per id instead of a boxed
+ * {@code Long} in a hash set). Set operations are linear merges, or binary-search probes when one side is much
+ * smaller than the other.
+ */
+public final class PostingList {
+
+    public static final PostingList EMPTY = new PostingList(new int[0]);
+
+    private final int[] ids;
+
+    private PostingList(int[] ids) {
+        this.ids = ids;
+    }
+
+    public static PostingList of(int... ids) {
+        int[] sorted = Arrays.stream(ids).sorted().distinct().toArray();
+        return sorted.length == 0 ? EMPTY : new PostingList(sorted);
+    }
+
+    public static PostingList of(BitSet ids) {
+        return ids.isEmpty() ? EMPTY : new PostingList(ids.stream().toArray());
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public PostingList with(int id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return this;
+        }
+        int insertAt = -position - 1;
+        int[] result = new int[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return new PostingList(result);
+    }
+
+    public PostingList without(int id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return this;
+        }
+        if (ids.length == 1) {
+            return EMPTY;
+        }
+        int[] result = new int[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return new PostingList(result);
+    }
+
+    public PostingList and(PostingList other) {
+        PostingList small = size() <= other.size() ? this : other;
+        PostingList large = small == this ? other : this;
+        if (small.isEmpty()) {
+            return EMPTY;
+        }
+
+        int[] result = new int[small.size()];
+        int count = 0;
+        if ((long) small.size() * (32 - Integer.numberOfLeadingZeros(large.size())) < large.size()) {
+            for (int id : small.ids) {
+                if (large.contains(id)) {
+                    result[count++] = id;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.ids.length && j < large.ids.length) {
+                int a = small.ids[i];
+                int b = large.ids[j];
+                if (a == b) {
+                    result[count++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return wrap(result, count);
+    }
+
+    public PostingList or(PostingList other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+
+        int[] result = new int[ids.length + other.ids.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ids.length || j < other.ids.length) {
+            if (j == other.ids.length || (i < ids.length && ids[i] < other.ids[j])) {
+                result[count++] = ids[i++];
+            } else if (i == ids.length || other.ids[j] < ids[i]) {
+                result[count++] = other.ids[j++];
+            } else {
+                result[count++] = ids[i++];
+                j++;
+            }
+        }
+        return wrap(result, count);
+    }
+
+    public PostingList andNot(PostingList other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+
+        int[] result = new int[ids.length];
+        int count = 0;
+        int j = 0;
+        for (int id : ids) {
+            while (j < other.ids.length && other.ids[j] < id) {
+                j++;
+            }
+            if (j == other.ids.length || other.ids[j] != id) {
+                result[count++] = id;
+            }
+        }
+        return wrap(result, count);
+    }
+
+    public BitSet toBitSet() {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    /**
+     * Highest ids first, which is newest first for identity-generated recipe ids.
+     */
+    public List<Long> descending(int offset, int limit) {
+        List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, ids.length - offset)));
+        for (int i = ids.length - 1 - offset; i >= 0 && page.size() < limit; i--) {
+            page.add((long) ids[i]);
+        }
+        return page;
+    }
+
+    private static PostingList wrap(int[] result, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        return new PostingList(count == result.length ? result : Arrays.copyOf(result, count));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PostingList other && Arrays.equals(ids, other.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(ids);
+    }
+}
@@ -0,0 +1,135 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Author and creation time of every indexed recipe, so those filters can be combined with the other in-memory
+ * indexes without a round trip. Also defines the universe of recipe ids a combined search starts from.
+ */
+@Component
+public class RecipeAttributeIndex implements RecipeIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, BitSet> recipesByAuthor = new HashMap<>();
+    private Map<Integer, Attributes> attributes = new HashMap<>();
+    private BitSet allRecipes = new BitSet();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        Map<String, BitSet> newRecipesByAuthor = new HashMap<>();
+        Map<Integer, Attributes> newAttributes = new HashMap<>();
+        BitSet newAllRecipes = new BitSet();
+        for (RecipeDocument document : documents) {
+            add(document, newRecipesByAuthor, newAttributes, newAllRecipes);
+        }
+
+        lock.writeLock().lock();
+        try {
+            recipesByAuthor = newRecipesByAuthor;
+            attributes = newAttributes;
+            allRecipes = newAllRecipes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            delete(Math.toIntExact(document.id()));
+            add(document, recipesByAuthor, attributes, allRecipes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            delete(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BitSet all() {
+        lock.readLock().lock();
+        try {
+            return (BitSet) allRecipes.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public BitSet byAuthor(String username) {
+        lock.readLock().lock();
+        try {
+            BitSet recipes = recipesByAuthor.get(authorKey(username));
+            return recipes == null ? new BitSet() : (BitSet) recipes.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clears from {@code recipes} every recipe created before {@code since}.
+     */
+    public void retainCreatedSince(BitSet recipes, LocalDateTime since) {
+        lock.readLock().lock();
+        try {
+            for (int recipeId = recipes.nextSetBit(0); recipeId >= 0; recipeId = recipes.nextSetBit(recipeId + 1)) {
+                Attributes recipe = attributes.get(recipeId);
+                if (recipe == null || recipe.createdAt() == null || recipe.createdAt().isBefore(since)) {
+                    recipes.clear(recipeId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(RecipeDocument document, Map<String, BitSet> recipesByAuthor,
+                            Map<Integer, Attributes> attributes, BitSet allRecipes) {
+        int recipeId = Math.toIntExact(document.id());
+        String author = authorKey(document.author());
+        if (!author.isEmpty()) {
+            recipesByAuthor.computeIfAbsent(author, key -> new BitSet()).set(recipeId);
+        }
+        attributes.put(recipeId, new Attributes(author, document.createdAt()));
+        allRecipes.set(recipeId);
+    }
+
+    private void delete(int recipeId) {
+        Attributes recipe = attributes.remove(recipeId);
+        if (recipe == null) {
+            return;
+        }
+        BitSet authored = recipesByAuthor.get(recipe.author());
+        if (authored != null) {
+            authored.clear(recipeId);
+            if (authored.isEmpty()) {
+                recipesByAuthor.remove(recipe.author());
+            }
+        }
+        allRecipes.clear(recipeId);
+    }
+
+    private static String authorKey(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Attributes(String author, LocalDateTime createdAt) {
+    }
+}
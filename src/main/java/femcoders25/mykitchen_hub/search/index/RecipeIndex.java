@@ -0,0 +1,26 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * An in-memory structure derived from the recipe catalog. Implementations are kept in sync by
+ * {@link femcoders25.mykitchen_hub.search.service.RecipeIndexer} and must tolerate concurrent reads while a
+ * single writer applies changes.
+ */
+public interface RecipeIndex {
+
+    void rebuild(Collection<RecipeDocument> documents);
+
+    void upsert(RecipeDocument document);
+
+    void remove(Long recipeId);
+
+    /**
+     * Applies new like counts, by recipe id, to recipes already indexed. Only indexes that rank by likes need it.
+     */
+    default void updateLikes(Map<Long, Long> likesCounts) {
+    }
+}
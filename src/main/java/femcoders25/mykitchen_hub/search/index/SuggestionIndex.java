@@ -0,0 +1,357 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.IngredientDocument;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.dto.SuggestionDto;
+import femcoders25.mykitchen_hub.search.dto.SuggestionType;
+import femcoders25.mykitchen_hub.search.dto.TagDocument;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over recipe titles, ingredient names and tags. Each phrase is reachable from the start of every
+ * one of its words, and every trie node caches its {@value #MAX_SUGGESTIONS} most popular phrases, so a lookup
+ * is a walk down the prefix. A phrase weighs one plus the likes of each recipe it comes from; likes are kept
+ * current through {@link #updateLikes}, which only reranks the phrases of the recipes whose count changed.
+ */
+@Component
+public class SuggestionIndex implements RecipeIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Comparator<Entry> BY_POPULARITY = Comparator.comparingLong((Entry entry) -> entry.weight)
+            .reversed()
+            .thenComparing(entry -> entry.text, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(entry -> entry.id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Trie trie = new Trie();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        Trie rebuilt = new Trie();
+        documents.forEach(document -> rebuilt.add(document, false));
+        rebuilt.root.recomputeSubtree();
+
+        lock.writeLock().lock();
+        try {
+            trie = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            trie.delete(Math.toIntExact(document.id()));
+            trie.add(document, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            trie.delete(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateLikes(Map<Long, Long> likesCounts) {
+        lock.writeLock().lock();
+        try {
+            Set<Entry> changed = new HashSet<>();
+            likesCounts.forEach((recipeId, likesCount) ->
+                    trie.reweigh(Math.toIntExact(recipeId), popularity(likesCount), changed));
+            changed.forEach(trie::refresh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String key = TextAnalyzer.normalizePhrase(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = trie.root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(limit)
+                    .map(entry -> new SuggestionDto(entry.text, entry.type, entry.recipeId))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Trie {
+
+        private final Node root = new Node();
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<Integer, Contribution> contributions = new HashMap<>();
+
+        void add(RecipeDocument document, boolean incremental) {
+            int recipeId = Math.toIntExact(document.id());
+            long popularity = popularity(document.likesCount());
+            Set<String> entryIds = new LinkedHashSet<>();
+
+            contribute(entryIds, "recipe:" + recipeId, document.title(), SuggestionType.RECIPE, document.id(),
+                    popularity, incremental);
+            for (IngredientDocument ingredient : document.ingredients()) {
+                String ingredientKey = TextAnalyzer.normalizePhrase(ingredient.name());
+                contribute(entryIds, "ingredient:" + ingredientKey, ingredient.name(), SuggestionType.INGREDIENT,
+                        null, popularity, incremental);
+            }
+            for (TagDocument tag : document.tags()) {
+                contribute(entryIds, "tag:" + tag.slug(), tag.name(), SuggestionType.TAG, null, popularity,
+                        incremental);
+            }
+            contributions.put(recipeId, new Contribution(popularity, List.copyOf(entryIds)));
+        }
+
+        void delete(int recipeId) {
+            Contribution contribution = contributions.remove(recipeId);
+            if (contribution == null) {
+                return;
+            }
+            for (String entryId : contribution.entryIds()) {
+                Entry entry = entries.get(entryId);
+                entry.weight -= contribution.popularity();
+                entry.recipes--;
+                if (entry.recipes == 0) {
+                    entries.remove(entryId);
+                    unlink(entry);
+                } else {
+                    refresh(entry);
+                }
+            }
+        }
+
+        /**
+         * Moves the recipe's weight in each of its phrases to {@code popularity}, collecting the phrases that
+         * need reranking into {@code changed}.
+         */
+        void reweigh(int recipeId, long popularity, Set<Entry> changed) {
+            Contribution contribution = contributions.get(recipeId);
+            if (contribution == null || contribution.popularity() == popularity) {
+                return;
+            }
+            for (String entryId : contribution.entryIds()) {
+                Entry entry = entries.get(entryId);
+                entry.weight += popularity - contribution.popularity();
+                changed.add(entry);
+            }
+            contributions.put(recipeId, new Contribution(popularity, contribution.entryIds()));
+        }
+
+        private void contribute(Set<String> entryIds, String entryId, String text, SuggestionType type,
+                                Long recipeId, long popularity, boolean incremental) {
+            String key = TextAnalyzer.normalizePhrase(text);
+            if (key.isEmpty() || !entryIds.add(entryId)) {
+                return;
+            }
+
+            Entry entry = entries.get(entryId);
+            if (entry == null) {
+                entry = new Entry(entryId, key, text.trim(), type, recipeId);
+                entry.weight = popularity;
+                entry.recipes = 1;
+                entries.put(entryId, entry);
+                link(entry, incremental);
+            } else {
+                entry.weight += popularity;
+                entry.recipes++;
+                if (incremental) {
+                    refresh(entry);
+                }
+            }
+        }
+
+        private void link(Entry entry, boolean incremental) {
+            for (String suffix : wordSuffixes(entry.key)) {
+                Node[] path = new Node[suffix.length() + 1];
+                path[0] = root;
+                for (int i = 0; i < suffix.length(); i++) {
+                    path[i + 1] = path[i].childOrCreate(suffix.charAt(i));
+                }
+                path[suffix.length()].terminals.add(entry);
+                if (incremental) {
+                    recompute(path);
+                }
+            }
+        }
+
+        void refresh(Entry entry) {
+            for (String suffix : wordSuffixes(entry.key)) {
+                recompute(path(suffix));
+            }
+        }
+
+        private void unlink(Entry entry) {
+            for (String suffix : wordSuffixes(entry.key)) {
+                Node[] path = path(suffix);
+                path[suffix.length()].terminals.remove(entry);
+                for (int i = suffix.length(); i > 0; i--) {
+                    if (path[i].isEmpty()) {
+                        path[i - 1].removeChild(suffix.charAt(i - 1));
+                    }
+                }
+                recompute(path);
+            }
+        }
+
+        private Node[] path(String suffix) {
+            Node[] path = new Node[suffix.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < suffix.length(); i++) {
+                path[i + 1] = path[i].child(suffix.charAt(i));
+            }
+            return path;
+        }
+
+        private static void recompute(Node[] path) {
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i].recompute();
+            }
+        }
+
+        private static List<String> wordSuffixes(String key) {
+            List<String> suffixes = new ArrayList<>();
+            for (int i = 0; i < key.length(); i++) {
+                if (i == 0 || key.charAt(i - 1) == ' ') {
+                    suffixes.add(key.substring(i));
+                }
+            }
+            return suffixes;
+        }
+    }
+
+    private static long popularity(long likesCount) {
+        return Math.max(likesCount, 0) + 1;
+    }
+
+    /**
+     * Children are kept in parallel sorted arrays rather than a map, which keeps the many small nodes compact.
+     */
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private final List<Entry> terminals = new ArrayList<>(0);
+        private Entry[] top = NO_ENTRIES;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = child;
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminals.isEmpty() && children.length == 0;
+        }
+
+        void recompute() {
+            List<Entry> candidates = new ArrayList<>(terminals);
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            top = candidates.stream()
+                    .distinct()
+                    .sorted(BY_POPULARITY)
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Entry[]::new);
+        }
+
+        void recomputeSubtree() {
+            for (Node child : children) {
+                child.recomputeSubtree();
+            }
+            recompute();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String id;
+        private final String key;
+        private final String text;
+        private final SuggestionType type;
+        private final Long recipeId;
+        private long weight;
+        private int recipes;
+
+        private Entry(String id, String key, String text, SuggestionType type, Long recipeId) {
+            this.id = id;
+            this.key = key;
+            this.text = text;
+            this.type = type;
+            this.recipeId = recipeId;
+        }
+    }
+
+    private record Contribution(long popularity, List<String> entryIds) {
+    }
+}
@@ -0,0 +1,171 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.dto.TagDocument;
+import femcoders25.mykitchen_hub.search.dto.TagFacetDto;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps one bitset of recipe ids per tag slug, so exact tag filters, multi-tag intersections and per-tag facet
+ * counts are answered in memory. Bitsets handed out are copies.
+ */
+@Component
+public class TagIndex implements RecipeIndex {
+
+    private static final Comparator<TagFacetDto> FACET_ORDER = Comparator.comparingLong(TagFacetDto::count)
+            .reversed()
+            .thenComparing(TagFacetDto::name, String.CASE_INSENSITIVE_ORDER);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, BitSet> recipesByTag = new HashMap<>();
+    private Map<String, String> tagNames = new HashMap<>();
+    private Map<Integer, List<String>> recipeTags = new HashMap<>();
+    private BitSet allRecipes = new BitSet();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        Map<String, BitSet> newRecipesByTag = new HashMap<>();
+        Map<String, String> newTagNames = new HashMap<>();
+        Map<Integer, List<String>> newRecipeTags = new HashMap<>();
+        BitSet newAllRecipes = new BitSet();
+        for (RecipeDocument document : documents) {
+            int recipeId = Math.toIntExact(document.id());
+            for (TagDocument tag : document.tags()) {
+                newRecipesByTag.computeIfAbsent(tag.slug(), slug -> new BitSet()).set(recipeId);
+                newTagNames.put(tag.slug(), tag.name());
+            }
+            newRecipeTags.put(recipeId, slugs(document));
+            newAllRecipes.set(recipeId);
+        }
+
+        lock.writeLock().lock();
+        try {
+            recipesByTag = newRecipesByTag;
+            tagNames = newTagNames;
+            recipeTags = newRecipeTags;
+            allRecipes = newAllRecipes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(RecipeDocument document) {
+        int recipeId = Math.toIntExact(document.id());
+        lock.writeLock().lock();
+        try {
+            delete(recipeId);
+            for (TagDocument tag : document.tags()) {
+                recipesByTag.computeIfAbsent(tag.slug(), slug -> new BitSet()).set(recipeId);
+                tagNames.put(tag.slug(), tag.name());
+            }
+            recipeTags.put(recipeId, slugs(document));
+            allRecipes.set(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            delete(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recipes carrying every one of the given tags; all indexed recipes when no tag is given.
+     */
+    public BitSet match(Collection<String> slugs) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) allRecipes.clone();
+            for (String slug : slugs) {
+                BitSet tagged = recipesByTag.get(slug);
+                if (tagged == null) {
+                    return new BitSet();
+                }
+                result.and(tagged);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * How many of the given recipes carry each tag, most used first. Tags no recipe in the set carries are left
+     * out.
+     */
+    public List<TagFacetDto> facets(BitSet recipes) {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = recipes.cardinality() < recipesByTag.size()
+                    ? countByRecipe(recipes)
+                    : countByTag(recipes);
+            return counts.entrySet().stream()
+                    .map(entry -> new TagFacetDto(entry.getKey(), tagNames.get(entry.getKey()), entry.getValue()))
+                    .sorted(FACET_ORDER)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Long> countByRecipe(BitSet recipes) {
+        Map<String, Long> counts = new HashMap<>();
+        recipes.stream().forEach(recipeId -> recipeTags.getOrDefault(recipeId, List.of())
+                .forEach(slug -> counts.merge(slug, 1L, Long::sum)));
+        return counts;
+    }
+
+    private Map<String, Long> countByTag(BitSet recipes) {
+        Map<String, Long> counts = new HashMap<>();
+        BitSet scratch = new BitSet();
+        recipesByTag.forEach((slug, tagged) -> {
+            scratch.clear();
+            scratch.or(tagged);
+            scratch.and(recipes);
+            int count = scratch.cardinality();
+            if (count > 0) {
+                counts.put(slug, (long) count);
+            }
+        });
+        return counts;
+    }
+
+    private void delete(int recipeId) {
+        List<String> slugs = recipeTags.remove(recipeId);
+        if (slugs == null) {
+            return;
+        }
+        for (String slug : slugs) {
+            BitSet tagged = recipesByTag.get(slug);
+            tagged.clear(recipeId);
+            if (tagged.isEmpty()) {
+                recipesByTag.remove(slug);
+                tagNames.remove(slug);
+            }
+        }
+        allRecipes.clear(recipeId);
+    }
+
+    private static List<String> slugs(RecipeDocument document) {
+        return document.tags().stream()
+                .map(TagDocument::slug)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,56 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into index terms: accent folding, lower-casing, splitting on anything that is not a letter
+ * or digit, stop-word removal and stemming. Documents and queries must go through the same analysis.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "of", "on", "or", "the", "this", "to", "with", "your");
+
+    private TextAnalyzer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Normalized form of a whole phrase, words kept in order and separated by single spaces, for exact phrase
+     * keys such as ingredient names.
+     */
+    public static String normalizePhrase(String text) {
+        return NON_WORD.matcher(normalize(text)).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalize(text))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> tokens = tokenize(text);
+        tokens.replaceAll(EnglishStemmer::stem);
+        return tokens;
+    }
+}
@@ -0,0 +1,255 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.IngredientDocument;
+import femcoders25.mykitchen_hub.search.dto.RankedRecipes;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant lookup over the words of recipe titles and ingredient names. Every distinct word is split into
+ * padded trigrams and a query word is compared only against the vocabulary words it shares a trigram with, so
+ * "spagetti" finds "spaghetti" without scanning the catalog. Similarity is the better of trigram Jaccard
+ * similarity and a normalized edit distance; the latter rescues swapped letters ("ceasar") that break most
+ * trigrams of a short word.
+ */
+@Component
+public class TrigramIndex implements RecipeIndex {
+
+    static final double MIN_SIMILARITY = 0.3;
+
+    private static final Comparator<Map.Entry<Integer, Double>> RANKING =
+            Map.Entry.<Integer, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Vocabulary vocabulary = new Vocabulary();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        Vocabulary rebuilt = new Vocabulary();
+        documents.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            vocabulary = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            vocabulary.delete(Math.toIntExact(document.id()));
+            vocabulary.add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            vocabulary.delete(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recipes whose title or ingredient words resemble the query's words. A recipe scores the mean, over query
+     * words, of its most similar word; words below {@value #MIN_SIMILARITY} similarity don't count.
+     */
+    public RankedRecipes search(String query, int limit) {
+        Set<String> queryWords = new LinkedHashSet<>(TextAnalyzer.tokenize(query));
+        if (queryWords.isEmpty() || limit <= 0) {
+            return RankedRecipes.empty();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String queryWord : queryWords) {
+                Map<Integer, Double> best = new HashMap<>();
+                vocabulary.similarWords(queryWord).forEach((word, similarity) -> {
+                    BitSet recipes = vocabulary.words.get(word).recipes;
+                    recipes.stream().forEach(recipeId -> best.merge(recipeId, similarity, Math::max));
+                });
+                best.forEach((recipeId, similarity) -> scores.merge(recipeId, similarity, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        scores.replaceAll((recipeId, score) -> score / queryWords.size());
+        return new RankedRecipes(topK(scores, limit), scores.size());
+    }
+
+    /**
+     * Trigrams of a word padded with two leading blanks and one trailing blank, so short words still produce
+     * trigrams and matching word starts weigh more than matching endings.
+     */
+    static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * One minus the edit distance over the longer length, or zero when the words are more edits apart than a
+     * word of that length tolerates: none up to two letters, one up to five, two beyond.
+     */
+    static double editSimilarity(String left, String right) {
+        int length = Math.max(left.length(), right.length());
+        int maxEdits = length <= 2 ? 0 : length <= 5 ? 1 : 2;
+        if (Math.abs(left.length() - right.length()) > maxEdits) {
+            return 0;
+        }
+        int distance = editDistance(left, right);
+        return distance > maxEdits ? 0 : 1 - (double) distance / length;
+    }
+
+    /**
+     * Levenshtein distance that also counts swapping two adjacent letters as a single edit.
+     */
+    static int editDistance(String left, String right) {
+        int[][] distances = new int[left.length() + 1][right.length() + 1];
+        for (int i = 0; i <= left.length(); i++) {
+            distances[i][0] = i;
+        }
+        for (int j = 0; j <= right.length(); j++) {
+            distances[0][j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            for (int j = 1; j <= right.length(); j++) {
+                int cost = left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1),
+                        distances[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && left.charAt(i - 1) == right.charAt(j - 2)
+                        && left.charAt(i - 2) == right.charAt(j - 1)) {
+                    distance = Math.min(distance, distances[i - 2][j - 2] + 1);
+                }
+                distances[i][j] = distance;
+            }
+        }
+        return distances[left.length()][right.length()];
+    }
+
+    private static double jaccard(int shared, int leftSize, int rightSize) {
+        return (double) shared / (leftSize + rightSize - shared);
+    }
+
+    private static List<Long> topK(Map<Integer, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(RANKING.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING);
+        return ranked.stream().map(entry -> entry.getKey().longValue()).toList();
+    }
+
+    private static final class Vocabulary {
+
+        private final Map<String, Word> words = new HashMap<>();
+        private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+        private final Map<Integer, Set<String>> recipeWords = new HashMap<>();
+
+        void add(RecipeDocument document) {
+            int recipeId = Math.toIntExact(document.id());
+            Set<String> documentWords = new HashSet<>(TextAnalyzer.tokenize(document.title()));
+            for (IngredientDocument ingredient : document.ingredients()) {
+                documentWords.addAll(TextAnalyzer.tokenize(ingredient.name()));
+            }
+
+            for (String text : documentWords) {
+                Word word = words.computeIfAbsent(text, this::link);
+                word.recipes.set(recipeId);
+            }
+            recipeWords.put(recipeId, documentWords);
+        }
+
+        void delete(int recipeId) {
+            Set<String> documentWords = recipeWords.remove(recipeId);
+            if (documentWords == null) {
+                return;
+            }
+            for (String text : documentWords) {
+                Word word = words.get(text);
+                word.recipes.clear(recipeId);
+                if (word.recipes.isEmpty()) {
+                    words.remove(text);
+                    unlink(text);
+                }
+            }
+        }
+
+        Map<String, Double> similarWords(String queryWord) {
+            Set<String> queryTrigrams = trigrams(queryWord);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                for (String word : wordsByTrigram.getOrDefault(trigram, Set.of())) {
+                    shared.merge(word, 1, Integer::sum);
+                }
+            }
+
+            Map<String, Double> similar = new HashMap<>();
+            shared.forEach((word, count) -> {
+                double similarity = Math.max(jaccard(count, queryTrigrams.size(), words.get(word).trigramCount),
+                        editSimilarity(queryWord, word));
+                if (similarity >= MIN_SIMILARITY) {
+                    similar.put(word, similarity);
+                }
+            });
+            return similar;
+        }
+
+        private Word link(String text) {
+            Set<String> trigrams = trigrams(text);
+            trigrams.forEach(trigram -> wordsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(text));
+            return new Word(trigrams.size());
+        }
+
+        private void unlink(String text) {
+            for (String trigram : trigrams(text)) {
+                Set<String> sharing = wordsByTrigram.get(trigram);
+                sharing.remove(text);
+                if (sharing.isEmpty()) {
+                    wordsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static final class Word {
+
+        private final int trigramCount;
+        private final BitSet recipes = new BitSet();
+
+        private Word(int trigramCount) {
+            this.trigramCount = trigramCount;
+        }
+    }
+}
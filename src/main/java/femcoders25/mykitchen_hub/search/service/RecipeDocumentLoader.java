@@ -0,0 +1,66 @@
+package femcoders25.mykitchen_hub.search.service;
+
+import femcoders25.mykitchen_hub.ingredient.repository.IngredientRepository;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.search.dto.IngredientDocument;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.dto.RecipeLikesDto;
+import femcoders25.mykitchen_hub.search.dto.TagDocument;
+import femcoders25.mykitchen_hub.tag.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads recipes in the shape the search indexes need. Runs in its own transaction because it is called from
+ * after-commit listeners, where the committed transaction's persistence context is still bound.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+public class RecipeDocumentLoader {
+
+    private final RecipeRepository recipeRepository;
+    private final IngredientRepository ingredientRepository;
+    private final TagRepository tagRepository;
+
+    public Optional<RecipeDocument> load(Long recipeId) {
+        return recipeRepository.findDocumentById(recipeId)
+                .map(document -> document.withIngredients(ingredientRepository.findDocumentsByRecipeId(recipeId))
+                        .withTags(tagRepository.findDocumentsByRecipeId(recipeId)));
+    }
+
+    /**
+     * Like counts of the given recipes that still exist.
+     */
+    public Map<Long, Long> loadLikes(Collection<Long> recipeIds) {
+        return recipeRepository.findLikesByIdIn(recipeIds).stream()
+                .collect(Collectors.toMap(RecipeLikesDto::recipeId, RecipeLikesDto::likesCount));
+    }
+
+    public List<Long> loadIds() {
+        return recipeRepository.findAllIds();
+    }
+
+    /**
+     * Recipes with ids from {@code fromId} to {@code toId}, both inclusive, in three range scans.
+     */
+    public List<RecipeDocument> loadRange(Long fromId, Long toId) {
+        Map<Long, List<IngredientDocument>> ingredients = ingredientRepository.findDocumentsByRecipeIdBetween(fromId, toId)
+                .stream()
+                .collect(Collectors.groupingBy(IngredientDocument::recipeId));
+        Map<Long, List<TagDocument>> tags = tagRepository.findDocumentsByRecipeIdBetween(fromId, toId).stream()
+                .collect(Collectors.groupingBy(TagDocument::recipeId));
+        return recipeRepository.findDocumentsByIdBetween(fromId, toId).stream()
+                .map(document -> document.withIngredients(ingredients.getOrDefault(document.id(), List.of()))
+                        .withTags(tags.getOrDefault(document.id(), List.of())))
+                .toList();
+    }
+}
@@ -0,0 +1,25 @@
+package femcoders25.mykitchen_hub.search.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports DOWN until the search indexes have been fully built, so a load balancer keeps traffic away from an
+ * instance whose searches would still answer 503.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeIndexHealthIndicator implements HealthIndicator {
+
+    private final RecipeIndexer recipeIndexer;
+
+    @Override
+    public Health health() {
+        if (recipeIndexer.isReady()) {
+            return Health.up().build();
+        }
+        return Health.down().withDetail("reason", "Recipe search indexes are still being built").build();
+    }
+}
@@ -0,0 +1,224 @@
+package femcoders25.mykitchen_hub.search.service;
+
+import femcoders25.mykitchen_hub.like.event.RecipeLikesChangedEvent;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.recipe.service.RecipeCatalogVersion;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.index.RecipeIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps every {@link RecipeIndex} in sync with the database: a full rebuild once the application is ready,
+ * then one reload per committed {@link RecipeChangedEvent}. A failed rebuild is retried with a doubling delay,
+ * and {@link #isReady} stays false until one succeeds, since until then the indexes miss part of the catalog. All index writes happen on a single background
+ * thread, so committing transactions never wait for indexing and a rebuild can't overwrite a change that
+ * committed while it was loading: that change is queued behind the rebuild and applied after it.
+ * <p>
+ * Changes to a recipe that is already queued are coalesced into one reload. The rebuild reads the catalog in
+ * id-range chunks, several chunks at a time. Each applied change or rebuild advances the
+ * {@link RecipeCatalogVersion}, so search results cached while the indexes still lagged are not read again.
+ * <p>
+ * Like counts change far more often than recipes, so a {@link RecipeLikesChangedEvent}, published when votes
+ * commit or buffered votes are flushed, only marks the recipe; one refresh reloads the counts of every marked
+ * recipe, and votes arriving while it is queued ride along with it.
+ */
+@Slf4j
+@Component
+public class RecipeIndexer {
+
+    private static final long MAX_REBUILD_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final List<RecipeIndex> indexes;
+    private final RecipeDocumentLoader documentLoader;
+    private final RecipeCatalogVersion catalogVersion;
+    private final int chunkSize;
+    private final int rebuildThreads;
+    private final long rebuildRetryMillis;
+    private final ScheduledThreadPoolExecutor writer = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform()
+            .name("recipe-indexer")
+            .daemon()
+            .factory());
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final Set<Long> likesPending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean likesRefreshQueued = new AtomicBoolean();
+    private final Timer freshnessLag;
+    private final Timer rebuildDuration;
+    private volatile boolean ready;
+
+    public RecipeIndexer(List<RecipeIndex> indexes,
+                         RecipeDocumentLoader documentLoader,
+                         RecipeCatalogVersion catalogVersion,
+                         MeterRegistry meterRegistry,
+                         @Value("${recipes.index.rebuild-chunk-size:1000}") int chunkSize,
+                         @Value("${recipes.index.rebuild-threads:4}") int rebuildThreads,
+                         @Value("${recipes.index.rebuild-retry-ms:1000}") long rebuildRetryMillis) {
+        this.indexes = indexes;
+        this.documentLoader = documentLoader;
+        this.catalogVersion = catalogVersion;
+        this.chunkSize = chunkSize;
+        this.rebuildThreads = rebuildThreads;
+        this.rebuildRetryMillis = rebuildRetryMillis;
+        this.writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.freshnessLag = Timer.builder("recipes.index.lag")
+                .description("Time from a recipe change committing to it being searchable")
+                .register(meterRegistry);
+        this.rebuildDuration = Timer.builder("recipes.index.rebuild")
+                .description("Time to load the catalog and rebuild every recipe index")
+                .register(meterRegistry);
+        Gauge.builder("recipes.index.pending", pending, Map::size)
+                .description("Recipe changes committed but not yet indexed")
+                .register(meterRegistry);
+        Gauge.builder("recipes.index.staleness", this, indexer -> indexer.oldestPendingNanos() / 1e9)
+                .description("Seconds since the oldest change still waiting to be indexed committed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writer.execute(() -> rebuildIndexes(rebuildRetryMillis));
+    }
+
+    /**
+     * Whether a full rebuild has succeeded, so the indexes hold the whole catalog.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        Long recipeId = event.recipeId();
+        if (pending.putIfAbsent(recipeId, System.nanoTime()) == null) {
+            writer.execute(() -> reindex(recipeId));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeLikesChanged(RecipeLikesChangedEvent event) {
+        likesPending.addAll(event.recipeIds());
+        if (likesRefreshQueued.compareAndSet(false, true)) {
+            writer.execute(this::refreshLikes);
+        }
+    }
+
+    /**
+     * Blocks until every change and rebuild queued so far has been applied.
+     */
+    public void awaitIndexed() {
+        try {
+            CompletableFuture.runAsync(() -> { }, writer).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Recipe indexer failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void rebuildIndexes(long retryMillis) {
+        long start = System.nanoTime();
+        try {
+            List<RecipeDocument> documents = loadCatalog();
+            indexes.forEach(index -> index.rebuild(documents));
+            catalogVersion.advance();
+            ready = true;
+            long elapsed = System.nanoTime() - start;
+            rebuildDuration.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Rebuilt {} recipe indexes from {} recipes in {} ms", indexes.size(), documents.size(),
+                    elapsed / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild recipe indexes, retrying in {} ms", retryMillis, e);
+            writer.schedule(() -> rebuildIndexes(Math.min(retryMillis * 2, MAX_REBUILD_RETRY_MILLIS)),
+                    retryMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Splits the recipe ids into chunks of {@code chunkSize} and loads each chunk's id range in its own
+     * read-only transaction.
+     */
+    private List<RecipeDocument> loadCatalog() {
+        List<Long> recipeIds = documentLoader.loadIds();
+        List<CompletableFuture<List<RecipeDocument>>> chunks = new ArrayList<>();
+        try (ExecutorService loaders = Executors.newFixedThreadPool(rebuildThreads)) {
+            for (int from = 0; from < recipeIds.size(); from += chunkSize) {
+                Long fromId = recipeIds.get(from);
+                Long toId = recipeIds.get(Math.min(from + chunkSize, recipeIds.size()) - 1);
+                chunks.add(CompletableFuture.supplyAsync(() -> documentLoader.loadRange(fromId, toId), loaders));
+            }
+        }
+
+        List<RecipeDocument> documents = new ArrayList<>(recipeIds.size());
+        chunks.forEach(chunk -> documents.addAll(chunk.join()));
+        return documents;
+    }
+
+    private void reindex(Long recipeId) {
+        Long committedAt = pending.remove(recipeId);
+        try {
+            Optional<RecipeDocument> document = documentLoader.load(recipeId);
+            if (document.isPresent()) {
+                indexes.forEach(index -> index.upsert(document.get()));
+            } else {
+                indexes.forEach(index -> index.remove(recipeId));
+            }
+            catalogVersion.advance();
+            if (committedAt != null) {
+                freshnessLag.record(System.nanoTime() - committedAt, TimeUnit.NANOSECONDS);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to reindex recipe {}, it stays stale until the next rebuild", recipeId, e);
+        }
+    }
+
+    private void refreshLikes() {
+        likesRefreshQueued.set(false);
+        List<Long> recipeIds = List.copyOf(likesPending);
+        likesPending.removeAll(recipeIds);
+        try {
+            Map<Long, Long> likesCounts = documentLoader.loadLikes(recipeIds);
+            indexes.forEach(index -> index.updateLikes(likesCounts));
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh like counts of {} recipes, they stay stale until their next vote",
+                    recipeIds.size(), e);
+        }
+    }
+
+    private long oldestPendingNanos() {
+        long now = System.nanoTime();
+        return pending.values().stream()
+                .mapToLong(committedAt -> now - committedAt)
+                .max()
+                .orElse(0);
+    }
+}
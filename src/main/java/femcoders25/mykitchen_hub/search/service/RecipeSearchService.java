@@ -0,0 +1,262 @@
+package femcoders25.mykitchen_hub.search.service;
+
+import femcoders25.mykitchen_hub.common.exception.ServiceUnavailableException;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.search.dto.FacetedSearchResultDto;
+import femcoders25.mykitchen_hub.search.dto.PantryMatch;
+import femcoders25.mykitchen_hub.search.dto.PantryMatchDto;
+import femcoders25.mykitchen_hub.search.dto.PantryRanking;
+import femcoders25.mykitchen_hub.search.dto.RankedRecipes;
+import femcoders25.mykitchen_hub.search.dto.RecipeSearchCriteria;
+import femcoders25.mykitchen_hub.search.dto.SuggestionDto;
+import femcoders25.mykitchen_hub.search.dto.TagFacetDto;
+import femcoders25.mykitchen_hub.search.index.Bm25RecipeIndex;
+import femcoders25.mykitchen_hub.search.index.IngredientIndex;
+import femcoders25.mykitchen_hub.search.index.IngredientQuery;
+import femcoders25.mykitchen_hub.search.index.PantryIndex;
+import femcoders25.mykitchen_hub.search.index.PostingList;
+import femcoders25.mykitchen_hub.search.index.RecipeAttributeIndex;
+import femcoders25.mykitchen_hub.search.index.SuggestionIndex;
+import femcoders25.mykitchen_hub.search.index.TagIndex;
+import femcoders25.mykitchen_hub.search.index.TrigramIndex;
+import femcoders25.mykitchen_hub.tag.service.TagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeSearchService {
+
+    private static final int TOP_INGREDIENT_FACETS = 10;
+
+    private final Bm25RecipeIndex recipeIndex;
+    private final IngredientIndex ingredientIndex;
+    private final TagIndex tagIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final RecipeAttributeIndex attributeIndex;
+    private final TrigramIndex trigramIndex;
+    private final PantryIndex pantryIndex;
+    private final RecipeRepository recipeRepository;
+    private final RecipeIndexer recipeIndexer;
+
+    /**
+     * Falls back to {@link #similarRecipeIds} when no recipe contains any of the query's terms, so a misspelt
+     * query still returns something.
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeSearchHitDto> search(String query, Pageable pageable) {
+        requireIndexes();
+        int offset = (int) pageable.getOffset();
+        RankedRecipes ranked = recipeIndex.search(query, offset + pageable.getPageSize());
+        log.debug("Full-text search '{}' matched {} recipes", query, ranked.totalHits());
+        if (ranked.totalHits() == 0) {
+            return fuzzySearch(query, pageable);
+        }
+        return hydrate(ranked, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RecipeSearchHitDto> fuzzySearch(String query, Pageable pageable) {
+        Page<Long> recipeIds = similarRecipeIds(query, pageable);
+        if (recipeIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, recipeIds.getTotalElements());
+        }
+        return new PageImpl<>(hydrate(recipeIds.getContent()), pageable, recipeIds.getTotalElements());
+    }
+
+    /**
+     * Ids of the recipes whose title or ingredient words look like the query's words, most similar first.
+     * Tolerates typos such as "spagetti" or "parmesean". Only a fallback for searches with no exact match,
+     * so it finds nothing rather than failing while the indexes are still being built.
+     */
+    public Page<Long> similarRecipeIds(String query, Pageable pageable) {
+        if (!recipeIndexer.isReady()) {
+            return Page.empty(pageable);
+        }
+        int offset = (int) pageable.getOffset();
+        RankedRecipes ranked = trigramIndex.search(query, offset + pageable.getPageSize());
+        log.debug("Fuzzy search '{}' matched {} recipes", query, ranked.totalHits());
+        return new PageImpl<>(pageOf(ranked, offset), pageable, ranked.totalHits());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RecipeSearchHitDto> searchByIngredients(String query, Pageable pageable) {
+        requireIndexes();
+        PostingList matches = ingredientIndex.match(IngredientQuery.parse(query));
+        log.debug("Ingredient query '{}' matched {} recipes", query, matches.size());
+        List<Long> pageIds = matches.descending((int) pageable.getOffset(), pageable.getPageSize());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.size());
+        }
+        return new PageImpl<>(hydrate(pageIds), pageable, matches.size());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RecipeSearchHitDto> searchByTags(List<String> tags, Pageable pageable) {
+        List<String> slugs = slugs(tags);
+        if (slugs.isEmpty()) {
+            throw new IllegalArgumentException("At least one tag is required");
+        }
+        requireIndexes();
+
+        BitSet tagged = tagIndex.match(slugs);
+        log.debug("Tags {} matched {} recipes", slugs, tagged.cardinality());
+        PostingList matches = PostingList.of(tagged);
+        List<Long> pageIds = matches.descending((int) pageable.getOffset(), pageable.getPageSize());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.size());
+        }
+        return new PageImpl<>(hydrate(pageIds), pageable, matches.size());
+    }
+
+    /**
+     * Ranks recipes by how much of their ingredient list the pantry covers, heavier ingredients counting more.
+     */
+    @Transactional(readOnly = true)
+    public Page<PantryMatchDto> searchByPantry(List<String> ingredients, Pageable pageable) {
+        List<String> pantry = ingredients == null ? List.of() : ingredients.stream()
+                .filter(RecipeSearchService::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (pantry.isEmpty()) {
+            throw new IllegalArgumentException("At least one ingredient is required");
+        }
+        requireIndexes();
+
+        int offset = (int) pageable.getOffset();
+        PantryRanking ranking = pantryIndex.rank(pantry, offset + pageable.getPageSize());
+        log.debug("Pantry {} matched {} recipes", pantry, ranking.totalHits());
+        if (ranking.matches().size() <= offset) {
+            return new PageImpl<>(List.of(), pageable, ranking.totalHits());
+        }
+
+        List<PantryMatch> matches = ranking.matches().subList(offset, ranking.matches().size());
+        Map<Long, RecipeSearchHitDto> hits = hitsById(matches.stream().map(PantryMatch::recipeId).toList());
+        List<PantryMatchDto> content = matches.stream()
+                .filter(match -> hits.containsKey(match.recipeId()))
+                .map(match -> new PantryMatchDto(hits.get(match.recipeId()), match.coverage(),
+                        match.matchedIngredients(), match.missingIngredients()))
+                .toList();
+        return new PageImpl<>(content, pageable, ranking.totalHits());
+    }
+
+    public List<TagFacetDto> tagFacets(List<String> tags) {
+        requireIndexes();
+        return tagIndex.facets(tagIndex.match(slugs(tags)));
+    }
+
+    /**
+     * Intersects every given filter in memory, then ranks by relevance when there is a text query and newest
+     * first otherwise. Facets are counted over the whole filtered set, not just the returned page.
+     */
+    @Transactional(readOnly = true)
+    public FacetedSearchResultDto facetedSearch(RecipeSearchCriteria criteria, Pageable pageable) {
+        requireIndexes();
+        IngredientQuery ingredientQuery = hasText(criteria.ingredients())
+                ? IngredientQuery.parse(criteria.ingredients())
+                : null;
+        List<String> slugs = slugs(criteria.tags());
+        boolean ranked = hasText(criteria.query());
+
+        BitSet candidates = attributeIndex.all();
+        if (ranked) {
+            candidates.and(recipeIndex.matching(criteria.query()));
+        }
+        if (ingredientQuery != null) {
+            candidates.and(ingredientIndex.match(ingredientQuery).toBitSet());
+        }
+        if (!slugs.isEmpty()) {
+            candidates.and(tagIndex.match(slugs));
+        }
+        if (hasText(criteria.author())) {
+            candidates.and(attributeIndex.byAuthor(criteria.author()));
+        }
+        if (criteria.createdAfter() != null) {
+            attributeIndex.retainCreatedSince(candidates, criteria.createdAfter().atStartOfDay());
+        }
+
+        int total = candidates.cardinality();
+        int offset = (int) pageable.getOffset();
+        List<Long> pageIds;
+        if (ranked) {
+            RankedRecipes relevant = recipeIndex.search(criteria.query(), offset + pageable.getPageSize(), candidates);
+            pageIds = pageOf(relevant, offset);
+        } else {
+            pageIds = PostingList.of(candidates).descending(offset, pageable.getPageSize());
+        }
+        log.debug("Faceted search {} matched {} recipes", criteria, total);
+
+        Page<RecipeSearchHitDto> recipes = new PageImpl<>(pageIds.isEmpty() ? List.of() : hydrate(pageIds),
+                pageable, total);
+        return new FacetedSearchResultDto(recipes, tagIndex.facets(candidates),
+                ingredientIndex.facets(candidates, TOP_INGREDIENT_FACETS));
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        requireIndexes();
+        return suggestionIndex.suggest(prefix, Math.clamp(limit, 1, SuggestionIndex.MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Until the first full rebuild the indexes miss part of the catalog, and an empty result would look like
+     * a real answer.
+     */
+    private void requireIndexes() {
+        if (!recipeIndexer.isReady()) {
+            throw new ServiceUnavailableException("Recipe search is starting up, please retry shortly");
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static List<String> slugs(List<String> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        return tags.stream()
+                .map(TagService::slugOf)
+                .filter(slug -> !slug.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static List<Long> pageOf(RankedRecipes ranked, int offset) {
+        List<Long> recipeIds = ranked.recipeIds();
+        return recipeIds.size() <= offset ? List.of() : recipeIds.subList(offset, recipeIds.size());
+    }
+
+    private Page<RecipeSearchHitDto> hydrate(RankedRecipes ranked, Pageable pageable) {
+        List<Long> pageIds = pageOf(ranked, (int) pageable.getOffset());
+        return new PageImpl<>(pageIds.isEmpty() ? List.of() : hydrate(pageIds), pageable, ranked.totalHits());
+    }
+
+    private List<RecipeSearchHitDto> hydrate(List<Long> recipeIds) {
+        Map<Long, RecipeSearchHitDto> hits = hitsById(recipeIds);
+        return recipeIds.stream()
+                .map(hits::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Map<Long, RecipeSearchHitDto> hitsById(List<Long> recipeIds) {
+        return recipeRepository.findSearchHitsByIdIn(recipeIds).stream()
+                .collect(Collectors.toMap(RecipeSearchHitDto::id, Function.identity()));
+    }
+}
@@ -1,11 +1,14 @@
 package femcoders25.mykitchen_hub.shoppinglist.controller;
 
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
 import femcoders25.mykitchen_hub.common.dto.ApiResponse;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListCreateDto;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListResponseDto;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListUpdateDto;
+import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListsVersionDto;
 import femcoders25.mykitchen_hub.shoppinglist.service.ShoppingListService;
-import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,8 +23,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -31,6 +36,7 @@ import java.util.List;
 public class ShoppingListController {
 
         private final ShoppingListService shoppingListService;
+        private final UserService userService;
 
         @Operation(summary = "Create shopping list", description = "Creates a new shopping list for the authenticated user. Name must be 1-100 characters, recipeIds is a list of recipe IDs to include.")
         @ApiResponses(value = {
@@ -43,18 +49,20 @@ public class ShoppingListController {
         @PostMapping
         public ResponseEntity<ApiResponse<ShoppingListResponseDto>> createShoppingList(
                         @Valid @RequestBody ShoppingListCreateDto createDto,
-                        @AuthenticationPrincipal User user) {
+                        @AuthenticationPrincipal AuthenticatedUser user) {
 
                 log.info("Creating shopping list for user: {}", user.getUsername());
-                ShoppingListResponseDto response = shoppingListService.createShoppingList(createDto, user);
+                ShoppingListResponseDto response = shoppingListService.createShoppingList(createDto,
+                                userService.getCurrentUser());
 
                 return ResponseEntity.status(HttpStatus.CREATED)
                                 .body(ApiResponse.success("Shopping list created successfully", response));
         }
 
-        @Operation(summary = "Get shopping list by ID", description = "Retrieves a specific shopping list by ID for the authenticated user")
+        @Operation(summary = "Get shopping list by ID", description = "Retrieves a specific shopping list by ID for the authenticated user. Supports If-None-Match and If-Modified-Since and answers 304 when the list is unchanged")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Shopping list retrieved successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Shopping list not modified"),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Authentication required", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Shopping list not found", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
         })
@@ -62,31 +70,44 @@ public class ShoppingListController {
         @GetMapping("/{id}")
         public ResponseEntity<ApiResponse<ShoppingListResponseDto>> getShoppingList(
                         @Parameter(description = "Shopping list ID") @PathVariable Long id,
-                        @AuthenticationPrincipal User user) {
+                        @AuthenticationPrincipal AuthenticatedUser user,
+                        WebRequest request) {
 
-                ShoppingListResponseDto response = shoppingListService.getShoppingListById(id, user);
-                return ResponseEntity.ok(ApiResponse.<ShoppingListResponseDto>success(response));
+                Optional<ResourceVersion> version = shoppingListService.getShoppingListVersion(id, user.id());
+                if (version.isPresent() && version.get().isNotModified(request)) {
+                        return version.get().notModified();
+                }
+
+                ShoppingListResponseDto response = shoppingListService.getShoppingListById(id, user.id());
+                return response.toResourceVersion().ok(ApiResponse.<ShoppingListResponseDto>success(response));
         }
 
-        @Operation(summary = "Get user shopping lists", description = "Retrieves all shopping lists for the authenticated user, optionally filtered by name")
+        @Operation(summary = "Get user shopping lists", description = "Retrieves all shopping lists for the authenticated user, optionally filtered by name. The unfiltered list supports If-None-Match and answers 304 when nothing changed")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Shopping lists retrieved successfully", content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Shopping lists not modified"),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Authentication required", content = @Content(schema = @Schema(implementation = ApiResponse.class)))
         })
         @SecurityRequirement(name = "bearerAuth")
         @GetMapping
         public ResponseEntity<ApiResponse<List<ShoppingListResponseDto>>> getUserShoppingLists(
-                        @AuthenticationPrincipal User user,
-                        @Parameter(description = "Optional name filter for shopping lists") @RequestParam(required = false) String name) {
+                        @AuthenticationPrincipal AuthenticatedUser user,
+                        @Parameter(description = "Optional name filter for shopping lists") @RequestParam(required = false) String name,
+                        WebRequest request) {
 
-                List<ShoppingListResponseDto> response;
                 if (name != null && !name.trim().isEmpty()) {
-                        response = shoppingListService.searchUserShoppingLists(user, name);
-                } else {
-                        response = shoppingListService.getUserShoppingLists(user);
+                        List<ShoppingListResponseDto> response = shoppingListService.searchUserShoppingLists(user.id(), name);
+                        return ResponseEntity.ok(ApiResponse.<List<ShoppingListResponseDto>>success(response));
+                }
+
+                ResourceVersion version = shoppingListService.getUserShoppingListsVersion(user.id());
+                if (version.isNotModified(request)) {
+                        return version.notModified();
                 }
 
-                return ResponseEntity.ok(ApiResponse.<List<ShoppingListResponseDto>>success(response));
+                List<ShoppingListResponseDto> response = shoppingListService.getUserShoppingLists(user.id());
+                return ShoppingListsVersionDto.of(response).toResourceVersion(user.id())
+                                .ok(ApiResponse.<List<ShoppingListResponseDto>>success(response));
         }
 
         @Operation(summary = "Update shopping list", description = "Updates an existing shopping list for the authenticated user. Name must be 1-100 characters, recipeIds is a list of recipe IDs to include.")
@@ -102,9 +123,10 @@ public class ShoppingListController {
         public ResponseEntity<ApiResponse<ShoppingListResponseDto>> updateShoppingList(
                         @Parameter(description = "Shopping list ID") @PathVariable Long id,
                         @Valid @RequestBody ShoppingListUpdateDto updateDto,
-                        @AuthenticationPrincipal User user) {
+                        @AuthenticationPrincipal AuthenticatedUser user) {
 
-                ShoppingListResponseDto response = shoppingListService.updateShoppingList(id, updateDto, user);
+                ShoppingListResponseDto response = shoppingListService.updateShoppingList(id, updateDto,
+                                userService.getCurrentUser());
                 return ResponseEntity.ok(ApiResponse.success("Shopping list updated successfully", response));
         }
 
@@ -118,9 +140,9 @@ public class ShoppingListController {
         @DeleteMapping("/{id}")
         public ResponseEntity<ApiResponse<String>> deleteShoppingList(
                         @Parameter(description = "Shopping list ID") @PathVariable Long id,
-                        @AuthenticationPrincipal User user) {
+                        @AuthenticationPrincipal AuthenticatedUser user) {
 
-                ApiResponse<String> response = shoppingListService.deleteShoppingList(id, user);
+                ApiResponse<String> response = shoppingListService.deleteShoppingList(id, user.id());
                 return ResponseEntity.ok(response);
         }
 
@@ -135,9 +157,9 @@ public class ShoppingListController {
         public ResponseEntity<ApiResponse<String>> toggleItemChecked(
                         @Parameter(description = "Shopping list ID") @PathVariable Long listId,
                         @Parameter(description = "Item ID") @PathVariable Long itemId,
-                        @AuthenticationPrincipal User user) {
+                        @AuthenticationPrincipal AuthenticatedUser user) {
 
-                ApiResponse<String> response = shoppingListService.toggleItemChecked(listId, itemId, user);
+                ApiResponse<String> response = shoppingListService.toggleItemChecked(listId, itemId, user.id());
                 return ResponseEntity.ok(response);
         }
 }
@@ -1,5 +1,7 @@
 package femcoders25.mykitchen_hub.shoppinglist.dto;
 
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,4 +12,13 @@ public record ShoppingListResponseDto(
         List<ListItemResponseDto> listItems,
         String generatedFromRecipe,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt) {}
+        LocalDateTime updatedAt) {
+
+    public static ResourceVersion versionOf(Long id, LocalDateTime updatedAt) {
+        return ResourceVersion.of(updatedAt, "shopping-list", id, updatedAt);
+    }
+
+    public ResourceVersion toResourceVersion() {
+        return versionOf(id, updatedAt);
+    }
+}
@@ -0,0 +1,30 @@
+package femcoders25.mykitchen_hub.shoppinglist.dto;
+
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+public record ShoppingListsVersionDto(
+        long count,
+        LocalDateTime lastUpdatedAt) {
+
+    public static ShoppingListsVersionDto of(List<ShoppingListResponseDto> shoppingLists) {
+        LocalDateTime lastUpdatedAt = shoppingLists.stream()
+                .map(ShoppingListResponseDto::updatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new ShoppingListsVersionDto(shoppingLists.size(), lastUpdatedAt);
+    }
+
+    /**
+     * Deleting a list drops the count without moving the newest timestamp, so the collection is validated on
+     * the ETag alone.
+     */
+    public ResourceVersion toResourceVersion(Long userId) {
+        return ResourceVersion.of(null, "shopping-lists", userId, count, lastUpdatedAt);
+    }
+}
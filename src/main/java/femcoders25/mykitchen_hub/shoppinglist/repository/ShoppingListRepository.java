@@ -1,13 +1,24 @@
 package femcoders25.mykitchen_hub.shoppinglist.repository;
 
+import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListsVersionDto;
 import femcoders25.mykitchen_hub.shoppinglist.entity.ShoppingList;
-import femcoders25.mykitchen_hub.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ShoppingListRepository extends JpaRepository<ShoppingList, Long> {
-    List<ShoppingList> findByGeneratedByOrderByCreatedAtDesc(User user);
+    List<ShoppingList> findByGeneratedByIdOrderByCreatedAtDesc(Long userId);
 
-    List<ShoppingList> findByGeneratedByAndNameContainingIgnoreCaseOrderByCreatedAtDesc(User user, String name);
+    List<ShoppingList> findByGeneratedByIdAndNameContainingIgnoreCaseOrderByCreatedAtDesc(Long userId, String name);
+
+    @Query("SELECT s.updatedAt FROM ShoppingList s WHERE s.id = :id AND s.generatedBy.id = :userId")
+    Optional<LocalDateTime> findUpdatedAtByIdAndOwnerId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListsVersionDto(COUNT(s), MAX(s.updatedAt)) " +
+            "FROM ShoppingList s WHERE s.generatedBy.id = :userId")
+    ShoppingListsVersionDto findVersionByOwnerId(@Param("userId") Long userId);
 }
@@ -3,6 +3,7 @@ package femcoders25.mykitchen_hub.shoppinglist.service;
 import femcoders25.mykitchen_hub.common.dto.ApiResponse;
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
 import femcoders25.mykitchen_hub.common.exception.UnauthorizedOperationException;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.email.EmailService;
 import femcoders25.mykitchen_hub.email.PdfService;
 import femcoders25.mykitchen_hub.email.ShoppingListEmailTemplates;
@@ -25,10 +26,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -140,25 +143,34 @@ public class ShoppingListService {
         return item;
     }
 
-    public ShoppingListResponseDto getShoppingListById(Long id, User user) {
+    public ShoppingListResponseDto getShoppingListById(Long id, Long userId) {
         ShoppingList shoppingList = shoppingListRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Shopping list not found"));
 
-        if (!shoppingList.getGeneratedBy().getId().equals(user.getId())) {
+        if (!shoppingList.getGeneratedBy().getId().equals(userId)) {
             throw new UnauthorizedOperationException("Access denied to this shopping list");
         }
 
         return shoppingListMapper.toResponseDto(shoppingList);
     }
 
-    public List<ShoppingListResponseDto> getUserShoppingLists(User user) {
-        List<ShoppingList> shoppingLists = shoppingListRepository.findByGeneratedByOrderByCreatedAtDesc(user);
+    public Optional<ResourceVersion> getShoppingListVersion(Long id, Long userId) {
+        return shoppingListRepository.findUpdatedAtByIdAndOwnerId(id, userId)
+                .map(updatedAt -> ShoppingListResponseDto.versionOf(id, updatedAt));
+    }
+
+    public ResourceVersion getUserShoppingListsVersion(Long userId) {
+        return shoppingListRepository.findVersionByOwnerId(userId).toResourceVersion(userId);
+    }
+
+    public List<ShoppingListResponseDto> getUserShoppingLists(Long userId) {
+        List<ShoppingList> shoppingLists = shoppingListRepository.findByGeneratedByIdOrderByCreatedAtDesc(userId);
         return shoppingListMapper.toResponseDtoList(shoppingLists);
     }
 
-    public List<ShoppingListResponseDto> searchUserShoppingLists(User user, String name) {
+    public List<ShoppingListResponseDto> searchUserShoppingLists(Long userId, String name) {
         List<ShoppingList> shoppingLists = shoppingListRepository
-                .findByGeneratedByAndNameContainingIgnoreCaseOrderByCreatedAtDesc(user, name);
+                .findByGeneratedByIdAndNameContainingIgnoreCaseOrderByCreatedAtDesc(userId, name);
         return shoppingListMapper.toResponseDtoList(shoppingLists);
     }
 
@@ -173,6 +185,7 @@ public class ShoppingListService {
         }
 
         shoppingList.setName(updateDto.name());
+        shoppingList.setUpdatedAt(LocalDateTime.now());
 
         if (updateDto.recipeIds() != null && !updateDto.recipeIds().isEmpty()) {
             log.info("New recipe IDs provided for shopping list: {}. Recalculating ingredients.", id);
@@ -215,11 +228,11 @@ public class ShoppingListService {
         return shoppingListMapper.toResponseDto(updatedShoppingList);
     }
 
-    public ApiResponse<String> deleteShoppingList(Long id, User user) {
+    public ApiResponse<String> deleteShoppingList(Long id, Long userId) {
         ShoppingList shoppingList = shoppingListRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Shopping list not found"));
 
-        if (!shoppingList.getGeneratedBy().getId().equals(user.getId())) {
+        if (!shoppingList.getGeneratedBy().getId().equals(userId)) {
             throw new UnauthorizedOperationException("Access denied to this shopping list");
         }
 
@@ -227,11 +240,11 @@ public class ShoppingListService {
         return ApiResponse.<String>success("Shopping list deleted successfully");
     }
 
-    public ApiResponse<String> toggleItemChecked(Long listId, Long itemId, User user) {
+    public ApiResponse<String> toggleItemChecked(Long listId, Long itemId, Long userId) {
         ShoppingList shoppingList = shoppingListRepository.findById(listId)
                 .orElseThrow(() -> new ResourceNotFoundException("Shopping list not found"));
 
-        if (!shoppingList.getGeneratedBy().getId().equals(user.getId())) {
+        if (!shoppingList.getGeneratedBy().getId().equals(userId)) {
             throw new UnauthorizedOperationException("Access denied to this shopping list");
         }
 
@@ -244,6 +257,8 @@ public class ShoppingListService {
 
         listItem.setIsChecked(!Boolean.TRUE.equals(listItem.getIsChecked()));
         listItemRepository.save(listItem);
+        shoppingList.setUpdatedAt(LocalDateTime.now());
+        shoppingListRepository.save(shoppingList);
 
         return ApiResponse.<String>success("Item status updated successfully");
     }
@@ -0,0 +1,43 @@
+package femcoders25.mykitchen_hub.tag.repository;
+
+import femcoders25.mykitchen_hub.search.dto.TagDocument;
+import femcoders25.mykitchen_hub.tag.entity.Tag;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findBySlugIn(Collection<String> slugs);
+
+    Optional<Tag> findBySlug(String slug);
+
+    /**
+     * Locking read, so tags committed by another transaction since this one took its snapshot are seen.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t FROM Tag t WHERE t.slug IN :slugs")
+    List<Tag> lockBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    /**
+     * Inserts the tag unless one with the same slug exists, without failing the surrounding transaction.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tags (name, slug) VALUES (:name, :slug)", nativeQuery = true)
+    int insertIgnoringDuplicate(@Param("name") String name, @Param("slug") String slug);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.search.dto.TagDocument(r.id, t.slug, t.name) " +
+            "FROM Recipe r JOIN r.tags t WHERE r.id = :recipeId")
+    List<TagDocument> findDocumentsByRecipeId(@Param("recipeId") Long recipeId);
+
+    @Query("SELECT new femcoders25.mykitchen_hub.search.dto.TagDocument(r.id, t.slug, t.name) " +
+            "FROM Recipe r JOIN r.tags t WHERE r.id BETWEEN :fromId AND :toId")
+    List<TagDocument> findDocumentsByRecipeIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
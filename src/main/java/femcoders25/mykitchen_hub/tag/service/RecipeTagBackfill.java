@@ -0,0 +1,54 @@
+package femcoders25.mykitchen_hub.tag.service;
+
+import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Links recipes whose free-text {@code tag} has not been split into {@code recipe_tags} yet. Idempotent, so it
+ * runs on every startup; runners finish before {@code ApplicationReadyEvent}, when the search indexes load.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeTagBackfill implements ApplicationRunner {
+
+    private final RecipeRepository recipeRepository;
+    private final TagService tagService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${recipes.tag-backfill.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        long linked = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Recipe> batch = transactionTemplate.execute(status -> {
+                List<Recipe> recipes = recipeRepository.findUntaggedAfter(afterId, Limit.of(batchSize));
+                recipes.forEach(recipe -> recipe.setTags(tagService.resolveTags(recipe.getTag())));
+                return recipes;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            linked += batch.size();
+        }
+
+        if (linked > 0) {
+            log.info("Backfilled tags for {} recipes", linked);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package femcoders25.mykitchen_hub.tag.service;
+
+import femcoders25.mykitchen_hub.search.index.TextAnalyzer;
+import femcoders25.mykitchen_hub.tag.entity.Tag;
+import femcoders25.mykitchen_hub.tag.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagService {
+
+    private static final int MAX_TAG_LENGTH = 100;
+
+    private final TagRepository tagRepository;
+
+    /**
+     * Resolves a free-text, comma-separated tag string ("Italian, Pasta, Quick") against the tag dictionary,
+     * creating the tags that don't exist yet. Missing tags are inserted in the caller's transaction with an
+     * insert that skips slugs created concurrently, and then read back with a locking read so a tag committed
+     * by another request in the meantime is found too.
+     */
+    @Transactional
+    public Set<Tag> resolveTags(String tagNames) {
+        Map<String, String> namesBySlug = parseTagNames(tagNames);
+        if (namesBySlug.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
+
+        Map<String, Tag> existing = tagRepository.findBySlugIn(namesBySlug.keySet()).stream()
+                .collect(Collectors.toMap(Tag::getSlug, Function.identity()));
+
+        Map<String, String> missing = new LinkedHashMap<>(namesBySlug);
+        missing.keySet().removeAll(existing.keySet());
+        if (!missing.isEmpty()) {
+            missing.forEach((slug, name) -> {
+                if (tagRepository.insertIgnoringDuplicate(name, slug) > 0) {
+                    log.info("Created tag: {}", name);
+                }
+            });
+            tagRepository.lockBySlugIn(missing.keySet()).forEach(tag -> existing.put(tag.getSlug(), tag));
+        }
+
+        Set<Tag> tags = new LinkedHashSet<>();
+        for (String slug : namesBySlug.keySet()) {
+            Tag tag = existing.get(slug);
+            if (tag == null) {
+                throw new IllegalStateException("Tag " + slug + " could not be created");
+            }
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    public static Map<String, String> parseTagNames(String tagNames) {
+        Map<String, String> namesBySlug = new LinkedHashMap<>();
+        if (tagNames == null) {
+            return namesBySlug;
+        }
+        for (String name : tagNames.split(",")) {
+            String trimmed = name.trim().replaceAll("\\s+", " ");
+            if (trimmed.length() > MAX_TAG_LENGTH) {
+                trimmed = trimmed.substring(0, MAX_TAG_LENGTH).trim();
+            }
+            String slug = slugOf(trimmed);
+            if (!slug.isEmpty()) {
+                namesBySlug.putIfAbsent(slug, trimmed);
+            }
+        }
+        return namesBySlug;
+    }
+
+    public static String slugOf(String name) {
+        return TextAnalyzer.normalize(name)
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("^-+|-+$", "");
+    }
+}
@@ -0,0 +1,4 @@
+package femcoders25.mykitchen_hub.user.event;
+
+public record UserCredentialsChangedEvent(Long userId) {
+}
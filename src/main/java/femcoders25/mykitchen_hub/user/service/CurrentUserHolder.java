@@ -0,0 +1,48 @@
+package femcoders25.mykitchen_hub.user.service;
+
+import femcoders25.mykitchen_hub.user.entity.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Function;
+
+/**
+ * Remembers the current user for the rest of the request once it has been loaded, so services asking for it
+ * repeatedly share one query. The entry belongs to the authentication it was loaded for; outside a request
+ * (scheduled jobs, tests calling services directly) every call loads again.
+ */
+@Component
+public class CurrentUserHolder {
+
+    static final String ATTRIBUTE = CurrentUserHolder.class.getName() + ".currentUser";
+
+    public User get(Authentication authentication, Function<Authentication, User> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.apply(authentication);
+        }
+
+        if (attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUser cached
+                && cached.authentication() == authentication) {
+            return cached.user();
+        }
+        User user = loader.apply(authentication);
+        attributes.setAttribute(ATTRIBUTE, new CurrentUser(authentication, user), RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+
+    /**
+     * Forgets the user loaded in this request, after it has been changed or deleted.
+     */
+    public void clear() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private record CurrentUser(Authentication authentication, User user) {
+    }
+}
@@ -1,5 +1,6 @@
 package femcoders25.mykitchen_hub.user.service;
 
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
 import femcoders25.mykitchen_hub.email.EmailService;
 import femcoders25.mykitchen_hub.email.UserEmailTemplates;
@@ -9,10 +10,13 @@ import femcoders25.mykitchen_hub.user.dto.UserResponseDto;
 import femcoders25.mykitchen_hub.user.dto.UserUpdateDto;
 import femcoders25.mykitchen_hub.user.entity.Role;
 import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.event.UserCredentialsChangedEvent;
+import femcoders25.mykitchen_hub.user.event.UsernameChangedEvent;
 import femcoders25.mykitchen_hub.user.repository.UserRepository;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -33,6 +37,8 @@ public class UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserHolder currentUserHolder;
 
     public User createUser(UserRegistrationDto registrationDto) {
         if (userRepository.existsByUsername(registrationDto.username())) {
@@ -103,12 +109,24 @@ public class UserService {
                 throw new IllegalArgumentException("Email already exists");
             }
         }
+        boolean usernameChanged = updateDto.username() != null && !updateDto.username().equals(user.getUsername());
+        boolean credentialsChanged = updateDto.password() != null || usernameChanged;
         userMapper.updateEntity(user, updateDto);
         if (updateDto.password() != null) {
             user.setPassword(passwordEncoder.encode(updateDto.password()));
         }
+        if (credentialsChanged) {
+            user.setCredentialsVersion(user.getCredentialsVersion() + 1);
+        }
         try {
             User savedUser = userRepository.save(user);
+            if (credentialsChanged) {
+                eventPublisher.publishEvent(new UserCredentialsChangedEvent(savedUser.getId()));
+            }
+            if (usernameChanged) {
+                eventPublisher.publishEvent(new UsernameChangedEvent(savedUser.getId()));
+            }
+            currentUserHolder.clear();
             log.info("Successfully updated user: {} (ID: {})", savedUser.getUsername(), savedUser.getId());
             return userMapper.toResponse(savedUser);
         } catch (Exception e) {
@@ -129,6 +147,8 @@ public class UserService {
 
         try {
             userRepository.delete(user);
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(id));
+            currentUserHolder.clear();
             log.info("Successfully deleted user: {} (ID: {}) with {} recipes and {} shopping lists",
                     user.getUsername(), id, recipeCount, shoppingListCount);
         } catch (Exception e) {
@@ -144,22 +164,34 @@ public class UserService {
 
     public boolean isCurrentUser(Long userId) {
         try {
-            User currentUser = getCurrentUser();
-            return currentUser.getId().equals(userId);
+            return getCurrentUserId().equals(userId);
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * The authenticated user, loaded at most once per request. Prefer {@link #getCurrentUserId()} when the id is
+     * enough: it is answered from the access token without a query.
+     */
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return currentUserHolder.get(authentication, this::loadUser);
+    }
+
+    private User loadUser(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return getUserById(principal.id());
+        }
         String username = authentication.getName();
         return findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
 
     public Long getCurrentUserId() {
-        return getCurrentUser().getId();
+        return currentPrincipal()
+                .map(AuthenticatedUser::id)
+                .orElseGet(() -> getCurrentUser().getId());
     }
 
     public Optional<User> getCurrentUserOptional() {
@@ -169,8 +201,7 @@ public class UserService {
                     "anonymousUser".equals(authentication.getName())) {
                 return Optional.empty();
             }
-            String username = authentication.getName();
-            return findByUsername(username);
+            return Optional.of(getCurrentUser());
         } catch (Exception e) {
             log.debug("No authenticated user found: {}", e.getMessage());
             return Optional.empty();
@@ -178,13 +209,26 @@ public class UserService {
     }
 
     public Optional<Long> getCurrentUserIdOptional() {
+        Optional<AuthenticatedUser> principal = currentPrincipal();
+        if (principal.isPresent()) {
+            return principal.map(AuthenticatedUser::id);
+        }
         return getCurrentUserOptional().map(User::getId);
     }
 
+    private static Optional<AuthenticatedUser> currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
     private boolean isCurrentUserAdmin() {
         try {
-            User currentUser = getCurrentUser();
-            return !Role.ADMIN.equals(currentUser.getRole());
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            return authentication.getAuthorities().stream()
+                    .noneMatch(authority -> ("ROLE_" + Role.ADMIN.name()).equals(authority.getAuthority()));
         } catch (Exception e) {
             log.warn("Could not determine if current user is admin", e);
             return true;
@@ -165,6 +165,11 @@ INSERT INTO likes (user_id, recipe_id, is_like, created_at) VALUES
 (4, 5, true, '2024-09-01 17:00:00'),   
 (2, 5, true, '2024-09-02 17:00:00');   
 
+-- Denormalized like counters
+UPDATE recipes SET
+    likes_count = (SELECT COUNT(*) FROM likes WHERE likes.recipe_id = recipes.id AND likes.is_like = true),
+    dislikes_count = (SELECT COUNT(*) FROM likes WHERE likes.recipe_id = recipes.id AND likes.is_like = false);
+
 -- =====================================================
 -- Notes:
 -- 1. Password for all users is 'password'
@@ -0,0 +1,45 @@
+package femcoders25.mykitchen_hub.auth.dto;
+
+import femcoders25.mykitchen_hub.user.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticatedUserTest {
+
+    @Test
+    void from_ClaimsWithUserClaims_BuildsPrincipal() {
+        Claims claims = Jwts.claims()
+                .subject("chef")
+                .add(AuthenticatedUser.USER_ID_CLAIM, 7)
+                .add(AuthenticatedUser.ROLE_CLAIM, "USER")
+                .add(AuthenticatedUser.CREDENTIALS_VERSION_CLAIM, 2)
+                .build();
+
+        AuthenticatedUser principal = AuthenticatedUser.from(claims);
+
+        assertEquals(new AuthenticatedUser(7L, "chef", Role.USER, 2), principal);
+        assertEquals("chef", principal.getUsername());
+        assertNull(principal.getPassword());
+        assertTrue(principal.isEnabled());
+    }
+
+    @Test
+    void from_ClaimsWithoutUserClaims_ReturnsNull() {
+        assertNull(AuthenticatedUser.from(Jwts.claims().subject("chef").build()));
+    }
+
+    @Test
+    void from_UnknownRole_Throws() {
+        Claims claims = Jwts.claims()
+                .subject("chef")
+                .add(AuthenticatedUser.USER_ID_CLAIM, 7L)
+                .add(AuthenticatedUser.ROLE_CLAIM, "ROOT")
+                .add(AuthenticatedUser.CREDENTIALS_VERSION_CLAIM, 0L)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> AuthenticatedUser.from(claims));
+    }
+}
@@ -1,8 +1,13 @@
 package femcoders25.mykitchen_hub.auth.filter;
 
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
 import femcoders25.mykitchen_hub.auth.service.JwtService;
+import femcoders25.mykitchen_hub.auth.service.UserVersionCache;
+import femcoders25.mykitchen_hub.user.entity.Role;
 import femcoders25.mykitchen_hub.user.entity.User;
 import femcoders25.mykitchen_hub.user.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +26,7 @@ import java.io.IOException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +39,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserVersionCache userVersionCache;
+
     @Mock
     private HttpServletRequest request;
 
@@ -46,7 +55,9 @@ class JwtAuthenticationFilterTest {
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private User testUser;
+    private AuthenticatedUser principal;
     private UserDetails userDetails;
+    private Claims claims;
 
     @BeforeEach
     void setUp() {
@@ -56,12 +67,15 @@ class JwtAuthenticationFilterTest {
         testUser.setId(1L);
         testUser.setUsername("testuser");
         testUser.setEmail("test@example.com");
+        principal = AuthenticatedUser.from(testUser);
 
         userDetails = org.springframework.security.core.userdetails.User.builder()
                 .username("testuser")
                 .password("password")
                 .authorities("ROLE_USER")
                 .build();
+
+        claims = Jwts.claims().subject("testuser").build();
     }
 
     @Test
@@ -71,7 +85,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).extractAllClaims(anyString());
         verify(userService, never()).findByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -83,7 +97,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).extractAllClaims(anyString());
         verify(userService, never()).findByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -95,7 +109,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).extractAllClaims(anyString());
         verify(userService, never()).findByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -107,7 +121,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).extractAllClaims(anyString());
         verify(userService, never()).findByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -117,12 +131,12 @@ class JwtAuthenticationFilterTest {
             throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(null);
+        when(jwtService.extractAllClaims(token)).thenReturn(Jwts.claims().build());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService, never()).findByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -131,13 +145,13 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_ValidTokenButUserNotFound_ShouldContinueFilterChain() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.extractAllClaims(token)).thenReturn(claims);
         when(userService.findByUsername("testuser")).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService).findByUsername("testuser");
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -146,16 +160,16 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_ValidTokenButTokenInvalid_ShouldContinueFilterChain() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.extractAllClaims(token)).thenReturn(claims);
         when(userService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(jwtService.isTokenValid(token, testUser)).thenReturn(false);
+        when(jwtService.isTokenValid(token, claims, principal)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService).findByUsername("testuser");
-        verify(jwtService).isTokenValid(token, testUser);
+        verify(jwtService).isTokenValid(token, claims, principal);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
@@ -164,7 +178,7 @@ class JwtAuthenticationFilterTest {
             throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.extractAllClaims(token)).thenReturn(claims);
 
         UsernamePasswordAuthenticationToken existingAuth = new UsernamePasswordAuthenticationToken(
                 testUser, null, testUser.getAuthorities());
@@ -173,9 +187,9 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService, never()).findByUsername("testuser");
-        verify(jwtService, never()).isTokenValid(token, testUser);
+        verify(jwtService, never()).isTokenValid(token, claims, principal);
         assertEquals(existingAuth, SecurityContextHolder.getContext().getAuthentication());
     }
 
@@ -183,21 +197,21 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_ValidTokenAndUser_ShouldSetAuthentication() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.extractAllClaims(token)).thenReturn(claims);
         when(userService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(jwtService.isTokenValid(token, testUser)).thenReturn(true);
+        when(jwtService.isTokenValid(token, claims, principal)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService).findByUsername("testuser");
-        verify(jwtService).isTokenValid(token, testUser);
+        verify(jwtService).isTokenValid(token, claims, principal);
 
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         UsernamePasswordAuthenticationToken auth = (UsernamePasswordAuthenticationToken) SecurityContextHolder
                 .getContext().getAuthentication();
-        assertEquals(testUser, auth.getPrincipal());
+        assertEquals(principal, auth.getPrincipal());
         assertEquals(testUser.getAuthorities(), auth.getAuthorities());
     }
 
@@ -205,12 +219,12 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_JwtServiceThrowsException_ShouldContinueFilterChain() throws ServletException, IOException {
         String token = "invalid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenThrow(new RuntimeException("Invalid JWT"));
+        when(jwtService.extractAllClaims(token)).thenThrow(new RuntimeException("Invalid JWT"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService, never()).findByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -219,13 +233,13 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_UserServiceThrowsException_ShouldContinueFilterChain() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.extractAllClaims(token)).thenReturn(claims);
         when(userService.findByUsername("testuser")).thenThrow(new RuntimeException("Database error"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService).findByUsername("testuser");
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -235,16 +249,16 @@ class JwtAuthenticationFilterTest {
             throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.extractAllClaims(token)).thenReturn(claims);
         when(userService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(jwtService.isTokenValid(token, userDetails)).thenThrow(new RuntimeException("Token validation error"));
+        when(jwtService.isTokenValid(token, claims, userDetails)).thenThrow(new RuntimeException("Token validation error"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService).findByUsername("testuser");
-        verify(jwtService).isTokenValid(token, testUser);
+        verify(jwtService).isTokenValid(token, claims, principal);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
@@ -253,15 +267,62 @@ class JwtAuthenticationFilterTest {
             throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.extractAllClaims(token)).thenReturn(claims);
         when(userService.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(jwtService.isTokenValid(token, testUser)).thenReturn(true);
+        when(jwtService.isTokenValid(token, claims, principal)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).extractAllClaims(token);
         verify(userService).findByUsername("testuser");
-        verify(jwtService).isTokenValid(token, testUser);
+        verify(jwtService).isTokenValid(token, claims, principal);
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
     }
+
+    @Test
+    void doFilterInternal_TokenWithUserClaims_AuthenticatesWithoutLoadingUser() throws ServletException, IOException {
+        String token = "valid.jwt.token";
+        Claims userClaims = Jwts.claims()
+                .subject("testuser")
+                .add(AuthenticatedUser.USER_ID_CLAIM, 1L)
+                .add(AuthenticatedUser.ROLE_CLAIM, "ADMIN")
+                .add(AuthenticatedUser.CREDENTIALS_VERSION_CLAIM, 3L)
+                .build();
+        AuthenticatedUser expected = new AuthenticatedUser(1L, "testuser", Role.ADMIN, 3L);
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.extractAllClaims(token)).thenReturn(userClaims);
+        when(userVersionCache.isCurrent(1L, 3L)).thenReturn(true);
+        when(jwtService.isTokenValid(token, userClaims, expected)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userService);
+        UsernamePasswordAuthenticationToken auth = (UsernamePasswordAuthenticationToken) SecurityContextHolder
+                .getContext().getAuthentication();
+        assertEquals(expected, auth.getPrincipal());
+        assertEquals(expected.getAuthorities(), auth.getAuthorities());
+    }
+
+    @Test
+    void doFilterInternal_TokenWithStaleCredentialsVersion_ShouldNotAuthenticate()
+            throws ServletException, IOException {
+        String token = "valid.jwt.token";
+        Claims userClaims = Jwts.claims()
+                .subject("testuser")
+                .add(AuthenticatedUser.USER_ID_CLAIM, 1L)
+                .add(AuthenticatedUser.ROLE_CLAIM, "USER")
+                .add(AuthenticatedUser.CREDENTIALS_VERSION_CLAIM, 0L)
+                .build();
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.extractAllClaims(token)).thenReturn(userClaims);
+        when(userVersionCache.isCurrent(1L, 0L)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(jwtService, never()).isTokenValid(anyString(), any(Claims.class), any(UserDetails.class));
+        verifyNoInteractions(userService);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
 }
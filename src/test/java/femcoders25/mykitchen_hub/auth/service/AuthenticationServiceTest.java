@@ -22,6 +22,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +37,6 @@ class AuthenticationServiceTest {
         @Mock
         private AuthenticationManager authenticationManager;
 
-        @Mock
-        private TokenBlacklistService tokenBlacklistService;
-
         @InjectMocks
         private AuthenticationService authenticationService;
 
@@ -132,8 +130,8 @@ class AuthenticationServiceTest {
 
                 authenticationService.logout(accessToken, refreshToken);
 
-                verify(tokenBlacklistService).blacklistToken(accessToken);
-                verify(tokenBlacklistService).blacklistToken(refreshToken);
+                verify(jwtService).revokeToken(accessToken);
+                verify(jwtService).revokeToken(refreshToken);
         }
 
         @Test
@@ -142,8 +140,8 @@ class AuthenticationServiceTest {
 
                 authenticationService.logout(accessToken, null);
 
-                verify(tokenBlacklistService).blacklistToken(accessToken);
-                verify(tokenBlacklistService, never()).blacklistToken(null);
+                verify(jwtService).revokeToken(accessToken);
+                verify(jwtService, never()).revokeToken(null);
         }
 
         @Test
@@ -171,7 +169,27 @@ class AuthenticationServiceTest {
                 verify(userService).findByUsername(username);
                 verify(jwtService).generateToken(createdUser);
                 verify(jwtService).generateRefreshToken(createdUser);
-                verify(tokenBlacklistService).blacklistToken(oldRefreshToken);
+                verify(jwtService).revokeToken(oldRefreshToken);
+        }
+
+        @Test
+        void refreshToken_CredentialsChangedSinceIssued_ThrowsException() {
+                String oldRefreshToken = "old-refresh-token";
+                createdUser.setCredentialsVersion(2);
+
+                when(jwtService.isRefreshTokenValid(oldRefreshToken)).thenReturn(true);
+                when(jwtService.extractUsername(oldRefreshToken)).thenReturn("testuser");
+                when(userService.findByUsername("testuser")).thenReturn(Optional.of(createdUser));
+                when(jwtService.<Long>extractClaim(eq(oldRefreshToken), any())).thenReturn(1L);
+
+                IllegalArgumentException exception = assertThrows(
+                                IllegalArgumentException.class,
+                                () -> authenticationService.refreshToken(
+                                                new RefreshTokenRequest(oldRefreshToken)));
+
+                assertEquals("Invalid refresh token", exception.getMessage());
+                verify(jwtService, never()).generateToken(any());
+                verify(jwtService, never()).revokeToken(anyString());
         }
 
         @Test
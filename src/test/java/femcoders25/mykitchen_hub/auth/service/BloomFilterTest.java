@@ -0,0 +1,37 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_AddedKeys_AlwaysTrue() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> filter.add("token-" + i));
+
+        IntStream.range(0, 1000).forEach(i -> assertTrue(filter.mightContain("token-" + i)));
+        assertEquals(1000, filter.added());
+    }
+
+    @Test
+    void mightContain_AtCapacity_StaysNearTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> filter.add(UUID.randomUUID().toString()));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void create_InvalidFalsePositiveRate_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1000, 1));
+    }
+}
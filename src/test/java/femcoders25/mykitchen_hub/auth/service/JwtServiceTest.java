@@ -0,0 +1,164 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
+import femcoders25.mykitchen_hub.user.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtServiceTest {
+
+    private static final String OTHER_SECRET = "YW5vdGhlclNlY3JldEtleUZvclJvdGF0aW9uVGVzdHNPbmx5MTIzNDU2Nzg5MDEyMzQ1Njc4OTA=";
+    private static final String SECRET = "dGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHkxMjM0NTY3ODkwMTIzNDU2Nzg5MA==";
+
+    private VerifiedClaimsCache verifiedClaimsCache;
+    private TokenBlacklistService tokenBlacklistService;
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        tokenBlacklistService = new TokenBlacklistService(mock(TokenRevocationStore.class), new SimpleMeterRegistry(),
+                1000, 0.01, 500, 10_000);
+        verifiedClaimsCache = spy(new VerifiedClaimsCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(15)));
+        jwtService = jwtService("primary", SECRET, List.of());
+        userDetails = User.withUsername("chef").password("secret").authorities("ROLE_USER").build();
+    }
+
+    @Test
+    void extractAllClaims_ReturnsVerifiedClaims() {
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.extractAllClaims(token);
+
+        assertEquals("chef", claims.getSubject());
+        assertNotNull(claims.getExpiration());
+    }
+
+    @Test
+    void isTokenValid_WithExtractedClaims_DoesNotParseAgain() {
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.extractAllClaims(token);
+        assertTrue(jwtService.isTokenValid(token, claims, userDetails));
+
+        verify(verifiedClaimsCache, times(1)).get(any(), any());
+    }
+
+    @Test
+    void generateToken_ForUserEntity_CarriesIdRoleAndCredentialsVersion() {
+        femcoders25.mykitchen_hub.user.entity.User user = new femcoders25.mykitchen_hub.user.entity.User();
+        user.setId(7L);
+        user.setUsername("chef");
+        user.setRole(Role.ADMIN);
+        user.setCredentialsVersion(3);
+
+        String token = jwtService.generateToken(user);
+
+        AuthenticatedUser principal = AuthenticatedUser.from(jwtService.extractAllClaims(token));
+
+        assertEquals(new AuthenticatedUser(7L, "chef", Role.ADMIN, 3), principal);
+        assertEquals(List.of("ROLE_ADMIN"), principal.getAuthorities().stream().map(Object::toString).toList());
+    }
+
+    @Test
+    void generateToken_ForPlainUserDetails_HasNoUserClaims() {
+        assertNull(AuthenticatedUser.from(jwtService.extractAllClaims(jwtService.generateToken(userDetails))));
+    }
+
+    @Test
+    void isTokenValid_OtherUser_ReturnsFalse() {
+        String token = jwtService.generateToken(userDetails);
+        UserDetails other = User.withUsername("baker").password("secret").authorities("ROLE_USER").build();
+
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+
+    @Test
+    void revokeToken_AccessToken_NoLongerValid() {
+        String token = jwtService.generateToken(userDetails);
+        String other = jwtService.generateToken(userDetails);
+
+        jwtService.revokeToken(token);
+
+        assertFalse(jwtService.isTokenValid(token, userDetails));
+        assertTrue(jwtService.isTokenValid(other, userDetails));
+    }
+
+    @Test
+    void revokeToken_RefreshToken_NoLongerValid() {
+        String token = jwtService.generateRefreshToken(userDetails);
+        assertTrue(jwtService.isRefreshTokenValid(token));
+
+        jwtService.revokeToken(token);
+
+        assertFalse(jwtService.isRefreshTokenValid(token));
+    }
+
+    @Test
+    void revokeToken_MalformedToken_IsIgnored() {
+        assertDoesNotThrow(() -> jwtService.revokeToken("not-a-token"));
+    }
+
+    @Test
+    void generateToken_SameUserSameInstant_GetsDistinctIds() {
+        String first = jwtService.generateToken(userDetails);
+        String second = jwtService.generateToken(userDetails);
+
+        assertNotEquals(jwtService.extractAllClaims(first).getId(), jwtService.extractAllClaims(second).getId());
+    }
+
+    @Test
+    void extractAllClaims_TamperedToken_Throws() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(tampered));
+    }
+
+    @Test
+    void generateToken_NamesActiveKeyInHeader() {
+        String token = jwtService.generateToken(userDetails);
+
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        assertTrue(header.contains("\"kid\":\"primary\""));
+    }
+
+    @Test
+    void extractAllClaims_AfterRotation_RetiredKeyStillVerifiesItsTokens() {
+        String oldToken = jwtService.generateToken(userDetails);
+        JwtService rotated = jwtService("next", OTHER_SECRET, List.of("primary:" + SECRET));
+
+        assertEquals("chef", rotated.extractAllClaims(oldToken).getSubject());
+        assertEquals("chef", rotated.extractAllClaims(rotated.generateToken(userDetails)).getSubject());
+    }
+
+    @Test
+    void extractAllClaims_UnknownKeyId_Throws() {
+        String token = jwtService("retired", OTHER_SECRET, List.of()).generateToken(userDetails);
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(token));
+    }
+
+    @Test
+    void constructor_RetiredKeyWithoutKeyId_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> jwtService("primary", SECRET, List.of(OTHER_SECRET)));
+    }
+
+    private JwtService jwtService(String keyId, String secret, List<String> retiredKeys) {
+        return new JwtService(tokenBlacklistService, verifiedClaimsCache, secret, keyId, retiredKeys,
+                3_600_000L, 604_800_000L);
+    }
+}
@@ -0,0 +1,79 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation throughput: {@code perCallKeyAndParser} is how every request used to verify a token (decode
+ * the secret, build a parser, parse), {@code prebuiltParser} verifies with a key set and parser built once,
+ * and {@code cachedClaims} is a repeated bearer token answered by {@link VerifiedClaimsCache}. Run with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main JwtValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "dGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHkxMjM0NTY3ODkwMTIzNDU2Nzg5MA==";
+
+    private JwtParser parser;
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        UserDetails user = User.withUsername("chef").password("secret").authorities("ROLE_USER").build();
+        parser = Jwts.parser()
+                .keyLocator(JwtKeySet.of("primary", SECRET, List.of()))
+                .build();
+        jwtService = new JwtService(new TokenBlacklistService(Mockito.mock(TokenRevocationStore.class),
+                        new SimpleMeterRegistry(), 1000, 0.01, 500, 10_000),
+                new VerifiedClaimsCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(15)),
+                SECRET, "primary", List.of(), 3_600_000L, 604_800_000L);
+        token = jwtService.generateToken(user);
+        jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims perCallKeyAndParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims prebuiltParser() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,86 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import femcoders25.mykitchen_hub.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks during a login storm: more concurrent logins than cores. {@code requestThreads} verifies on the
+ * calling threads, as logins did before; {@code boundedPool} goes through {@link BoundedPasswordEncoder}, where
+ * logins beyond the pool and its queue are refused at once. Its score counts refusals as operations, so compare the
+ * {@code verified} and {@code refused} counters. A refused client backs off briefly, as it would on the 503's
+ * {@code Retry-After}, instead of spinning on the CPU the pool needs. Sample-time mode reports the latency
+ * percentiles. Run with {@code java -cp target/test-classes:target/classes:<test classpath>
+ * org.openjdk.jmh.Main LoginBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final int STRENGTH = 10;
+    private static final long REFUSED_BACKOFF_MS = 10;
+
+    private BCryptPasswordEncoder requestThreadEncoder;
+    private BoundedPasswordEncoder boundedEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        requestThreadEncoder = new BCryptPasswordEncoder(STRENGTH);
+        boundedEncoder = new BoundedPasswordEncoder(STRENGTH, Runtime.getRuntime().availableProcessors(), 32,
+                new SimpleMeterRegistry());
+        hash = requestThreadEncoder.encode("password123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        boundedEncoder.shutdown();
+    }
+
+    @Benchmark
+    public boolean requestThreads(Outcomes outcomes) {
+        boolean matched = requestThreadEncoder.matches("password123", hash);
+        outcomes.verified++;
+        return matched;
+    }
+
+    @Benchmark
+    public boolean boundedPool(Outcomes outcomes) throws InterruptedException {
+        try {
+            boolean matched = boundedEncoder.matches("password123", hash);
+            outcomes.verified++;
+            return matched;
+        } catch (ServiceUnavailableException e) {
+            outcomes.refused++;
+            Thread.sleep(REFUSED_BACKOFF_MS);
+            return false;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long verified;
+        public long refused;
+    }
+}
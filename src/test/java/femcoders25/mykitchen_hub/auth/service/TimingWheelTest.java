@@ -0,0 +1,59 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(1000, START);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    void advance_HandsBackEntriesOnlyOnceTheirDeadlinePasses() {
+        wheel.schedule("soon", START + 1500);
+
+        wheel.advance(START + 1999, expired::add);
+        assertEquals(List.of(), expired);
+
+        wheel.advance(START + 2000, expired::add);
+        assertEquals(List.of("soon"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_CascadesLongDeadlinesThroughEveryLevel() {
+        long hour = 3_600_000;
+        long week = 7 * 24 * hour;
+        wheel.schedule("hour", START + hour);
+        wheel.schedule("week", START + week);
+        wheel.schedule("year", START + 365 * 24 * hour);
+
+        wheel.advance(START + hour - 1000, expired::add);
+        assertEquals(List.of(), expired);
+        wheel.advance(START + hour, expired::add);
+        assertEquals(List.of("hour"), expired);
+
+        wheel.advance(START + week - 1000, expired::add);
+        assertEquals(List.of("hour"), expired);
+        wheel.advance(START + week, expired::add);
+        assertEquals(List.of("hour", "week"), expired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void schedule_DeadlineAlreadyPassed_SchedulesNothing() {
+        assertFalse(wheel.schedule("late", START - 1));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void constructor_NonPositiveTick_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0, START));
+    }
+}
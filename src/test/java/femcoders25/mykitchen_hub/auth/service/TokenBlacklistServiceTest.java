@@ -0,0 +1,153 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import femcoders25.mykitchen_hub.auth.dto.TokenRevocation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBlacklistServiceTest {
+
+    private static final long GAP_GRACE = 10_000;
+
+    @Mock
+    private TokenRevocationStore revocationStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenBlacklistService tokenBlacklistService;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenBlacklistService = new TokenBlacklistService(revocationStore, meterRegistry, 1000, 0.01, 2, GAP_GRACE);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void isTokenBlacklisted_RevokedToken_ReturnsTrueUntilItExpires() {
+        tokenBlacklistService.blacklistToken("revoked", Instant.ofEpochMilli(now + 60_000));
+        tokenBlacklistService.blacklistToken("later", Instant.ofEpochMilli(now + 120_000));
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("revoked"));
+        assertFalse(tokenBlacklistService.isTokenBlacklisted("other"));
+
+        tokenBlacklistService.removeExpiredTokens(now + 61_000);
+
+        assertFalse(tokenBlacklistService.isTokenBlacklisted("revoked"));
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("later"));
+        assertEquals(1, meterRegistry.get("jwt.blacklist.size").gauge().value());
+    }
+
+    @Test
+    void blacklistToken_WritesThroughToTheStore() {
+        Instant expiresAt = Instant.ofEpochMilli(now + 60_000);
+
+        tokenBlacklistService.blacklistToken("revoked", expiresAt);
+        tokenBlacklistService.blacklistToken("revoked", expiresAt);
+
+        verify(revocationStore, times(1)).save("revoked", expiresAt);
+    }
+
+    @Test
+    void blacklistToken_StoreFails_StillRevokedLocally() {
+        doThrow(new IllegalStateException("db down")).when(revocationStore).save(any(), any());
+
+        assertDoesNotThrow(() -> tokenBlacklistService.blacklistToken("revoked", Instant.ofEpochMilli(now + 60_000)));
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("revoked"));
+    }
+
+    @Test
+    void blacklistToken_AlreadyExpired_IsNotStored() {
+        tokenBlacklistService.blacklistToken("expired", Instant.ofEpochMilli(now - 1000));
+
+        assertFalse(tokenBlacklistService.isTokenBlacklisted("expired"));
+        assertEquals(0, meterRegistry.get("jwt.blacklist.size").gauge().value());
+        verifyNoInteractions(revocationStore);
+    }
+
+    @Test
+    void blacklistToken_AgainWithLaterExpiry_KeepsTheLaterOne() {
+        tokenBlacklistService.blacklistToken("revoked", Instant.ofEpochMilli(now + 60_000));
+        tokenBlacklistService.blacklistToken("revoked", Instant.ofEpochMilli(now + 120_000));
+
+        tokenBlacklistService.removeExpiredTokens(now + 61_000);
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("revoked"));
+    }
+
+    @Test
+    void refresh_AppliesRevocationsFromOtherInstancesInBatches() {
+        when(revocationStore.findAfter(0, 2)).thenReturn(List.of(revocation(1, "a"), revocation(2, "b")));
+        when(revocationStore.findAfter(2, 2)).thenReturn(List.of(revocation(3, "c")));
+
+        tokenBlacklistService.refresh(now);
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("a"));
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("c"));
+        assertEquals(3, tokenBlacklistService.highWaterMark());
+        verify(revocationStore, never()).save(any(), any());
+    }
+
+    @Test
+    void refresh_GapAfterFirstLoad_HoldsHighWaterMarkUntilGraceIsUp() {
+        tokenBlacklistService.refresh(now);
+        when(revocationStore.findAfter(0, 2)).thenReturn(List.of(revocation(1, "a"), revocation(3, "c")));
+
+        tokenBlacklistService.refresh(now);
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("c"));
+        assertEquals(1, tokenBlacklistService.highWaterMark());
+
+        when(revocationStore.findAfter(1, 2)).thenReturn(List.of(revocation(2, "b"), revocation(3, "c")));
+        when(revocationStore.findAfter(3, 2)).thenReturn(List.of());
+        tokenBlacklistService.refresh(now + 1000);
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted("b"));
+        assertEquals(3, tokenBlacklistService.highWaterMark());
+    }
+
+    @Test
+    void refresh_GapNeverFills_PassedOverAfterGrace() {
+        tokenBlacklistService.refresh(now);
+        when(revocationStore.findAfter(0, 2)).thenReturn(List.of(revocation(2, "b")));
+
+        tokenBlacklistService.refresh(now);
+        assertEquals(0, tokenBlacklistService.highWaterMark());
+
+        tokenBlacklistService.refresh(now + GAP_GRACE);
+        assertEquals(2, tokenBlacklistService.highWaterMark());
+    }
+
+    @Test
+    void filter_GrowsWithRevokedTokensAndShrinksOnceTheyExpire() {
+        int count = 5 * TokenBlacklistService.MIN_FILTER_CAPACITY;
+        IntStream.range(0, count).forEach(i ->
+                tokenBlacklistService.blacklistToken("token-" + i, Instant.ofEpochMilli(now + 60_000)));
+        double memory = meterRegistry.get("jwt.blacklist.memory").gauge().value();
+
+        assertTrue(tokenBlacklistService.filterCapacity() >= count);
+        IntStream.range(0, count).forEach(i -> assertTrue(tokenBlacklistService.isTokenBlacklisted("token-" + i)));
+
+        tokenBlacklistService.removeExpiredTokens(now + 61_000);
+
+        assertEquals(TokenBlacklistService.MIN_FILTER_CAPACITY, tokenBlacklistService.filterCapacity());
+        assertTrue(meterRegistry.get("jwt.blacklist.memory").gauge().value() < memory / 10);
+    }
+
+    private TokenRevocation revocation(long sequence, String tokenId) {
+        return new TokenRevocation(sequence, tokenId, Instant.ofEpochMilli(now + 60_000));
+    }
+}
@@ -0,0 +1,61 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import femcoders25.mykitchen_hub.user.event.UserCredentialsChangedEvent;
+import femcoders25.mykitchen_hub.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserVersionCache userVersionCache;
+
+    @BeforeEach
+    void setUp() {
+        userVersionCache = new UserVersionCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void isCurrent_LoadsVersionOncePerUser() {
+        when(userRepository.findCredentialsVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertTrue(userVersionCache.isCurrent(1L, 2));
+        assertFalse(userVersionCache.isCurrent(1L, 1));
+
+        verify(userRepository, times(1)).findCredentialsVersionById(1L);
+    }
+
+    @Test
+    void isCurrent_DeletedUser_IsNeverCurrent() {
+        when(userRepository.findCredentialsVersionById(1L)).thenReturn(Optional.empty());
+
+        assertFalse(userVersionCache.isCurrent(1L, 0));
+        assertFalse(userVersionCache.isCurrent(1L, 0));
+
+        verify(userRepository, times(1)).findCredentialsVersionById(1L);
+    }
+
+    @Test
+    void onCredentialsChanged_ReloadsVersion() {
+        when(userRepository.findCredentialsVersionById(1L)).thenReturn(Optional.of(0L)).thenReturn(Optional.of(1L));
+        assertTrue(userVersionCache.isCurrent(1L, 0));
+
+        userVersionCache.onCredentialsChanged(new UserCredentialsChangedEvent(1L));
+
+        assertFalse(userVersionCache.isCurrent(1L, 0));
+        assertTrue(userVersionCache.isCurrent(1L, 1));
+    }
+}
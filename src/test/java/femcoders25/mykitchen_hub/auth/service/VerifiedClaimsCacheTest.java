@@ -0,0 +1,83 @@
+package femcoders25.mykitchen_hub.auth.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedClaimsCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    private VerifiedClaimsCache verifiedClaimsCache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        verifiedClaimsCache = new VerifiedClaimsCache(new SimpleMeterRegistry(), 100, TTL);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void get_SameToken_VerifiesOnce() {
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        Claims first = verifiedClaimsCache.get("a.b.c", token -> verify(claims));
+        Claims second = verifiedClaimsCache.get("a.b.c", token -> verify(claims));
+
+        assertSame(claims, first);
+        assertSame(claims, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void get_DifferentTokens_AreVerifiedSeparately() {
+        verifiedClaimsCache.get("a.b.c", token -> verify(claimsExpiringIn(Duration.ofMinutes(5))));
+        verifiedClaimsCache.get("d.e.f", token -> verify(claimsExpiringIn(Duration.ofMinutes(5))));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_VerifierThrows_CachesNothing() {
+        assertThrows(IllegalStateException.class, () -> verifiedClaimsCache.get("a.b.c", token -> {
+            verifications.incrementAndGet();
+            throw new IllegalStateException("bad signature");
+        }));
+        verifiedClaimsCache.get("a.b.c", token -> verify(claimsExpiringIn(Duration.ofMinutes(5))));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void lifetime_EndsAtExpirationCappedByTtl() {
+        Date now = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+        assertEquals(Duration.ofMinutes(5), VerifiedClaimsCache.lifetime(expiringAt(now, Duration.ofMinutes(5)), TTL, now));
+        assertEquals(TTL, VerifiedClaimsCache.lifetime(expiringAt(now, Duration.ofHours(2)), TTL, now));
+        assertEquals(Duration.ZERO, VerifiedClaimsCache.lifetime(expiringAt(now, Duration.ofMinutes(-1)), TTL, now));
+        assertEquals(TTL, VerifiedClaimsCache.lifetime(Jwts.claims().subject("chef").build(), TTL, now));
+    }
+
+    private Claims verify(Claims claims) {
+        verifications.incrementAndGet();
+        return claims;
+    }
+
+    private static Claims claimsExpiringIn(Duration duration) {
+        return expiringAt(new Date(), duration);
+    }
+
+    private static Claims expiringAt(Date now, Duration duration) {
+        return Jwts.claims().subject("chef").expiration(new Date(now.getTime() + duration.toMillis())).build();
+    }
+}
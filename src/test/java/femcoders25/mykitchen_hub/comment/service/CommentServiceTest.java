@@ -7,6 +7,7 @@ import femcoders25.mykitchen_hub.comment.repository.CommentRepository;
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
 import femcoders25.mykitchen_hub.common.exception.UnauthorizedOperationException;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
 import femcoders25.mykitchen_hub.user.entity.User;
 import femcoders25.mykitchen_hub.user.service.UserService;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,6 +39,9 @@ class CommentServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -89,6 +94,7 @@ class CommentServiceTest {
         verify(userService).getCurrentUser();
         verify(recipeRepository).findById(1L);
         verify(commentRepository).save(any(Comment.class));
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
     }
 
     @Test
@@ -156,13 +162,14 @@ class CommentServiceTest {
     @Test
     void testDeleteComment_Success() {
         when(commentRepository.findById(1L)).thenReturn(Optional.of(comment));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
 
         commentService.deleteComment(1L);
 
         verify(commentRepository).findById(1L);
-        verify(userService).getCurrentUser();
+        verify(userService).getCurrentUserId();
         verify(commentRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
     }
 
     @Test
@@ -172,23 +179,20 @@ class CommentServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> commentService.deleteComment(1L));
 
         verify(commentRepository).findById(1L);
-        verify(userService, never()).getCurrentUser();
+        verify(userService, never()).getCurrentUserId();
         verify(commentRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void testDeleteComment_UnauthorizedUser() {
-        User otherUser = new User();
-        otherUser.setId(999L);
-        otherUser.setUsername("otheruser");
-
         when(commentRepository.findById(1L)).thenReturn(Optional.of(comment));
-        when(userService.getCurrentUser()).thenReturn(otherUser);
+        when(userService.getCurrentUserId()).thenReturn(999L);
 
         assertThrows(UnauthorizedOperationException.class, () -> commentService.deleteComment(1L));
 
         verify(commentRepository).findById(1L);
-        verify(userService).getCurrentUser();
+        verify(userService).getCurrentUserId();
         verify(commentRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(eventPublisher);
     }
 }
@@ -7,13 +7,17 @@ import femcoders25.mykitchen_hub.ingredient.dto.IngredientUpdateDto;
 import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
 import femcoders25.mykitchen_hub.ingredient.repository.IngredientRepository;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -22,6 +26,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +35,12 @@ class IngredientServiceTest {
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IngredientService ingredientService;
 
@@ -125,6 +136,7 @@ class IngredientServiceTest {
         assertEquals(1L, result.recipeId());
 
         verify(ingredientRepository).save(any(Ingredient.class));
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
     }
 
     @Test
@@ -150,6 +162,8 @@ class IngredientServiceTest {
 
         verify(ingredientRepository).findById(1L);
         verify(ingredientRepository).save(any(Ingredient.class));
+        verify(recipeRepository).touchUpdatedAt(eq(1L), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
     }
 
     @Test
@@ -167,25 +181,27 @@ class IngredientServiceTest {
 
     @Test
     void deleteIngredient_ExistingId_DeletesIngredient() {
-        when(ingredientRepository.existsById(1L)).thenReturn(true);
+        when(ingredientRepository.findById(1L)).thenReturn(Optional.of(testIngredient));
 
         ingredientService.deleteIngredient(1L);
 
-        verify(ingredientRepository).existsById(1L);
-        verify(ingredientRepository).deleteById(1L);
+        verify(ingredientRepository).findById(1L);
+        verify(ingredientRepository).delete(testIngredient);
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
     }
 
     @Test
     void deleteIngredient_NonExistingId_ThrowsResourceNotFoundException() {
-        when(ingredientRepository.existsById(999L)).thenReturn(false);
+        when(ingredientRepository.findById(999L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(
                 ResourceNotFoundException.class,
                 () -> ingredientService.deleteIngredient(999L));
 
         assertEquals("Ingredient not found with id: 999", exception.getMessage());
-        verify(ingredientRepository).existsById(999L);
-        verify(ingredientRepository, never()).deleteById(anyLong());
+        verify(ingredientRepository).findById(999L);
+        verify(ingredientRepository, never()).delete(any(Ingredient.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -0,0 +1,119 @@
+package femcoders25.mykitchen_hub.integration;
+
+import femcoders25.mykitchen_hub.auth.service.JwtService;
+import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.user.entity.Role;
+import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each request runs against the users table.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "femcoders25.mykitchen_hub.integration.CurrentUserQueryCountIntegrationTest$UserQueryCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CurrentUserQueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User chef;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        userRepository.deleteAll();
+
+        chef = new User();
+        chef.setUsername("chef");
+        chef.setEmail("chef@example.com");
+        chef.setPassword("encodedPassword");
+        chef.setRole(Role.USER);
+        chef = userRepository.save(chef);
+    }
+
+    @Test
+    void deleteRecipe_SessionPrincipal_LoadsCurrentUserOncePerRequest() throws Exception {
+        Long recipeId = saveRecipe();
+
+        UserQueryCounter.reset();
+        mockMvc.perform(delete("/api/recipes/{id}", recipeId).with(user(chef)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, UserQueryCounter.count(), "ownership check and logging must share one user lookup");
+    }
+
+    @Test
+    void deleteRecipe_AccessToken_ReadsNoUsers() throws Exception {
+        Long recipeId = saveRecipe();
+        String bearer = "Bearer " + jwtService.generateToken(chef);
+        mockMvc.perform(get("/api/recipes/{id}", recipeId).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+
+        UserQueryCounter.reset();
+        mockMvc.perform(delete("/api/recipes/{id}", recipeId).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+
+        assertEquals(0, UserQueryCounter.count());
+    }
+
+    private Long saveRecipe() {
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Tomato soup");
+        recipe.setDescription("Simple soup");
+        recipe.setCreatedBy(chef);
+        return recipeRepository.save(recipe).getId();
+    }
+
+    public static class UserQueryCounter implements StatementInspector {
+
+        private static final Pattern FROM_USERS = Pattern.compile("\\bfrom users\\b");
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        static void reset() {
+            COUNT.set(0);
+        }
+
+        static int count() {
+            return COUNT.get();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (FROM_USERS.matcher(sql.toLowerCase(Locale.ROOT)).find()) {
+                COUNT.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package femcoders25.mykitchen_hub.integration;
+
+import femcoders25.mykitchen_hub.like.dto.RecipeVoteCount;
+import femcoders25.mykitchen_hub.like.entity.Like;
+import femcoders25.mykitchen_hub.like.repository.LikeRepository;
+import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.user.entity.Role;
+import femcoders25.mykitchen_hub.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class LikeRepositoryIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    private Recipe firstRecipe;
+    private Recipe secondRecipe;
+
+    @BeforeEach
+    void setUp() {
+        User author = persistUser("author");
+        User firstVoter = persistUser("voter1");
+        User secondVoter = persistUser("voter2");
+
+        firstRecipe = persistRecipe("First Recipe", author);
+        secondRecipe = persistRecipe("Second Recipe", author);
+
+        persistLike(author, firstRecipe, true);
+        persistLike(firstVoter, firstRecipe, true);
+        persistLike(secondVoter, firstRecipe, false);
+        persistLike(firstVoter, secondRecipe, false);
+    }
+
+    @Test
+    void countVotesByRecipeIds_ReturnsOneRowPerRecipeAndVoteType() {
+        List<RecipeVoteCount> result = likeRepository.countVotesByRecipeIds(
+                List.of(firstRecipe.getId(), secondRecipe.getId()));
+
+        assertEquals(3, result.size());
+        assertTrue(result.contains(new RecipeVoteCount(firstRecipe.getId(), true, 2L)));
+        assertTrue(result.contains(new RecipeVoteCount(firstRecipe.getId(), false, 1L)));
+        assertTrue(result.contains(new RecipeVoteCount(secondRecipe.getId(), false, 1L)));
+    }
+
+    @Test
+    void countVotesByRecipeIds_IgnoresRecipesNotAskedFor() {
+        List<RecipeVoteCount> result = likeRepository.countVotesByRecipeIds(List.of(secondRecipe.getId()));
+
+        assertEquals(List.of(new RecipeVoteCount(secondRecipe.getId(), false, 1L)), result);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        return entityManager.persistAndFlush(user);
+    }
+
+    private Recipe persistRecipe(String title, User author) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(title);
+        recipe.setDescription("Test Description");
+        recipe.setCreatedBy(author);
+        return entityManager.persistAndFlush(recipe);
+    }
+
+    private void persistLike(User user, Recipe recipe, boolean isLike) {
+        Like like = new Like();
+        like.setUser(user);
+        like.setRecipe(recipe);
+        like.setIsLike(isLike);
+        entityManager.persistAndFlush(like);
+    }
+}
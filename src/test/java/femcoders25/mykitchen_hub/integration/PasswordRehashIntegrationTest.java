@@ -0,0 +1,42 @@
+package femcoders25.mykitchen_hub.integration;
+
+import femcoders25.mykitchen_hub.auth.dto.AuthenticationRequest;
+import femcoders25.mykitchen_hub.auth.service.AuthenticationService;
+import femcoders25.mykitchen_hub.user.entity.Role;
+import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PasswordRehashIntegrationTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void authenticate_HashWithOldCost_RehashedWithConfiguredCost() {
+        User user = new User();
+        user.setUsername("rehash_chef");
+        user.setEmail("rehash_chef@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        authenticationService.authenticate(new AuthenticationRequest("rehash_chef", "password123"));
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertTrue(reloaded.getPassword().startsWith("$2a$10$"));
+        assertTrue(new BCryptPasswordEncoder().matches("password123", reloaded.getPassword()));
+        assertEquals(user.getCredentialsVersion(), reloaded.getCredentialsVersion());
+    }
+}
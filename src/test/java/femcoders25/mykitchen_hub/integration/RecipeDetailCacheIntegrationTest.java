@@ -0,0 +1,69 @@
+package femcoders25.mykitchen_hub.integration;
+
+import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.recipe.service.RecipeDetailCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RecipeDetailCacheIntegrationTest {
+
+    private static final long RECIPE_ID = 987_654L;
+
+    @Autowired
+    private RecipeDetailCache recipeDetailCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void recipeChangedEvent_EvictsOnlyAfterCommit() {
+        recipeDetailCache.invalidate(RECIPE_ID);
+        recipeDetailCache.get(RECIPE_ID, this::load);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new RecipeChangedEvent(RECIPE_ID));
+            recipeDetailCache.get(RECIPE_ID, this::load);
+            assertEquals(1, loads.get(), "entry must survive until the transaction commits");
+        });
+
+        recipeDetailCache.get(RECIPE_ID, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void recipeChangedEvent_RolledBack_KeepsEntry() {
+        recipeDetailCache.invalidate(RECIPE_ID);
+        recipeDetailCache.get(RECIPE_ID, this::load);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new RecipeChangedEvent(RECIPE_ID));
+            status.setRollbackOnly();
+        });
+
+        recipeDetailCache.get(RECIPE_ID, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    private RecipeResponseDto load(Long id) {
+        loads.incrementAndGet();
+        return new RecipeResponseDto(id, "Cached", "Description", List.of(), null, null, List.of(), null, null, null,
+                null, null);
+    }
+}
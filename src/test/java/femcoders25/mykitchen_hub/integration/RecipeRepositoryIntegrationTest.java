@@ -1,8 +1,16 @@
 package femcoders25.mykitchen_hub.integration;
 
+import femcoders25.mykitchen_hub.comment.entity.Comment;
 import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
+import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
+import femcoders25.mykitchen_hub.like.entity.Like;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeCursorHitDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeVersionDto;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.tag.entity.Tag;
 import femcoders25.mykitchen_hub.user.entity.Role;
 import femcoders25.mykitchen_hub.user.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +18,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -44,6 +58,7 @@ class RecipeRepositoryIntegrationTest {
         testRecipe.setTitle("Test Recipe");
         testRecipe.setDescription("Test Description");
         testRecipe.setTag("italian");
+        testRecipe.setTags(Set.of(entityManager.persistAndFlush(new Tag(null, "Italian", "italian"))));
         testRecipe.setCreatedBy(testUser);
         entityManager.persistAndFlush(testRecipe);
 
@@ -70,14 +85,6 @@ class RecipeRepositoryIntegrationTest {
         assertEquals(0, result.getTotalElements());
     }
 
-    @Test
-    void findByTagContainingIgnoreCase_ExistingTag_ReturnsRecipe() {
-        Page<Recipe> result = recipeRepository.findByTagContainingIgnoreCase("italian", PageRequest.of(0, 10));
-        
-        assertEquals(1, result.getTotalElements());
-        assertEquals("italian", result.getContent().get(0).getTag());
-    }
-
     @Test
     void findByIngredientsNameContainingIgnoreCase_ExistingIngredient_ReturnsRecipe() {
         Page<Recipe> result = recipeRepository.findByIngredientsNameContainingIgnoreCase("tomato", PageRequest.of(0, 10));
@@ -100,4 +107,253 @@ class RecipeRepositoryIntegrationTest {
         assertEquals("New Recipe", saved.getTitle());
         assertEquals("New Description", saved.getDescription());
     }
+
+    @Test
+    void incrementLikeCounts_AppliesDeltasAtomically() {
+        recipeRepository.incrementLikeCounts(testRecipe.getId(), 1L, 0L);
+        recipeRepository.incrementLikeCounts(testRecipe.getId(), 1L, 0L);
+        recipeRepository.incrementLikeCounts(testRecipe.getId(), -1L, 1L);
+        entityManager.clear();
+
+        LikeCountsDto counts = recipeRepository.findLikeCountsById(testRecipe.getId()).orElseThrow();
+
+        assertEquals(1L, counts.likesCount());
+        assertEquals(1L, counts.dislikesCount());
+    }
+
+    @Test
+    void recalculateLikeCounts_RepairsDriftedCounters() {
+        Like like = new Like();
+        like.setUser(testUser);
+        like.setRecipe(testRecipe);
+        like.setIsLike(true);
+        entityManager.persistAndFlush(like);
+        recipeRepository.incrementLikeCounts(testRecipe.getId(), 5L, 3L);
+
+        int updated = recipeRepository.recalculateLikeCounts(testRecipe.getId(), testRecipe.getId());
+        entityManager.clear();
+
+        LikeCountsDto counts = recipeRepository.findLikeCountsById(testRecipe.getId()).orElseThrow();
+        assertEquals(1, updated);
+        assertEquals(1L, counts.likesCount());
+        assertEquals(0L, counts.dislikesCount());
+    }
+
+    @Test
+    void findLikeCountsById_NonExistingRecipe_ReturnsEmpty() {
+        assertTrue(recipeRepository.findLikeCountsById(-1L).isEmpty());
+    }
+
+    @Test
+    void findLikeStatsById_ReturnsCountersAndViewerVoteInOneQuery() {
+        Like dislike = new Like();
+        dislike.setUser(testUser);
+        dislike.setRecipe(testRecipe);
+        dislike.setIsLike(false);
+        entityManager.persistAndFlush(dislike);
+        recipeRepository.incrementLikeCounts(testRecipe.getId(), 4L, 1L);
+        entityManager.clear();
+
+        LikeStatsDto viewerStats = recipeRepository.findLikeStatsById(testRecipe.getId(), testUser.getId()).orElseThrow();
+        LikeStatsDto anonymousStats = recipeRepository.findLikeStatsById(testRecipe.getId(), null).orElseThrow();
+
+        assertEquals(new LikeStatsDto(4L, 1L, false, true), viewerStats);
+        assertEquals(new LikeStatsDto(4L, 1L, false, false), anonymousStats);
+        assertTrue(recipeRepository.findLikeStatsById(-1L, testUser.getId()).isEmpty());
+    }
+
+    @Test
+    void findVersionById_AggregatesCommentsAndViewerVote() {
+        Comment first = new Comment();
+        first.setText("First");
+        first.setRecipe(testRecipe);
+        first.setUser(testUser);
+        entityManager.persistAndFlush(first);
+        Comment second = new Comment();
+        second.setText("Second");
+        second.setRecipe(testRecipe);
+        second.setUser(testUser);
+        entityManager.persistAndFlush(second);
+        Like like = new Like();
+        like.setUser(testUser);
+        like.setRecipe(testRecipe);
+        like.setIsLike(true);
+        entityManager.persistAndFlush(like);
+        recipeRepository.incrementLikeCounts(testRecipe.getId(), 1L, 0L);
+        entityManager.clear();
+
+        RecipeVersionDto viewerVersion = recipeRepository.findVersionById(testRecipe.getId(), testUser.getId())
+                .orElseThrow();
+        RecipeVersionDto anonymousVersion = recipeRepository.findVersionById(testRecipe.getId(), null).orElseThrow();
+
+        assertEquals(testRecipe.getId(), viewerVersion.id());
+        assertEquals(testUser.getUsername(), viewerVersion.createdByUsername());
+        assertEquals(1L, viewerVersion.likesCount());
+        assertEquals(2L, viewerVersion.commentCount());
+        assertNotNull(viewerVersion.lastCommentAt());
+        assertEquals(Boolean.TRUE, viewerVersion.viewerLiked());
+        assertNull(anonymousVersion.viewerLiked());
+        assertTrue(recipeRepository.findVersionById(-1L, null).isEmpty());
+    }
+
+    @Test
+    void touchUpdatedAt_MovesRecipeVersionForward() {
+        LocalDateTime touchedAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        recipeRepository.touchUpdatedAt(testRecipe.getId(), touchedAt);
+        entityManager.clear();
+
+        assertEquals(touchedAt, recipeRepository.findVersionById(testRecipe.getId(), null).orElseThrow().updatedAt());
+    }
+
+    @Test
+    void findDetailById_FetchesAuthorAndIngredients() {
+        entityManager.clear();
+
+        Recipe recipe = recipeRepository.findDetailById(testRecipe.getId()).orElseThrow();
+        entityManager.detach(recipe);
+
+        assertEquals("testuser", recipe.getCreatedBy().getUsername());
+        assertEquals(1, recipe.getIngredients().size());
+    }
+
+    @Test
+    void searchHitsByTitle_ReturnsCardProjection() {
+        recipeRepository.incrementLikeCounts(testRecipe.getId(), 2L, 1L);
+        entityManager.clear();
+
+        Page<RecipeSearchHitDto> result = recipeRepository.searchHitsByTitle("TEST", PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(new RecipeSearchHitDto(testRecipe.getId(), "Test Recipe", "italian", null, 2L, 1L),
+                result.getContent().get(0));
+    }
+
+    @Test
+    void searchHitsByIngredient_MatchesEachRecipeOnce() {
+        Ingredient secondTomato = new Ingredient();
+        secondTomato.setName("cherry tomato");
+        secondTomato.setAmount(5.0);
+        secondTomato.setUnit("pieces");
+        secondTomato.setRecipe(testRecipe);
+        entityManager.persistAndFlush(secondTomato);
+
+        Page<RecipeSearchHitDto> result = recipeRepository.searchHitsByIngredient("tomato", PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        assertEquals(testRecipe.getId(), result.getContent().get(0).id());
+    }
+
+    @Test
+    void findUntaggedAfter_ReturnsOnlyRecipesWithUnlinkedTagText() {
+        Recipe untagged = new Recipe();
+        untagged.setTitle("Untagged Recipe");
+        untagged.setDescription("Untagged Description");
+        untagged.setTag("Quick, Vegan");
+        untagged.setCreatedBy(testUser);
+        entityManager.persistAndFlush(untagged);
+
+        Recipe withoutTagText = new Recipe();
+        withoutTagText.setTitle("Plain Recipe");
+        withoutTagText.setDescription("Plain Description");
+        withoutTagText.setCreatedBy(testUser);
+        entityManager.persistAndFlush(withoutTagText);
+
+        List<Recipe> result = recipeRepository.findUntaggedAfter(testRecipe.getId(), Limit.of(10));
+
+        assertEquals(List.of(untagged.getId()), result.stream().map(Recipe::getId).toList());
+        assertTrue(recipeRepository.findUntaggedAfter(untagged.getId(), Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void findNewestBefore_WalksAllRecipesWithSameCreatedAtWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 4; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setTitle("Recipe " + i);
+            recipe.setDescription("Description " + i);
+            recipe.setCreatedBy(testUser);
+            entityManager.persist(recipe);
+        }
+        entityManager.flush();
+        entityManager.getEntityManager().createQuery("UPDATE Recipe r SET r.createdAt = :createdAt")
+                .setParameter("createdAt", testRecipe.getCreatedAt())
+                .executeUpdate();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        List<Recipe> page = recipeRepository.findNewest(Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(recipe -> seen.add(recipe.getId()));
+            Recipe last = page.get(page.size() - 1);
+            page = recipeRepository.findNewestBefore(last.getCreatedAt(), last.getId(), Limit.of(2));
+        }
+
+        assertEquals(5, seen.size());
+        assertEquals(seen.stream().sorted((a, b) -> Long.compare(b, a)).toList(), seen);
+    }
+
+    @Test
+    void findNewestHitsByTitleBefore_WalksOnlyMatchingRecipesWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 5; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setTitle(i % 2 == 0 ? "Tomato Soup " + i : "Green Salad " + i);
+            recipe.setDescription("Description " + i);
+            recipe.setCreatedBy(testUser);
+            entityManager.persist(recipe);
+        }
+        entityManager.flush();
+        entityManager.getEntityManager().createQuery("UPDATE Recipe r SET r.createdAt = :createdAt")
+                .setParameter("createdAt", testRecipe.getCreatedAt())
+                .executeUpdate();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        List<RecipeCursorHitDto> page = recipeRepository.findNewestHitsByTitle("tomato soup", Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(hit -> seen.add(hit.id()));
+            RecipeCursorHitDto last = page.get(page.size() - 1);
+            page = recipeRepository.findNewestHitsByTitleBefore("tomato soup", last.createdAt(), last.id(),
+                    Limit.of(2));
+        }
+
+        assertEquals(3, seen.size());
+        assertEquals(seen.stream().sorted((a, b) -> Long.compare(b, a)).toList(), seen);
+    }
+
+    @Test
+    void findNewestHitsByIngredientBefore_SeeksPastTheCursorAndMatchesEachRecipeOnce() {
+        Ingredient second = new Ingredient();
+        second.setName("cherry tomato");
+        second.setAmount(1.0);
+        second.setUnit("cup");
+        second.setRecipe(testRecipe);
+        entityManager.persist(second);
+        Recipe older = new Recipe();
+        older.setTitle("Older Recipe");
+        older.setDescription("Older Description");
+        older.setCreatedBy(testUser);
+        entityManager.persist(older);
+        Ingredient olderTomato = new Ingredient();
+        olderTomato.setName("tomato");
+        olderTomato.setAmount(1.0);
+        olderTomato.setUnit("piece");
+        olderTomato.setRecipe(older);
+        entityManager.persist(olderTomato);
+        entityManager.flush();
+        entityManager.getEntityManager().createQuery("UPDATE Recipe r SET r.createdAt = :createdAt WHERE r.id = :id")
+                .setParameter("createdAt", testRecipe.getCreatedAt().minusDays(1))
+                .setParameter("id", older.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        List<RecipeCursorHitDto> first = recipeRepository.findNewestHitsByIngredient("TOMATO", Limit.of(1));
+        assertEquals(List.of(testRecipe.getId()), first.stream().map(RecipeCursorHitDto::id).toList());
+        assertEquals("Test Recipe", first.get(0).title());
+
+        RecipeCursorHitDto last = first.get(0);
+        List<RecipeCursorHitDto> next = recipeRepository.findNewestHitsByIngredientBefore("tomato", last.createdAt(),
+                last.id(), Limit.of(10));
+        assertEquals(List.of(older.getId()), next.stream().map(RecipeCursorHitDto::id).toList());
+    }
 }
@@ -0,0 +1,387 @@
+package femcoders25.mykitchen_hub.integration;
+
+import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
+import femcoders25.mykitchen_hub.ingredient.repository.IngredientRepository;
+import femcoders25.mykitchen_hub.like.service.LikeService;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
+import femcoders25.mykitchen_hub.recipe.dto.SearchTotal;
+import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.recipe.service.RecipeService;
+import femcoders25.mykitchen_hub.search.dto.FacetedSearchResultDto;
+import femcoders25.mykitchen_hub.search.dto.IngredientFacetDto;
+import femcoders25.mykitchen_hub.search.dto.PantryMatchDto;
+import femcoders25.mykitchen_hub.search.dto.RecipeSearchCriteria;
+import femcoders25.mykitchen_hub.search.dto.SuggestionDto;
+import femcoders25.mykitchen_hub.search.service.RecipeIndexer;
+import femcoders25.mykitchen_hub.search.service.RecipeSearchService;
+import femcoders25.mykitchen_hub.tag.service.TagService;
+import femcoders25.mykitchen_hub.user.entity.Role;
+import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RecipeSearchIntegrationTest {
+
+    @Autowired
+    private RecipeSearchService recipeSearchService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecipeIndexer recipeIndexer;
+
+    @Autowired
+    private LikeService likeService;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        recipeIndexer.awaitIndexed();
+        author = new User();
+        author.setUsername("searchauthor");
+        author.setEmail("searchauthor@example.com");
+        author.setPassword("password");
+        author.setRole(Role.USER);
+        author = userRepository.save(author);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.findAll().stream()
+                .filter(recipe -> recipe.getCreatedBy().getId().equals(author.getId()))
+                .forEach(recipe -> {
+                    recipeRepository.delete(recipe);
+                    eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+                });
+        userRepository.delete(author);
+        recipeIndexer.awaitIndexed();
+    }
+
+    @Test
+    void committedChanges_AreSearchableUpdatedAndRemoved() {
+        Recipe recipe = saveAndPublish("Zucchini Fritters", "Crispy grated zucchini patties");
+
+        assertEquals(List.of(recipe.getId()), searchIds("zucchini"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe managed = recipeRepository.findById(recipe.getId()).orElseThrow();
+            managed.setTitle("Courgette Fritters");
+            managed.setDescription("Crispy grated courgette patties");
+            eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+        });
+        recipeIndexer.awaitIndexed();
+
+        assertTrue(searchIds("zucchini").isEmpty());
+        assertEquals(List.of(recipe.getId()), searchIds("courgettes"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recipeRepository.deleteById(recipe.getId());
+            eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+        });
+        recipeIndexer.awaitIndexed();
+
+        assertTrue(searchIds("courgette").isEmpty());
+    }
+
+    @Test
+    void rolledBackChange_IsNotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.save(newRecipe("Rhubarb Crumble", "Tart rhubarb under oats"));
+            eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+            status.setRollbackOnly();
+        });
+        recipeIndexer.awaitIndexed();
+
+        assertTrue(searchIds("rhubarb").isEmpty());
+    }
+
+    @Test
+    void cachedTitleSearch_StaysCorrectAfterCommittedWrites() {
+        Recipe first = saveAndPublish("Tamarind Chutney", "Sweet and sour dipping sauce");
+        assertEquals(List.of(first.getId()), titleHitIds("tamarind"));
+        assertEquals(List.of(first.getId()), titleHitIds("  TAMARIND "));
+
+        Recipe second = saveAndPublish("Tamarind Rice", "Tangy rice with peanuts and curry leaves");
+        assertEquals(Set.of(first.getId(), second.getId()), Set.copyOf(titleHitIds("tamarind")));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recipeRepository.deleteById(first.getId());
+            eventPublisher.publishEvent(new RecipeChangedEvent(first.getId()));
+        });
+        recipeIndexer.awaitIndexed();
+        assertEquals(List.of(second.getId()), titleHitIds("tamarind"));
+    }
+
+    @Test
+    void titleAndIngredientSearch_WithoutTotal_ReturnSlicesThatKnowWhetherMoreFollow() {
+        saveAndPublish("Sumac Onions", "Quick pickled onions", "Red onion", "Sumac");
+        saveAndPublish("Sumac Chicken", "Roast chicken with flatbread", "Chicken thighs", "Sumac");
+
+        Slice<RecipeSearchHitDto> first = recipeService.searchRecipeHitsByTitle("sumac", PageRequest.of(0, 1),
+                SearchTotal.NONE);
+        Slice<RecipeSearchHitDto> second = recipeService.searchRecipeHitsByTitle("sumac", PageRequest.of(1, 1),
+                SearchTotal.NONE);
+        Slice<RecipeSearchHitDto> ingredient = recipeService.searchRecipeHitsByIngredient("SUMAC",
+                PageRequest.of(0, 1), SearchTotal.APPROXIMATE);
+
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertEquals(1, second.getNumberOfElements());
+        assertEquals(2, ((Page<RecipeSearchHitDto>) ingredient).getTotalElements());
+        assertEquals(2, recipeRepository.countByTitleContaining("sumac"));
+    }
+
+    @Test
+    void search_RanksTitleHitsFirst() {
+        Recipe mention = saveAndPublish("Green Salad", "Finish with a little quinoa");
+        Recipe titled = saveAndPublish("Quinoa Bowl", "Grain bowl with roasted vegetables");
+
+        assertEquals(List.of(titled.getId(), mention.getId()), searchIds("quinoa"));
+    }
+
+    @Test
+    void search_MisspeltQuery_FallsBackToSimilarTitlesAndIngredients() {
+        Recipe crisps = saveAndPublish("Parmesan Crisps", "Baked cheese wafers for snacking", "Parmigiano");
+        Recipe salad = saveAndPublish("Caesar Salad", "Romaine with croutons and dressing", "Romaine", "Parmesan");
+
+        assertEquals(Set.of(crisps.getId(), salad.getId()), Set.copyOf(searchIds("parmesean")));
+        assertEquals(List.of(salad.getId()), searchIds("ceasar"));
+    }
+
+    @Test
+    void ingredientQuery_TracksIngredientChanges() {
+        Recipe recipe = saveAndPublish("Weeknight Stew", "A slow one-pot braise", "Lamb shoulder", "Juniper berries");
+
+        assertEquals(List.of(recipe.getId()), ingredientSearchIds("lamb AND juniper"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName("Sour cream");
+            ingredient.setAmount(100.0);
+            ingredient.setUnit("g");
+            ingredient.setRecipe(recipeRepository.findById(recipe.getId()).orElseThrow());
+            ingredientRepository.save(ingredient);
+            eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+        });
+        recipeIndexer.awaitIndexed();
+
+        assertTrue(ingredientSearchIds("lamb AND juniper NOT cream").isEmpty());
+        assertEquals(List.of(recipe.getId()), ingredientSearchIds("juniper AND sour cream"));
+    }
+
+    @Test
+    void facetedSearch_CombinesFiltersAndCountsFacets() {
+        Recipe curry = saveAndPublish("Quinoa Curry Bowl", "Weeknight curry with quinoa", "Quinoa", "Garlic");
+        Recipe salad = saveAndPublish("Quinoa Salad", "Fresh salad with quinoa and garlic dressing", "Quinoa",
+                "Garlic", "Cucumber");
+        saveAndPublish("Garlic Bread", "Crusty bread with garlic butter", "Garlic", "Butter");
+
+        FacetedSearchResultDto result = recipeSearchService.facetedSearch(
+                new RecipeSearchCriteria("quinoa", "garlic", null, "SearchAuthor", LocalDate.now()),
+                PageRequest.of(0, 10));
+
+        assertEquals(2, result.recipes().getTotalElements());
+        assertEquals(Set.of(curry.getId(), salad.getId()), result.recipes().getContent().stream()
+                .map(RecipeSearchHitDto::id)
+                .collect(Collectors.toSet()));
+        assertEquals(List.of(new IngredientFacetDto("Garlic", 2), new IngredientFacetDto("Quinoa", 2),
+                new IngredientFacetDto("Cucumber", 1)), result.ingredientFacets());
+
+        assertEquals(0, recipeSearchService.facetedSearch(
+                new RecipeSearchCriteria("quinoa", null, null, "someone-else", null),
+                PageRequest.of(0, 10)).recipes().getTotalElements());
+    }
+
+    @Test
+    void pantrySearch_RanksByCoverageAndListsMissingIngredients() {
+        Recipe full = saveAndPublish("Pantry Porridge", "Oats simmered in plenty of milk", "Rolled oats", "Oat milk");
+        Recipe partial = saveAndPublish("Pantry Flapjacks", "Chewy baked oat bars with syrup", "Rolled oats",
+                "Golden syrup", "Butter");
+
+        Page<PantryMatchDto> result = recipeSearchService.searchByPantry(List.of("rolled oats", "oat milk"),
+                PageRequest.of(0, 10));
+
+        List<PantryMatchDto> ours = result.getContent().stream()
+                .filter(match -> Set.of(full.getId(), partial.getId()).contains(match.recipe().id()))
+                .toList();
+        assertEquals(List.of(full.getId(), partial.getId()), ours.stream().map(match -> match.recipe().id()).toList());
+        assertEquals(1.0, ours.get(0).coverage());
+        assertEquals(List.of("Golden syrup", "Butter"), ours.get(1).missingIngredients());
+    }
+
+    @Test
+    void suggestions_TrackCommittedChanges() {
+        Recipe recipe = saveAndPublish("Quokka Cake", "A cake named after a very happy animal", "Quokkaberry jam");
+
+        assertEquals(List.of("Quokka Cake", "Quokkaberry jam"), suggestionTexts("quok"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recipeRepository.deleteById(recipe.getId());
+            eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+        });
+        recipeIndexer.awaitIndexed();
+
+        assertTrue(suggestionTexts("quok").isEmpty());
+    }
+
+    @Test
+    void suggestions_RerankAfterCommittedVotes() {
+        saveAndPublish("Quokka Cake", "A cake named after a very happy animal");
+        Recipe pie = saveAndPublish("Quokka Pie", "A pie named after a very happy animal");
+
+        assertEquals(List.of("Quokka Cake", "Quokka Pie"), suggestionTexts("quokka"));
+
+        likeService.likeRecipe(author.getId(), pie.getId());
+        recipeIndexer.awaitIndexed();
+
+        assertEquals(List.of("Quokka Pie", "Quokka Cake"), suggestionTexts("quokka"));
+    }
+
+    @Test
+    void tagFilter_TracksCommittedTagChanges() {
+        Recipe recipe = transactionTemplate.execute(status -> {
+            Recipe saved = newRecipe("Midweek Dal", "Red lentils simmered with spices");
+            saved.setTag("Zesty Weeknight, Lentil Dish");
+            saved.setTags(tagService.resolveTags(saved.getTag()));
+            saved = recipeRepository.save(saved);
+            eventPublisher.publishEvent(new RecipeChangedEvent(saved.getId()));
+            return saved;
+        });
+        recipeIndexer.awaitIndexed();
+
+        assertEquals(List.of(recipe.getId()), tagSearchIds("zesty weeknight", "LENTIL DISH"));
+        assertTrue(tagSearchIds("zesty").isEmpty());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe managed = recipeRepository.findById(recipe.getId()).orElseThrow();
+            managed.setTags(tagService.resolveTags("Lentil Dish"));
+            eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+        });
+        recipeIndexer.awaitIndexed();
+
+        assertTrue(tagSearchIds("zesty weeknight").isEmpty());
+        assertTrue(recipeSearchService.tagFacets(List.of("lentil dish")).stream()
+                .anyMatch(facet -> facet.slug().equals("lentil-dish") && facet.count() >= 1));
+    }
+
+    @Test
+    void expandedTagSearch_MatchesEveryTagLikeTheSlimSearch() {
+        Recipe recipe = transactionTemplate.execute(status -> {
+            Recipe saved = newRecipe("Pasta Bake", "Baked rigatoni with cheese");
+            saved.setTag("Oven Supper, Pasta Night, Quick");
+            saved.setTags(tagService.resolveTags(saved.getTag()));
+            saved = recipeRepository.save(saved);
+            eventPublisher.publishEvent(new RecipeChangedEvent(saved.getId()));
+            return saved;
+        });
+        recipeIndexer.awaitIndexed();
+
+        Page<RecipeResponseDto> expanded = recipeService.searchRecipesByTag(List.of("OVEN SUPPER", "pasta night"),
+                PageRequest.of(0, 10));
+
+        assertEquals(tagSearchIds("OVEN SUPPER", "pasta night"),
+                expanded.getContent().stream().map(RecipeResponseDto::id).toList());
+        assertEquals(List.of(recipe.getId()), expanded.getContent().stream().map(RecipeResponseDto::id).toList());
+        assertEquals("Baked rigatoni with cheese", expanded.getContent().get(0).description());
+        assertEquals(0, recipeService.searchRecipesByTag(List.of("oven"), PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private Recipe saveAndPublish(String title, String description, String... ingredientNames) {
+        Recipe saved = transactionTemplate.execute(status -> {
+            Recipe recipe = recipeRepository.save(newRecipe(title, description));
+            for (String name : ingredientNames) {
+                Ingredient ingredient = new Ingredient();
+                ingredient.setName(name);
+                ingredient.setAmount(1.0);
+                ingredient.setUnit("unit");
+                ingredient.setRecipe(recipe);
+                ingredientRepository.save(ingredient);
+            }
+            eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+            return recipe;
+        });
+        recipeIndexer.awaitIndexed();
+        return saved;
+    }
+
+    private Recipe newRecipe(String title, String description) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(title);
+        recipe.setDescription(description);
+        recipe.setTag("Test");
+        recipe.setCreatedBy(author);
+        return recipe;
+    }
+
+    private List<String> suggestionTexts(String prefix) {
+        return recipeSearchService.suggest(prefix, 10).stream()
+                .map(SuggestionDto::text)
+                .toList();
+    }
+
+    private List<Long> tagSearchIds(String... tags) {
+        return recipeSearchService.searchByTags(List.of(tags), PageRequest.of(0, 10)).getContent().stream()
+                .map(RecipeSearchHitDto::id)
+                .toList();
+    }
+
+    private List<Long> ingredientSearchIds(String query) {
+        return recipeSearchService.searchByIngredients(query, PageRequest.of(0, 10)).getContent().stream()
+                .map(RecipeSearchHitDto::id)
+                .toList();
+    }
+
+    private List<Long> searchIds(String query) {
+        return recipeSearchService.search(query, PageRequest.of(0, 10)).getContent().stream()
+                .map(RecipeSearchHitDto::id)
+                .toList();
+    }
+
+    private List<Long> titleHitIds(String title) {
+        return recipeService.searchRecipeHitsByTitle(title, PageRequest.of(0, 10)).getContent().stream()
+                .map(RecipeSearchHitDto::id)
+                .toList();
+    }
+}
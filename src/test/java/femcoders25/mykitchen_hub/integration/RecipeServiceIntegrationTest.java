@@ -1,12 +1,23 @@
 package femcoders25.mykitchen_hub.integration;
 
+import femcoders25.mykitchen_hub.comment.entity.Comment;
+import femcoders25.mykitchen_hub.ingredient.dto.IngredientDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeCreateDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.entity.Recipe;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
 import femcoders25.mykitchen_hub.recipe.service.RecipeService;
+import femcoders25.mykitchen_hub.tag.entity.Tag;
+import femcoders25.mykitchen_hub.tag.repository.TagRepository;
+import femcoders25.mykitchen_hub.tag.service.RecipeTagBackfill;
 import femcoders25.mykitchen_hub.user.dto.UserRegistrationDto;
+import femcoders25.mykitchen_hub.user.entity.Role;
+import femcoders25.mykitchen_hub.user.entity.User;
 import femcoders25.mykitchen_hub.user.repository.UserRepository;
 import femcoders25.mykitchen_hub.user.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +49,15 @@ class RecipeServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RecipeTagBackfill recipeTagBackfill;
+
+    @Autowired
+    private TagRepository tagRepository;
+
     private RecipeCreateDto testRecipeCreate;
 
     @BeforeEach
@@ -101,6 +121,50 @@ class RecipeServiceIntegrationTest {
         assertEquals("Test Recipe", result.title());
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void getRecipeById_WithManyComments_UsesConstantNumberOfStatements() {
+        RecipeCreateDto withIngredients = new RecipeCreateDto(
+                "Loaded Recipe",
+                "Recipe with ingredients and comments",
+                List.of(new IngredientDto("flour", 200.0, "g"), new IngredientDto("sugar", 100.0, "g")),
+                null,
+                "baking");
+        RecipeResponseDto createdRecipe = recipeService.createRecipe(withIngredients);
+        Recipe recipe = entityManager.find(Recipe.class, createdRecipe.id());
+
+        for (int i = 0; i < 20; i++) {
+            User commenter = new User();
+            commenter.setUsername("commenter" + i);
+            commenter.setEmail("commenter" + i + "@example.com");
+            commenter.setPassword("password");
+            commenter.setRole(Role.USER);
+            entityManager.persist(commenter);
+
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setRecipe(recipe);
+            comment.setUser(commenter);
+            entityManager.persist(comment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        RecipeResponseDto result = recipeService.getRecipeById(createdRecipe.id());
+
+        assertEquals(2, result.ingredients().size());
+        assertEquals(20, result.comments().size());
+        assertEquals("commenter0", result.comments().get(0).username());
+        assertEquals("testuser", result.createdByUsername());
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "Expected at most 4 statements but was " + statistics.getPrepareStatementCount());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void searchRecipesByIngredient_ExistingIngredient_ReturnsRecipes() {
@@ -113,15 +177,44 @@ class RecipeServiceIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
-    void searchRecipesByTag_ExistingTag_ReturnsRecipes() {
-        recipeService.createRecipe(testRecipeCreate);
+    void insertIgnoringDuplicate_ExistingSlug_SkipsTheRowAndKeepsTheTransactionUsable() {
+        assertEquals(1, tagRepository.insertIgnoringDuplicate("Weeknight", "weeknight"));
+        assertEquals(0, tagRepository.insertIgnoringDuplicate("WEEKNIGHT", "weeknight"));
 
-        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag(
-                "italian", PageRequest.of(0, 10));
+        List<Tag> tags = tagRepository.lockBySlugIn(List.of("weeknight"));
+        assertEquals(1, tags.size());
+        assertEquals("Weeknight", tags.get(0).getName());
+    }
 
-        assertEquals(1, result.getTotalElements());
-        assertEquals("italian", result.getContent().get(0).tag());
+    @Test
+    void tagBackfill_LinksFreeTextTagsToSharedDictionaryEntries() {
+        User author = userRepository.findByUsername("testuser").orElseThrow();
+        Recipe first = saveRecipeWithTagText(author, "Italian, Pasta");
+        Recipe second = saveRecipeWithTagText(author, "pasta , Quick, ");
+
+        recipeTagBackfill.run(null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("italian", "pasta"), tagSlugs(first.getId()));
+        assertEquals(List.of("pasta", "quick"), tagSlugs(second.getId()));
+        assertEquals(1, tagRepository.findBySlugIn(List.of("pasta")).size());
+    }
+
+    private Recipe saveRecipeWithTagText(User author, String tag) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Backfill Recipe");
+        recipe.setDescription("Test Description");
+        recipe.setTag(tag);
+        recipe.setCreatedBy(author);
+        return recipeRepository.save(recipe);
+    }
+
+    private List<String> tagSlugs(Long recipeId) {
+        return recipeRepository.findById(recipeId).orElseThrow().getTags().stream()
+                .map(Tag::getSlug)
+                .sorted()
+                .toList();
     }
 
     @Test
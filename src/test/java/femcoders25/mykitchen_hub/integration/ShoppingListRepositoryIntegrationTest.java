@@ -1,5 +1,6 @@
 package femcoders25.mykitchen_hub.integration;
 
+import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListsVersionDto;
 import femcoders25.mykitchen_hub.shoppinglist.entity.ShoppingList;
 import femcoders25.mykitchen_hub.shoppinglist.repository.ShoppingListRepository;
 import femcoders25.mykitchen_hub.user.entity.Role;
@@ -11,7 +12,9 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,24 +47,24 @@ class ShoppingListRepositoryIntegrationTest {
     }
 
     @Test
-    void findByGeneratedByOrderByCreatedAtDesc_ExistingUser_ReturnsShoppingLists() {
-        List<ShoppingList> result = shoppingListRepository.findByGeneratedByOrderByCreatedAtDesc(testUser);
+    void findByGeneratedByIdOrderByCreatedAtDesc_ExistingUser_ReturnsShoppingLists() {
+        List<ShoppingList> result = shoppingListRepository.findByGeneratedByIdOrderByCreatedAtDesc(testUser.getId());
         
         assertEquals(1, result.size());
         assertEquals("Test Shopping List", result.get(0).getName());
     }
 
     @Test
-    void findByGeneratedByAndNameContainingIgnoreCaseOrderByCreatedAtDesc_ExistingName_ReturnsShoppingList() {
-        List<ShoppingList> result = shoppingListRepository.findByGeneratedByAndNameContainingIgnoreCaseOrderByCreatedAtDesc(testUser, "test");
+    void findByGeneratedByIdAndNameContainingIgnoreCaseOrderByCreatedAtDesc_ExistingName_ReturnsShoppingList() {
+        List<ShoppingList> result = shoppingListRepository.findByGeneratedByIdAndNameContainingIgnoreCaseOrderByCreatedAtDesc(testUser.getId(), "test");
         
         assertEquals(1, result.size());
         assertEquals("Test Shopping List", result.get(0).getName());
     }
 
     @Test
-    void findByGeneratedByAndNameContainingIgnoreCaseOrderByCreatedAtDesc_NonExistingName_ReturnsEmpty() {
-        List<ShoppingList> result = shoppingListRepository.findByGeneratedByAndNameContainingIgnoreCaseOrderByCreatedAtDesc(testUser, "nonexistent");
+    void findByGeneratedByIdAndNameContainingIgnoreCaseOrderByCreatedAtDesc_NonExistingName_ReturnsEmpty() {
+        List<ShoppingList> result = shoppingListRepository.findByGeneratedByIdAndNameContainingIgnoreCaseOrderByCreatedAtDesc(testUser.getId(), "nonexistent");
         
         assertTrue(result.isEmpty());
     }
@@ -78,4 +81,39 @@ class ShoppingListRepositoryIntegrationTest {
         assertEquals("New Shopping List", saved.getName());
         assertEquals(testUser, saved.getGeneratedBy());
     }
+
+    @Test
+    void findUpdatedAtByIdAndOwnerId_OnlyMatchesOwner() {
+        User otherUser = new User();
+        otherUser.setUsername("otheruser");
+        otherUser.setEmail("other@example.com");
+        otherUser.setPassword("password");
+        otherUser.setRole(Role.USER);
+        entityManager.persistAndFlush(otherUser);
+        entityManager.clear();
+
+        Optional<LocalDateTime> ownerView = shoppingListRepository
+                .findUpdatedAtByIdAndOwnerId(testShoppingList.getId(), testUser.getId());
+
+        assertTrue(ownerView.isPresent());
+        assertTrue(shoppingListRepository.findUpdatedAtByIdAndOwnerId(testShoppingList.getId(), otherUser.getId())
+                .isEmpty());
+    }
+
+    @Test
+    void findVersionByOwnerId_CountsListsAndNewestUpdate() {
+        ShoppingList newer = new ShoppingList();
+        newer.setName("Newer List");
+        newer.setGeneratedBy(testUser);
+        entityManager.persistAndFlush(newer);
+        entityManager.clear();
+
+        ShoppingListsVersionDto version = shoppingListRepository.findVersionByOwnerId(testUser.getId());
+        ShoppingListsVersionDto empty = shoppingListRepository.findVersionByOwnerId(-1L);
+
+        assertEquals(2L, version.count());
+        assertEquals(shoppingListRepository.findById(newer.getId()).orElseThrow().getUpdatedAt(), version.lastUpdatedAt());
+        assertEquals(0L, empty.count());
+        assertNull(empty.lastUpdatedAt());
+    }
 }
@@ -0,0 +1,80 @@
+package femcoders25.mykitchen_hub.integration;
+
+import femcoders25.mykitchen_hub.MyKitchenHubApplication;
+import femcoders25.mykitchen_hub.auth.entity.RevokedToken;
+import femcoders25.mykitchen_hub.auth.repository.RevokedTokenRepository;
+import femcoders25.mykitchen_hub.auth.service.JwtService;
+import femcoders25.mykitchen_hub.auth.service.TokenRevocationPoller;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application instances sharing one H2 database, as several nodes behind a load balancer share one MySQL.
+ */
+class TokenRevocationIntegrationTest {
+
+    private final UserDetails chef = User.withUsername("chef").password("secret").authorities("ROLE_USER").build();
+
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+
+    @BeforeEach
+    void setUp() {
+        String database = "jdbc:h2:mem:revocations-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        first = start(database);
+        second = start(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        second.close();
+        first.close();
+    }
+
+    @Test
+    void revokeToken_OnOneInstance_RejectedByTheOtherAfterItRefreshes() {
+        String token = first.getBean(JwtService.class).generateToken(chef);
+        JwtService otherJwtService = second.getBean(JwtService.class);
+        assertTrue(otherJwtService.isTokenValid(token, chef));
+
+        first.getBean(JwtService.class).revokeToken(token);
+        second.getBean(TokenRevocationPoller.class).poll();
+
+        assertFalse(first.getBean(JwtService.class).isTokenValid(token, chef));
+        assertFalse(otherJwtService.isTokenValid(token, chef));
+    }
+
+    @Test
+    void purgeExpired_DeletesOnlyExpiredRevocationsInBatches() {
+        RevokedTokenRepository repository = first.getBean(RevokedTokenRepository.class);
+        Instant now = Instant.now();
+        IntStream.range(0, 1200).forEach(i ->
+                repository.save(new RevokedToken(null, "expired-" + i, now.minus(1, ChronoUnit.MINUTES))));
+        repository.save(new RevokedToken(null, "live", now.plus(1, ChronoUnit.HOURS)));
+
+        first.getBean(TokenRevocationPoller.class).purge();
+
+        assertEquals(1, repository.count());
+        assertEquals("live", repository.findAll().getFirst().getTokenId());
+    }
+
+    private ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(MyKitchenHubApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + database,
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--jwt.revocation.polling-enabled=true");
+    }
+}
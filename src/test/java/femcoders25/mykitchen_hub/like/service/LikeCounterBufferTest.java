@@ -0,0 +1,269 @@
+package femcoders25.mykitchen_hub.like.service;
+
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
+import femcoders25.mykitchen_hub.like.event.RecipeLikesChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeCounterBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LikeCounterBuffer likeCounterBuffer;
+
+    @BeforeEach
+    void setUp() {
+        likeCounterBuffer = new LikeCounterBuffer(jdbcTemplate, transactionManager, eventPublisher, true);
+    }
+
+    @Test
+    void merge_ShouldAddPendingDeltasToPersistedCounts() {
+        likeCounterBuffer.add(1L, 1L, 0L);
+        likeCounterBuffer.add(1L, 1L, 0L);
+        likeCounterBuffer.add(1L, -1L, 1L);
+
+        LikeCountsDto result = likeCounterBuffer.merge(1L, new LikeCountsDto(10L, 2L));
+
+        assertEquals(new LikeCountsDto(11L, 3L), result);
+    }
+
+    @Test
+    void merge_WithoutPendingDeltas_ShouldReturnPersistedCounts() {
+        LikeCountsDto persisted = new LikeCountsDto(10L, 2L);
+
+        assertSame(persisted, likeCounterBuffer.merge(1L, persisted));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteAllPendingDeltasInOneBatchAndDrainThem() {
+        likeCounterBuffer.add(1L, 2L, 0L);
+        likeCounterBuffer.add(2L, 0L, 1L);
+
+        likeCounterBuffer.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(new LikeCountsDto(0L, 0L), likeCounterBuffer.merge(1L, new LikeCountsDto(0L, 0L)));
+        ArgumentCaptor<RecipeLikesChangedEvent> event = ArgumentCaptor.forClass(RecipeLikesChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(event.getValue().recipeIds()));
+
+        likeCounterBuffer.flush();
+
+        verifyNoMoreInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldKeepDeltasForNextFlush() {
+        likeCounterBuffer.add(1L, 3L, 1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        likeCounterBuffer.flush();
+
+        assertEquals(new LikeCountsDto(3L, 1L), likeCounterBuffer.merge(1L, new LikeCountsDto(0L, 0L)));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void flush_ShouldDropRecipesOnceTheirDeltasAreFlushed() {
+        likeCounterBuffer.add(1L, 1L, 0L);
+        likeCounterBuffer.add(2L, 1L, 0L);
+        likeCounterBuffer.add(2L, -1L, 0L);
+
+        likeCounterBuffer.flush();
+
+        assertEquals(0, likeCounterBuffer.pendingRecipes());
+    }
+
+    @Test
+    void flush_ShouldKeepDeltasAddedWhileTheBatchWasWritten() {
+        likeCounterBuffer.add(1L, 2L, 0L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            assertEquals(new LikeCountsDto(2L, 0L), likeCounterBuffer.merge(1L, new LikeCountsDto(0L, 0L)));
+            likeCounterBuffer.add(1L, 1L, 0L);
+            return new int[]{1};
+        });
+
+        likeCounterBuffer.flush();
+
+        assertEquals(new LikeCountsDto(1L, 0L), likeCounterBuffer.merge(1L, new LikeCountsDto(0L, 0L)));
+    }
+
+    @Test
+    void merge_InsideVoteTransaction_ShouldIncludeItsOwnVoteBeforeCommit() {
+        likeCounterBuffer.add(1L, 2L, 0L);
+
+        inTransaction(true, () -> {
+            likeCounterBuffer.add(1L, 1L, 0L);
+            assertEquals(new LikeCountsDto(13L, 2L), likeCounterBuffer.merge(1L, new LikeCountsDto(10L, 2L)));
+        });
+
+        assertEquals(new LikeCountsDto(13L, 2L), likeCounterBuffer.merge(1L, new LikeCountsDto(10L, 2L)));
+    }
+
+    @Test
+    void add_InsideRolledBackTransaction_ShouldBufferNothing() {
+        inTransaction(false, () -> likeCounterBuffer.add(1L, 1L, 0L));
+
+        assertEquals(0, likeCounterBuffer.pendingRecipes());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWaitForVotesBetweenCommitAndBuffer() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> vote = CompletableFuture.runAsync(() -> inTransaction(true, () -> {
+            likeCounterBuffer.add(1L, 1L, 0L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+            committing.countDown();
+            await(commit);
+        }, false));
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(likeCounterBuffer::flush);
+        assertThrows(TimeoutException.class, () -> flush.get(200, TimeUnit.MILLISECONDS));
+
+        commit.countDown();
+        vote.get(5, TimeUnit.SECONDS);
+        flush.get(5, TimeUnit.SECONDS);
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertArrayEquals(new Object[]{1L, 0L, 1L}, captor.getValue().get(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recount_ShouldWriteCountsMinusDeltasNotYetFlushed() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        likeCounterBuffer.add(1L, 2L, 1L);
+        likeCounterBuffer.add(20L, 1L, 0L);
+
+        int updated = likeCounterBuffer.recount(1L, 10L,
+                () -> Map.of(1L, new LikeCountsDto(5L, 3L), 2L, LikeCountsDto.EMPTY));
+
+        assertEquals(2, updated);
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE recipes SET likes_count = ?, dislikes_count = ? WHERE id = ?"),
+                captor.capture());
+        assertEquals(Set.of(List.of(3L, 2L, 1L), List.of(0L, 0L, 2L)),
+                captor.getValue().stream().map(List::of).collect(Collectors.toSet()));
+        assertEquals(new LikeCountsDto(2L, 1L), likeCounterBuffer.merge(1L, new LikeCountsDto(0L, 0L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recount_ShouldSkipRecipesVotedOnWhileCountingWithoutHoldingTheVoteBack() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        int updated = likeCounterBuffer.recount(1L, 10L, () -> {
+            CompletableFuture.runAsync(() -> inTransaction(true, () -> likeCounterBuffer.add(1L, 1L, 0L))).join();
+            return Map.of(1L, new LikeCountsDto(1L, 0L), 2L, new LikeCountsDto(4L, 0L));
+        });
+
+        assertEquals(1, updated);
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertArrayEquals(new Object[]{4L, 0L, 2L}, captor.getValue().get(0));
+        assertEquals(new LikeCountsDto(1L, 0L), likeCounterBuffer.merge(1L, new LikeCountsDto(0L, 0L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recount_ShouldSkipRecipesWithAVoteInFlight() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        inTransaction(true, () -> {
+            likeCounterBuffer.add(1L, 1L, 0L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+
+            assertEquals(1, likeCounterBuffer.recount(1L, 10L,
+                    () -> Map.of(1L, new LikeCountsDto(1L, 0L), 2L, LikeCountsDto.EMPTY)));
+        }, false);
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertArrayEquals(new Object[]{0L, 0L, 2L}, captor.getValue().get(0));
+        assertEquals(new LikeCountsDto(1L, 0L), likeCounterBuffer.merge(1L, new LikeCountsDto(0L, 0L)));
+    }
+
+    @Test
+    void flushOnShutdown_ShouldFlushPendingDeltas() {
+        likeCounterBuffer.add(1L, 1L, 0L);
+
+        likeCounterBuffer.flushOnShutdown();
+
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE recipes SET likes_count = likes_count + ?, dislikes_count = dislikes_count + ? WHERE id = ?"), anyList());
+    }
+
+    private static void inTransaction(boolean commit, Runnable work) {
+        inTransaction(commit, work, true);
+    }
+
+    private static void inTransaction(boolean commit, Runnable work, boolean beforeCommit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit && beforeCommit) {
+                synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            }
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package femcoders25.mykitchen_hub.like.service;
 
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
 import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
+import femcoders25.mykitchen_hub.like.dto.RecipeVoteCount;
 import femcoders25.mykitchen_hub.like.entity.Like;
+import femcoders25.mykitchen_hub.like.event.RecipeLikesChangedEvent;
 import femcoders25.mykitchen_hub.like.repository.LikeRepository;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
@@ -16,11 +19,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +48,18 @@ class LikeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Mock
+    private LikeCounterBuffer likeCounterBuffer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private LikeService likeService;
 
@@ -69,11 +94,8 @@ class LikeServiceTest {
     void likeRecipe_WhenNoExistingLike_ShouldCreateNewLike() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.findByUserAndRecipe(user, recipe))
-                .thenReturn(Optional.empty())
-                .thenReturn(Optional.of(existingLike));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(1L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(0L);
+        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.empty());
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(1L, 0L, true, false)));
         when(likeRepository.save(any(Like.class))).thenReturn(existingLike);
 
         LikeStatsDto result = likeService.likeRecipe(1L, 1L);
@@ -86,17 +108,16 @@ class LikeServiceTest {
 
         verify(likeRepository).save(any(Like.class));
         verify(likeRepository, never()).delete(any(Like.class));
+        verify(recipeRepository).incrementLikeCounts(1L, 1L, 0L);
+        verify(eventPublisher).publishEvent(new RecipeLikesChangedEvent(List.of(1L)));
     }
 
     @Test
     void likeRecipe_WhenExistingLike_ShouldToggleLike() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.findByUserAndRecipe(user, recipe))
-                .thenReturn(Optional.of(existingLike))
-                .thenReturn(Optional.empty());
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(0L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(0L);
+        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(existingLike));
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(0L, 0L, false, false)));
 
         LikeStatsDto result = likeService.likeRecipe(1L, 1L);
 
@@ -108,6 +129,7 @@ class LikeServiceTest {
 
         verify(likeRepository).delete(existingLike);
         verify(likeRepository, never()).save(any(Like.class));
+        verify(recipeRepository).incrementLikeCounts(1L, -1L, 0L);
     }
 
     @Test
@@ -116,8 +138,7 @@ class LikeServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
         when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(existingLike));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(1L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(0L);
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(1L, 0L, true, false)));
         when(likeRepository.save(existingLike)).thenReturn(existingLike);
 
         LikeStatsDto result = likeService.likeRecipe(1L, 1L);
@@ -131,6 +152,8 @@ class LikeServiceTest {
         assertTrue(existingLike.getIsLike());
         verify(likeRepository).save(existingLike);
         verify(likeRepository, never()).delete(any(Like.class));
+        verify(recipeRepository).incrementLikeCounts(1L, 1L, 0L);
+        verify(recipeRepository).incrementLikeCounts(1L, 0L, -1L);
     }
 
     @Test
@@ -138,11 +161,8 @@ class LikeServiceTest {
         existingLike.setIsLike(false);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.findByUserAndRecipe(user, recipe))
-                .thenReturn(Optional.empty())
-                .thenReturn(Optional.of(existingLike));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(0L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(1L);
+        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.empty());
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(0L, 1L, false, true)));
         when(likeRepository.save(any(Like.class))).thenReturn(existingLike);
 
         LikeStatsDto result = likeService.dislikeRecipe(1L, 1L);
@@ -155,6 +175,7 @@ class LikeServiceTest {
 
         verify(likeRepository).save(any(Like.class));
         verify(likeRepository, never()).delete(any(Like.class));
+        verify(recipeRepository).incrementLikeCounts(1L, 0L, 1L);
     }
 
     @Test
@@ -162,11 +183,8 @@ class LikeServiceTest {
         existingLike.setIsLike(false);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.findByUserAndRecipe(user, recipe))
-                .thenReturn(Optional.of(existingLike))
-                .thenReturn(Optional.empty());
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(0L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(0L);
+        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(existingLike));
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(0L, 0L, false, false)));
 
         LikeStatsDto result = likeService.dislikeRecipe(1L, 1L);
 
@@ -178,6 +196,7 @@ class LikeServiceTest {
 
         verify(likeRepository).delete(existingLike);
         verify(likeRepository, never()).save(any(Like.class));
+        verify(recipeRepository).incrementLikeCounts(1L, 0L, -1L);
     }
 
     @Test
@@ -185,8 +204,7 @@ class LikeServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
         when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(existingLike));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(0L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(1L);
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(0L, 1L, false, true)));
         when(likeRepository.save(existingLike)).thenReturn(existingLike);
 
         LikeStatsDto result = likeService.dislikeRecipe(1L, 1L);
@@ -200,15 +218,13 @@ class LikeServiceTest {
         assertFalse(existingLike.getIsLike());
         verify(likeRepository).save(existingLike);
         verify(likeRepository, never()).delete(any(Like.class));
+        verify(recipeRepository).incrementLikeCounts(1L, 0L, 1L);
+        verify(recipeRepository).incrementLikeCounts(1L, -1L, 0L);
     }
 
     @Test
     void getLikeStats_ShouldReturnCorrectStats() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(5L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(2L);
-        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(existingLike));
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(5L, 2L, true, false)));
 
         LikeStatsDto result = likeService.getLikeStats(1L, 1L);
 
@@ -221,11 +237,7 @@ class LikeServiceTest {
 
     @Test
     void getLikeStats_WhenUserHasNoLike_ShouldReturnCorrectStats() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(3L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(1L);
-        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.empty());
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(3L, 1L, false, false)));
 
         LikeStatsDto result = likeService.getLikeStats(1L, 1L);
 
@@ -236,24 +248,42 @@ class LikeServiceTest {
         assertFalse(result.userDisliked());
     }
 
+    @Test
+    void getLikeStats_WhenRecipeNotFound_ShouldThrowException() {
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> likeService.getLikeStats(1L, 1L));
+    }
+
     @Test
     void getLikesCount_ShouldReturnCorrectCount() {
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(10L);
+        when(recipeRepository.findLikeCountsById(1L)).thenReturn(Optional.of(new LikeCountsDto(10L, 3L)));
 
         long result = likeService.getLikesCount(1L);
 
         assertEquals(10L, result);
+        verify(likeRepository, never()).countLikesByRecipe(any());
     }
 
     @Test
     void getDislikesCount_ShouldReturnCorrectCount() {
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(3L);
+        when(recipeRepository.findLikeCountsById(1L)).thenReturn(Optional.of(new LikeCountsDto(10L, 3L)));
 
         long result = likeService.getDislikesCount(1L);
 
         assertEquals(3L, result);
+        verify(likeRepository, never()).countDislikesByRecipe(any());
+    }
+
+    @Test
+    void getLikeCounts_ShouldReadDenormalizedCountersFromRecipe() {
+        recipe.setLikesCount(7L);
+        recipe.setDislikesCount(2L);
+
+        LikeCountsDto result = likeService.getLikeCounts(recipe);
+
+        assertEquals(new LikeCountsDto(7L, 2L), result);
+        verifyNoInteractions(likeRepository, recipeRepository);
     }
 
     @Test
@@ -269,13 +299,13 @@ class LikeServiceTest {
         when(recipeRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> likeService.likeRecipe(1L, 1L));
+        verify(recipeRepository, never()).incrementLikeCounts(anyLong(), anyLong(), anyLong());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void getLikeStats_WithNullUserId_ShouldReturnStatsWithoutUserInfo() {
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(15L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(5L);
+        when(recipeRepository.findLikeStatsById(1L, null)).thenReturn(Optional.of(new LikeStatsDto(15L, 5L, false, false)));
 
         LikeStatsDto result = likeService.getLikeStats(null, 1L);
 
@@ -285,19 +315,14 @@ class LikeServiceTest {
         assertFalse(result.userLiked());
         assertFalse(result.userDisliked());
 
-        verify(recipeRepository).findById(1L);
-        verify(likeRepository).countLikesByRecipe(recipe);
-        verify(likeRepository).countDislikesByRecipe(recipe);
-        verify(likeRepository, never()).findByUserAndRecipe(any(), any());
+        verify(recipeRepository).findLikeStatsById(1L, null);
+        verify(likeRepository, never()).countLikesByRecipe(any());
+        verify(likeRepository, never()).countDislikesByRecipe(any());
     }
 
     @Test
     void getLikeStats_WithValidUserId_ShouldReturnStatsWithUserInfo() {
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(likeRepository.countLikesByRecipe(recipe)).thenReturn(15L);
-        when(likeRepository.countDislikesByRecipe(recipe)).thenReturn(5L);
-        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(existingLike));
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(15L, 5L, true, false)));
 
         LikeStatsDto result = likeService.getLikeStats(1L, 1L);
 
@@ -307,10 +332,66 @@ class LikeServiceTest {
         assertTrue(result.userLiked());
         assertFalse(result.userDisliked());
 
-        verify(recipeRepository).findById(1L);
-        verify(userRepository).findById(1L);
-        verify(likeRepository).countLikesByRecipe(recipe);
-        verify(likeRepository).countDislikesByRecipe(recipe);
-        verify(likeRepository).findByUserAndRecipe(user, recipe);
+        verify(recipeRepository).findLikeStatsById(1L, 1L);
+        verify(likeRepository, never()).findByUserAndRecipe(any(), any());
+        verify(recipeRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void recalculateLikeCounts_ShouldDelegateToRepository() {
+        when(recipeRepository.recalculateLikeCounts(1L, 500L)).thenReturn(42);
+
+        int result = likeService.recalculateLikeCounts(1L, 500L);
+
+        assertEquals(42, result);
+    }
+
+    @Test
+    void likeRecipe_WithWriteBehindEnabled_ShouldCountOwnVoteBeforeCommit() {
+        LikeCounterBuffer buffer = new LikeCounterBuffer(jdbcTemplate, transactionManager, eventPublisher, true);
+        LikeService writeBehindService = new LikeService(likeRepository, userRepository, recipeRepository, buffer,
+                eventPublisher);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+        when(likeRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.empty());
+        when(recipeRepository.findLikeStatsById(1L, 1L)).thenReturn(Optional.of(new LikeStatsDto(4L, 0L, true, false)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            LikeStatsDto result = writeBehindService.likeRecipe(1L, 1L);
+
+            assertEquals(5L, result.likesCount());
+            assertTrue(result.userLiked());
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+                synchronization.beforeCommit(false);
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            });
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(new LikeCountsDto(5L, 0L), buffer.merge(1L, new LikeCountsDto(4L, 0L)));
+        verify(recipeRepository, never()).incrementLikeCounts(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void recalculateLikeCounts_WithWriteBehindEnabled_ShouldRecountFromGroupedVoteCounts() {
+        when(likeCounterBuffer.isEnabled()).thenReturn(true);
+        when(likeCounterBuffer.recount(eq(1L), eq(500L), any())).thenAnswer(invocation -> {
+            Map<Long, LikeCountsDto> counts = invocation.<Supplier<Map<Long, LikeCountsDto>>>getArgument(2).get();
+            assertEquals(Map.of(1L, new LikeCountsDto(2L, 1L), 2L, LikeCountsDto.EMPTY), counts);
+            return counts.size();
+        });
+        when(recipeRepository.findIdsByIdBetween(1L, 500L)).thenReturn(List.of(1L, 2L));
+        when(likeRepository.countVotesByRecipeIds(List.of(1L, 2L))).thenReturn(List.of(
+                new RecipeVoteCount(1L, true, 2L),
+                new RecipeVoteCount(1L, false, 1L)));
+
+        assertEquals(2, likeService.recalculateLikeCounts(1L, 500L));
+
+        verify(recipeRepository, never()).recalculateLikeCounts(anyLong(), anyLong());
+        verify(likeCounterBuffer, never()).flush();
     }
 }
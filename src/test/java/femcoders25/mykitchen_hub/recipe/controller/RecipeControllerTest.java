@@ -1,28 +1,51 @@
 package femcoders25.mykitchen_hub.recipe.controller;
 
 import femcoders25.mykitchen_hub.common.dto.ApiResponse;
+import femcoders25.mykitchen_hub.common.dto.CursorPageDto;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.ingredient.dto.IngredientDto;
 import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeCreateDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeListDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
 import femcoders25.mykitchen_hub.recipe.dto.RecipeUpdateDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeVersionDto;
+import femcoders25.mykitchen_hub.recipe.dto.SearchTotal;
 import femcoders25.mykitchen_hub.recipe.service.RecipeService;
+import femcoders25.mykitchen_hub.search.dto.FacetedSearchResultDto;
+import femcoders25.mykitchen_hub.search.dto.PantryMatchDto;
+import femcoders25.mykitchen_hub.search.dto.IngredientFacetDto;
+import femcoders25.mykitchen_hub.search.dto.RecipeSearchCriteria;
+import femcoders25.mykitchen_hub.search.dto.SuggestionDto;
+import femcoders25.mykitchen_hub.search.dto.SuggestionType;
+import femcoders25.mykitchen_hub.search.dto.TagFacetDto;
+import femcoders25.mykitchen_hub.search.service.RecipeSearchService;
 
 import java.io.IOException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +57,9 @@ class RecipeControllerTest {
     @Mock
     private RecipeService recipeService;
 
+    @Mock
+    private RecipeSearchService recipeSearchService;
+
     @InjectMocks
     private RecipeController recipeController;
 
@@ -42,6 +68,7 @@ class RecipeControllerTest {
     private RecipeResponseDto responseDto;
     private Page<RecipeListDto> recipePage;
     private Page<RecipeResponseDto> searchPage;
+    private Page<RecipeSearchHitDto> hitPage;
 
     @BeforeEach
     void setUp() {
@@ -56,6 +83,7 @@ class RecipeControllerTest {
                 null);
         recipePage = new PageImpl<>(List.<RecipeListDto>of(listDto));
         searchPage = new PageImpl<>(List.<RecipeResponseDto>of(responseDto));
+        hitPage = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Test Recipe", "Test Tag", null, 5L, 1L)));
     }
 
     @Test
@@ -116,49 +144,304 @@ class RecipeControllerTest {
     void testGetRecipeById() {
         when(recipeService.getRecipeById(1L)).thenReturn(responseDto);
 
-        ResponseEntity<ApiResponse<RecipeResponseDto>> response = recipeController.getRecipeById(1L);
+        ResponseEntity<ApiResponse<RecipeResponseDto>> response = recipeController.getRecipeById(1L,
+                new ServletWebRequest(new MockHttpServletRequest()));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("Recipe retrieved successfully", response.getBody().getMessage());
         assertEquals(responseDto, response.getBody().getData());
+        assertEquals(RecipeVersionDto.of(responseDto, 0).toResourceVersion().eTag(), response.getHeaders().getETag());
         verify(recipeService).getRecipeById(1L);
     }
 
+    @Test
+    void testGetRecipeById_NotModified() {
+        ResourceVersion version = RecipeVersionDto.of(responseDto, 0).toResourceVersion();
+        when(recipeService.getRecipeVersion(1L)).thenReturn(Optional.of(version));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipes/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, version.eTag());
+
+        ResponseEntity<ApiResponse<RecipeResponseDto>> response = recipeController.getRecipeById(1L,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(version.eTag(), response.getHeaders().getETag());
+        verify(recipeService, never()).getRecipeById(any());
+    }
+
+    @Test
+    void testGetRecipeById_ETagUsesUsernameVersionReadBeforeLoading() {
+        when(recipeService.getUsernameVersion()).thenReturn(41L);
+        when(recipeService.getRecipeById(1L)).thenReturn(responseDto);
+
+        ResponseEntity<ApiResponse<RecipeResponseDto>> response = recipeController.getRecipeById(1L,
+                new ServletWebRequest(new MockHttpServletRequest()));
+
+        assertEquals(RecipeVersionDto.of(responseDto, 41L).toResourceVersion().eTag(), response.getHeaders().getETag());
+        assertNotEquals(RecipeVersionDto.of(responseDto, 42L).toResourceVersion().eTag(),
+                response.getHeaders().getETag());
+        InOrder inOrder = inOrder(recipeService);
+        inOrder.verify(recipeService).getUsernameVersion();
+        inOrder.verify(recipeService).getRecipeById(1L);
+    }
+
+    @Test
+    void testGetRecipeById_StaleETag() {
+        when(recipeService.getRecipeVersion(1L)).thenReturn(Optional.of(RecipeVersionDto.of(responseDto, 0).toResourceVersion()));
+        when(recipeService.getRecipeById(1L)).thenReturn(responseDto);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipes/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stale\"");
+
+        ResponseEntity<ApiResponse<RecipeResponseDto>> response = recipeController.getRecipeById(1L,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseDto, response.getBody().getData());
+    }
+
     @Test
     void testSearchRecipesByIngredient() {
-        when(recipeService.searchRecipesByIngredient(eq("tomato"), any(Pageable.class))).thenReturn(searchPage);
+        when(recipeService.searchRecipesByIngredient(eq("tomato"), any(Pageable.class), eq(SearchTotal.EXACT)))
+                .thenReturn(searchPage);
 
-        ResponseEntity<ApiResponse<Page<RecipeResponseDto>>> response = recipeController
-                .searchRecipesByIngredient("tomato", 0, 10);
+        ResponseEntity<ApiResponse<Slice<RecipeResponseDto>>> response = recipeController
+                .searchRecipesByIngredient("tomato", 0, 10, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(recipeService).searchRecipesByIngredient(eq("tomato"), any(Pageable.class));
+        verify(recipeService).searchRecipesByIngredient(eq("tomato"), any(Pageable.class), eq(SearchTotal.EXACT));
     }
 
     @Test
     void testSearchRecipesByTag() {
-        when(recipeService.searchRecipesByTag(eq("italian"), any(Pageable.class))).thenReturn(searchPage);
+        List<String> tags = List.of("italian", "quick");
+        when(recipeService.searchRecipesByTag(eq(tags), any(Pageable.class))).thenReturn(searchPage);
 
-        ResponseEntity<ApiResponse<Page<RecipeResponseDto>>> response = recipeController.searchRecipesByTag("italian",
+        ResponseEntity<ApiResponse<Page<RecipeResponseDto>>> response = recipeController.searchRecipesByTag(tags,
                 0, 10);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(recipeService).searchRecipesByTag(eq("italian"), any(Pageable.class));
+        assertTrue(response.getBody().getMessage().contains("italian, quick"));
+        verify(recipeService).searchRecipesByTag(eq(tags), any(Pageable.class));
     }
 
     @Test
     void testSearchRecipesByTitle() {
-        when(recipeService.searchRecipesByTitle(eq("pasta"), any(Pageable.class))).thenReturn(searchPage);
+        when(recipeService.searchRecipesByTitle(eq("pasta"), any(Pageable.class), eq(SearchTotal.EXACT)))
+                .thenReturn(searchPage);
 
-        ResponseEntity<ApiResponse<Page<RecipeResponseDto>>> response = recipeController.searchRecipesByTitle("pasta",
-                0, 10);
+        ResponseEntity<ApiResponse<Slice<RecipeResponseDto>>> response = recipeController.searchRecipesByTitle("pasta",
+                0, 10, "exact");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        verify(recipeService).searchRecipesByTitle(eq("pasta"), any(Pageable.class), eq(SearchTotal.EXACT));
+    }
+
+    @Test
+    void testGetRecipesByCursor() {
+        CursorPageDto<RecipeListDto> cursorPage = new CursorPageDto<>(recipePage.getContent(), 1, true, "next");
+        when(recipeService.getRecipesByCursor("abc", 10)).thenReturn(cursorPage);
+
+        ResponseEntity<ApiResponse<CursorPageDto<RecipeListDto>>> response = recipeController.getRecipesByCursor("abc", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(cursorPage, response.getBody().getData());
+        verify(recipeService).getRecipesByCursor("abc", 10);
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitleCursor() {
+        CursorPageDto<RecipeSearchHitDto> cursorPage = new CursorPageDto<>(hitPage.getContent(), 1, true, "next");
+        when(recipeService.searchRecipeHitsByTitle("pasta", "", 10)).thenReturn(cursorPage);
+
+        ResponseEntity<ApiResponse<CursorPageDto<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipeHitsByTitleCursor("pasta", "", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(cursorPage, response.getBody().getData());
+    }
+
+    @Test
+    void testSearchRecipeHitsByIngredientCursor_NoMatches() {
+        CursorPageDto<RecipeSearchHitDto> cursorPage = new CursorPageDto<>(List.of(), 0, false, null);
+        when(recipeService.searchRecipeHitsByIngredient("saffron", "abc", 10)).thenReturn(cursorPage);
+
+        ResponseEntity<ApiResponse<CursorPageDto<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipeHitsByIngredientCursor("saffron", "abc", 10);
+
+        assertNotNull(response.getBody());
+        assertEquals("No recipes found with ingredient containing: saffron", response.getBody().getMessage());
+    }
+
+    @Test
+    void testSearchRecipes() {
+        when(recipeSearchService.search(eq("creamy curry"), any(Pageable.class))).thenReturn(hitPage);
+
+        ResponseEntity<ApiResponse<Page<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipes("creamy curry", 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Found 1 recipes matching: creamy curry", response.getBody().getMessage());
+        assertEquals(hitPage, response.getBody().getData());
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void testSearchRecipesByIngredients() {
+        when(recipeSearchService.searchByIngredients(eq("chicken AND garlic NOT cream"), any(Pageable.class)))
+                .thenReturn(hitPage);
+
+        ResponseEntity<ApiResponse<Page<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipesByIngredients("chicken AND garlic NOT cream", 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(hitPage, response.getBody().getData());
+        verify(recipeService, never()).searchRecipeHitsByIngredient(any(), any(), any());
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle() {
+        when(recipeService.searchRecipeHitsByTitle(eq("pasta"), any(Pageable.class), eq(SearchTotal.EXACT)))
+                .thenReturn(hitPage);
+
+        ResponseEntity<ApiResponse<Slice<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipeHitsByTitle("pasta", 0, 10, "exact");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Found 1 recipes with title containing: pasta", response.getBody().getMessage());
+        assertEquals(hitPage, response.getBody().getData());
+        verify(recipeService).searchRecipeHitsByTitle(eq("pasta"), any(Pageable.class), eq(SearchTotal.EXACT));
+        verify(recipeService, never()).searchRecipesByTitle(any(), any(), any());
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_WithoutTotal() {
+        Slice<RecipeSearchHitDto> hitSlice = new SliceImpl<>(hitPage.getContent(), PageRequest.of(0, 10), true);
+        when(recipeService.searchRecipeHitsByTitle(eq("pasta"), any(Pageable.class), eq(SearchTotal.NONE)))
+                .thenReturn(hitSlice);
+
+        ResponseEntity<ApiResponse<Slice<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipeHitsByTitle("pasta", 0, 10, "none");
+
+        assertEquals("Found recipes with title containing: pasta", response.getBody().getMessage());
+        assertEquals(hitSlice, response.getBody().getData());
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_UnknownTotal_Throws() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> recipeController.searchRecipeHitsByTitle("pasta", 0, 10, "roughly"));
+
+        assertEquals("Invalid total mode: roughly. Use exact, approximate or none", exception.getMessage());
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void testSearchRecipeHitsByIngredient() {
+        when(recipeService.searchRecipeHitsByIngredient(eq("tomato"), any(Pageable.class), eq(SearchTotal.EXACT)))
+                .thenReturn(hitPage);
+
+        ResponseEntity<ApiResponse<Slice<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipeHitsByIngredient("tomato", 0, 10, "exact");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        verify(recipeService).searchRecipeHitsByIngredient(eq("tomato"), any(Pageable.class), eq(SearchTotal.EXACT));
+    }
+
+    @Test
+    void testSearchRecipeHitsByTag_NoResults() {
+        when(recipeSearchService.searchByTags(eq(List.of("vegan")), any(Pageable.class))).thenReturn(Page.empty());
+
+        ResponseEntity<ApiResponse<Page<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipeHitsByTag(List.of("vegan"), 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("No recipes found with tags: vegan", response.getBody().getMessage());
+    }
+
+    @Test
+    void testSearchRecipeHitsByTag_MultipleTags() {
+        when(recipeSearchService.searchByTags(eq(List.of("italian", "quick")), any(Pageable.class)))
+                .thenReturn(hitPage);
+
+        ResponseEntity<ApiResponse<Page<RecipeSearchHitDto>>> response = recipeController
+                .searchRecipeHitsByTag(List.of("italian", "quick"), 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(hitPage, response.getBody().getData());
+        assertEquals("Found 1 recipes with tags: italian, quick", response.getBody().getMessage());
+    }
+
+    @Test
+    void testSearchRecipesByPantry() {
+        Page<PantryMatchDto> matches = new PageImpl<>(List.of(new PantryMatchDto(hitPage.getContent().get(0), 0.75,
+                List.of("Chicken"), List.of("Lemon"))));
+        when(recipeSearchService.searchByPantry(eq(List.of("chicken", "rice")), any(Pageable.class)))
+                .thenReturn(matches);
+
+        ResponseEntity<ApiResponse<Page<PantryMatchDto>>> response = recipeController
+                .searchRecipesByPantry(List.of("chicken", "rice"), 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(matches, response.getBody().getData());
+        assertEquals("Found 1 recipes for pantry: chicken, rice", response.getBody().getMessage());
+    }
+
+    @Test
+    void testFacetedSearch() {
+        FacetedSearchResultDto result = new FacetedSearchResultDto(hitPage,
+                List.of(new TagFacetDto("indian", "Indian", 1)), List.of(new IngredientFacetDto("Garlic", 1)));
+        RecipeSearchCriteria criteria = new RecipeSearchCriteria("curry", "garlic", List.of("indian"), "bob",
+                LocalDate.of(2025, 1, 1));
+        when(recipeSearchService.facetedSearch(eq(criteria), any(Pageable.class))).thenReturn(result);
+
+        ResponseEntity<ApiResponse<FacetedSearchResultDto>> response = recipeController.facetedSearch("curry",
+                "garlic", List.of("indian"), "bob", LocalDate.of(2025, 1, 1), 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(result, response.getBody().getData());
+        assertEquals("Found 1 recipes", response.getBody().getMessage());
+    }
+
+    @Test
+    void testSuggest() {
+        List<SuggestionDto> suggestions = List.of(new SuggestionDto("Chicken Curry", SuggestionType.RECIPE, 1L),
+                new SuggestionDto("Chicken Breast", SuggestionType.INGREDIENT, null));
+        when(recipeSearchService.suggest("chick", 5)).thenReturn(suggestions);
+
+        ResponseEntity<ApiResponse<List<SuggestionDto>>> response = recipeController.suggest("chick", 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(suggestions, response.getBody().getData());
+        assertEquals("Found 2 suggestions", response.getBody().getMessage());
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    void testGetTagFacets() {
+        List<TagFacetDto> facets = List.of(new TagFacetDto("pasta", "Pasta", 3), new TagFacetDto("quick", "Quick", 1));
+        when(recipeSearchService.tagFacets(List.of("italian"))).thenReturn(facets);
+
+        ResponseEntity<ApiResponse<List<TagFacetDto>>> response = recipeController.getTagFacets(List.of("italian"));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(recipeService).searchRecipesByTitle(eq("pasta"), any(Pageable.class));
+        assertEquals(facets, response.getBody().getData());
     }
 
     @Test
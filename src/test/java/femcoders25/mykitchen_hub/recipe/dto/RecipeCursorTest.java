@@ -0,0 +1,32 @@
+package femcoders25.mykitchen_hub.recipe.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeCursorTest {
+
+    @Test
+    void encodeAndDecode_RoundTripsCreatedAtAndId() {
+        RecipeCursor cursor = new RecipeCursor(LocalDateTime.of(2025, 9, 1, 12, 30, 15, 123456000), 42L);
+
+        RecipeCursor decoded = RecipeCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void encode_ProducesUrlSafeToken() {
+        String token = new RecipeCursor(LocalDateTime.of(2025, 9, 1, 12, 30), 7L).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_WithGarbage_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> RecipeCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> RecipeCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -0,0 +1,21 @@
+package femcoders25.mykitchen_hub.recipe.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTotalTest {
+
+    @Test
+    void parse_IsCaseInsensitiveAndDefaultsToExact() {
+        assertEquals(SearchTotal.NONE, SearchTotal.parse("none"));
+        assertEquals(SearchTotal.APPROXIMATE, SearchTotal.parse(" Approximate "));
+        assertEquals(SearchTotal.EXACT, SearchTotal.parse(null));
+        assertEquals(SearchTotal.EXACT, SearchTotal.parse(""));
+    }
+
+    @Test
+    void parse_UnknownMode_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> SearchTotal.parse("roughly"));
+    }
+}
@@ -0,0 +1,88 @@
+package femcoders25.mykitchen_hub.recipe.service;
+
+import femcoders25.mykitchen_hub.comment.dto.CommentResponseDto;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeResponseDto;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.user.event.UsernameChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeDetailCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecipeDetailCache recipeDetailCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recipeDetailCache = new RecipeDetailCache(meterRegistry, 1_000_000, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_LoadsOnceAndServesSubsequentReadsFromCache() {
+        RecipeResponseDto first = recipeDetailCache.get(1L, this::load);
+        RecipeResponseDto second = recipeDetailCache.get(1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onRecipeChanged_EvictsEntrySoNextReadReloads() {
+        recipeDetailCache.get(1L, this::load);
+
+        recipeDetailCache.onRecipeChanged(new RecipeChangedEvent(1L));
+        recipeDetailCache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onUsernameChanged_EvictsEveryEntry() {
+        recipeDetailCache.get(1L, this::load);
+        recipeDetailCache.get(2L, this::load);
+
+        recipeDetailCache.onUsernameChanged(new UsernameChangedEvent(7L));
+        recipeDetailCache.get(1L, this::load);
+        recipeDetailCache.get(2L, this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_WhenLoaderThrows_DoesNotCacheAnything() {
+        assertThrows(IllegalStateException.class, () -> recipeDetailCache.get(1L, id -> {
+            throw new IllegalStateException("missing");
+        }));
+
+        recipeDetailCache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_RecordsHitAndMissMetrics() {
+        recipeDetailCache.get(1L, this::load);
+        recipeDetailCache.get(1L, this::load);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "recipeDetail").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "recipeDetail").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private RecipeResponseDto load(Long id) {
+        loads.incrementAndGet();
+        return new RecipeResponseDto(id, "Recipe " + id, "Description", List.of(), null, "tag",
+                List.of(new CommentResponseDto(1L, "Nice", null, null, "user")), null, null, null, 1L, "author");
+    }
+}
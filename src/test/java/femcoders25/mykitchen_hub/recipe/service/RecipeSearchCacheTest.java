@@ -0,0 +1,143 @@
+package femcoders25.mykitchen_hub.recipe.service;
+
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeSearchCacheTest {
+
+    private RecipeCatalogVersion catalogVersion;
+    private RecipeSearchCache recipeSearchCache;
+    private AtomicInteger searches;
+    private List<List<Long>> hydrations;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new RecipeCatalogVersion();
+        recipeSearchCache = new RecipeSearchCache(new SimpleMeterRegistry(), catalogVersion, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(5));
+        searches = new AtomicInteger();
+        hydrations = new ArrayList<>();
+    }
+
+    @Test
+    void normalize_TrimsLowerCasesAndCollapsesWhitespace() {
+        assertEquals("olive oil", RecipeSearchCache.normalize("  Olive \t OIL "));
+        assertEquals("", RecipeSearchCache.normalize(null));
+    }
+
+    @Test
+    void get_RepeatedSearch_HydratesCachedIdsInOrderWithoutSearching() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<String> first = search("pasta", pageable);
+        Page<String> second = search("pasta", pageable);
+
+        assertEquals(1, searches.get());
+        assertEquals(List.of(List.of(3L, 1L, 2L)), hydrations);
+        assertEquals(first.getContent(), second.getContent());
+        assertEquals(first.getTotalElements(), second.getTotalElements());
+    }
+
+    @Test
+    void get_DifferentQueryPageOrSort_AreCachedSeparately() {
+        search("pasta", PageRequest.of(0, 10));
+        search("pizza", PageRequest.of(0, 10));
+        search("pasta", PageRequest.of(1, 10));
+        search("pasta", PageRequest.of(0, 10, Sort.by("title")));
+
+        assertEquals(4, searches.get());
+        assertTrue(hydrations.isEmpty());
+    }
+
+    @Test
+    void get_AfterCatalogChange_SearchesAgain() {
+        Pageable pageable = PageRequest.of(0, 10);
+        search("pasta", pageable);
+
+        catalogVersion.onRecipeChanged(new RecipeChangedEvent(1L));
+        search("pasta", pageable);
+
+        assertEquals(2, searches.get());
+        assertTrue(hydrations.isEmpty());
+    }
+
+    @Test
+    void get_EmptyResult_IsCachedWithoutHydrating() {
+        Pageable pageable = PageRequest.of(0, 10);
+        recipeSearchCache.get("title", "saffron", pageable, () -> {
+            searches.incrementAndGet();
+            return Page.<Long>empty(pageable);
+        }, Function.identity(), this::hydrateIds);
+
+        Page<Long> cached = recipeSearchCache.get("title", "saffron", pageable, () -> {
+            searches.incrementAndGet();
+            return Page.<Long>empty(pageable);
+        }, Function.identity(), this::hydrateIds);
+
+        assertTrue(cached.isEmpty());
+        assertEquals(1, searches.get());
+        assertTrue(hydrations.isEmpty());
+    }
+
+    @Test
+    void getSlice_RepeatedSearch_KeepsHasNextWithoutSearching() {
+        Pageable pageable = PageRequest.of(0, 2);
+        Supplier<Slice<Long>> search = () -> {
+            searches.incrementAndGet();
+            return new SliceImpl<>(List.of(5L, 4L), pageable, true);
+        };
+
+        recipeSearchCache.getSlice("title", "pasta", pageable, search, Function.identity(), this::hydrateIds);
+        Slice<Long> cached = recipeSearchCache.getSlice("title", "pasta", pageable, search, Function.identity(),
+                this::hydrateIds);
+
+        assertEquals(1, searches.get());
+        assertEquals(List.of(5L, 4L), cached.getContent());
+        assertTrue(cached.hasNext());
+        assertFalse(cached instanceof Page);
+    }
+
+    @Test
+    void approximateCount_CountsOnceAndSurvivesCatalogChanges() {
+        AtomicInteger counts = new AtomicInteger();
+
+        assertEquals(42, recipeSearchCache.approximateCount("title", "pasta", () -> counts.incrementAndGet() * 42L));
+        catalogVersion.onRecipeChanged(new RecipeChangedEvent(1L));
+        assertEquals(42, recipeSearchCache.approximateCount("title", "pasta", () -> counts.incrementAndGet() * 42L));
+        recipeSearchCache.approximateCount("ingredient", "pasta", counts::incrementAndGet);
+
+        assertEquals(2, counts.get());
+    }
+
+    private Page<String> search(String query, Pageable pageable) {
+        return recipeSearchCache.get("title", query, pageable, () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of("3:" + query, "1:" + query, "2:" + query), pageable, 42);
+        }, value -> Long.valueOf(value.substring(0, value.indexOf(':'))), ids -> {
+            hydrations.add(ids);
+            return ids.reversed().stream().map(id -> id + ":" + query).toList();
+        });
+    }
+
+    private List<Long> hydrateIds(List<Long> ids) {
+        hydrations.add(ids);
+        return ids;
+    }
+}
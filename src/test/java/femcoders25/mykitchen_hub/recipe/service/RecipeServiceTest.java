@@ -3,33 +3,54 @@ package femcoders25.mykitchen_hub.recipe.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import femcoders25.mykitchen_hub.cloudinary.CloudinaryService;
+import femcoders25.mykitchen_hub.comment.dto.CommentResponseDto;
+import femcoders25.mykitchen_hub.comment.entity.Comment;
+import femcoders25.mykitchen_hub.comment.repository.CommentRepository;
+import femcoders25.mykitchen_hub.common.dto.CursorPageDto;
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
 import femcoders25.mykitchen_hub.common.exception.UnauthorizedOperationException;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.ingredient.dto.IngredientDto;
+import femcoders25.mykitchen_hub.like.dto.LikeCountsDto;
 import femcoders25.mykitchen_hub.like.dto.LikeStatsDto;
 import femcoders25.mykitchen_hub.like.service.LikeService;
 import femcoders25.mykitchen_hub.recipe.dto.*;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.search.service.RecipeSearchService;
+import femcoders25.mykitchen_hub.tag.entity.Tag;
+import femcoders25.mykitchen_hub.tag.service.TagService;
 import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.event.UsernameChangedEvent;
 import femcoders25.mykitchen_hub.user.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -56,6 +77,28 @@ class RecipeServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private RecipeDetailCache recipeDetailCache;
+
+    @Spy
+    private UsernameVersion usernameVersion = new UsernameVersion();
+
+    @Spy
+    private RecipeSearchCache recipeSearchCache = new RecipeSearchCache(new SimpleMeterRegistry(),
+            new RecipeCatalogVersion(), 100, Duration.ofMinutes(10), Duration.ofMinutes(5));
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private RecipeSearchService recipeSearchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -84,6 +127,9 @@ class RecipeServiceTest {
         lenient().when(likeService.getLikeStats(any(Long.class), any(Long.class))).thenReturn(likeStats);
         lenient().when(likeService.getLikesCount(any(Long.class))).thenReturn(0L);
         lenient().when(likeService.getDislikesCount(any(Long.class))).thenReturn(0L);
+        lenient().when(recipeDetailCache.get(any(Long.class), any()))
+                .thenAnswer(invocation -> invocation.<Function<Long, RecipeResponseDto>>getArgument(1)
+                        .apply(invocation.getArgument(0)));
     }
 
     @Test
@@ -103,13 +149,14 @@ class RecipeServiceTest {
     @Test
     void testDeleteRecipe() {
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         doNothing().when(recipeRepository).delete(recipe);
 
         assertDoesNotThrow(() -> recipeService.deleteRecipe(1L));
         verify(recipeRepository).findById(1L);
-        verify(userService, times(2)).getCurrentUser();
+        verify(userService, times(2)).getCurrentUserId();
         verify(recipeRepository).delete(recipe);
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
     }
 
     @Test
@@ -121,7 +168,7 @@ class RecipeServiceTest {
         recipeWithImage.setCreatedBy(user);
 
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipeWithImage));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(cloudinaryService.getDefaultImageUrl()).thenReturn("http://localhost:8080/images/logo.png");
         when(cloudinaryService
                 .extractPublicIdFromUrl("https://res.cloudinary.com/test/image/upload/v123456789/recipe_image.jpg"))
@@ -130,7 +177,7 @@ class RecipeServiceTest {
 
         assertDoesNotThrow(() -> recipeService.deleteRecipe(1L));
         verify(recipeRepository).findById(1L);
-        verify(userService, times(2)).getCurrentUser();
+        verify(userService, times(2)).getCurrentUserId();
         verify(cloudinaryService).getDefaultImageUrl();
         verify(cloudinaryService)
                 .extractPublicIdFromUrl("https://res.cloudinary.com/test/image/upload/v123456789/recipe_image.jpg");
@@ -144,11 +191,11 @@ class RecipeServiceTest {
         recipe.setCreatedBy(otherUser);
 
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
 
         assertThrows(UnauthorizedOperationException.class, () -> recipeService.deleteRecipe(1L));
         verify(recipeRepository).findById(1L);
-        verify(userService).getCurrentUser();
+        verify(userService).getCurrentUserId();
         verify(recipeRepository, never()).delete(any());
     }
 
@@ -165,21 +212,385 @@ class RecipeServiceTest {
     }
 
     @Test
-    void testGetRecipeById() {
+    void testGetAllRecipes_ReadsDenormalizedLikeCounters() {
+        when(recipeRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(recipe)));
+        when(likeService.getLikeCounts(recipe)).thenReturn(new LikeCountsDto(4L, 1L));
+
+        Page<RecipeListDto> result = recipeService.getAllRecipes(pageable);
+
+        assertEquals(4L, result.getContent().get(0).likesCount());
+        assertEquals(1L, result.getContent().get(0).dislikesCount());
+        verify(likeService).getLikeCounts(recipe);
+        verify(likeService, never()).getLikesCount(any(Long.class));
+        verify(likeService, never()).getDislikesCount(any(Long.class));
+    }
+
+    @Test
+    void testGetRecipesByCursor_FirstPage_ReturnsNextCursorFromLastRow() {
+        Recipe newer = new Recipe();
+        newer.setId(3L);
+        newer.setCreatedAt(LocalDateTime.of(2025, 9, 2, 10, 0));
+        Recipe older = new Recipe();
+        older.setId(2L);
+        older.setCreatedAt(LocalDateTime.of(2025, 9, 1, 10, 0));
+        Recipe oldest = new Recipe();
+        oldest.setId(1L);
+        oldest.setCreatedAt(LocalDateTime.of(2025, 8, 31, 10, 0));
+        when(recipeRepository.findNewest(Limit.of(3))).thenReturn(List.of(newer, older, oldest));
+
+        CursorPageDto<RecipeListDto> result = recipeService.getRecipesByCursor(null, 2);
+
+        assertEquals(2, result.content().size());
+        assertTrue(result.hasNext());
+        assertEquals(new RecipeCursor(older.getCreatedAt(), 2L), RecipeCursor.decode(result.nextCursor()));
+        verify(recipeRepository, never()).count();
+    }
+
+    @Test
+    void testGetRecipesByCursor_WithCursor_SeeksPastIt() {
+        RecipeCursor cursor = new RecipeCursor(LocalDateTime.of(2025, 9, 1, 10, 0), 2L);
+        recipe.setCreatedAt(LocalDateTime.of(2025, 8, 31, 10, 0));
+        when(recipeRepository.findNewestBefore(cursor.createdAt(), 2L, Limit.of(11))).thenReturn(List.of(recipe));
+
+        CursorPageDto<RecipeListDto> result = recipeService.getRecipesByCursor(cursor.encode(), 10);
+
+        assertEquals(1, result.content().size());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void testGetRecipesByCursor_ClampsPageSize() {
+        when(recipeRepository.findNewest(Limit.of(101))).thenReturn(List.of());
+
+        CursorPageDto<RecipeListDto> result = recipeService.getRecipesByCursor("", 5000);
+
+        assertTrue(result.content().isEmpty());
+        verify(recipeRepository).findNewest(Limit.of(101));
+    }
+
+    @Test
+    void testGetRecipesByCursor_InvalidCursor_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> recipeService.getRecipesByCursor("%%%", 10));
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitleCursor_FirstPage_ReturnsHitsAndNextCursorFromLastRow() {
+        RecipeCursorHitDto newer = new RecipeCursorHitDto(3L, "Pasta Bake", "italian", null, 1L, 0L,
+                LocalDateTime.of(2025, 9, 2, 10, 0));
+        RecipeCursorHitDto older = new RecipeCursorHitDto(2L, "Pasta Salad", "quick", null, 0L, 0L,
+                LocalDateTime.of(2025, 9, 1, 10, 0));
+        RecipeCursorHitDto oldest = new RecipeCursorHitDto(1L, "Pasta", "italian", null, 3L, 0L,
+                LocalDateTime.of(2025, 8, 31, 10, 0));
+        when(recipeRepository.findNewestHitsByTitle("pasta", Limit.of(3))).thenReturn(List.of(newer, older, oldest));
+
+        CursorPageDto<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByTitle(" PASTA ", null, 2);
+
+        assertEquals(List.of(newer.toSearchHit(), older.toSearchHit()), result.content());
+        assertTrue(result.hasNext());
+        assertEquals(new RecipeCursor(older.createdAt(), 2L), RecipeCursor.decode(result.nextCursor()));
+        verify(recipeRepository, never()).countByTitleContaining(any());
+    }
+
+    @Test
+    void testSearchRecipeHitsByIngredientCursor_WithCursor_SeeksPastIt() {
+        RecipeCursor cursor = new RecipeCursor(LocalDateTime.of(2025, 9, 1, 10, 0), 2L);
+        RecipeCursorHitDto hit = new RecipeCursorHitDto(1L, "Pasta", "italian", null, 3L, 0L,
+                LocalDateTime.of(2025, 8, 31, 10, 0));
+        when(recipeRepository.findNewestHitsByIngredientBefore("tomato", cursor.createdAt(), 2L, Limit.of(11)))
+                .thenReturn(List.of(hit));
+
+        CursorPageDto<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByIngredient("tomato",
+                cursor.encode(), 10);
+
+        assertEquals(List.of(hit.toSearchHit()), result.content());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+        verify(recipeRepository, never()).findNewestHitsByIngredient(any(), any());
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitleCursor_InvalidCursor_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> recipeService.searchRecipeHitsByTitle("pasta", "%%%", 10));
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_UsesProjectionWithoutLoadingEntities() {
+        Page<RecipeSearchHitDto> hits = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Pasta", "italian", null, 3L, 0L)));
+        when(recipeRepository.searchHitsByTitle("pasta", pageable)).thenReturn(hits);
+
+        Page<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByTitle("pasta", pageable);
+
+        assertEquals(hits, result);
+        verify(recipeRepository, never()).findByTitleContainingIgnoreCase(any(), any());
+        verifyNoInteractions(likeService, userService);
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_RepeatedNormalizedQuery_HydratesCachedIds() {
+        RecipeSearchHitDto hit = new RecipeSearchHitDto(1L, "Pasta", "italian", null, 3L, 0L);
+        when(recipeRepository.searchHitsByTitle("pasta", pageable)).thenReturn(new PageImpl<>(List.of(hit), pageable, 1));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(1L))).thenReturn(List.of(hit));
+
+        recipeService.searchRecipeHitsByTitle("pasta", pageable);
+        Page<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByTitle("  PASTA ", pageable);
+
+        assertEquals(List.of(hit), result.getContent());
+        assertEquals(1, result.getTotalElements());
+        verify(recipeRepository, times(1)).searchHitsByTitle(any(), any());
+    }
+
+    @Test
+    void testSearchRecipesByTag_SeveralTags_MatchesThroughTheTagIndexAndLoadsFullRecipes() {
+        List<String> tags = List.of("italian", "quick");
+        RecipeSearchHitDto hit = new RecipeSearchHitDto(1L, "Pasta", "italian, quick", null, 3L, 0L);
+        when(recipeSearchService.searchByTags(tags, pageable)).thenReturn(new PageImpl<>(List.of(hit), pageable, 11));
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(recipe));
+
+        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag(tags, pageable);
+
+        assertEquals(List.of(1L), result.getContent().stream().map(RecipeResponseDto::id).toList());
+        assertEquals(11, result.getTotalElements());
+        verify(recipeSearchService).searchByTags(tags, pageable);
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_NoExactMatch_FallsBackToFuzzySearch() {
+        Page<RecipeSearchHitDto> similar = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Spaghetti", "italian", null, 3L, 0L)));
+        when(recipeRepository.searchHitsByTitle("spagetti", pageable)).thenReturn(Page.empty(pageable));
+        when(recipeSearchService.fuzzySearch("spagetti", pageable)).thenReturn(similar);
+
+        Page<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByTitle("spagetti", pageable);
+
+        assertEquals(similar, result);
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_WithoutTotal_FetchesSliceAndSkipsCount() {
+        Slice<RecipeSearchHitDto> hits = new SliceImpl<>(List.of(new RecipeSearchHitDto(1L, "Pasta", "italian", null, 3L, 0L)),
+                pageable, true);
+        when(recipeRepository.sliceHitsByTitle("pasta", pageable)).thenReturn(hits);
+
+        Slice<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByTitle("Pasta", pageable, SearchTotal.NONE);
+
+        assertEquals(hits, result);
+        assertFalse(result instanceof Page);
+        verify(recipeRepository, never()).searchHitsByTitle(any(), any());
+        verify(recipeRepository, never()).countByTitleContaining(any());
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_WithoutTotal_NoExactMatch_FallsBackToFuzzySearch() {
+        Page<RecipeSearchHitDto> similar = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Spaghetti", "italian", null, 3L, 0L)));
+        when(recipeRepository.sliceHitsByTitle("spagetti", pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
+        when(recipeSearchService.fuzzySearch("spagetti", pageable)).thenReturn(similar);
+
+        Slice<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByTitle("spagetti", pageable, SearchTotal.NONE);
+
+        assertEquals(similar, result);
+    }
+
+    @Test
+    void testSearchRecipeHitsByTitle_ApproximateTotal_UsesCachedCount() {
+        Slice<RecipeSearchHitDto> hits = new SliceImpl<>(List.of(new RecipeSearchHitDto(1L, "Pasta", "italian", null, 3L, 0L)),
+                pageable, true);
+        when(recipeRepository.sliceHitsByTitle("pasta", pageable)).thenReturn(hits);
+        when(recipeRepository.findSearchHitsByIdIn(List.of(1L))).thenReturn(hits.getContent());
+        when(recipeRepository.countByTitleContaining("pasta")).thenReturn(25L);
+
+        recipeService.searchRecipeHitsByTitle("pasta", pageable, SearchTotal.APPROXIMATE);
+        Slice<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByTitle("pasta", pageable, SearchTotal.APPROXIMATE);
+
+        assertEquals(25, ((Page<RecipeSearchHitDto>) result).getTotalElements());
+        verify(recipeRepository, times(1)).countByTitleContaining("pasta");
+        verify(recipeRepository, never()).searchHitsByTitle(any(), any());
+    }
+
+    @Test
+    void testSearchRecipeHitsByIngredient_ApproximateTotal_LastSliceIsExact() {
+        Slice<RecipeSearchHitDto> hits = new SliceImpl<>(List.of(new RecipeSearchHitDto(1L, "Salad", "fresh", null, 0L, 0L)),
+                pageable, false);
+        when(recipeRepository.sliceHitsByIngredient("tomato", pageable)).thenReturn(hits);
+
+        Slice<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByIngredient("tomato", pageable,
+                SearchTotal.APPROXIMATE);
+
+        assertEquals(1, ((Page<RecipeSearchHitDto>) result).getTotalElements());
+        verify(recipeRepository, never()).countByIngredientContaining(any());
+    }
+
+    @Test
+    void testSearchRecipesByIngredient_WithoutTotal_ExpandsSliceInOrder() {
+        Recipe other = new Recipe();
+        other.setId(2L);
+        other.setTitle("Soup");
+        other.setCreatedBy(user);
+        Slice<RecipeSearchHitDto> hits = new SliceImpl<>(List.of(new RecipeSearchHitDto(2L, "Soup", null, null, 0L, 0L),
+                new RecipeSearchHitDto(1L, "Salad", null, null, 0L, 0L)), pageable, true);
+        when(recipeRepository.sliceHitsByIngredient("tomato", pageable)).thenReturn(hits);
+        when(recipeRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(recipe, other));
+
+        Slice<RecipeResponseDto> result = recipeService.searchRecipesByIngredient("tomato", pageable, SearchTotal.NONE);
+
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(RecipeResponseDto::id).toList());
+        assertTrue(result.hasNext());
+        verify(recipeRepository, never()).findByIngredientsNameContainingIgnoreCase(any(), any());
+    }
+
+    @Test
+    void testSearchRecipeHitsByIngredient() {
+        Page<RecipeSearchHitDto> hits = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Salad", "fresh", null, 0L, 0L)));
+        when(recipeRepository.searchHitsByIngredient("tomato", pageable)).thenReturn(hits);
+
+        Page<RecipeSearchHitDto> result = recipeService.searchRecipeHitsByIngredient("tomato", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(recipeRepository).searchHitsByIngredient("tomato", pageable);
+    }
+
+    @Test
+    void testCreateRecipe_ResolvesTags() {
+        Tag pasta = new Tag(1L, "Pasta", "pasta");
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(tagService.resolveTags("Test Tag")).thenReturn(Set.of(pasta));
+        when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
+
+        recipeService.createRecipe(createDto);
+
+        verify(recipeRepository).save(argThat(saved -> saved.getTags().equals(Set.of(pasta))));
+    }
+
+    @Test
+    void testUpdateRecipe_WithoutTag_KeepsTags() {
+        Tag pasta = new Tag(1L, "Pasta", "pasta");
+        recipe.setTags(Set.of(pasta));
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
+
+        recipeService.updateRecipe(1L, new RecipeUpdateDto("Updated Recipe", null, null, null, null));
+
+        assertEquals(Set.of(pasta), recipe.getTags());
+        verifyNoInteractions(tagService);
+    }
+
+    @Test
+    void testGetRecipeById() {
+        when(recipeRepository.findDetailById(1L)).thenReturn(Optional.of(recipe));
 
         RecipeResponseDto result = recipeService.getRecipeById(1L);
 
         assertNotNull(result);
-        verify(recipeRepository).findById(1L);
+        verify(recipeRepository).findDetailById(1L);
+        verify(recipeRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetRecipeById_LoadsCommentsWithUsersAndLikeStatsSeparately() {
+        Comment comment = new Comment();
+        comment.setId(5L);
+        comment.setText("Great!");
+        comment.setUser(user);
+        when(recipeRepository.findDetailById(1L)).thenReturn(Optional.of(recipe));
+        when(commentRepository.findWithUserByRecipeIdOrderByIdAsc(1L)).thenReturn(List.of(comment));
+        when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(1L));
+        when(likeService.getLikeStats(1L, 1L)).thenReturn(new LikeStatsDto(3L, 1L, true, false));
+
+        RecipeResponseDto result = recipeService.getRecipeById(1L);
+
+        assertEquals(1, result.comments().size());
+        assertEquals("testuser", result.comments().get(0).username());
+        assertEquals(3L, result.likeStats().likesCount());
+        assertTrue(result.likeStats().userLiked());
+        verify(commentRepository).findWithUserByRecipeIdOrderByIdAsc(1L);
+    }
+
+    @Test
+    void testGetRecipeById_CacheHit_SkipsDatabaseAndLayersCurrentLikeStats() {
+        RecipeResponseDto cached = new RecipeResponseDto(1L, "Cached Recipe", "Description", List.of(), null,
+                "tag", List.of(), null, null, null, 1L, "testuser");
+        doReturn(cached).when(recipeDetailCache).get(eq(1L), any());
+        when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(2L));
+        when(likeService.getLikeStats(2L, 1L)).thenReturn(new LikeStatsDto(7L, 0L, true, false));
+
+        RecipeResponseDto result = recipeService.getRecipeById(1L);
+
+        assertEquals("Cached Recipe", result.title());
+        assertEquals(new LikeStatsDto(7L, 0L, true, false), result.likeStats());
+        verify(recipeRepository, never()).findDetailById(any());
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
     void testGetRecipeById_NotFound() {
-        when(recipeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(recipeRepository.findDetailById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> recipeService.getRecipeById(1L));
-        verify(recipeRepository).findById(1L);
+        verify(recipeRepository).findDetailById(1L);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void testGetRecipeVersion_MatchesETagOfFullResponse() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        LocalDateTime commentedAt = LocalDateTime.of(2025, 3, 2, 9, 30);
+        RecipeResponseDto body = new RecipeResponseDto(1L, "Test Recipe", "Description", List.of(), null, "tag",
+                List.of(new CommentResponseDto(5L, "Great!", commentedAt, commentedAt, "testuser")),
+                new LikeStatsDto(4L, 1L, false, true), null, updatedAt, 1L, "testuser");
+        when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(2L));
+        when(recipeRepository.findVersionById(1L, 2L))
+                .thenReturn(Optional.of(new RecipeVersionDto(1L, updatedAt, "testuser", 3L, 1L, 1L, commentedAt, false)));
+        when(likeService.withPendingVotes(1L, new LikeCountsDto(3L, 1L))).thenReturn(new LikeCountsDto(4L, 1L));
+
+        Optional<ResourceVersion> result = recipeService.getRecipeVersion(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(RecipeVersionDto.of(body, usernameVersion.current()).toResourceVersion(), result.get());
+        assertNull(result.get().lastModified());
+        verify(recipeRepository, never()).findDetailById(any());
+        verifyNoInteractions(recipeDetailCache, commentRepository);
+    }
+
+    @Test
+    void testGetRecipeVersion_ChangesWithViewerVote() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(2L), Optional.empty());
+        when(recipeRepository.findVersionById(1L, 2L))
+                .thenReturn(Optional.of(new RecipeVersionDto(1L, updatedAt, "testuser", 3L, 0L, 0L, null, true)));
+        when(recipeRepository.findVersionById(1L, null))
+                .thenReturn(Optional.of(new RecipeVersionDto(1L, updatedAt, "testuser", 3L, 0L, 0L, null, null)));
+        when(likeService.withPendingVotes(eq(1L), any(LikeCountsDto.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        ResourceVersion voter = recipeService.getRecipeVersion(1L).orElseThrow();
+        ResourceVersion anonymous = recipeService.getRecipeVersion(1L).orElseThrow();
+
+        assertNotEquals(voter.eTag(), anonymous.eTag());
+    }
+
+    @Test
+    void testGetRecipeVersion_ChangesWhenAUserIsRenamed() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(recipeRepository.findVersionById(1L, null))
+                .thenReturn(Optional.of(new RecipeVersionDto(1L, updatedAt, "testuser", 3L, 0L, 1L, updatedAt, null)));
+        when(likeService.withPendingVotes(eq(1L), any(LikeCountsDto.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        ResourceVersion beforeRename = recipeService.getRecipeVersion(1L).orElseThrow();
+        usernameVersion.onUsernameChanged(new UsernameChangedEvent(7L));
+        ResourceVersion afterRename = recipeService.getRecipeVersion(1L).orElseThrow();
+
+        assertNotEquals(beforeRename.eTag(), afterRename.eTag());
+        assertEquals(usernameVersion.current(), recipeService.getUsernameVersion());
+    }
+
+    @Test
+    void testGetRecipeVersion_NotFound() {
+        when(recipeRepository.findVersionById(99L, null)).thenReturn(Optional.empty());
+
+        assertTrue(recipeService.getRecipeVersion(99L).isEmpty());
     }
 
     @Test
@@ -196,14 +607,15 @@ class RecipeServiceTest {
 
     @Test
     void testSearchRecipesByTag() {
-        Page<Recipe> recipePage = new PageImpl<>(Collections.singletonList(recipe));
-        when(recipeRepository.findByTagContainingIgnoreCase("italian", pageable)).thenReturn(recipePage);
+        Page<RecipeSearchHitDto> hits = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Pasta", "italian", null, 3L, 0L)));
+        when(recipeSearchService.searchByTags(List.of("italian"), pageable)).thenReturn(hits);
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(recipe));
 
-        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag("italian", pageable);
+        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag(List.of("italian"), pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(recipeRepository).findByTagContainingIgnoreCase("italian", pageable);
+        verify(recipeSearchService).searchByTags(List.of("italian"), pageable);
     }
 
     @Test
@@ -216,20 +628,40 @@ class RecipeServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         verify(recipeRepository).findByTitleContainingIgnoreCase("pasta", pageable);
+        verifyNoInteractions(recipeSearchService);
+    }
+
+    @Test
+    void testSearchRecipesByTitle_NoExactMatch_ReturnsSimilarRecipesInSimilarityOrder() {
+        Recipe other = new Recipe();
+        other.setId(2L);
+        other.setTitle("Spaghetti Carbonara");
+        other.setCreatedBy(user);
+        when(recipeRepository.findByTitleContainingIgnoreCase("spagetti", pageable)).thenReturn(Page.empty(pageable));
+        when(recipeSearchService.similarRecipeIds("spagetti", pageable))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+        when(recipeRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(recipe, other));
+
+        Page<RecipeResponseDto> result = recipeService.searchRecipesByTitle("spagetti", pageable);
+
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(RecipeResponseDto::id).toList());
+        assertEquals(2, result.getTotalElements());
     }
 
     @Test
     void testUpdateRecipe() {
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
 
         RecipeResponseDto result = recipeService.updateRecipe(1L, updateDto);
 
         assertNotNull(result);
         verify(recipeRepository).findById(1L);
-        verify(userService, times(2)).getCurrentUser();
+        verify(userService, times(2)).getCurrentUserId();
         verify(recipeRepository).save(any(Recipe.class));
+        verify(tagService).resolveTags("Updated Tag");
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
     }
 
     @Test
@@ -238,7 +670,7 @@ class RecipeServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> recipeService.updateRecipe(1L, updateDto));
         verify(recipeRepository).findById(1L);
-        verify(userService, never()).getCurrentUser();
+        verify(userService, never()).getCurrentUserId();
     }
 
     @Test
@@ -248,11 +680,11 @@ class RecipeServiceTest {
         recipe.setCreatedBy(otherUser);
 
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
 
         assertThrows(UnauthorizedOperationException.class, () -> recipeService.updateRecipe(1L, updateDto));
         verify(recipeRepository).findById(1L);
-        verify(userService).getCurrentUser();
+        verify(userService).getCurrentUserId();
         verify(recipeRepository, never()).save(any());
     }
 
@@ -410,7 +842,7 @@ class RecipeServiceTest {
     void testUpdateRecipeWithImage() {
         MultipartFile image = new MockMultipartFile("image", "test.jpg", "image/jpeg", "test image content".getBytes());
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(cloudinaryService.replaceImageSafely(any(), any()))
                 .thenReturn("https://cloudinary.com/new-test.jpg");
         when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
@@ -426,7 +858,7 @@ class RecipeServiceTest {
     void testUpdateRecipeWithEmptyImage() {
         MultipartFile emptyImage = new MockMultipartFile("image", "", "image/jpeg", new byte[0]);
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
 
         RecipeResponseDto result = recipeService.updateRecipe(1L, updateDto, emptyImage);
@@ -441,7 +873,7 @@ class RecipeServiceTest {
         MultipartFile image = new MockMultipartFile("image", "test.jpg", "image/jpeg", "test image content".getBytes());
 
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(cloudinaryService.replaceImageSafely(any(), any()))
                 .thenReturn("https://cloudinary.com/new-test.jpg");
         when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
@@ -459,7 +891,7 @@ class RecipeServiceTest {
         MultipartFile image = new MockMultipartFile("image", "test.jpg", "image/jpeg", "test image content".getBytes());
 
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(cloudinaryService.replaceImageSafely(any(), any()))
                 .thenReturn("https://cloudinary.com/new-test.jpg");
         when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
@@ -476,7 +908,7 @@ class RecipeServiceTest {
     void testDeleteRecipeWithDefaultImage() throws IOException {
         recipe.setImageUrl("http://localhost:8080/images/logo.png");
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(cloudinaryService.getDefaultImageUrl()).thenReturn("http://localhost:8080/images/logo.png");
         doNothing().when(recipeRepository).delete(recipe);
 
@@ -490,7 +922,7 @@ class RecipeServiceTest {
     void testDeleteRecipeWithNullImage() throws IOException {
         recipe.setImageUrl(null);
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         doNothing().when(recipeRepository).delete(recipe);
 
         assertDoesNotThrow(() -> recipeService.deleteRecipe(1L));
@@ -503,7 +935,7 @@ class RecipeServiceTest {
     void testDeleteRecipeWithImageDeletionFailure() throws IOException {
         recipe.setImageUrl("https://res.cloudinary.com/test/image/upload/v123456789/recipe_image.jpg");
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(cloudinaryService.getDefaultImageUrl()).thenReturn("http://localhost:8080/images/logo.png");
         when(cloudinaryService.extractPublicIdFromUrl(anyString())).thenReturn("recipe_image");
         doThrow(new RuntimeException("Cloudinary error")).when(cloudinaryService).deleteFile("recipe_image");
@@ -519,7 +951,7 @@ class RecipeServiceTest {
     void testDeleteRecipeWithNullPublicId() throws IOException {
         recipe.setImageUrl("https://res.cloudinary.com/test/image/upload/v123456789/recipe_image.jpg");
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(cloudinaryService.getDefaultImageUrl()).thenReturn("http://localhost:8080/images/logo.png");
         when(cloudinaryService.extractPublicIdFromUrl(anyString())).thenReturn(null);
         doNothing().when(recipeRepository).delete(recipe);
@@ -534,6 +966,7 @@ class RecipeServiceTest {
     void testSearchRecipesByTitle_EmptyResults() {
         Page<Recipe> emptyPage = new PageImpl<>(Collections.emptyList());
         when(recipeRepository.findByTitleContainingIgnoreCase("nonexistent", pageable)).thenReturn(emptyPage);
+        when(recipeSearchService.similarRecipeIds("nonexistent", pageable)).thenReturn(Page.empty(pageable));
         when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(1L));
 
         Page<RecipeResponseDto> result = recipeService.searchRecipesByTitle("nonexistent", pageable);
@@ -558,38 +991,37 @@ class RecipeServiceTest {
 
     @Test
     void testSearchRecipesByTag_EmptyResults() {
-        Page<Recipe> emptyPage = new PageImpl<>(Collections.emptyList());
-        when(recipeRepository.findByTagContainingIgnoreCase("nonexistent", pageable)).thenReturn(emptyPage);
+        when(recipeSearchService.searchByTags(List.of("nonexistent"), pageable)).thenReturn(Page.empty(pageable));
         when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(1L));
 
-        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag("nonexistent", pageable);
+        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag(List.of("nonexistent"), pageable);
 
         assertNotNull(result);
         assertEquals(0, result.getTotalElements());
-        verify(recipeRepository).findByTagContainingIgnoreCase("nonexistent", pageable);
+        verify(recipeSearchService).searchByTags(List.of("nonexistent"), pageable);
     }
 
     @Test
     void testGetRecipeById_WithCurrentUser() {
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+        when(recipeRepository.findDetailById(1L)).thenReturn(Optional.of(recipe));
         when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(1L));
 
         RecipeResponseDto result = recipeService.getRecipeById(1L);
 
         assertNotNull(result);
-        verify(recipeRepository).findById(1L);
+        verify(recipeRepository).findDetailById(1L);
         verify(userService).getCurrentUserIdOptional();
     }
 
     @Test
     void testGetRecipeById_WithoutCurrentUser() {
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+        when(recipeRepository.findDetailById(1L)).thenReturn(Optional.of(recipe));
         when(userService.getCurrentUserIdOptional()).thenReturn(Optional.empty());
 
         RecipeResponseDto result = recipeService.getRecipeById(1L);
 
         assertNotNull(result);
-        verify(recipeRepository).findById(1L);
+        verify(recipeRepository).findDetailById(1L);
         verify(userService).getCurrentUserIdOptional();
     }
 
@@ -651,29 +1083,31 @@ class RecipeServiceTest {
 
     @Test
     void testSearchRecipesByTag_WithCurrentUser() {
-        Page<Recipe> recipePage = new PageImpl<>(Collections.singletonList(recipe));
-        when(recipeRepository.findByTagContainingIgnoreCase("italian", pageable)).thenReturn(recipePage);
+        Page<RecipeSearchHitDto> hits = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Pasta", "italian", null, 3L, 0L)));
+        when(recipeSearchService.searchByTags(List.of("italian"), pageable)).thenReturn(hits);
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(recipe));
         when(userService.getCurrentUserIdOptional()).thenReturn(Optional.of(1L));
 
-        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag("italian", pageable);
+        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag(List.of("italian"), pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(recipeRepository).findByTagContainingIgnoreCase("italian", pageable);
+        verify(recipeSearchService).searchByTags(List.of("italian"), pageable);
         verify(userService).getCurrentUserIdOptional();
     }
 
     @Test
     void testSearchRecipesByTag_WithoutCurrentUser() {
-        Page<Recipe> recipePage = new PageImpl<>(Collections.singletonList(recipe));
-        when(recipeRepository.findByTagContainingIgnoreCase("italian", pageable)).thenReturn(recipePage);
+        Page<RecipeSearchHitDto> hits = new PageImpl<>(List.of(new RecipeSearchHitDto(1L, "Pasta", "italian", null, 3L, 0L)));
+        when(recipeSearchService.searchByTags(List.of("italian"), pageable)).thenReturn(hits);
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(recipe));
         when(userService.getCurrentUserIdOptional()).thenReturn(Optional.empty());
 
-        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag("italian", pageable);
+        Page<RecipeResponseDto> result = recipeService.searchRecipesByTag(List.of("italian"), pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(recipeRepository).findByTagContainingIgnoreCase("italian", pageable);
+        verify(recipeSearchService).searchByTags(List.of("italian"), pageable);
         verify(userService).getCurrentUserIdOptional();
     }
 }
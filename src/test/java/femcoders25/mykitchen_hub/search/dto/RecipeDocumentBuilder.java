@@ -0,0 +1,90 @@
+package femcoders25.mykitchen_hub.search.dto;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds {@link RecipeDocument}s for index tests, defaulting every field a test doesn't care about.
+ */
+public final class RecipeDocumentBuilder {
+
+    private final Long id;
+    private String title;
+    private String description;
+    private String tag;
+    private long likesCount;
+    private String author;
+    private LocalDateTime createdAt;
+    private List<IngredientDocument> ingredients = List.of();
+    private List<TagDocument> tags = List.of();
+
+    private RecipeDocumentBuilder(Long id) {
+        this.id = id;
+        this.title = "Recipe " + id;
+    }
+
+    public static RecipeDocumentBuilder recipeDocument(Long id) {
+        return new RecipeDocumentBuilder(id);
+    }
+
+    public RecipeDocumentBuilder title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    public RecipeDocumentBuilder description(String description) {
+        this.description = description;
+        return this;
+    }
+
+    public RecipeDocumentBuilder tag(String tag) {
+        this.tag = tag;
+        return this;
+    }
+
+    public RecipeDocumentBuilder likesCount(long likesCount) {
+        this.likesCount = likesCount;
+        return this;
+    }
+
+    public RecipeDocumentBuilder author(String author) {
+        this.author = author;
+        return this;
+    }
+
+    public RecipeDocumentBuilder createdAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+        return this;
+    }
+
+    public RecipeDocumentBuilder ingredients(IngredientDocument... ingredients) {
+        this.ingredients = List.of(ingredients);
+        return this;
+    }
+
+    /**
+     * Ingredients with these names, one unit each.
+     */
+    public RecipeDocumentBuilder ingredientNames(String... names) {
+        this.ingredients = Arrays.stream(names)
+                .map(name -> new IngredientDocument(id, name, 1.0, "unit"))
+                .toList();
+        return this;
+    }
+
+    /**
+     * Tags with these names, slugged by lower-casing.
+     */
+    public RecipeDocumentBuilder tagNames(String... names) {
+        this.tags = Arrays.stream(names)
+                .map(name -> new TagDocument(id, name.toLowerCase(Locale.ROOT), name))
+                .toList();
+        return this;
+    }
+
+    public RecipeDocument build() {
+        return new RecipeDocument(id, title, description, tag, likesCount, author, createdAt, ingredients, tags);
+    }
+}
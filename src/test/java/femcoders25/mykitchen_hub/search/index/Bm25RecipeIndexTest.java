@@ -0,0 +1,117 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RankedRecipes;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25RecipeIndexTest {
+
+    private Bm25RecipeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new Bm25RecipeIndex();
+        index.rebuild(List.of(
+                document(1L, "Chicken Tikka Masala", "Creamy curry with tender chicken pieces",
+                        "Indian, Curry, Chicken"),
+                document(2L, "Vegetable Stir Fry", "Quick fried vegetables, can add chicken stock",
+                        "Asian, Vegetarian"),
+                document(3L, "Spaghetti Carbonara", "Classic Italian pasta with eggs and cheese",
+                        "Italian, Pasta, Quick")));
+    }
+
+    @Test
+    void search_RanksTitleMatchAboveDescriptionMatch() {
+        RankedRecipes result = index.search("chicken", 10);
+
+        assertEquals(List.of(1L, 2L), result.recipeIds());
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    void search_MatchesStemmedInflections() {
+        assertEquals(List.of(2L), index.search("frying vegetable", 10).recipeIds());
+        assertEquals(List.of(3L), index.search("EGG", 10).recipeIds());
+    }
+
+    @Test
+    void search_AnyTermMatches_DocumentsWithMoreTermsRankFirst() {
+        RankedRecipes result = index.search("quick italian pasta", 10);
+
+        assertEquals(3L, result.recipeIds().get(0));
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    void search_LimitKeepsBestHitsButCountsAll() {
+        RankedRecipes result = index.search("chicken", 1);
+
+        assertEquals(List.of(1L), result.recipeIds());
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    void search_WithCandidates_RanksAndCountsOnlyThose() {
+        BitSet candidates = new BitSet();
+        candidates.set(2);
+        candidates.set(3);
+
+        RankedRecipes result = index.search("chicken", 10, candidates);
+
+        assertEquals(List.of(2L), result.recipeIds());
+        assertEquals(1, result.totalHits());
+    }
+
+    @Test
+    void matching_ReturnsEveryRecipeWithAnyTerm() {
+        BitSet matches = index.matching("quick chicken");
+
+        assertEquals(List.of(1, 2, 3), matches.stream().boxed().toList());
+        assertTrue(index.matching("the").isEmpty());
+    }
+
+    @Test
+    void search_UnknownOrEmptyQuery_ReturnsNothing() {
+        assertEquals(RankedRecipes.empty(), index.search("sushi", 10));
+        assertEquals(RankedRecipes.empty(), index.search("the and of", 10));
+        assertEquals(RankedRecipes.empty(), index.search(null, 10));
+    }
+
+    @Test
+    void upsert_ReplacesPreviousTermsOfRecipe() {
+        index.upsert(document(3L, "Mushroom Risotto", "Creamy rice", "Italian"));
+
+        assertTrue(index.search("carbonara", 10).recipeIds().isEmpty());
+        assertEquals(List.of(3L), index.search("risotto", 10).recipeIds());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_DropsRecipeFromResults() {
+        index.remove(1L);
+        index.remove(99L);
+
+        assertEquals(List.of(2L), index.search("chicken", 10).recipeIds());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void rebuild_ReplacesWholeIndex() {
+        index.rebuild(List.of(recipeDocument(7L).title("Apple Pie").build()));
+
+        assertEquals(List.of(7L), index.search("apple pies", 10).recipeIds());
+        assertTrue(index.search("chicken", 10).recipeIds().isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    private static RecipeDocument document(Long id, String title, String description, String tag) {
+        return recipeDocument(id).title(title).description(description).tag(tag).build();
+    }
+}
@@ -0,0 +1,114 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.IngredientFacetDto;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngredientIndexTest {
+
+    private IngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IngredientIndex();
+        index.rebuild(List.of(
+                recipe(1L, "Chicken breast", "Garlic cloves", "Heavy cream"),
+                recipe(2L, "Chicken thighs", "Garlic", "Lemon"),
+                recipe(3L, "Firm tofu", "Garlic", "Soy sauce"),
+                recipe(4L, "Olive oil", "Tomatoes")));
+    }
+
+    @Test
+    void match_AndNot() {
+        assertEquals(PostingList.of(2), match("chicken AND garlic NOT cream"));
+    }
+
+    @Test
+    void match_Or() {
+        assertEquals(PostingList.of(1, 2, 3), match("chicken OR tofu"));
+        assertEquals(PostingList.of(2, 3), match("chicken AND lemon OR tofu"));
+    }
+
+    @Test
+    void match_MultiWordIngredientAndInflections() {
+        assertEquals(PostingList.of(4), match("olive oil AND tomato"));
+        assertEquals(PostingList.of(1), match("clove"));
+    }
+
+    @Test
+    void match_MultiWordIngredient_MatchesWordsWithinOneIngredient() {
+        index.upsert(recipe(5L, "Black olives", "Sesame oil"));
+
+        assertEquals(PostingList.of(4), match("olive oil"));
+        assertEquals(PostingList.of(5), match("olive NOT olive oil"));
+        assertEquals(PostingList.of(4, 5), match("olive AND oil"));
+    }
+
+    @Test
+    void match_LeadingNot_ExcludesFromAllRecipes() {
+        assertEquals(PostingList.of(3, 4), match("NOT chicken"));
+    }
+
+    @Test
+    void match_UnknownIngredient_ReturnsEmpty() {
+        assertTrue(match("saffron").isEmpty());
+        assertTrue(match("garlic AND saffron").isEmpty());
+    }
+
+    @Test
+    void facets_CountsWholeIngredientNamesWithinRecipes() {
+        BitSet recipes = PostingList.of(1, 2, 3).toBitSet();
+
+        assertEquals(List.of(new IngredientFacetDto("Garlic", 2), new IngredientFacetDto("Chicken breast", 1)),
+                index.facets(recipes, 2));
+    }
+
+    @Test
+    void facets_FollowUpsertAndRemove() {
+        index.upsert(recipe(2L, "Garlic cloves"));
+        index.remove(3L);
+
+        assertEquals(List.of(new IngredientFacetDto("Garlic cloves", 2), new IngredientFacetDto("Chicken breast", 1),
+                new IngredientFacetDto("Heavy cream", 1)), index.facets(PostingList.of(1, 2, 3).toBitSet(), 10));
+    }
+
+    @Test
+    void upsert_ReplacesRecipeIngredients() {
+        index.upsert(recipe(2L, "Tofu", "Ginger"));
+
+        assertEquals(PostingList.of(1), match("chicken"));
+        assertEquals(PostingList.of(2, 3), match("tofu"));
+        assertEquals(PostingList.of(1, 3), match("garlic"));
+    }
+
+    @Test
+    void upsert_NewRecipe_JoinsUniverse() {
+        index.upsert(recipe(9L, "Rice"));
+
+        assertEquals(PostingList.of(3, 4, 9), match("NOT chicken"));
+    }
+
+    @Test
+    void remove_DropsRecipeEverywhere() {
+        index.remove(1L);
+        index.remove(42L);
+
+        assertEquals(PostingList.of(2), match("chicken"));
+        assertEquals(PostingList.of(2, 3, 4), match("NOT cream"));
+    }
+
+    private PostingList match(String query) {
+        return index.match(IngredientQuery.parse(query));
+    }
+
+    private static RecipeDocument recipe(Long id, String... ingredients) {
+        return recipeDocument(id).ingredientNames(ingredients).build();
+    }
+}
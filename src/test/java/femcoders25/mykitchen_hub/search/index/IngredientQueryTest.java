@@ -0,0 +1,45 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngredientQueryTest {
+
+    @Test
+    void parse_AndNotBindTighterThanOr() {
+        IngredientQuery query = IngredientQuery.parse("chicken AND garlic NOT cream OR tofu");
+
+        assertEquals(List.of(
+                new IngredientQuery.Clause(List.of(List.of("chicken"), List.of("garlic")), List.of(List.of("cream"))),
+                new IngredientQuery.Clause(List.of(List.of("tofu")), List.of())), query.clauses());
+    }
+
+    @Test
+    void parse_AdjacentWordsFormOneStemmedIngredient() {
+        IngredientQuery query = IngredientQuery.parse("olive oil and not Tomatoes");
+
+        assertEquals(List.of(new IngredientQuery.Clause(List.of(List.of("oliv", "oil")), List.of(List.of("tomato")))),
+                query.clauses());
+    }
+
+    @Test
+    void parse_LeadingNot_OnlyExcludes() {
+        IngredientQuery query = IngredientQuery.parse("NOT nuts");
+
+        assertEquals(List.of(new IngredientQuery.Clause(List.of(), List.of(List.of("nut")))), query.clauses());
+    }
+
+    @Test
+    void parse_Malformed_Throws() {
+        for (String query : List.of("", "   ", "AND chicken", "chicken OR", "chicken AND AND garlic", "NOT NOT cream",
+                "chicken AND the")) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> IngredientQuery.parse(query), query);
+
+            assertTrue(exception.getMessage().startsWith("Invalid ingredient query"));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.IngredientDocument;
+import femcoders25.mykitchen_hub.search.dto.PantryMatch;
+import femcoders25.mykitchen_hub.search.dto.PantryRanking;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PantryIndexTest {
+
+    private PantryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PantryIndex();
+        index.rebuild(List.of(
+                document(1L, ingredient("Chicken breast", 500.0, "g"), ingredient("Garlic", 10.0, "g"),
+                        ingredient("Heavy cream", 200.0, "ml")),
+                document(2L, ingredient("Chicken thighs", 600.0, "g"), ingredient("Lemon", 1.0, "pcs")),
+                document(3L, ingredient("Firm tofu", 400.0, "g"), ingredient("Soy sauce", 30.0, "ml")),
+                document(4L, ingredient("Bread flour", 500.0, "g"), ingredient("Dry yeast", 7.0, "g"),
+                        ingredient("Salt", null, null))));
+    }
+
+    @Test
+    void weights_ShareOfSameUnitAverageOne_UnmeasuredWeighOne() {
+        double[] weights = PantryIndex.weights(List.of(ingredient("Flour", 300.0, "g"),
+                ingredient("Sugar", 100.0, "G"), ingredient("Eggs", 2.0, "pcs"), ingredient("Salt", null, null)));
+
+        assertArrayEquals(new double[]{1.5, 0.5, 1, 1}, weights, 1e-9);
+    }
+
+    @Test
+    void rank_OrdersByWeightedCoverage() {
+        PantryRanking ranking = index.rank(List.of("chicken", "cream"), 10);
+
+        assertEquals(List.of(1L, 2L), recipeIds(ranking));
+        assertEquals(2, ranking.totalHits());
+        PantryMatch best = ranking.matches().get(0);
+        assertEquals(List.of("Chicken breast", "Heavy cream"), best.matchedIngredients());
+        assertEquals(List.of("Garlic"), best.missingIngredients());
+        assertEquals((2 * 500.0 / 510 + 1) / 3, best.coverage(), 1e-9);
+    }
+
+    @Test
+    void rank_HeavierIngredientCountsMore() {
+        PantryMatch flour = index.rank(List.of("flour"), 10).matches().get(0);
+        PantryMatch yeast = index.rank(List.of("yeast"), 10).matches().get(0);
+
+        assertTrue(flour.coverage() > yeast.coverage());
+    }
+
+    @Test
+    void rank_MultiWordItemMustMatchAllWords() {
+        assertTrue(index.rank(List.of("chicken wings"), 10).matches().isEmpty());
+        assertEquals(List.of(3L), recipeIds(index.rank(List.of("soy sauce"), 10)));
+    }
+
+    @Test
+    void rank_UnknownOrBlankPantry_ReturnsNothing() {
+        assertEquals(PantryRanking.empty(), index.rank(List.of("saffron"), 10));
+        assertEquals(PantryRanking.empty(), index.rank(List.of(" "), 10));
+    }
+
+    @Test
+    void rank_TracksUpsertAndRemove() {
+        index.upsert(document(3L, ingredient("Chicken wings", 1.0, "kg")));
+        assertEquals(List.of(3L), recipeIds(index.rank(List.of("chicken wings"), 10)));
+
+        index.remove(3L);
+        assertTrue(index.rank(List.of("chicken wings"), 10).matches().isEmpty());
+    }
+
+    @Test
+    void rank_LargeCatalog_ScoresInParallelAndKeepsTopK() {
+        List<RecipeDocument> documents = new ArrayList<>();
+        LongStream.rangeClosed(1, PantryIndex.SEQUENTIAL_THRESHOLD * 4L).forEach(id -> documents.add(
+                id % 100 == 0
+                        ? document(id, ingredient("Rice", 1.0, "cup"))
+                        : document(id, ingredient("Rice", 1.0, "cup"), ingredient("Beans", 1.0, "cup"))));
+        index.rebuild(documents);
+
+        PantryRanking ranking = index.rank(List.of("rice"), 3);
+
+        assertEquals(List.of(4000L, 3900L, 3800L), recipeIds(ranking));
+        assertEquals(PantryIndex.SEQUENTIAL_THRESHOLD * 4, ranking.totalHits());
+        assertEquals(1.0, ranking.matches().get(0).coverage());
+    }
+
+    private static List<Long> recipeIds(PantryRanking ranking) {
+        return ranking.matches().stream().map(PantryMatch::recipeId).toList();
+    }
+
+    private static IngredientDocument ingredient(String name, Double amount, String unit) {
+        return new IngredientDocument(null, name, amount, unit);
+    }
+
+    private static RecipeDocument document(Long id, IngredientDocument... ingredients) {
+        return recipeDocument(id).description("A description").ingredients(ingredients).build();
+    }
+}
@@ -0,0 +1,73 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    void of_SortsAndDeduplicates() {
+        assertEquals(PostingList.of(1, 3, 7), PostingList.of(7, 1, 3, 3));
+        assertSame(PostingList.EMPTY, PostingList.of());
+    }
+
+    @Test
+    void and_Intersects() {
+        assertEquals(PostingList.of(3, 7), PostingList.of(1, 3, 5, 7).and(PostingList.of(2, 3, 7, 8)));
+        assertTrue(PostingList.of(1, 2).and(PostingList.EMPTY).isEmpty());
+    }
+
+    @Test
+    void and_SmallAgainstLargeList_ProbesInsteadOfMerging() {
+        PostingList large = PostingList.of(IntStream.range(0, 10_000).map(i -> i * 2).toArray());
+
+        assertEquals(PostingList.of(4, 19_998), PostingList.of(3, 4, 19_998).and(large));
+        assertEquals(PostingList.of(4, 19_998), large.and(PostingList.of(3, 4, 19_998)));
+    }
+
+    @Test
+    void or_Unions() {
+        assertEquals(PostingList.of(1, 2, 3, 5), PostingList.of(1, 3).or(PostingList.of(2, 3, 5)));
+        assertEquals(PostingList.of(4), PostingList.EMPTY.or(PostingList.of(4)));
+    }
+
+    @Test
+    void andNot_Subtracts() {
+        assertEquals(PostingList.of(1, 5), PostingList.of(1, 3, 5, 7).andNot(PostingList.of(3, 4, 7)));
+        assertEquals(PostingList.of(1), PostingList.of(1).andNot(PostingList.EMPTY));
+    }
+
+    @Test
+    void withAndWithout_ReturnNewListsAndKeepOriginal() {
+        PostingList original = PostingList.of(2, 6);
+
+        assertEquals(PostingList.of(2, 4, 6), original.with(4));
+        assertSame(original, original.with(6));
+        assertEquals(PostingList.of(6), original.without(2));
+        assertSame(original, original.without(3));
+        assertSame(PostingList.EMPTY, PostingList.of(2).without(2));
+        assertEquals(PostingList.of(2, 6), original);
+    }
+
+    @Test
+    void bitSetConversions_RoundTrip() {
+        PostingList list = PostingList.of(3, 64, 1000);
+
+        assertEquals(list, PostingList.of(list.toBitSet()));
+        assertSame(PostingList.EMPTY, PostingList.of(new BitSet()));
+    }
+
+    @Test
+    void descending_PagesFromHighestId() {
+        PostingList list = PostingList.of(1, 2, 3, 4, 5);
+
+        assertEquals(List.of(5L, 4L), list.descending(0, 2));
+        assertEquals(List.of(1L), list.descending(4, 2));
+        assertTrue(list.descending(5, 2).isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeAttributeIndexTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 15, 12, 0);
+    private static final LocalDateTime MARCH = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    private RecipeAttributeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecipeAttributeIndex();
+        index.rebuild(List.of(
+                recipe(1L, "alice", JANUARY),
+                recipe(2L, "Bob", MARCH),
+                recipe(3L, "bob", JANUARY)));
+    }
+
+    @Test
+    void all_ReturnsCopyOfEveryRecipe() {
+        index.all().clear();
+
+        assertEquals(List.of(1, 2, 3), ids(index.all()));
+    }
+
+    @Test
+    void byAuthor_IsCaseInsensitive() {
+        assertEquals(List.of(2, 3), ids(index.byAuthor(" BOB ")));
+        assertTrue(index.byAuthor("carol").isEmpty());
+    }
+
+    @Test
+    void retainCreatedSince_ClearsOlderRecipes() {
+        BitSet recipes = index.all();
+
+        index.retainCreatedSince(recipes, MARCH);
+
+        assertEquals(List.of(2), ids(recipes));
+    }
+
+    @Test
+    void upsertAndRemove_MoveRecipesBetweenAuthors() {
+        index.upsert(recipe(3L, "alice", MARCH));
+        index.remove(2L);
+
+        assertEquals(List.of(1, 3), ids(index.byAuthor("alice")));
+        assertTrue(index.byAuthor("bob").isEmpty());
+        assertEquals(List.of(1, 3), ids(index.all()));
+    }
+
+    private static RecipeDocument recipe(Long id, String author, LocalDateTime createdAt) {
+        return recipeDocument(id).author(author).createdAt(createdAt).build();
+    }
+
+    private static List<Integer> ids(BitSet bits) {
+        return bits.stream().boxed().toList();
+    }
+}
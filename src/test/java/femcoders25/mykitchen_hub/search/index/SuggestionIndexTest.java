@@ -0,0 +1,119 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.dto.SuggestionDto;
+import femcoders25.mykitchen_hub.search.dto.SuggestionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex();
+        index.rebuild(List.of(
+                recipe(1L, "Chicken Tikka Masala", 9, List.of("Chicken Breast", "Garam masala"), List.of("Indian")),
+                recipe(2L, "Chocolate Chip Cookies", 2, List.of("Chocolate chips"), List.of("Dessert")),
+                recipe(3L, "Chickpea Curry", 0, List.of("Chickpeas", "Chicken Breast"), List.of("Indian"))));
+    }
+
+    @Test
+    void suggest_RanksByPopularity() {
+        assertEquals(List.of("Chicken Breast", "Chicken Tikka Masala", "Chickpea Curry", "Chickpeas"),
+                texts(index.suggest("chick", 10)));
+    }
+
+    @Test
+    void suggest_MatchesAnyWordStartCaseAndAccentInsensitive() {
+        assertEquals(List.of(new SuggestionDto("Chicken Tikka Masala", SuggestionType.RECIPE, 1L)),
+                index.suggest("TÍKKA", 10));
+        assertEquals(List.of("Chicken Tikka Masala", "Garam masala"), texts(index.suggest("masala", 10)));
+        assertEquals(List.of("Chicken Tikka Masala"), texts(index.suggest("chicken tik", 10)));
+    }
+
+    @Test
+    void suggest_IncludesTags() {
+        assertEquals(List.of(new SuggestionDto("Indian", SuggestionType.TAG, null)), index.suggest("ind", 10));
+    }
+
+    @Test
+    void suggest_RespectsLimitAndUnknownPrefix() {
+        assertEquals(2, index.suggest("c", 2).size());
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_KeepsOnlyTopEntriesPerNode() {
+        index.rebuild(IntStream.rangeClosed(1, 25)
+                .mapToObj(id -> recipe((long) id, "Pie " + id, id, List.of(), List.of()))
+                .toList());
+
+        List<SuggestionDto> suggestions = index.suggest("pie", 10);
+
+        assertEquals(SuggestionIndex.MAX_SUGGESTIONS, suggestions.size());
+        assertEquals("Pie 25", suggestions.get(0).text());
+        assertEquals("Pie 16", suggestions.get(9).text());
+    }
+
+    @Test
+    void updateLikes_ReranksPhrasesOfChangedRecipes() {
+        index.updateLikes(Map.of(3L, 20L, 99L, 5L));
+
+        assertEquals(List.of("Chicken Breast", "Chickpea Curry", "Chickpeas", "Chicken Tikka Masala"),
+                texts(index.suggest("chick", 10)));
+
+        index.updateLikes(Map.of(3L, 0L));
+
+        assertEquals(List.of("Chicken Breast", "Chicken Tikka Masala", "Chickpea Curry", "Chickpeas"),
+                texts(index.suggest("chick", 10)));
+    }
+
+    @Test
+    void upsert_UpdatesTitleAndWeights() {
+        index.upsert(recipe(3L, "Chickpea Curry", 50, List.of("Chickpeas"), List.of("Indian")));
+
+        assertEquals(List.of("Chickpea Curry", "Chickpeas", "Chicken Breast", "Chicken Tikka Masala"),
+                texts(index.suggest("chick", 10)));
+
+        index.upsert(recipe(3L, "Lentil Curry", 50, List.of("Lentils"), List.of("Indian")));
+
+        assertEquals(List.of("Chicken Breast", "Chicken Tikka Masala"), texts(index.suggest("chick", 10)));
+        assertEquals(List.of("Lentil Curry", "Lentils"), texts(index.suggest("lent", 10)));
+    }
+
+    @Test
+    void remove_DropsPhrasesNoLongerUsed() {
+        index.remove(2L);
+
+        assertTrue(index.suggest("choc", 10).isEmpty());
+        assertTrue(index.suggest("dessert", 10).isEmpty());
+
+        index.remove(1L);
+
+        assertEquals(List.of("Chicken Breast", "Chickpea Curry", "Chickpeas"), texts(index.suggest("chick", 10)));
+        assertEquals(List.of("Indian"), texts(index.suggest("indian", 10)));
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::text).toList();
+    }
+
+    private static RecipeDocument recipe(Long id, String title, long likes, List<String> ingredients,
+                                         List<String> tags) {
+        return recipeDocument(id).title(title)
+                .likesCount(likes)
+                .ingredientNames(ingredients.toArray(String[]::new))
+                .tagNames(tags.toArray(String[]::new))
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.dto.TagFacetDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagIndexTest {
+
+    private TagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TagIndex();
+        index.rebuild(List.of(
+                recipe(1L, "Italian", "Pasta", "Quick"),
+                recipe(2L, "Italian", "Pasta"),
+                recipe(3L, "Asian", "Quick"),
+                recipe(4L)));
+    }
+
+    @Test
+    void match_IntersectsAllTags() {
+        assertEquals(bits(1, 2), index.match(List.of("italian")));
+        assertEquals(bits(1), index.match(List.of("italian", "quick")));
+    }
+
+    @Test
+    void match_NoTags_ReturnsAllRecipes() {
+        assertEquals(bits(1, 2, 3, 4), index.match(List.of()));
+    }
+
+    @Test
+    void match_UnknownTag_ReturnsEmpty() {
+        assertTrue(index.match(List.of("italian", "vegan")).isEmpty());
+    }
+
+    @Test
+    void match_ReturnsCopy() {
+        index.match(List.of("italian")).clear();
+
+        assertEquals(bits(1, 2), index.match(List.of("italian")));
+    }
+
+    @Test
+    void facets_CountsWithinSelectionMostUsedFirst() {
+        List<TagFacetDto> facets = index.facets(index.match(List.of("italian")));
+
+        assertEquals(List.of(
+                new TagFacetDto("italian", "Italian", 2),
+                new TagFacetDto("pasta", "Pasta", 2),
+                new TagFacetDto("quick", "Quick", 1)), facets);
+    }
+
+    @Test
+    void facets_LargeSelection_MatchesSmallSelectionCounts() {
+        List<TagFacetDto> facets = index.facets(index.match(List.of()));
+
+        assertEquals(List.of(
+                new TagFacetDto("italian", "Italian", 2),
+                new TagFacetDto("pasta", "Pasta", 2),
+                new TagFacetDto("quick", "Quick", 2),
+                new TagFacetDto("asian", "Asian", 1)), facets);
+    }
+
+    @Test
+    void upsert_ReplacesRecipeTags() {
+        index.upsert(recipe(2L, "Asian"));
+
+        assertEquals(bits(1), index.match(List.of("italian")));
+        assertEquals(bits(2, 3), index.match(List.of("asian")));
+    }
+
+    @Test
+    void remove_DropsRecipeAndUnusedTags() {
+        index.remove(3L);
+
+        assertEquals(bits(1, 2, 4), index.match(List.of()));
+        assertTrue(index.match(List.of("asian")).isEmpty());
+        assertTrue(index.facets(index.match(List.of())).stream().noneMatch(facet -> facet.slug().equals("asian")));
+    }
+
+    private static RecipeDocument recipe(Long id, String... tags) {
+        return recipeDocument(id).tag(String.join(", ", tags)).tagNames(tags).build();
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,59 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextAnalyzerTest {
+
+    @Test
+    void analyze_FoldsAccentsDropsStopWordsAndPunctuation() {
+        List<String> terms = TextAnalyzer.analyze("Crème Brûlée, with the BEST caramel!");
+
+        assertEquals(List.of("crem", "brule", "best", "caramel"), terms);
+    }
+
+    @Test
+    void analyze_NullOrBlank_ReturnsNoTerms() {
+        assertTrue(TextAnalyzer.analyze(null).isEmpty());
+        assertTrue(TextAnalyzer.analyze("  , ; ").isEmpty());
+    }
+
+    @Test
+    void normalizePhrase_KeepsAllWordsInOrder() {
+        assertEquals("creme brulee with the best", TextAnalyzer.normalizePhrase("  Crème-Brûlée, with THE best! "));
+        assertEquals("", TextAnalyzer.normalizePhrase(null));
+    }
+
+    @Test
+    void stem_MapsInflectionsOntoSameStem() {
+        assertSameStem("tomato", "tomatoes");
+        assertSameStem("berry", "berries");
+        assertSameStem("bake", "baked", "baking", "bakes");
+        assertSameStem("chop", "chopped", "chopping");
+        assertSameStem("fry", "fried", "frying", "fries");
+        assertSameStem("peach", "peaches");
+        assertSameStem("sauce", "sauces");
+        assertSameStem("grill", "grilled");
+        assertSameStem("quick", "quickly");
+    }
+
+    @Test
+    void stem_LeavesShortAndProtectedWordsAlone() {
+        assertEquals("egg", EnglishStemmer.stem("egg"));
+        assertEquals("pie", EnglishStemmer.stem("pies"));
+        assertEquals("seed", EnglishStemmer.stem("seeds"));
+        assertEquals("asparagus", EnglishStemmer.stem("asparagus"));
+        assertEquals("glass", EnglishStemmer.stem("glass"));
+        assertEquals("3kg", EnglishStemmer.stem("3kg"));
+    }
+
+    private static void assertSameStem(String base, String... variants) {
+        String expected = EnglishStemmer.stem(base);
+        for (String variant : variants) {
+            assertEquals(expected, EnglishStemmer.stem(variant), variant);
+        }
+    }
+}
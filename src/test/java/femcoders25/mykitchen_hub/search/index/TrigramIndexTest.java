@@ -0,0 +1,101 @@
+package femcoders25.mykitchen_hub.search.index;
+
+import femcoders25.mykitchen_hub.search.dto.RankedRecipes;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.rebuild(List.of(
+                document(1L, "Spaghetti Bolognese", "Spaghetti", "Minced beef", "Parmesan cheese"),
+                document(2L, "Chicken Tikka Masala", "Chicken breast", "Garam masala", "Heavy cream"),
+                document(3L, "Mushroom Risotto", "Arborio rice", "Mushrooms", "Parmesan")));
+    }
+
+    @Test
+    void trigrams_ArePaddedAtBothEnds() {
+        assertEquals(Set.of("  e", " eg", "egg", "gg "), TrigramIndex.trigrams("egg"));
+    }
+
+    @Test
+    void editDistance_CountsAdjacentSwapAsOneEdit() {
+        assertEquals(1, TrigramIndex.editDistance("ceasar", "caesar"));
+        assertEquals(1, TrigramIndex.editDistance("spagetti", "spaghetti"));
+        assertEquals(3, TrigramIndex.editDistance("kitten", "sitting"));
+    }
+
+    @Test
+    void editSimilarity_ShortWordsTolerateFewerEdits() {
+        assertEquals(0, TrigramIndex.editSimilarity("ox", "ax"));
+        assertEquals(0.8, TrigramIndex.editSimilarity("trout", "tront"), 1e-9);
+        assertEquals(0, TrigramIndex.editSimilarity("trout", "tunot"));
+    }
+
+    @Test
+    void search_ToleratesSwappedLetters() {
+        assertEquals(List.of(2L), index.search("tikak", 10).recipeIds());
+    }
+
+    @Test
+    void search_ToleratesMisspeltTitleWord() {
+        assertEquals(List.of(1L), index.search("spagetti", 10).recipeIds());
+    }
+
+    @Test
+    void search_ToleratesMisspeltIngredient() {
+        RankedRecipes result = index.search("parmesean", 10);
+
+        assertEquals(List.of(1L, 3L), result.recipeIds());
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    void search_RecipesMatchingMoreQueryWordsRankFirst() {
+        RankedRecipes result = index.search("parmesean risoto", 10);
+
+        assertEquals(List.of(3L, 1L), result.recipeIds());
+    }
+
+    @Test
+    void search_LimitKeepsBestHitsButCountsAll() {
+        RankedRecipes result = index.search("parmesean risoto", 1);
+
+        assertEquals(List.of(3L), result.recipeIds());
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    void search_UnrelatedOrBlankQuery_ReturnsNothing() {
+        assertTrue(index.search("xylophone", 10).recipeIds().isEmpty());
+        assertEquals(RankedRecipes.empty(), index.search("  ", 10));
+        assertEquals(RankedRecipes.empty(), index.search(null, 10));
+    }
+
+    @Test
+    void upsert_ReplacesWordsAndRemoveForgetsThem() {
+        index.upsert(document(2L, "Chicken Tortilla Soup", "Chicken thighs", "Tortillas"));
+
+        assertEquals(List.of(2L), index.search("tortila", 10).recipeIds());
+        assertTrue(index.search("masla", 10).recipeIds().isEmpty());
+
+        index.remove(2L);
+
+        assertTrue(index.search("tortila", 10).recipeIds().isEmpty());
+    }
+
+    private static RecipeDocument document(Long id, String title, String... ingredients) {
+        return recipeDocument(id).title(title).description("A description").ingredientNames(ingredients).build();
+    }
+}
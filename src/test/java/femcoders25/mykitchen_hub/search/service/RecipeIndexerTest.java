@@ -0,0 +1,216 @@
+package femcoders25.mykitchen_hub.search.service;
+
+import femcoders25.mykitchen_hub.like.event.RecipeLikesChangedEvent;
+import femcoders25.mykitchen_hub.recipe.event.RecipeChangedEvent;
+import femcoders25.mykitchen_hub.recipe.service.RecipeCatalogVersion;
+import femcoders25.mykitchen_hub.search.dto.RecipeDocument;
+import femcoders25.mykitchen_hub.search.index.RecipeIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static femcoders25.mykitchen_hub.search.dto.RecipeDocumentBuilder.recipeDocument;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeIndexerTest {
+
+    @Mock
+    private RecipeIndex firstIndex;
+
+    @Mock
+    private RecipeIndex secondIndex;
+
+    @Mock
+    private RecipeDocumentLoader documentLoader;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecipeCatalogVersion catalogVersion;
+    private RecipeIndexer recipeIndexer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogVersion = new RecipeCatalogVersion();
+        recipeIndexer = new RecipeIndexer(List.of(firstIndex, secondIndex), documentLoader, catalogVersion,
+                meterRegistry, 2, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        recipeIndexer.shutdown();
+    }
+
+    @Test
+    void rebuild_LoadsCatalogInIdRangeChunksOnceForAllIndexes() {
+        RecipeDocument soup = recipeDocument(1L).title("Soup").build();
+        RecipeDocument stew = recipeDocument(4L).title("Stew").build();
+        RecipeDocument salad = recipeDocument(9L).title("Salad").build();
+        when(documentLoader.loadIds()).thenReturn(List.of(1L, 4L, 9L));
+        when(documentLoader.loadRange(1L, 4L)).thenReturn(List.of(soup, stew));
+        when(documentLoader.loadRange(9L, 9L)).thenReturn(List.of(salad));
+
+        recipeIndexer.rebuild();
+        recipeIndexer.awaitIndexed();
+
+        verify(firstIndex).rebuild(List.of(soup, stew, salad));
+        verify(secondIndex).rebuild(List.of(soup, stew, salad));
+        assertEquals(1, meterRegistry.get("recipes.index.rebuild").timer().count());
+        assertEquals(1, catalogVersion.current());
+        assertTrue(recipeIndexer.isReady());
+    }
+
+    @Test
+    void rebuild_ChunkFails_LeavesIndexesUntouched() {
+        when(documentLoader.loadIds()).thenReturn(List.of(1L));
+        when(documentLoader.loadRange(1L, 1L)).thenThrow(new IllegalStateException("db down"));
+
+        recipeIndexer.rebuild();
+        recipeIndexer.awaitIndexed();
+
+        verifyNoInteractions(firstIndex, secondIndex);
+        assertEquals(0, catalogVersion.current());
+        assertFalse(recipeIndexer.isReady());
+    }
+
+    @Test
+    void rebuild_ChunkFails_RetriesUntilItSucceeds() throws InterruptedException {
+        RecipeDocument soup = recipeDocument(1L).title("Soup").build();
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        when(documentLoader.loadIds()).thenReturn(List.of(1L));
+        when(documentLoader.loadRange(1L, 1L))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(soup));
+        doAnswer(invocation -> {
+            rebuilt.countDown();
+            return null;
+        }).when(secondIndex).rebuild(List.of(soup));
+
+        recipeIndexer.rebuild();
+
+        assertTrue(rebuilt.await(5, TimeUnit.SECONDS));
+        verify(documentLoader, times(3)).loadRange(1L, 1L);
+        verify(firstIndex).rebuild(List.of(soup));
+        recipeIndexer.awaitIndexed();
+        assertTrue(recipeIndexer.isReady());
+    }
+
+    @Test
+    void onRecipeChanged_ExistingRecipe_UpsertsAndRecordsLag() {
+        RecipeDocument document = recipeDocument(1L).title("Soup").build();
+        when(documentLoader.load(1L)).thenReturn(Optional.of(document));
+
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(1L));
+        recipeIndexer.awaitIndexed();
+
+        verify(firstIndex).upsert(document);
+        verify(secondIndex).upsert(document);
+        verify(firstIndex, never()).remove(any());
+        assertEquals(1, meterRegistry.get("recipes.index.lag").timer().count());
+        assertEquals(0, meterRegistry.get("recipes.index.pending").gauge().value());
+    }
+
+    @Test
+    void onRecipeChanged_AdvancesCatalogVersionOnlyOnceApplied() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentLoader.load(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertEquals(0, catalogVersion.current());
+        release.countDown();
+        recipeIndexer.awaitIndexed();
+
+        assertEquals(1, catalogVersion.current());
+    }
+
+    @Test
+    void onRecipeChanged_DeletedRecipe_Removes() {
+        when(documentLoader.load(1L)).thenReturn(Optional.empty());
+
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(1L));
+        recipeIndexer.awaitIndexed();
+
+        verify(firstIndex).remove(1L);
+        verify(secondIndex).remove(1L);
+    }
+
+    @Test
+    void onRecipeChanged_RepeatedChangesWhileQueued_ReloadOnce() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentLoader.load(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        when(documentLoader.load(2L)).thenReturn(Optional.empty());
+
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(2L));
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(2L));
+        assertEquals(1, meterRegistry.get("recipes.index.pending").gauge().value());
+        release.countDown();
+        recipeIndexer.awaitIndexed();
+
+        verify(documentLoader, times(1)).load(2L);
+    }
+
+    @Test
+    void onRecipeLikesChanged_WhileRefreshQueued_ReloadsLikesOnceWithoutTouchingTheCatalogVersion()
+            throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentLoader.load(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        when(documentLoader.loadLikes(any())).thenReturn(Map.of(2L, 4L, 3L, 1L));
+
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        recipeIndexer.onRecipeLikesChanged(new RecipeLikesChangedEvent(List.of(2L)));
+        recipeIndexer.onRecipeLikesChanged(new RecipeLikesChangedEvent(List.of(2L, 3L)));
+        release.countDown();
+        recipeIndexer.awaitIndexed();
+
+        verify(documentLoader).loadLikes(argThat(ids -> Set.copyOf(ids).equals(Set.of(2L, 3L))));
+        verify(firstIndex).updateLikes(Map.of(2L, 4L, 3L, 1L));
+        verify(secondIndex).updateLikes(Map.of(2L, 4L, 3L, 1L));
+        assertEquals(1, catalogVersion.current());
+    }
+
+    @Test
+    void onRecipeChanged_LoaderFails_DoesNotPropagateOrStopTheIndexer() {
+        RecipeDocument document = recipeDocument(2L).title("Stew").build();
+        when(documentLoader.load(1L)).thenThrow(new IllegalStateException("db down"));
+        when(documentLoader.load(2L)).thenReturn(Optional.of(document));
+
+        assertDoesNotThrow(() -> recipeIndexer.onRecipeChanged(new RecipeChangedEvent(1L)));
+        recipeIndexer.onRecipeChanged(new RecipeChangedEvent(2L));
+        recipeIndexer.awaitIndexed();
+
+        verify(firstIndex).upsert(document);
+        verify(firstIndex, never()).remove(any());
+    }
+}
@@ -0,0 +1,337 @@
+package femcoders25.mykitchen_hub.search.service;
+
+import femcoders25.mykitchen_hub.common.exception.ServiceUnavailableException;
+import femcoders25.mykitchen_hub.recipe.dto.RecipeSearchHitDto;
+import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
+import femcoders25.mykitchen_hub.search.dto.FacetedSearchResultDto;
+import femcoders25.mykitchen_hub.search.dto.IngredientFacetDto;
+import femcoders25.mykitchen_hub.search.dto.PantryMatch;
+import femcoders25.mykitchen_hub.search.dto.PantryMatchDto;
+import femcoders25.mykitchen_hub.search.dto.PantryRanking;
+import femcoders25.mykitchen_hub.search.dto.RankedRecipes;
+import femcoders25.mykitchen_hub.search.dto.RecipeSearchCriteria;
+import femcoders25.mykitchen_hub.search.dto.SuggestionDto;
+import femcoders25.mykitchen_hub.search.dto.SuggestionType;
+import femcoders25.mykitchen_hub.search.dto.TagFacetDto;
+import femcoders25.mykitchen_hub.search.index.Bm25RecipeIndex;
+import femcoders25.mykitchen_hub.search.index.IngredientIndex;
+import femcoders25.mykitchen_hub.search.index.IngredientQuery;
+import femcoders25.mykitchen_hub.search.index.PantryIndex;
+import femcoders25.mykitchen_hub.search.index.PostingList;
+import femcoders25.mykitchen_hub.search.index.RecipeAttributeIndex;
+import femcoders25.mykitchen_hub.search.index.SuggestionIndex;
+import femcoders25.mykitchen_hub.search.index.TagIndex;
+import femcoders25.mykitchen_hub.search.index.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeSearchServiceTest {
+
+    @Mock
+    private Bm25RecipeIndex recipeIndex;
+
+    @Mock
+    private IngredientIndex ingredientIndex;
+
+    @Mock
+    private TagIndex tagIndex;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private RecipeAttributeIndex attributeIndex;
+
+    @Mock
+    private TrigramIndex trigramIndex;
+
+    @Mock
+    private PantryIndex pantryIndex;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private RecipeIndexer recipeIndexer;
+
+    @InjectMocks
+    private RecipeSearchService recipeSearchService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(recipeIndexer.isReady()).thenReturn(true);
+    }
+
+    @Test
+    void search_BeforeIndexesAreBuilt_IsUnavailable() {
+        when(recipeIndexer.isReady()).thenReturn(false);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> recipeSearchService.search("chicken", PageRequest.of(0, 10)));
+        assertThrows(ServiceUnavailableException.class, () -> recipeSearchService.suggest("chi", 5));
+        assertThrows(ServiceUnavailableException.class,
+                () -> recipeSearchService.searchByTags(List.of("italian"), PageRequest.of(0, 10)));
+        verifyNoInteractions(recipeIndex, suggestionIndex, tagIndex, recipeRepository);
+    }
+
+    @Test
+    void similarRecipeIds_BeforeIndexesAreBuilt_FindsNothing() {
+        when(recipeIndexer.isReady()).thenReturn(false);
+
+        Page<Long> result = recipeSearchService.similarRecipeIds("spagetti", PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(trigramIndex);
+    }
+
+    @Test
+    void search_HydratesPageInRankOrder() {
+        when(recipeIndex.search("chicken", 2)).thenReturn(new RankedRecipes(List.of(5L, 2L), 7));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(5L, 2L))).thenReturn(List.of(hit(2L), hit(5L)));
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.search("chicken", PageRequest.of(0, 2));
+
+        assertEquals(List.of(5L, 2L), result.getContent().stream().map(RecipeSearchHitDto::id).toList());
+        assertEquals(7, result.getTotalElements());
+    }
+
+    @Test
+    void search_SecondPage_HydratesOnlyThatSlice() {
+        when(recipeIndex.search("chicken", 4)).thenReturn(new RankedRecipes(List.of(5L, 2L, 9L, 1L), 7));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(9L, 1L))).thenReturn(List.of(hit(1L), hit(9L)));
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.search("chicken", PageRequest.of(1, 2));
+
+        assertEquals(List.of(9L, 1L), result.getContent().stream().map(RecipeSearchHitDto::id).toList());
+        assertEquals(7, result.getTotalElements());
+    }
+
+    @Test
+    void search_RecipeDeletedSinceIndexed_IsSkipped() {
+        when(recipeIndex.search("chicken", 10)).thenReturn(new RankedRecipes(List.of(5L, 2L), 2));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(5L, 2L))).thenReturn(List.of(hit(2L)));
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.search("chicken", PageRequest.of(0, 10));
+
+        assertEquals(List.of(2L), result.getContent().stream().map(RecipeSearchHitDto::id).toList());
+    }
+
+    @Test
+    void search_PageBeyondHits_SkipsDatabase() {
+        when(recipeIndex.search("chicken", 20)).thenReturn(new RankedRecipes(List.of(5L), 1));
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.search("chicken", PageRequest.of(1, 10));
+
+        assertTrue(result.getContent().isEmpty());
+        verify(recipeRepository, never()).findSearchHitsByIdIn(any());
+    }
+
+    @Test
+    void search_NoHits_FallsBackToSimilarWords() {
+        when(recipeIndex.search("spagetti", 10)).thenReturn(RankedRecipes.empty());
+        when(trigramIndex.search("spagetti", 10)).thenReturn(new RankedRecipes(List.of(4L, 8L), 2));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(4L, 8L))).thenReturn(List.of(hit(8L), hit(4L)));
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.search("spagetti", PageRequest.of(0, 10));
+
+        assertEquals(List.of(4L, 8L), result.getContent().stream().map(RecipeSearchHitDto::id).toList());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void search_WithHits_DoesNotTryFuzzyMatching() {
+        when(recipeIndex.search("chicken", 10)).thenReturn(new RankedRecipes(List.of(5L), 1));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(5L))).thenReturn(List.of(hit(5L)));
+
+        recipeSearchService.search("chicken", PageRequest.of(0, 10));
+
+        verifyNoInteractions(trigramIndex);
+    }
+
+    @Test
+    void similarRecipeIds_PagesRankedIds() {
+        when(trigramIndex.search("parmesean", 4)).thenReturn(new RankedRecipes(List.of(3L, 1L, 7L), 3));
+
+        Page<Long> result = recipeSearchService.similarRecipeIds("parmesean", PageRequest.of(1, 2));
+
+        assertEquals(List.of(7L), result.getContent());
+        assertEquals(3, result.getTotalElements());
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void searchByPantry_HydratesRequestedSliceWithCoverage() {
+        when(pantryIndex.rank(List.of("chicken", "garlic"), 2)).thenReturn(new PantryRanking(List.of(
+                new PantryMatch(4L, 1.0, List.of("Chicken", "Garlic"), List.of()),
+                new PantryMatch(9L, 0.5, List.of("Chicken thighs"), List.of("Lemon"))), 5));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(9L))).thenReturn(List.of(hit(9L)));
+
+        Page<PantryMatchDto> result = recipeSearchService.searchByPantry(List.of(" chicken", "garlic", "chicken", ""),
+                PageRequest.of(1, 1));
+
+        assertEquals(List.of(new PantryMatchDto(hit(9L), 0.5, List.of("Chicken thighs"), List.of("Lemon"))),
+                result.getContent());
+        assertEquals(5, result.getTotalElements());
+    }
+
+    @Test
+    void searchByPantry_NoIngredient_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> recipeSearchService.searchByPantry(List.of(" "), PageRequest.of(0, 10)));
+        verifyNoInteractions(pantryIndex);
+    }
+
+    @Test
+    void searchByIngredients_PagesMatchesNewestFirst() {
+        when(ingredientIndex.match(IngredientQuery.parse("chicken NOT cream"))).thenReturn(PostingList.of(2, 5, 9));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(9L, 5L))).thenReturn(List.of(hit(5L), hit(9L)));
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.searchByIngredients("chicken NOT cream",
+                PageRequest.of(0, 2));
+
+        assertEquals(List.of(9L, 5L), result.getContent().stream().map(RecipeSearchHitDto::id).toList());
+        assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    void searchByIngredients_NoMatches_SkipsDatabase() {
+        when(ingredientIndex.match(any())).thenReturn(PostingList.EMPTY);
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.searchByIngredients("saffron", PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void searchByIngredients_MalformedQuery_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> recipeSearchService.searchByIngredients("chicken AND", PageRequest.of(0, 10)));
+        verifyNoInteractions(ingredientIndex, recipeRepository);
+    }
+
+    @Test
+    void searchByTags_NormalizesTagsAndPagesNewestFirst() {
+        when(tagIndex.match(List.of("gluten-free", "quick"))).thenReturn(bits(3, 4, 8));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(8L, 4L))).thenReturn(List.of(hit(4L), hit(8L)));
+
+        Page<RecipeSearchHitDto> result = recipeSearchService.searchByTags(List.of("Gluten Free", "QUICK", "quick"),
+                PageRequest.of(0, 2));
+
+        assertEquals(List.of(8L, 4L), result.getContent().stream().map(RecipeSearchHitDto::id).toList());
+        assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    void searchByTags_BlankTags_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> recipeSearchService.searchByTags(List.of(" ", ","), PageRequest.of(0, 10)));
+        verifyNoInteractions(tagIndex, recipeRepository);
+    }
+
+    @Test
+    void tagFacets_CountsWithinSelection() {
+        BitSet selection = bits(1, 2);
+        List<TagFacetDto> facets = List.of(new TagFacetDto("italian", "Italian", 2));
+        when(tagIndex.match(List.of("italian"))).thenReturn(selection);
+        when(tagIndex.facets(selection)).thenReturn(facets);
+
+        assertEquals(facets, recipeSearchService.tagFacets(List.of("Italian")));
+    }
+
+    @Test
+    void tagFacets_NoSelection_CountsAllRecipes() {
+        BitSet all = bits(1, 2, 3);
+        when(tagIndex.match(List.of())).thenReturn(all);
+        when(tagIndex.facets(all)).thenReturn(List.of());
+
+        assertTrue(recipeSearchService.tagFacets(null).isEmpty());
+        verify(tagIndex).facets(all);
+    }
+
+    @Test
+    void facetedSearch_IntersectsFiltersAndRanksByText() {
+        BitSet matching = bits(2, 3);
+        List<TagFacetDto> tagFacets = List.of(new TagFacetDto("indian", "Indian", 2));
+        List<IngredientFacetDto> ingredientFacets = List.of(new IngredientFacetDto("Garlic", 2));
+        when(attributeIndex.all()).thenReturn(bits(1, 2, 3, 4, 5));
+        when(recipeIndex.matching("curry")).thenReturn(bits(1, 2, 3));
+        when(ingredientIndex.match(IngredientQuery.parse("garlic"))).thenReturn(PostingList.of(2, 3, 4));
+        when(tagIndex.match(List.of("indian"))).thenReturn(bits(2, 3, 5));
+        when(attributeIndex.byAuthor("bob")).thenReturn(bits(2, 3));
+        when(recipeIndex.search("curry", 10, matching)).thenReturn(new RankedRecipes(List.of(3L, 2L), 2));
+        when(recipeRepository.findSearchHitsByIdIn(List.of(3L, 2L))).thenReturn(List.of(hit(2L), hit(3L)));
+        when(tagIndex.facets(matching)).thenReturn(tagFacets);
+        when(ingredientIndex.facets(matching, 10)).thenReturn(ingredientFacets);
+
+        FacetedSearchResultDto result = recipeSearchService.facetedSearch(
+                new RecipeSearchCriteria("curry", "garlic", List.of("Indian"), "bob", null), PageRequest.of(0, 10));
+
+        assertEquals(List.of(3L, 2L), result.recipes().getContent().stream().map(RecipeSearchHitDto::id).toList());
+        assertEquals(2, result.recipes().getTotalElements());
+        assertEquals(tagFacets, result.tagFacets());
+        assertEquals(ingredientFacets, result.ingredientFacets());
+        verify(attributeIndex, never()).retainCreatedSince(any(), any());
+    }
+
+    @Test
+    void facetedSearch_WithoutText_ListsNewestFirstAndAppliesDate() {
+        BitSet all = bits(1, 2, 3);
+        when(attributeIndex.all()).thenReturn(all);
+        when(recipeRepository.findSearchHitsByIdIn(List.of(3L, 2L))).thenReturn(List.of(hit(2L), hit(3L)));
+
+        FacetedSearchResultDto result = recipeSearchService.facetedSearch(
+                new RecipeSearchCriteria(" ", null, null, null, LocalDate.of(2025, 1, 31)), PageRequest.of(0, 2));
+
+        assertEquals(List.of(3L, 2L), result.recipes().getContent().stream().map(RecipeSearchHitDto::id).toList());
+        assertEquals(3, result.recipes().getTotalElements());
+        verify(attributeIndex).retainCreatedSince(all, LocalDate.of(2025, 1, 31).atStartOfDay());
+        verifyNoInteractions(recipeIndex);
+        verify(tagIndex, never()).match(any());
+    }
+
+    @Test
+    void facetedSearch_MalformedIngredientQuery_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> recipeSearchService.facetedSearch(
+                new RecipeSearchCriteria(null, "garlic AND", null, null, null), PageRequest.of(0, 10)));
+        verifyNoInteractions(attributeIndex, recipeRepository);
+    }
+
+    @Test
+    void suggest_ClampsLimit() {
+        List<SuggestionDto> suggestions = List.of(new SuggestionDto("Pasta", SuggestionType.TAG, null));
+        when(suggestionIndex.suggest("pas", SuggestionIndex.MAX_SUGGESTIONS)).thenReturn(suggestions);
+        when(suggestionIndex.suggest("pas", 1)).thenReturn(suggestions);
+
+        assertEquals(suggestions, recipeSearchService.suggest("pas", 500));
+        assertEquals(suggestions, recipeSearchService.suggest("pas", 0));
+        verifyNoInteractions(recipeRepository);
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    private static RecipeSearchHitDto hit(Long id) {
+        return new RecipeSearchHitDto(id, "Recipe " + id, "tag", null, 0L, 0L);
+    }
+}
@@ -1,28 +1,43 @@
 package femcoders25.mykitchen_hub.shoppinglist.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
 import femcoders25.mykitchen_hub.common.dto.ApiResponse;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListCreateDto;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListResponseDto;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListUpdateDto;
+import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListsVersionDto;
 import femcoders25.mykitchen_hub.shoppinglist.service.ShoppingListService;
+import femcoders25.mykitchen_hub.user.entity.Role;
 import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.service.UserService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,22 +48,32 @@ class ShoppingListControllerTest {
     @Mock
     private ShoppingListService shoppingListService;
 
+    @Mock
+    private UserService userService;
+
     @InjectMocks
     private ShoppingListController shoppingListController;
 
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
     private ShoppingListResponseDto testResponse;
+    private User testUser;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(shoppingListController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(shoppingListController)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
         objectMapper = new ObjectMapper();
 
-        User testUser = new User();
+        testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
 
+        AuthenticatedUser principal = AuthenticatedUser.from(testUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
         testResponse = new ShoppingListResponseDto(
                 1L,
                 "Test Shopping List",
@@ -59,13 +84,19 @@ class ShoppingListControllerTest {
                 null);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void createShoppingList_Success() throws Exception {
         ShoppingListCreateDto createDto = new ShoppingListCreateDto(
                 "My Shopping List",
                 Arrays.asList(1L, 2L));
 
-        when(shoppingListService.createShoppingList(any(ShoppingListCreateDto.class), any(User.class)))
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(shoppingListService.createShoppingList(any(ShoppingListCreateDto.class), eq(testUser)))
                 .thenReturn(testResponse);
 
         mockMvc.perform(post("/api/shopping-lists")
@@ -79,7 +110,7 @@ class ShoppingListControllerTest {
     @Test
     void getShoppingList_Success() throws Exception {
         Long listId = 1L;
-        when(shoppingListService.getShoppingListById(eq(listId), any(User.class)))
+        when(shoppingListService.getShoppingListById(eq(listId), eq(1L)))
                 .thenReturn(testResponse);
 
         mockMvc.perform(get("/api/shopping-lists/{id}", listId))
@@ -87,22 +118,83 @@ class ShoppingListControllerTest {
                 .andExpect(jsonPath("$.success").value(true));
     }
 
+    @Test
+    void getShoppingList_IfNoneMatch_ReturnsNotModified() throws Exception {
+        ResourceVersion version = ShoppingListResponseDto.versionOf(1L, LocalDateTime.of(2025, 1, 1, 10, 0));
+        when(shoppingListService.getShoppingListVersion(eq(1L), eq(1L)))
+                .thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/api/shopping-lists/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, version.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.eTag()))
+                .andExpect(content().string(""));
+
+        verify(shoppingListService, never()).getShoppingListById(any(), any());
+    }
+
+    @Test
+    void getShoppingList_IfModifiedSince_ReturnsNotModified() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(shoppingListService.getShoppingListVersion(eq(1L), eq(1L)))
+                .thenReturn(Optional.of(ShoppingListResponseDto.versionOf(1L, updatedAt)));
+
+        mockMvc.perform(get("/api/shopping-lists/{id}", 1L)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE,
+                                updatedAt.plusMinutes(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()))
+                .andExpect(status().isNotModified());
+
+        verify(shoppingListService, never()).getShoppingListById(any(), any());
+    }
+
+    @Test
+    void getShoppingList_Changed_ReturnsBodyWithNewETag() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        ShoppingListResponseDto changed = new ShoppingListResponseDto(
+                1L, "Test Shopping List", "testuser", null, "Test Recipe", null, updatedAt.plusSeconds(5));
+        when(shoppingListService.getShoppingListVersion(eq(1L), eq(1L)))
+                .thenReturn(Optional.of(changed.toResourceVersion()));
+        when(shoppingListService.getShoppingListById(eq(1L), eq(1L))).thenReturn(changed);
+
+        mockMvc.perform(get("/api/shopping-lists/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, ShoppingListResponseDto.versionOf(1L, updatedAt).eTag()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, changed.toResourceVersion().eTag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.data.id").value(1));
+    }
+
     @Test
     void getUserShoppingLists_Success() throws Exception {
         List<ShoppingListResponseDto> responseList = Collections.singletonList(testResponse);
-        when(shoppingListService.getUserShoppingLists(any(User.class)))
+        when(shoppingListService.getUserShoppingListsVersion(eq(1L)))
+                .thenReturn(new ShoppingListsVersionDto(1L, null).toResourceVersion(null));
+        when(shoppingListService.getUserShoppingLists(eq(1L)))
                 .thenReturn(responseList);
 
         mockMvc.perform(get("/api/shopping-lists"))
                 .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray());
     }
 
+    @Test
+    void getUserShoppingLists_IfNoneMatch_ReturnsNotModified() throws Exception {
+        ResourceVersion version = new ShoppingListsVersionDto(1L, null).toResourceVersion(null);
+        when(shoppingListService.getUserShoppingListsVersion(eq(1L))).thenReturn(version);
+
+        mockMvc.perform(get("/api/shopping-lists")
+                        .header(HttpHeaders.IF_NONE_MATCH, version.eTag()))
+                .andExpect(status().isNotModified());
+
+        verify(shoppingListService, never()).getUserShoppingLists(any());
+    }
+
     @Test
     void searchUserShoppingLists_Success() throws Exception {
         List<ShoppingListResponseDto> responseList = Collections.singletonList(testResponse);
-        when(shoppingListService.searchUserShoppingLists(any(User.class), eq("test")))
+        when(shoppingListService.searchUserShoppingLists(eq(1L), eq("test")))
                 .thenReturn(responseList);
 
         mockMvc.perform(get("/api/shopping-lists")
@@ -116,8 +208,9 @@ class ShoppingListControllerTest {
         Long listId = 1L;
         ShoppingListUpdateDto updateDto = new ShoppingListUpdateDto("Updated Name", List.of(1L, 2L));
 
+        when(userService.getCurrentUser()).thenReturn(testUser);
         when(shoppingListService.updateShoppingList(eq(listId), any(ShoppingListUpdateDto.class),
-                any(User.class)))
+                eq(testUser)))
                 .thenReturn(testResponse);
 
         mockMvc.perform(put("/api/shopping-lists/{id}", listId)
@@ -132,7 +225,7 @@ class ShoppingListControllerTest {
     void deleteShoppingList_Success() throws Exception {
         Long listId = 1L;
         ApiResponse<String> deleteResponse = ApiResponse.success("Shopping list deleted successfully");
-        when(shoppingListService.deleteShoppingList(eq(listId), any(User.class)))
+        when(shoppingListService.deleteShoppingList(eq(listId), eq(1L)))
                 .thenReturn(deleteResponse);
 
         mockMvc.perform(delete("/api/shopping-lists/{id}", listId))
@@ -145,7 +238,7 @@ class ShoppingListControllerTest {
         Long listId = 1L;
         Long itemId = 1L;
         ApiResponse<String> toggleResponse = ApiResponse.success("Item status updated successfully");
-        when(shoppingListService.toggleItemChecked(eq(listId), eq(itemId), any(User.class)))
+        when(shoppingListService.toggleItemChecked(eq(listId), eq(itemId), eq(1L)))
                 .thenReturn(toggleResponse);
 
         mockMvc.perform(patch("/api/shopping-lists/{listId}/items/{itemId}/toggle", listId, itemId))
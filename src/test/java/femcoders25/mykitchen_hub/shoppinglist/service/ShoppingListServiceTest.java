@@ -2,6 +2,7 @@ package femcoders25.mykitchen_hub.shoppinglist.service;
 
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
 import femcoders25.mykitchen_hub.common.exception.UnauthorizedOperationException;
+import femcoders25.mykitchen_hub.common.http.ResourceVersion;
 import femcoders25.mykitchen_hub.ingredient.entity.Ingredient;
 import femcoders25.mykitchen_hub.recipe.entity.Recipe;
 import femcoders25.mykitchen_hub.recipe.repository.RecipeRepository;
@@ -9,6 +10,7 @@ import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListCreateDto;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListResponseDto;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListUpdateDto;
 import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListMapper;
+import femcoders25.mykitchen_hub.shoppinglist.dto.ShoppingListsVersionDto;
 import femcoders25.mykitchen_hub.shoppinglist.entity.ListItem;
 import femcoders25.mykitchen_hub.shoppinglist.entity.ShoppingList;
 import femcoders25.mykitchen_hub.shoppinglist.repository.ListItemRepository;
@@ -23,6 +25,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -142,7 +145,7 @@ class ShoppingListServiceTest {
                 1L, "Test", "user", null, "recipe", null, null);
         when(shoppingListMapper.toResponseDto(shoppingList)).thenReturn(expectedResponse);
 
-        ShoppingListResponseDto result = shoppingListService.getShoppingListById(listId, testUser);
+        ShoppingListResponseDto result = shoppingListService.getShoppingListById(listId, testUser.getId());
 
         assertNotNull(result);
         verify(shoppingListRepository).findById(listId);
@@ -153,7 +156,7 @@ class ShoppingListServiceTest {
         Long listId = 999L;
         when(shoppingListRepository.findById(listId)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> shoppingListService.getShoppingListById(listId, testUser));
+        assertThrows(ResourceNotFoundException.class, () -> shoppingListService.getShoppingListById(listId, testUser.getId()));
     }
 
     @Test
@@ -169,7 +172,7 @@ class ShoppingListServiceTest {
         when(shoppingListRepository.findById(listId)).thenReturn(Optional.of(shoppingList));
 
         assertThrows(UnauthorizedOperationException.class,
-                () -> shoppingListService.getShoppingListById(listId, testUser));
+                () -> shoppingListService.getShoppingListById(listId, testUser.getId()));
     }
 
     @Test
@@ -385,4 +388,64 @@ class ShoppingListServiceTest {
         verify(listItemRepository).saveAll(any());
         assertEquals("Recipe 1, Recipe 2", shoppingList.getGeneratedFromRecipe());
     }
+
+    @Test
+    void toggleItemChecked_BumpsShoppingListUpdatedAt() {
+        LocalDateTime previousUpdate = LocalDateTime.of(2025, 1, 1, 10, 0);
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setId(1L);
+        shoppingList.setGeneratedBy(testUser);
+        shoppingList.setUpdatedAt(previousUpdate);
+
+        ListItem listItem = new ListItem();
+        listItem.setId(5L);
+        listItem.setIsChecked(false);
+        listItem.setShoppingList(shoppingList);
+
+        when(shoppingListRepository.findById(1L)).thenReturn(Optional.of(shoppingList));
+        when(listItemRepository.findById(5L)).thenReturn(Optional.of(listItem));
+
+        shoppingListService.toggleItemChecked(1L, 5L, testUser.getId());
+
+        assertTrue(listItem.getIsChecked());
+        assertTrue(shoppingList.getUpdatedAt().isAfter(previousUpdate));
+        verify(listItemRepository).save(listItem);
+        verify(shoppingListRepository).save(shoppingList);
+    }
+
+    @Test
+    void getShoppingListVersion_UsesOwnerScopedTimestamp() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(shoppingListRepository.findUpdatedAtByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(updatedAt));
+        ShoppingListResponseDto body = new ShoppingListResponseDto(
+                1L, "Test", "testuser", List.of(), "recipe", null, updatedAt);
+
+        Optional<ResourceVersion> result = shoppingListService.getShoppingListVersion(1L, testUser.getId());
+
+        assertEquals(Optional.of(body.toResourceVersion()), result);
+        assertEquals(updatedAt, result.get().lastModified());
+        verify(shoppingListRepository, never()).findById(any());
+    }
+
+    @Test
+    void getShoppingListVersion_NotOwned() {
+        when(shoppingListRepository.findUpdatedAtByIdAndOwnerId(1L, 1L)).thenReturn(Optional.empty());
+
+        assertTrue(shoppingListService.getShoppingListVersion(1L, testUser.getId()).isEmpty());
+    }
+
+    @Test
+    void getUserShoppingListsVersion_MatchesListResponse() {
+        LocalDateTime older = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime newer = LocalDateTime.of(2025, 1, 2, 10, 0);
+        when(shoppingListRepository.findVersionByOwnerId(1L)).thenReturn(new ShoppingListsVersionDto(2L, newer));
+        List<ShoppingListResponseDto> body = List.of(
+                new ShoppingListResponseDto(2L, "B", "testuser", List.of(), null, null, older),
+                new ShoppingListResponseDto(1L, "A", "testuser", List.of(), null, null, newer));
+
+        ResourceVersion result = shoppingListService.getUserShoppingListsVersion(testUser.getId());
+
+        assertEquals(ShoppingListsVersionDto.of(body).toResourceVersion(1L), result);
+        assertNull(result.lastModified());
+    }
 }
@@ -0,0 +1,89 @@
+package femcoders25.mykitchen_hub.tag.service;
+
+import femcoders25.mykitchen_hub.tag.entity.Tag;
+import femcoders25.mykitchen_hub.tag.repository.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @InjectMocks
+    private TagService tagService;
+
+    @Test
+    void slugOf_FoldsCaseAccentsAndPunctuation() {
+        assertEquals("creme-brulee", TagService.slugOf("  Crème Brûlée "));
+        assertEquals("gluten-free", TagService.slugOf("Gluten-Free!"));
+        assertEquals("", TagService.slugOf(" - "));
+    }
+
+    @Test
+    void parseTagNames_SplitsTrimsAndDeduplicates() {
+        Map<String, String> names = TagService.parseTagNames("Italian,  Pasta ,quick, , PASTA");
+
+        assertEquals(List.of("italian", "pasta", "quick"), List.copyOf(names.keySet()));
+        assertEquals("Pasta", names.get("pasta"));
+    }
+
+    @Test
+    void parseTagNames_Null_ReturnsEmpty() {
+        assertTrue(TagService.parseTagNames(null).isEmpty());
+    }
+
+    @Test
+    void resolveTags_ReusesExistingAndCreatesMissing() {
+        Tag italian = new Tag(1L, "Italian", "italian");
+        Tag quick = new Tag(2L, "Quick", "quick");
+        when(tagRepository.findBySlugIn(Set.of("italian", "quick"))).thenReturn(List.of(italian));
+        when(tagRepository.insertIgnoringDuplicate("Quick", "quick")).thenReturn(1);
+        when(tagRepository.lockBySlugIn(Set.of("quick"))).thenReturn(List.of(quick));
+
+        Set<Tag> tags = tagService.resolveTags("italian, Quick");
+
+        assertEquals(List.of(italian, quick), List.copyOf(tags));
+        verify(tagRepository, never()).insertIgnoringDuplicate(eq("Italian"), any());
+    }
+
+    @Test
+    void resolveTags_TagCreatedConcurrently_ReadsItBackInTheSameTransaction() {
+        Tag quick = new Tag(3L, "Quick", "quick");
+        when(tagRepository.findBySlugIn(Set.of("quick"))).thenReturn(List.of());
+        when(tagRepository.insertIgnoringDuplicate("Quick", "quick")).thenReturn(0);
+        when(tagRepository.lockBySlugIn(Set.of("quick"))).thenReturn(List.of(quick));
+
+        Set<Tag> tags = tagService.resolveTags("Quick");
+
+        assertEquals(Set.of(quick), tags);
+    }
+
+    @Test
+    void resolveTags_TagNotFoundAfterInsert_Throws() {
+        when(tagRepository.findBySlugIn(Set.of("quick"))).thenReturn(List.of());
+        when(tagRepository.insertIgnoringDuplicate("Quick", "quick")).thenReturn(0);
+        when(tagRepository.lockBySlugIn(Set.of("quick"))).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> tagService.resolveTags("Quick"));
+    }
+
+    @Test
+    void resolveTags_Blank_SkipsRepository() {
+        assertTrue(tagService.resolveTags(" , ").isEmpty());
+        verifyNoInteractions(tagRepository);
+    }
+}
@@ -75,7 +75,7 @@ class UserTest {
     @Test
     void user_AllArgsConstructor_CreatesUserWithAllFields() {
         LocalDateTime now = LocalDateTime.now();
-        User user = new User(1L, "testuser", "test@example.com", "password123", Role.ADMIN, null, null, null, null, now, now);
+        User user = new User(1L, "testuser", "test@example.com", "password123", Role.ADMIN, 0L, null, null, null, null, now, now);
 
         assertEquals(1L, user.getId());
         assertEquals("testuser", user.getUsername());
@@ -0,0 +1,89 @@
+package femcoders25.mykitchen_hub.user.service;
+
+import femcoders25.mykitchen_hub.user.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentUserHolderTest {
+
+    private final CurrentUserHolder currentUserHolder = new CurrentUserHolder();
+    private final Authentication authentication = new TestingAuthenticationToken("chef", null);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Authentication, User> loader = auth -> {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setUsername(auth.getName());
+        return user;
+    };
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_WithinRequest_LoadsOnce() {
+        startRequest();
+
+        User first = currentUserHolder.get(authentication, loader);
+        User second = currentUserHolder.get(authentication, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_OtherAuthentication_LoadsAgain() {
+        startRequest();
+
+        currentUserHolder.get(authentication, loader);
+        User other = currentUserHolder.get(new TestingAuthenticationToken("baker", null), loader);
+
+        assertEquals("baker", other.getUsername());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_NewRequest_LoadsAgain() {
+        startRequest();
+        currentUserHolder.get(authentication, loader);
+
+        startRequest();
+        currentUserHolder.get(authentication, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_OutsideRequest_LoadsEveryTime() {
+        currentUserHolder.get(authentication, loader);
+        currentUserHolder.get(authentication, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void clear_ForgetsUser() {
+        startRequest();
+        currentUserHolder.get(authentication, loader);
+
+        currentUserHolder.clear();
+        currentUserHolder.get(authentication, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
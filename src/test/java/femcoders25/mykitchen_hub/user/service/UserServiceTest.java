@@ -1,5 +1,6 @@
 package femcoders25.mykitchen_hub.user.service;
 
+import femcoders25.mykitchen_hub.auth.dto.AuthenticatedUser;
 import femcoders25.mykitchen_hub.common.exception.ResourceNotFoundException;
 import femcoders25.mykitchen_hub.user.dto.UserMapper;
 import femcoders25.mykitchen_hub.user.dto.UserRegistrationDto;
@@ -7,6 +8,8 @@ import femcoders25.mykitchen_hub.user.dto.UserResponseDto;
 import femcoders25.mykitchen_hub.user.dto.UserUpdateDto;
 import femcoders25.mykitchen_hub.user.entity.Role;
 import femcoders25.mykitchen_hub.user.entity.User;
+import femcoders25.mykitchen_hub.user.event.UserCredentialsChangedEvent;
+import femcoders25.mykitchen_hub.user.event.UsernameChangedEvent;
 import femcoders25.mykitchen_hub.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,6 +50,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CurrentUserHolder currentUserHolder;
+
     @InjectMocks
     private UserService userService;
 
@@ -400,4 +412,127 @@ class UserServiceTest {
         assertFalse(result.isPresent());
         verify(userRepository).findByUsername(username);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateUser_PasswordChanged_BumpsCredentialsVersion() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+        when(passwordEncoder.encode("newpassword123")).thenReturn("encodedNewPassword");
+        when(userRepository.save(savedUser)).thenReturn(savedUser);
+
+        SecurityContext context = contextOf(principal(Role.USER));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(context);
+
+            userService.updateUser(1L, new UserUpdateDto(null, null, "newpassword123"));
+        }
+
+        assertEquals(1, savedUser.getCredentialsVersion());
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent(1L));
+        verify(eventPublisher, never()).publishEvent(new UsernameChangedEvent(1L));
+    }
+
+    @Test
+    void updateUser_UsernameChanged_PublishesUsernameChanged() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+        when(userRepository.existsByUsername("renamed")).thenReturn(false);
+        when(userRepository.save(savedUser)).thenReturn(savedUser);
+
+        SecurityContext context = contextOf(principal(Role.USER));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(context);
+
+            userService.updateUser(1L, new UserUpdateDto("renamed", null, null));
+        }
+
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new UsernameChangedEvent(1L));
+    }
+
+    @Test
+    void updateUser_OnlyEmailChanged_KeepsCredentialsVersion() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+        when(userRepository.existsByEmail("newemail@example.com")).thenReturn(false);
+        when(userRepository.save(savedUser)).thenReturn(savedUser);
+
+        SecurityContext context = contextOf(principal(Role.USER));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(context);
+
+            userService.updateUser(1L, new UserUpdateDto(null, "newemail@example.com", null));
+        }
+
+        assertEquals(0, savedUser.getCredentialsVersion());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteUser_PublishesCredentialsChanged() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+
+        SecurityContext context = contextOf(principal(Role.USER));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(context);
+
+            userService.deleteUser(1L);
+        }
+
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent(1L));
+    }
+
+    @Test
+    void currentUserChecks_WithTokenPrincipal_DoNotQuery() {
+        SecurityContext context = contextOf(principal(Role.USER));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(context);
+
+            assertEquals(1L, userService.getCurrentUserId());
+            assertEquals(Optional.of(1L), userService.getCurrentUserIdOptional());
+            assertTrue(userService.isCurrentUser(1L));
+            assertFalse(userService.isCurrentUser(2L));
+        }
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getCurrentUser_WithTokenPrincipal_LoadsById() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+
+        SecurityContext context = contextOf(principal(Role.USER));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(context);
+
+            assertEquals(savedUser, userService.getCurrentUser());
+        }
+
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void updateUser_AdminTokenPrincipal_MayUpdateOtherUsers() {
+        User other = new User();
+        other.setId(2L);
+        other.setUsername("other");
+        when(userRepository.findById(2L)).thenReturn(Optional.of(other));
+        when(userRepository.existsByEmail("newemail@example.com")).thenReturn(false);
+        when(userRepository.save(other)).thenReturn(other);
+
+        SecurityContext context = contextOf(principal(Role.ADMIN));
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContext = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContext.when(SecurityContextHolder::getContext).thenReturn(context);
+
+            assertDoesNotThrow(() -> userService.updateUser(2L, new UserUpdateDto(null, "newemail@example.com", null)));
+        }
+    }
+
+    private static AuthenticatedUser principal(Role role) {
+        return new AuthenticatedUser(1L, "testuser", role, 0);
+    }
+
+    private static SecurityContext contextOf(AuthenticatedUser principal) {
+        SecurityContext context = mock(SecurityContext.class);
+        when(context.getAuthentication()).thenReturn(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return context;
+    }
+}